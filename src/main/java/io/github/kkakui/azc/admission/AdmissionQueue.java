@@ -0,0 +1,302 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.admission;
+
+import io.github.kkakui.azc.exception.OverloadException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounds how many calls run at a time and how many may wait for their turn, shedding the rest with
+ * an {@link OverloadException} instead of letting them pile up.
+ *
+ * <p>Up to {@code maxConcurrency} calls run at once. Further calls wait in FIFO order, for at most
+ * {@code maxQueueTime}, in a queue of at most {@code maxQueueSize}. When the queue is full, the
+ * {@link ShedPolicy} decides which call fails. Calls that wait too long fail as well, so a slow PDP
+ * turns into fast, predictable failures rather than growing memory and timeouts everywhere.
+ *
+ * <p>The queue depth, the number of running calls and the counts of shed and expired calls can be
+ * read at any time, e.g. to export them as metrics. This class is thread-safe.
+ */
+public final class AdmissionQueue {
+  private static final int DEFAULT_MAX_CONCURRENCY = 64;
+  private static final int DEFAULT_MAX_QUEUE_SIZE = 256;
+  private static final Duration DEFAULT_MAX_QUEUE_TIME = Duration.ofSeconds(1);
+
+  /** Which call fails when the queue is full. */
+  public enum ShedPolicy {
+    /** The arriving call fails; calls already waiting keep their place. */
+    REJECT_NEWEST,
+    /**
+     * The call that has waited longest fails and the arriving call takes a place at the end, on the
+     * grounds that the oldest caller is the most likely to have given up already.
+     */
+    REJECT_OLDEST,
+    /**
+     * Like {@link #REJECT_NEWEST}, and in addition an arriving call fails right away when the calls
+     * ahead of it, at the recent average call duration, would keep it waiting longer than {@code
+     * maxQueueTime}.
+     */
+    REJECT_BY_DEADLINE
+  }
+
+  /** A call run once admitted. */
+  @FunctionalInterface
+  public interface Call<T> {
+    T run() throws Exception;
+  }
+
+  private final int maxConcurrency;
+  private final int maxQueueSize;
+  private final long maxQueueNanos;
+  private final ShedPolicy shedPolicy;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LongAdder shed = new LongAdder();
+  private final LongAdder expired = new LongAdder();
+
+  // Guarded by lock.
+  private final Deque<Waiter> waiters = new ArrayDeque<>();
+  private int running;
+  private long averageCallNanos;
+
+  private AdmissionQueue(Builder builder) {
+    this.maxConcurrency = builder.maxConcurrency;
+    this.maxQueueSize = builder.maxQueueSize;
+    this.maxQueueNanos = builder.maxQueueTime.toNanos();
+    this.shedPolicy = builder.shedPolicy;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Runs a call once it is admitted.
+   *
+   * @param call the call.
+   * @return what the call returned.
+   * @throws OverloadException if the call was shed before it ran.
+   * @throws InterruptedException if the thread was interrupted while waiting.
+   * @throws Exception whatever the call threw.
+   */
+  public <T> T call(Call<T> call) throws Exception {
+    acquire();
+    long start = System.nanoTime();
+    try {
+      return call.run();
+    } finally {
+      release(System.nanoTime() - start);
+    }
+  }
+
+  /** Returns the number of calls waiting to run. */
+  public int getQueueDepth() {
+    lock.lock();
+    try {
+      return waiters.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns the number of calls running. */
+  public int getRunning() {
+    lock.lock();
+    try {
+      return running;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns how many calls were shed because the queue was full or they would wait too long. */
+  public long getShedCount() {
+    return shed.sum();
+  }
+
+  /** Returns how many calls failed after waiting {@code maxQueueTime} without being admitted. */
+  public long getExpiredCount() {
+    return expired.sum();
+  }
+
+  private void acquire() throws OverloadException, InterruptedException {
+    lock.lock();
+    try {
+      if (running < maxConcurrency && waiters.isEmpty()) {
+        running++;
+        return;
+      }
+      if (shedPolicy == ShedPolicy.REJECT_BY_DEADLINE) {
+        long expectedWait = averageCallNanos * (waiters.size() + 1) / maxConcurrency;
+        if (expectedWait > maxQueueNanos) {
+          shed.increment();
+          throw new OverloadException(
+              "Request would wait about "
+                  + TimeUnit.NANOSECONDS.toMillis(expectedWait)
+                  + " ms for admission, longer than the limit of "
+                  + TimeUnit.NANOSECONDS.toMillis(maxQueueNanos)
+                  + " ms.",
+              null,
+              false);
+        }
+      }
+      if (waiters.size() >= maxQueueSize) {
+        if (shedPolicy != ShedPolicy.REJECT_OLDEST || waiters.isEmpty()) {
+          shed.increment();
+          throw new OverloadException(
+              "Admission queue is full with " + waiters.size() + " waiting requests.", null, false);
+        }
+        Waiter oldest = waiters.poll();
+        oldest.state = Waiter.SHED;
+        oldest.condition.signal();
+        shed.increment();
+      }
+      Waiter waiter = new Waiter(lock.newCondition());
+      waiters.add(waiter);
+      long remaining = maxQueueNanos;
+      try {
+        while (waiter.state == Waiter.WAITING && remaining > 0) {
+          remaining = waiter.condition.awaitNanos(remaining);
+        }
+      } catch (InterruptedException e) {
+        if (waiter.state == Waiter.ADMITTED) {
+          // Admitted just as the wait was interrupted: pass the turn on.
+          admitNext();
+        } else {
+          waiters.remove(waiter);
+        }
+        throw e;
+      }
+      if (waiter.state == Waiter.SHED) {
+        throw new OverloadException(
+            "Request was shed from a full admission queue for a newer one.", null, false);
+      }
+      if (waiter.state == Waiter.WAITING) {
+        waiters.remove(waiter);
+        expired.increment();
+        throw new OverloadException(
+            "Request waited longer than "
+                + TimeUnit.NANOSECONDS.toMillis(maxQueueNanos)
+                + " ms for admission.",
+            null,
+            false);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release(long callNanos) {
+    lock.lock();
+    try {
+      // An exponentially weighted moving average over roughly the last 8 calls.
+      averageCallNanos =
+          averageCallNanos == 0 ? callNanos : averageCallNanos + (callNanos - averageCallNanos) / 8;
+      admitNext();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Hands the slot of a finished call to the next waiter, or frees it. Requires the lock. */
+  private void admitNext() {
+    Waiter next = waiters.poll();
+    if (next == null) {
+      running--;
+      return;
+    }
+    next.state = Waiter.ADMITTED;
+    next.condition.signal();
+  }
+
+  private static final class Waiter {
+    static final int WAITING = 0;
+    static final int ADMITTED = 1;
+    static final int SHED = 2;
+
+    final Condition condition;
+    int state = WAITING;
+
+    Waiter(Condition condition) {
+      this.condition = condition;
+    }
+  }
+
+  public static class Builder {
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+    private Duration maxQueueTime = DEFAULT_MAX_QUEUE_TIME;
+    private ShedPolicy shedPolicy = ShedPolicy.REJECT_NEWEST;
+
+    private Builder() {}
+
+    /**
+     * Sets how many calls may run at a time.
+     *
+     * @param maxConcurrency the number of calls, 64 by default.
+     * @return this builder.
+     */
+    public Builder maxConcurrency(int maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /**
+     * Sets how many calls may wait to run. With zero, calls beyond {@code maxConcurrency} are shed
+     * right away.
+     *
+     * @param maxQueueSize the number of calls, 256 by default.
+     * @return this builder.
+     */
+    public Builder maxQueueSize(int maxQueueSize) {
+      this.maxQueueSize = maxQueueSize;
+      return this;
+    }
+
+    /**
+     * Sets how long a call may wait to run before it fails.
+     *
+     * @param maxQueueTime the time, 1 second by default.
+     * @return this builder.
+     */
+    public Builder maxQueueTime(Duration maxQueueTime) {
+      this.maxQueueTime = maxQueueTime;
+      return this;
+    }
+
+    /**
+     * Sets which call fails when the queue is full.
+     *
+     * @param shedPolicy the policy, {@link ShedPolicy#REJECT_NEWEST} by default.
+     * @return this builder.
+     */
+    public Builder shedPolicy(ShedPolicy shedPolicy) {
+      this.shedPolicy = shedPolicy;
+      return this;
+    }
+
+    public AdmissionQueue build() {
+      if (maxConcurrency < 1) {
+        throw new IllegalStateException("Max concurrency must be positive.");
+      }
+      if (maxQueueSize < 0) {
+        throw new IllegalStateException("Max queue size must not be negative.");
+      }
+      if (maxQueueTime == null || maxQueueTime.isNegative() || maxQueueTime.isZero()) {
+        throw new IllegalStateException("Max queue time must be positive.");
+      }
+      if (shedPolicy == null) {
+        throw new IllegalStateException("Shed policy must be provided.");
+      }
+      return new AdmissionQueue(this);
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.admission;
+
+import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.exception.OverloadException;
+import io.github.kkakui.azc.exception.TransportException;
+import io.github.kkakui.azc.transport.Payload;
+import io.github.kkakui.azc.transport.Transport;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A {@link Transport} that passes requests to another transport through an {@link AdmissionQueue},
+ * so that a slow PDP makes callers fail fast instead of piling up in the underlying HTTP client.
+ * For example:
+ *
+ * <pre>
+ * AdmissionQueue queue = AdmissionQueue.builder().maxConcurrency(32).maxQueueSize(64).build();
+ * Transport transport = new AdmissionTransport(new SimpleHttpClient(), queue);
+ * AuthzClient client = new AuthzClient(config, transport);
+ * </pre>
+ *
+ * <p>Traffic of different {@linkplain AuthzClientConfig#getPriority() priorities} can be kept apart
+ * by giving each its own queue, with its own concurrency allotment and queue limits:
+ *
+ * <pre>
+ * Map&lt;Priority, AdmissionQueue&gt; lanes = Map.of(
+ *     Priority.INTERACTIVE, AdmissionQueue.builder().maxConcurrency(48).build(),
+ *     Priority.BATCH, AdmissionQueue.builder().maxConcurrency(12)
+ *         .maxQueueTime(Duration.ofSeconds(30)).build(),
+ *     Priority.PREFETCH, AdmissionQueue.builder().maxConcurrency(4).maxQueueSize(0).build());
+ * Transport transport = new AdmissionTransport(new SimpleHttpClient(), lanes);
+ * </pre>
+ *
+ * <p>An interactive call then never waits for a batch or prefetch call to be admitted, and in the
+ * underlying transport it competes with at most the other lanes' {@code maxConcurrency} calls, so
+ * the delay that bulk work can cause it is bounded by their allotments however much of it is
+ * queued.
+ *
+ * <p>A shed request fails with an {@link AuthorizationException} caused by an {@link
+ * OverloadException}. Retries of the underlying transport happen while the request holds its place,
+ * so they count against the concurrency limit. Warm-up is not queued.
+ */
+public class AdmissionTransport implements Transport {
+  private final Transport delegate;
+  private final Map<Priority, AdmissionQueue> lanes;
+
+  /**
+   * Creates a transport that queues calls of every priority in the same queue.
+   *
+   * @param delegate the transport that sends admitted requests.
+   * @param queue the queue.
+   */
+  public AdmissionTransport(Transport delegate, AdmissionQueue queue) {
+    this(delegate, sameQueue(queue));
+  }
+
+  /**
+   * Creates a transport that queues calls in the lane of their priority.
+   *
+   * @param delegate the transport that sends admitted requests.
+   * @param lanes a queue for each priority; priorities may share a queue.
+   */
+  public AdmissionTransport(Transport delegate, Map<Priority, AdmissionQueue> lanes) {
+    if (delegate == null) {
+      throw new IllegalArgumentException("Transport must be provided.");
+    }
+    if (lanes == null) {
+      throw new IllegalArgumentException("Admission queues must be provided.");
+    }
+    this.lanes = new EnumMap<>(Priority.class);
+    for (Priority priority : Priority.values()) {
+      AdmissionQueue queue = lanes.get(priority);
+      if (queue == null) {
+        throw new IllegalArgumentException(
+            "Admission queue must be provided for priority " + priority + ".");
+      }
+      this.lanes.put(priority, queue);
+    }
+    this.delegate = delegate;
+  }
+
+  /**
+   * Returns the queue of a priority, e.g. to read its depth and shed counts.
+   *
+   * @param priority the priority.
+   * @return its queue.
+   */
+  public AdmissionQueue getQueue(Priority priority) {
+    return lanes.get(priority);
+  }
+
+  @Override
+  public String request(AuthzClientConfig config, String jsonBody) throws Exception {
+    return admit(config, () -> delegate.request(config, jsonBody));
+  }
+
+  @Override
+  public Payload request(AuthzClientConfig config, Payload payload) throws Exception {
+    return admit(config, () -> delegate.request(config, payload));
+  }
+
+  @Override
+  public void warmUp(AuthzClientConfig config) throws Exception {
+    delegate.warmUp(config);
+  }
+
+  private <T> T admit(AuthzClientConfig config, AdmissionQueue.Call<T> call) throws Exception {
+    Priority priority = config.getPriority();
+    AdmissionQueue queue = lanes.get(priority != null ? priority : Priority.INTERACTIVE);
+    try {
+      return queue.call(call);
+    } catch (OverloadException e) {
+      throw new AuthorizationException(
+          "Authorization request was shed: " + e.getMessage(), e, false);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AuthorizationException(
+          "Request was interrupted while waiting for admission.",
+          new TransportException("Request thread was interrupted.", e));
+    }
+  }
+
+  private static Map<Priority, AdmissionQueue> sameQueue(AdmissionQueue queue) {
+    if (queue == null) {
+      throw new IllegalArgumentException("Admission queue must be provided.");
+    }
+    Map<Priority, AdmissionQueue> lanes = new EnumMap<>(Priority.class);
+    for (Priority priority : Priority.values()) {
+      lanes.put(priority, queue);
+    }
+    return lanes;
+  }
+}
@@ -0,0 +1,24 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.admission;
+
+/**
+ * The class of traffic an authorization call belongs to, from the most to the least urgent. An
+ * {@link AdmissionTransport} gives each class its own lane, so that bulk work cannot crowd out the
+ * checks users are waiting for.
+ *
+ * @see io.github.kkakui.azc.config.AuthzClientConfig#getPriority()
+ * @see
+ *     io.github.kkakui.azc.api.AuthzClient#authorize(io.github.kkakui.azc.api.AuthorizationRequest,
+ *     Priority)
+ */
+public enum Priority {
+  /** A check on behalf of a user or caller that is waiting for it. */
+  INTERACTIVE,
+  /** Bulk work such as re-indexing or reports, which may wait but must eventually finish. */
+  BATCH,
+  /** Speculative work such as warming a cache, which may be delayed or shed first. */
+  PREFETCH
+}
@@ -0,0 +1,107 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.admission;
+
+import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.exception.OverloadException;
+import io.github.kkakui.azc.exception.ThrottledException;
+import io.github.kkakui.azc.exception.TransportException;
+import io.github.kkakui.azc.transport.Payload;
+import io.github.kkakui.azc.transport.Transport;
+
+/**
+ * A {@link Transport} that keeps requests to another transport within the quota of a {@link
+ * RateLimiter}, so that calls the PDP would reject anyway are queued or rejected locally instead of
+ * being sent. For example:
+ *
+ * <pre>
+ * RateLimiter limiter = RateLimiter.builder().rate(200).maxWait(Duration.ofMillis(250)).build();
+ * Transport transport = new RateLimitedTransport(new SimpleHttpClient(), limiter);
+ * </pre>
+ *
+ * <p>Requests the PDP throttles, with a {@link ThrottledException} cause from the HTTP transports
+ * for {@code 429} and {@code 503} responses, lower the limiter's rate and honor their {@code
+ * Retry-After}; successful requests let it recover. A request rejected locally fails with an {@link
+ * AuthorizationException} caused by an {@link OverloadException}. Warm-up is not limited.
+ *
+ * <p>To combine rate limiting with an {@link AdmissionTransport}, wrap the admission transport, so
+ * that requests waiting for the rate limit do not hold a place in the admission queue.
+ */
+public class RateLimitedTransport implements Transport {
+  private final Transport delegate;
+  private final RateLimiter limiter;
+
+  /**
+   * Creates a rate-limited transport.
+   *
+   * @param delegate the transport that sends requests within the limit.
+   * @param limiter the limiter.
+   */
+  public RateLimitedTransport(Transport delegate, RateLimiter limiter) {
+    if (delegate == null) {
+      throw new IllegalArgumentException("Transport must be provided.");
+    }
+    if (limiter == null) {
+      throw new IllegalArgumentException("Rate limiter must be provided.");
+    }
+    this.delegate = delegate;
+    this.limiter = limiter;
+  }
+
+  /** Returns the limiter, e.g. to read its current rate and rejection counts. */
+  public RateLimiter getLimiter() {
+    return limiter;
+  }
+
+  @Override
+  public String request(AuthzClientConfig config, String jsonBody) throws Exception {
+    return limit(() -> delegate.request(config, jsonBody));
+  }
+
+  @Override
+  public Payload request(AuthzClientConfig config, Payload payload) throws Exception {
+    return limit(() -> delegate.request(config, payload));
+  }
+
+  @Override
+  public void warmUp(AuthzClientConfig config) throws Exception {
+    delegate.warmUp(config);
+  }
+
+  private <T> T limit(AdmissionQueue.Call<T> call) throws Exception {
+    try {
+      limiter.acquire();
+    } catch (OverloadException e) {
+      throw new AuthorizationException(
+          "Authorization request was rate limited: " + e.getMessage(), e, false);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AuthorizationException(
+          "Request was interrupted while waiting for the rate limit.",
+          new TransportException("Request thread was interrupted.", e));
+    }
+    try {
+      T result = call.run();
+      limiter.onSuccess();
+      return result;
+    } catch (AuthorizationException e) {
+      ThrottledException throttled = throttledCause(e);
+      if (throttled != null) {
+        limiter.onThrottled(throttled.getRetryAfter());
+      }
+      throw e;
+    }
+  }
+
+  private static ThrottledException throttledCause(Throwable e) {
+    for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof ThrottledException) {
+        return (ThrottledException) cause;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.admission;
+
+import io.github.kkakui.azc.exception.OverloadException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A token bucket that keeps the client within an outbound quota, and slows down further when the
+ * PDP signals that it is over quota or overloaded.
+ *
+ * <p>Calls are let through at up to {@code rate} per second, with bursts of up to {@code burst}
+ * calls after a quiet period. A call beyond that waits for its turn if it comes within {@code
+ * maxWait}, and fails right away with an {@link OverloadException} otherwise, without being sent.
+ *
+ * <p>The rate adapts by additive increase and multiplicative decrease: each {@linkplain
+ * #onThrottled(Duration) throttling signal}, such as a {@code 429 Too Many Requests}, halves it,
+ * down to {@code minRate}, and each {@linkplain #onSuccess() successful call} raises it again by 1%
+ * of the configured rate. Signals within a second of a decrease count once, since the calls in
+ * flight when the PDP started throttling tend to be rejected together. If the PDP says how long to
+ * hold off with {@code Retry-After}, no call is let through until then.
+ *
+ * <p>The current rate and the counts of rejected calls and throttling signals can be read at any
+ * time, e.g. to export them as metrics. This class is thread-safe.
+ */
+public final class RateLimiter {
+  private static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(1);
+  private static final long DECREASE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final long MAX_PAUSE_NANOS = TimeUnit.MINUTES.toNanos(5);
+  private static final double DECREASE_FACTOR = 0.5;
+  private static final double INCREASE_FRACTION = 0.01;
+
+  private final double maxRate;
+  private final double minRate;
+  private final int burst;
+  private final long maxWaitNanos;
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder throttled = new LongAdder();
+
+  // Guarded by this.
+  private double rate;
+  private long nextFreeNanos;
+  private long pausedUntilNanos;
+  private long lastDecreaseNanos;
+
+  private RateLimiter(Builder builder) {
+    this.maxRate = builder.rate;
+    this.minRate = builder.minRate > 0 ? builder.minRate : builder.rate / 20;
+    this.burst = builder.burst > 0 ? builder.burst : (int) Math.max(1, Math.ceil(builder.rate));
+    this.maxWaitNanos = builder.maxWait.toNanos();
+    this.rate = maxRate;
+    long now = System.nanoTime();
+    // Start with a full bucket.
+    this.nextFreeNanos = now - burst * (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+    this.pausedUntilNanos = nextFreeNanos;
+    this.lastDecreaseNanos = now - DECREASE_INTERVAL_NANOS;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Waits until a call may be sent.
+   *
+   * @throws OverloadException if the call would have to wait longer than {@code maxWait}.
+   * @throws InterruptedException if the thread was interrupted while waiting.
+   */
+  public void acquire() throws OverloadException, InterruptedException {
+    long wait = reserve(System.nanoTime());
+    if (wait > 0) {
+      TimeUnit.NANOSECONDS.sleep(wait);
+    }
+  }
+
+  /** Records that a call succeeded, which lets the rate recover towards the configured one. */
+  public synchronized void onSuccess() {
+    if (rate < maxRate) {
+      rate = Math.min(maxRate, rate + maxRate * INCREASE_FRACTION);
+    }
+  }
+
+  /**
+   * Records that the PDP throttled a call, which lowers the rate and, with a delay, holds off all
+   * calls until it has passed.
+   *
+   * @param retryAfter how long the PDP asked callers to wait, or {@code null} if it did not say.
+   */
+  public synchronized void onThrottled(Duration retryAfter) {
+    long now = System.nanoTime();
+    throttled.increment();
+    if (retryAfter != null && !retryAfter.isNegative()) {
+      long pause =
+          retryAfter.compareTo(Duration.ofNanos(MAX_PAUSE_NANOS)) > 0
+              ? MAX_PAUSE_NANOS
+              : retryAfter.toNanos();
+      pausedUntilNanos = Math.max(pausedUntilNanos, now + pause);
+    }
+    if (now - lastDecreaseNanos >= DECREASE_INTERVAL_NANOS) {
+      rate = Math.max(minRate, rate * DECREASE_FACTOR);
+      lastDecreaseNanos = now;
+    }
+  }
+
+  /** Returns the number of calls currently let through per second. */
+  public synchronized double getRate() {
+    return rate;
+  }
+
+  /** Returns how many calls failed because they would have waited longer than {@code maxWait}. */
+  public long getRejectedCount() {
+    return rejected.sum();
+  }
+
+  /** Returns how many throttling signals were recorded. */
+  public long getThrottledCount() {
+    return throttled.sum();
+  }
+
+  /** Takes the next free slot and returns how long to wait for it. */
+  private synchronized long reserve(long now) throws OverloadException {
+    long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+    // Slots left unused while idle can be taken at once, up to the burst size.
+    long start = Math.max(nextFreeNanos, now - (burst - 1) * interval);
+    start = Math.max(start, pausedUntilNanos);
+    long wait = Math.max(0, start - now);
+    if (wait > maxWaitNanos) {
+      rejected.increment();
+      throw new OverloadException(
+          "Request would wait "
+              + TimeUnit.NANOSECONDS.toMillis(wait)
+              + " ms for the rate limit of "
+              + String.format("%.1f", rate)
+              + " requests per second.",
+          null,
+          false);
+    }
+    nextFreeNanos = start + interval;
+    return wait;
+  }
+
+  public static class Builder {
+    private double rate;
+    private double minRate;
+    private int burst;
+    private Duration maxWait = DEFAULT_MAX_WAIT;
+
+    private Builder() {}
+
+    /**
+     * Sets the outbound quota.
+     *
+     * @param rate the number of calls per second; required.
+     * @return this builder.
+     */
+    public Builder rate(double rate) {
+      this.rate = rate;
+      return this;
+    }
+
+    /**
+     * Sets the rate below which throttling signals no longer lower it.
+     *
+     * @param minRate the number of calls per second, 5% of the rate by default.
+     * @return this builder.
+     */
+    public Builder minRate(double minRate) {
+      this.minRate = minRate;
+      return this;
+    }
+
+    /**
+     * Sets how many calls may be let through at once after a quiet period.
+     *
+     * @param burst the number of calls, one second's worth at the rate by default.
+     * @return this builder.
+     */
+    public Builder burst(int burst) {
+      this.burst = burst;
+      return this;
+    }
+
+    /**
+     * Sets how long a call may wait for its turn before it fails. With zero, calls beyond the rate
+     * fail right away.
+     *
+     * @param maxWait the time, 1 second by default.
+     * @return this builder.
+     */
+    public Builder maxWait(Duration maxWait) {
+      this.maxWait = maxWait;
+      return this;
+    }
+
+    public RateLimiter build() {
+      if (!(rate > 0) || Double.isInfinite(rate)) {
+        throw new IllegalStateException("Rate must be positive.");
+      }
+      if (minRate < 0 || minRate > rate) {
+        throw new IllegalStateException("Min rate must be between zero and the rate.");
+      }
+      if (burst < 0) {
+        throw new IllegalStateException("Burst must not be negative.");
+      }
+      if (maxWait == null || maxWait.isNegative()) {
+        throw new IllegalStateException("Max wait must not be negative.");
+      }
+      return new RateLimiter(this);
+    }
+  }
+}
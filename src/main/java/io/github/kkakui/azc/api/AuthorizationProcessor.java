@@ -0,0 +1,452 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.api;
+
+import io.github.kkakui.azc.admission.Priority;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides a stream of {@link AuthorizationRequest}s as a {@link Flow.Processor}, for pipelines that
+ * consume requests from a queue or event log and route them by their decision.
+ *
+ * <p>The processor requests at most {@code batchSize * maxInFlight} requests from upstream beyond
+ * those it has emitted, so a slow PDP or a slow subscriber pushes back on the publisher instead of
+ * filling memory. Received requests are sent as soon as one of the {@code maxInFlight} batches is
+ * free; while all of them are busy, requests accumulate and go out together as one Access
+ * Evaluations request of up to {@code batchSize}, after consulting the client's local evaluator and
+ * decision cache. Batching therefore adds no latency when the PDP keeps up, and grows with load
+ * when it does not.
+ *
+ * <p>Every request yields one {@link AuthorizationResult}, emitted only as the subscriber requests
+ * them. With {@link Ordering#ORDERED}, results follow the order of the requests; with {@link
+ * Ordering#AS_COMPLETED}, a batch's results are emitted as soon as it is decided, even if an
+ * earlier batch is still in flight. A request that cannot be decided yields a result with its
+ * {@link AuthorizationException} rather than failing the stream; an error from the publisher is
+ * passed on after the requests received before it have been emitted. For example:
+ *
+ * <pre>
+ * AuthorizationProcessor processor =
+ *     AuthorizationProcessor.builder().client(client).ordering(Ordering.AS_COMPLETED).build();
+ * requests.subscribe(processor);
+ * processor.subscribe(router);
+ * </pre>
+ *
+ * <p>A processor is subscribed to one publisher and serves one subscriber; it cannot be reused.
+ */
+public final class AuthorizationProcessor
+    implements Flow.Processor<AuthorizationRequest, AuthorizationResult> {
+  private static final int DEFAULT_BATCH_SIZE = 100;
+  private static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+  /** The order in which results are emitted. */
+  public enum Ordering {
+    /** In the order the requests were received. */
+    ORDERED,
+    /** As soon as each batch is decided. */
+    AS_COMPLETED
+  }
+
+  private final AuthzClient client;
+  private final int batchSize;
+  private final int maxInFlight;
+  private final boolean ordered;
+  private final Executor executor;
+  private final int capacity;
+  private final Priority priority;
+
+  // Serializes drain(): whoever increments it from zero emits for everyone else.
+  private final AtomicInteger wip = new AtomicInteger();
+
+  // Guarded by this.
+  private Flow.Subscription upstream;
+  private boolean subscribed;
+  private Flow.Subscriber<? super AuthorizationResult> downstream;
+  private final Deque<Slot> pending = new ArrayDeque<>();
+  private final Deque<Slot> output = new ArrayDeque<>();
+  private int held;
+  private long upstreamDemand;
+  private long downstreamDemand;
+  private int inFlight;
+  private boolean upstreamDone;
+  private Throwable upstreamError;
+  private Throwable downstreamError;
+  private boolean cancelled;
+  private boolean terminated;
+
+  private AuthorizationProcessor(Builder builder) {
+    this.client = builder.client;
+    this.batchSize = builder.batchSize;
+    this.maxInFlight = builder.maxInFlight;
+    this.ordered = builder.ordering == Ordering.ORDERED;
+    this.executor = builder.executor != null ? builder.executor : DefaultExecutor.INSTANCE;
+    this.capacity = builder.batchSize * builder.maxInFlight;
+    this.priority = builder.priority;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super AuthorizationResult> subscriber) {
+    if (subscriber == null) {
+      throw new NullPointerException("Subscriber must be provided.");
+    }
+    boolean accepted;
+    synchronized (this) {
+      accepted = !subscribed;
+      subscribed = true;
+    }
+    if (!accepted) {
+      subscriber.onSubscribe(CANCELLED);
+      subscriber.onError(new IllegalStateException("Processor already has a subscriber."));
+      return;
+    }
+    subscriber.onSubscribe(new Downstream());
+    synchronized (this) {
+      // Only now may the subscriber be signalled; demand it requested so far is kept.
+      downstream = subscriber;
+    }
+    drain();
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    boolean accepted;
+    synchronized (this) {
+      accepted = upstream == null && !cancelled;
+      if (accepted) {
+        upstream = subscription;
+      }
+    }
+    if (!accepted) {
+      subscription.cancel();
+      return;
+    }
+    drain();
+  }
+
+  @Override
+  public void onNext(AuthorizationRequest request) {
+    if (request == null) {
+      throw new NullPointerException("Request must be provided.");
+    }
+    synchronized (this) {
+      if (cancelled || upstreamDone) {
+        return;
+      }
+      Slot slot = new Slot(request);
+      upstreamDemand--;
+      held++;
+      pending.add(slot);
+      if (ordered) {
+        output.add(slot);
+      }
+    }
+    drain();
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    synchronized (this) {
+      if (upstreamDone) {
+        return;
+      }
+      upstreamDone = true;
+      upstreamError = throwable;
+    }
+    drain();
+  }
+
+  @Override
+  public void onComplete() {
+    synchronized (this) {
+      upstreamDone = true;
+    }
+    drain();
+  }
+
+  /**
+   * Dispatches free batches, emits decided results the subscriber asked for, requests more from
+   * upstream and signals termination, calling out to the publisher, subscriber and executor only
+   * outside the lock.
+   */
+  private void drain() {
+    if (wip.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      List<List<Slot>> batches = new ArrayList<>();
+      List<AuthorizationResult> results = new ArrayList<>();
+      Flow.Subscriber<? super AuthorizationResult> subscriber;
+      Flow.Subscription subscription;
+      long request = 0;
+      boolean cancelUpstream = false;
+      boolean complete = false;
+      Throwable error = null;
+      synchronized (this) {
+        subscriber = downstream;
+        subscription = upstream;
+        if (cancelled || terminated) {
+          pending.clear();
+          output.clear();
+        } else if (subscriber != null) {
+          while (inFlight < maxInFlight && !pending.isEmpty()) {
+            List<Slot> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            while (batch.size() < batchSize && !pending.isEmpty()) {
+              batch.add(pending.poll());
+            }
+            batches.add(batch);
+            inFlight++;
+          }
+          while (downstreamDemand > 0 && !output.isEmpty() && output.peek().result != null) {
+            results.add(output.poll().result);
+            downstreamDemand--;
+            held--;
+          }
+          if (downstreamError != null) {
+            terminated = true;
+            cancelled = true;
+            cancelUpstream = subscription != null;
+            error = downstreamError;
+          } else if (upstreamDone) {
+            if (held == 0) {
+              terminated = true;
+              complete = upstreamError == null;
+              error = upstreamError;
+            }
+          } else if (subscription != null) {
+            request = capacity - held - upstreamDemand;
+            upstreamDemand += Math.max(request, 0);
+          }
+        }
+      }
+      for (List<Slot> batch : batches) {
+        dispatch(batch);
+      }
+      for (AuthorizationResult result : results) {
+        subscriber.onNext(result);
+      }
+      if (request > 0) {
+        subscription.request(request);
+      }
+      if (cancelUpstream) {
+        subscription.cancel();
+      }
+      if (error != null) {
+        subscriber.onError(error);
+      } else if (complete) {
+        subscriber.onComplete();
+      }
+    } while ((missed = wip.addAndGet(-missed)) != 0);
+  }
+
+  private void dispatch(List<Slot> batch) {
+    try {
+      executor.execute(() -> decide(batch));
+    } catch (RejectedExecutionException e) {
+      complete(batch, null, AuthzClient.unexpected(e));
+    }
+  }
+
+  private void decide(List<Slot> batch) {
+    List<AuthorizationRequest> requests = new ArrayList<>(batch.size());
+    for (Slot slot : batch) {
+      requests.add(slot.request);
+    }
+    try {
+      complete(batch, client.evaluateBatch(requests, priority), null);
+    } catch (AuthorizationException e) {
+      complete(batch, null, e);
+    } catch (RuntimeException e) {
+      complete(batch, null, AuthzClient.unexpected(e));
+    }
+  }
+
+  private void complete(
+      List<Slot> batch, List<AuthorizationResponse> responses, AuthorizationException exception) {
+    synchronized (this) {
+      for (int i = 0; i < batch.size(); i++) {
+        Slot slot = batch.get(i);
+        slot.result =
+            new AuthorizationResult(
+                slot.request, responses != null ? responses.get(i) : null, exception);
+        if (!ordered) {
+          output.add(slot);
+        }
+      }
+      inFlight--;
+    }
+    drain();
+  }
+
+  /** A received request, and its result once decided. */
+  private static final class Slot {
+    final AuthorizationRequest request;
+    AuthorizationResult result;
+
+    Slot(AuthorizationRequest request) {
+      this.request = request;
+    }
+  }
+
+  private final class Downstream implements Flow.Subscription {
+    @Override
+    public void request(long n) {
+      synchronized (AuthorizationProcessor.this) {
+        if (n <= 0) {
+          if (downstreamError == null) {
+            downstreamError =
+                new IllegalArgumentException("Requested number of results must be positive.");
+          }
+        } else {
+          long demand = downstreamDemand + n;
+          downstreamDemand = demand < 0 ? Long.MAX_VALUE : demand;
+        }
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      Flow.Subscription subscription;
+      synchronized (AuthorizationProcessor.this) {
+        if (cancelled) {
+          return;
+        }
+        cancelled = true;
+        subscription = upstream;
+      }
+      if (subscription != null) {
+        subscription.cancel();
+      }
+      drain();
+    }
+  }
+
+  private static final Flow.Subscription CANCELLED =
+      new Flow.Subscription() {
+        @Override
+        public void request(long n) {}
+
+        @Override
+        public void cancel() {}
+      };
+
+  /**
+   * Shared by processors without an executor of their own; PDP calls block, so threads are cached.
+   */
+  private static final class DefaultExecutor {
+    static final ExecutorService INSTANCE =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread = new Thread(runnable, "azc-authorization-processor");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  public static class Builder {
+    private AuthzClient client;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+    private Ordering ordering = Ordering.ORDERED;
+    private Executor executor;
+    private Priority priority;
+
+    private Builder() {}
+
+    public Builder client(AuthzClient client) {
+      this.client = client;
+      return this;
+    }
+
+    /**
+     * Sets how many requests may be decided by one Access Evaluations request.
+     *
+     * @param batchSize the maximum number of requests per batch, 100 by default.
+     * @return this builder.
+     */
+    public Builder batchSize(int batchSize) {
+      this.batchSize = batchSize;
+      return this;
+    }
+
+    /**
+     * Sets how many batches may be in flight at a time.
+     *
+     * @param maxInFlight the number of batches, 4 by default.
+     * @return this builder.
+     */
+    public Builder maxInFlight(int maxInFlight) {
+      this.maxInFlight = maxInFlight;
+      return this;
+    }
+
+    /**
+     * Sets the order in which results are emitted.
+     *
+     * @param ordering the ordering, {@link Ordering#ORDERED} by default.
+     * @return this builder.
+     */
+    public Builder ordering(Ordering ordering) {
+      this.ordering = ordering;
+      return this;
+    }
+
+    /**
+     * Sets the executor that decides batches. By default, a shared pool of daemon threads is used.
+     *
+     * @param executor the executor.
+     * @return this builder.
+     */
+    public Builder executor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Sets the priority of the processor's calls, e.g. {@link Priority#BATCH} for a pipeline that
+     * nobody waits on. By default, the client's configured priority is used.
+     *
+     * @param priority the priority.
+     * @return this builder.
+     */
+    public Builder priority(Priority priority) {
+      this.priority = priority;
+      return this;
+    }
+
+    public AuthorizationProcessor build() {
+      if (client == null) {
+        throw new IllegalStateException("Client must be provided.");
+      }
+      if (batchSize < 1) {
+        throw new IllegalStateException("Batch size must be positive.");
+      }
+      if (maxInFlight < 1) {
+        throw new IllegalStateException("Max in flight must be positive.");
+      }
+      if (ordering == null) {
+        throw new IllegalStateException("Ordering must be provided.");
+      }
+      if ((long) batchSize * maxInFlight > Integer.MAX_VALUE) {
+        throw new IllegalStateException("Batch size times max in flight is too large.");
+      }
+      return new AuthorizationProcessor(this);
+    }
+  }
+}
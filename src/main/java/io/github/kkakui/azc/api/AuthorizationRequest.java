@@ -9,6 +9,7 @@ import io.github.kkakui.azc.model.Action;
 import io.github.kkakui.azc.model.Context;
 import io.github.kkakui.azc.model.Resource;
 import io.github.kkakui.azc.model.Subject;
+import java.util.Objects;
 
 /**
  * Represents a single authorization request, containing the subject, resource, action, and optional
@@ -27,10 +28,14 @@ public class AuthorizationRequest {
   private final Context context;
 
   private AuthorizationRequest(Builder builder) {
-    this.subject = builder.subject;
-    this.resource = builder.resource;
-    this.action = builder.action;
-    this.context = builder.context;
+    this(builder.subject, builder.resource, builder.action, builder.context);
+  }
+
+  private AuthorizationRequest(Subject subject, Resource resource, Action action, Context context) {
+    this.subject = subject;
+    this.resource = resource;
+    this.action = action;
+    this.context = context;
   }
 
   public static class Builder {
@@ -100,18 +105,34 @@ public class AuthorizationRequest {
    * @return A new AuthorizationRequest with the merged context.
    */
   public AuthorizationRequest withMergedContext(Context otherContext) {
-    if (otherContext == null || otherContext.getAttributes().isEmpty()) {
+    if (otherContext == null || otherContext.isEmpty()) {
       return this; // No changes needed
     }
 
+    // Merging layers the contexts without copying their attributes.
     Context newContext = (this.context == null) ? otherContext : this.context.merge(otherContext);
 
-    // Use the existing builder to create a new, immutable request instance
-    return new AuthorizationRequest.Builder()
-        .subject(this.subject)
-        .resource(this.resource)
-        .action(this.action)
-        .context(newContext)
-        .build();
+    // The other fields were validated when this request was built.
+    return new AuthorizationRequest(subject, resource, action, newContext);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof AuthorizationRequest)) {
+      return false;
+    }
+    AuthorizationRequest other = (AuthorizationRequest) o;
+    return subject.equals(other.subject)
+        && resource.equals(other.resource)
+        && action.equals(other.action)
+        && Objects.equals(context, other.context);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(subject, resource, action, context);
   }
 }
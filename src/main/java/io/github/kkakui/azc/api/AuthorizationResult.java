@@ -0,0 +1,46 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.api;
+
+import io.github.kkakui.azc.exception.AuthorizationException;
+
+/**
+ * The outcome of one request decided by an {@link AuthorizationProcessor}: the request with either
+ * its response or the exception that prevented a decision.
+ */
+public final class AuthorizationResult {
+  private final AuthorizationRequest request;
+  private final AuthorizationResponse response;
+  private final AuthorizationException exception;
+
+  AuthorizationResult(
+      AuthorizationRequest request,
+      AuthorizationResponse response,
+      AuthorizationException exception) {
+    this.request = request;
+    this.response = response;
+    this.exception = exception;
+  }
+
+  /** Returns the request as it was published, without any context added by the client. */
+  public AuthorizationRequest getRequest() {
+    return request;
+  }
+
+  /** Returns the response, or {@code null} if the request failed. */
+  public AuthorizationResponse getResponse() {
+    return response;
+  }
+
+  /** Returns why the request failed, or {@code null} if it was decided. */
+  public AuthorizationException getException() {
+    return exception;
+  }
+
+  /** Returns whether the request was decided and allowed; a failed request is not allowed. */
+  public boolean isAllowed() {
+    return response != null && response.isAllowed();
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A Java Flight Recorder event for one authorization check, from the call into {@link AuthzClient}
+ * or a {@link PreparedAuthorization} to its decision or failure, whether the decision came from the
+ * PDP, the decision cache or the local evaluator. By default only checks that take 20 ms or longer
+ * are recorded.
+ */
+@Name("io.github.kkakui.azc.Authorize")
+@Label("Authorization Check")
+@Category("azc")
+@Description("An authorization check made through AuthzClient")
+@Threshold("20 ms")
+final class AuthorizeEvent extends Event {
+  @Label("Endpoint")
+  String endpoint;
+
+  @Label("Priority")
+  String priority;
+
+  @Label("Allowed")
+  boolean allowed;
+
+  @Label("Failure")
+  @Description("Why the check failed, or null if it was decided")
+  String failure;
+}
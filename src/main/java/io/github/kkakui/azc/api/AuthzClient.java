@@ -4,12 +4,37 @@
  */
 package io.github.kkakui.azc.api;
 
+import io.github.kkakui.azc.admission.Priority;
+import io.github.kkakui.azc.cache.DecisionCache;
+import io.github.kkakui.azc.cache.DecisionKey;
 import io.github.kkakui.azc.config.AuthzClientConfig;
 import io.github.kkakui.azc.context.ContextFactory;
+import io.github.kkakui.azc.context.ContextPipeline;
 import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Context;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import io.github.kkakui.azc.policy.LocalEvaluator;
 import io.github.kkakui.azc.serialization.AuthorizationRequestSerializer;
 import io.github.kkakui.azc.serialization.AuthorizationResponseDeserializer;
+import io.github.kkakui.azc.serialization.Codec;
+import io.github.kkakui.azc.serialization.Codecs;
+import io.github.kkakui.azc.transport.Payload;
+import io.github.kkakui.azc.transport.RequestIdGenerator;
 import io.github.kkakui.azc.transport.Transport;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
 
 /**
  * The main client for interacting with the AuthZEN Authorization API.
@@ -17,12 +42,33 @@ import io.github.kkakui.azc.transport.Transport;
  * <p>This client provides a method to perform an authorization check by sending an {@link
  * AuthorizationRequest} to a configured Policy Decision Point (PDP) via a {@link
  * io.github.kkakui.azc.transport.Transport}. It can also be configured with a {@link
- * ContextFactory} to automatically inject contextual information into requests.
+ * ContextFactory} to automatically inject contextual information into requests, and with a {@link
+ * DecisionCache} to reuse recent decisions and a {@link LocalEvaluator} to decide simple cases
+ * in-process. Clients with optional components are constructed using {@link #builder()}. Checks of
+ * one subject and action against many resources can be {@linkplain #prepare(Subject, Action)
+ * prepared}, so that only the resource is encoded for each of them, and large collections of
+ * resources can be {@linkplain #filter(Subject, Action, Collection) filtered} in chunks, and
+ * streams of requests {@linkplain #authorizeAll(Flow.Publisher) decided} with backpressure. Calling
+ * {@link #warmUp()} during startup takes the one-time costs of the first request off the critical
+ * path. Callers that would rather not handle exceptions on a hot path can {@linkplain
+ * #decide(AuthorizationRequest) decide} requests instead, which returns failures as a {@link
+ * Decision}.
+ *
+ * <p>Each call uses the {@linkplain AuthzClientConfig#snapshot() configuration snapshot} current at
+ * its start, so a {@link io.github.kkakui.azc.config.ReloadableAuthzClientConfig} can rotate
+ * credentials or endpoints without rebuilding the client.
  */
 public class AuthzClient {
+  private static final int DEFAULT_WARM_UP_ITERATIONS = 200;
+  private static final String WARM_UP_RESPONSE =
+      "{\"decision\":true,\"context\":{\"reason\":\"warm-up\"}}";
+
   private final AuthzClientConfig config;
   private final Transport transport;
   private final ContextFactory contextFactory;
+  private final DecisionCache decisionCache;
+  private final LocalEvaluator localEvaluator;
+  private volatile CallConfigs callConfigs;
 
   public AuthzClient(AuthzClientConfig config, Transport transport) {
     this(config, transport, null);
@@ -32,25 +78,627 @@ public class AuthzClient {
     this.config = config;
     this.transport = transport;
     this.contextFactory = contextFactory;
+    this.decisionCache = null;
+    this.localEvaluator = null;
+  }
+
+  private AuthzClient(Builder builder) {
+    this.config = builder.config;
+    this.transport = builder.transport;
+    this.contextFactory = builder.contextFactory;
+    this.decisionCache = builder.decisionCache;
+    this.localEvaluator = builder.localEvaluator;
+  }
+
+  public static Builder builder() {
+    return new Builder();
   }
 
   public AuthorizationResponse authorize(AuthorizationRequest request)
       throws AuthorizationException {
+    return authorize(request, callConfigs().get(null));
+  }
+
+  /**
+   * Like {@link #authorize(AuthorizationRequest)}, at the given priority instead of {@link
+   * AuthzClientConfig#getPriority()}, e.g. {@link Priority#BATCH} for a background job that shares
+   * the client with interactive traffic. Transports such as {@link
+   * io.github.kkakui.azc.admission.AdmissionTransport} queue the call in the lane of its priority;
+   * decisions from the cache or the local evaluator are returned without queueing.
+   *
+   * @param request the request.
+   * @param priority the priority of the call.
+   * @return the decision.
+   * @throws AuthorizationException if the request fails.
+   */
+  public AuthorizationResponse authorize(AuthorizationRequest request, Priority priority)
+      throws AuthorizationException {
+    return authorize(request, withPriority(priority));
+  }
+
+  /**
+   * Like {@link #authorize(AuthorizationRequest)}, but reports failures in the returned {@link
+   * Decision} instead of throwing. The exceptions the transports raise for failed responses carry
+   * no stack trace, so a failed check costs about as much as a successful one, e.g. while the PDP
+   * is throttling or down.
+   *
+   * @param request the request.
+   * @return the decision, or the reason there is none.
+   */
+  public Decision decide(AuthorizationRequest request) {
+    try {
+      return Decision.of(authorize(request, callConfigs().get(null)));
+    } catch (AuthorizationException e) {
+      return Decision.failed(e);
+    }
+  }
+
+  /**
+   * Like {@link #decide(AuthorizationRequest)}, at the given priority. See {@link
+   * #authorize(AuthorizationRequest, Priority)}.
+   *
+   * @param request the request.
+   * @param priority the priority of the call.
+   * @return the decision, or the reason there is none.
+   */
+  public Decision decide(AuthorizationRequest request, Priority priority) {
+    AuthzClientConfig callConfig = withPriority(priority);
+    try {
+      return Decision.of(authorize(request, callConfig));
+    } catch (AuthorizationException e) {
+      return Decision.failed(e);
+    }
+  }
+
+  /** Decides a request, recording the check as an {@link AuthorizeEvent}. */
+  private AuthorizationResponse authorize(
+      AuthorizationRequest request, AuthzClientConfig callConfig) throws AuthorizationException {
+    AuthorizeEvent event = new AuthorizeEvent();
+    event.begin();
+    AuthorizationResponse response = null;
+    AuthorizationException failure = null;
+    try {
+      response = obtain(request, callConfig);
+      return response;
+    } catch (AuthorizationException e) {
+      failure = e;
+      throw e;
+    } finally {
+      if (event.shouldCommit()) {
+        event.endpoint = callConfig.getEndpoint();
+        event.priority = String.valueOf(callConfig.getPriority());
+        event.allowed = response != null && response.isAllowed();
+        event.failure = failure != null ? failure.getMessage() : null;
+        event.commit();
+      }
+    }
+  }
+
+  private AuthorizationResponse obtain(AuthorizationRequest request, AuthzClientConfig callConfig)
+      throws AuthorizationException {
     try {
+      if (contextFactory instanceof ContextPipeline
+          && request.getContext() == null
+          && localEvaluator == null
+          && decisionCache == null
+          && isJson(callConfig.getCodec())) {
+        // Nothing needs the context itself, so write it straight into the request body.
+        SerializationEvent serialize = SerializationEvent.start();
+        String requestJson =
+            AuthorizationRequestSerializer.buildRequestJson(
+                request, (ContextPipeline) contextFactory);
+        serialize.record(
+            SerializationEvent.SERIALIZE, Codecs.JSON_MEDIA_TYPE, requestJson.length());
+        return parseJson(transport.request(callConfig, requestJson));
+      }
       if (contextFactory != null) {
         // Create a new request instance with the context from the factory merged in.
         request = request.withMergedContext(contextFactory.createContext());
       }
-      String requestJson = AuthorizationRequestSerializer.buildRequestJson(request);
-      String responseJson = transport.request(config, requestJson);
-      return AuthorizationResponseDeserializer.parseResponseJson(responseJson);
+      if (localEvaluator != null) {
+        AuthorizationResponse local = localEvaluator.evaluate(request);
+        if (local != null) {
+          return local;
+        }
+      }
+      if (decisionCache != null) {
+        return decisionCache.get(request, loaded -> evaluate(loaded, callConfig));
+      }
+      return evaluate(request, callConfig);
     } catch (AuthorizationException e) {
       // Re-throw the specific exception from the transport layer or deserialization directly.
       throw e;
     } catch (Exception e) {
       // For any other unexpected exceptions, wrap them in an AuthorizationException.
-      throw new AuthorizationException(
-          "Authorization request failed due to an unexpected error", e);
+      throw unexpected(e);
+    }
+  }
+
+  /**
+   * Returns the resources the subject may act on, deciding them in chunks with a {@link
+   * ResourceFilter} with default settings.
+   *
+   * @param subject the subject.
+   * @param action the action.
+   * @param resources the candidates.
+   * @return the permitted resources, in their original order.
+   * @throws AuthorizationException if a decision cannot be obtained.
+   */
+  public List<Resource> filter(
+      Subject subject, Action action, Collection<? extends Resource> resources)
+      throws AuthorizationException {
+    return ResourceFilter.builder().client(this).build().filter(subject, action, resources);
+  }
+
+  /**
+   * Like {@link #filter(Subject, Action, Collection)}, but yields the permitted resources lazily,
+   * so that chunks beyond what the consumer reads are never evaluated. See {@link
+   * ResourceFilter#stream(Subject, Action, Collection)}.
+   *
+   * @param subject the subject.
+   * @param action the action.
+   * @param resources the candidates.
+   * @return the permitted resources, in their original order.
+   */
+  public Stream<Resource> filterStream(
+      Subject subject, Action action, Collection<? extends Resource> resources) {
+    return ResourceFilter.builder().client(this).build().stream(subject, action, resources);
+  }
+
+  /**
+   * Decides a stream of requests with an {@link AuthorizationProcessor} with default settings,
+   * which is subscribed to the publisher. Requests are only taken from it once the returned
+   * publisher has a subscriber.
+   *
+   * @param requests the requests to decide.
+   * @return the results, in the order of the requests.
+   */
+  public Flow.Publisher<AuthorizationResult> authorizeAll(
+      Flow.Publisher<? extends AuthorizationRequest> requests) {
+    AuthorizationProcessor processor = AuthorizationProcessor.builder().client(this).build();
+    requests.subscribe(processor);
+    return processor;
+  }
+
+  /**
+   * Prepares checks of a subject and action against many resources. See {@link
+   * PreparedAuthorization}.
+   *
+   * @param subject the subject.
+   * @param action the action.
+   * @return the prepared checks.
+   * @throws AuthorizationException if the subject or action cannot be serialized.
+   */
+  public PreparedAuthorization prepare(Subject subject, Action action)
+      throws AuthorizationException {
+    return prepare(subject, action, null);
+  }
+
+  /**
+   * Like {@link #prepare(Subject, Action)}, with a context sent with every check.
+   *
+   * @param subject the subject.
+   * @param action the action.
+   * @param context the context, or {@code null} for none.
+   * @return the prepared checks.
+   * @throws AuthorizationException if the subject, action or context cannot be serialized.
+   */
+  public PreparedAuthorization prepare(Subject subject, Action action, Context context)
+      throws AuthorizationException {
+    boolean templated =
+        localEvaluator == null && decisionCache == null && isJson(config.getCodec());
+    return new PreparedAuthorization(
+        this, config, transport, contextFactory, subject, action, context, templated);
+  }
+
+  /**
+   * Prepares the client for its first real requests, so that they do not pay for class loading, JIT
+   * compilation and connection setup. Call it before reporting the application as ready.
+   *
+   * <p>This runs the request serializer and response deserializer {@value
+   * #DEFAULT_WARM_UP_ITERATIONS} times on a synthetic request, creates contexts if a context
+   * factory is set, and then {@linkplain Transport#warmUp(AuthzClientConfig) warms up the
+   * transport}. No authorization request is sent and the decision cache is left untouched.
+   *
+   * @return how long the warm-up took.
+   * @throws AuthorizationException if the transport cannot reach the endpoint.
+   */
+  public Duration warmUp() throws AuthorizationException {
+    return warmUp(DEFAULT_WARM_UP_ITERATIONS);
+  }
+
+  /**
+   * Like {@link #warmUp()}, with a custom number of serialization round trips.
+   *
+   * @param iterations how often to run the serialization paths.
+   * @return how long the warm-up took.
+   * @throws AuthorizationException if the transport cannot reach the endpoint.
+   */
+  public Duration warmUp(int iterations) throws AuthorizationException {
+    long start = System.nanoTime();
+    AuthorizationRequest sample =
+        new AuthorizationRequest.Builder()
+            .subject(
+                new Subject.Builder()
+                    .type("user")
+                    .id("warm-up")
+                    .addProperty("roles", List.of("warm-up"))
+                    .build())
+            .resource(new Resource.Builder().type("warm-up").id("warm-up").build())
+            .action(new Action.Builder().name("warm-up").build())
+            .context(new Context(Map.of("warm_up", true)))
+            .build();
+    try {
+      AuthzClientConfig snapshot = config.snapshot();
+      Codec codec = snapshot.getCodec();
+      for (int i = 0; i < iterations; i++) {
+        AuthorizationRequest request =
+            contextFactory != null
+                ? sample.withMergedContext(contextFactory.createContext())
+                : sample;
+        if (isJson(codec)) {
+          AuthorizationRequestSerializer.buildRequestJson(request);
+          AuthorizationResponseDeserializer.parseResponseJson(WARM_UP_RESPONSE);
+        } else {
+          AuthorizationRequestSerializer.buildRequest(request, codec);
+          AuthorizationResponseDeserializer.parseResponse(
+              WARM_UP_RESPONSE.getBytes(StandardCharsets.UTF_8), Codecs.JSON_MEDIA_TYPE, codec);
+        }
+      }
+      transport.warmUp(snapshot);
+    } catch (AuthorizationException e) {
+      throw e;
+    } catch (Exception e) {
+      throw unexpected(e);
+    }
+    return Duration.ofNanos(System.nanoTime() - start);
+  }
+
+  /**
+   * Decides one subject and action for each of the resources, consulting the local evaluator and
+   * the decision cache before sending the rest to the PDP together, at the given priority or, if
+   * {@code null}, the configured one.
+   */
+  List<AuthorizationResponse> evaluateAll(
+      Subject subject, Action action, List<Resource> resources, Priority priority)
+      throws AuthorizationException {
+    List<AuthorizationRequest> requests = new ArrayList<>(resources.size());
+    for (Resource resource : resources) {
+      requests.add(
+          new AuthorizationRequest.Builder()
+              .subject(subject)
+              .resource(resource)
+              .action(action)
+              .build());
+    }
+    return evaluateBatch(requests, priority);
+  }
+
+  /**
+   * Decides each of the requests, consulting the local evaluator and the decision cache before
+   * sending the rest to the PDP together, at the given priority or, if {@code null}, the configured
+   * one.
+   */
+  List<AuthorizationResponse> evaluateBatch(List<AuthorizationRequest> requests, Priority priority)
+      throws AuthorizationException {
+    try {
+      CallConfigs configs = callConfigs();
+      AuthzClientConfig callConfig = configs.get(priority);
+      Context context = contextFactory != null ? contextFactory.createContext() : null;
+      AuthorizationResponse[] decisions = new AuthorizationResponse[requests.size()];
+      List<AuthorizationRequest> pending = new ArrayList<>();
+      List<Integer> pendingIndexes = new ArrayList<>();
+      for (int i = 0; i < decisions.length; i++) {
+        AuthorizationRequest request = requests.get(i).withMergedContext(context);
+        if (localEvaluator != null) {
+          decisions[i] = localEvaluator.evaluate(request);
+        }
+        if (decisions[i] == null && decisionCache != null) {
+          decisions[i] =
+              decisionCache.getIfPresent(request, loaded -> evaluate(loaded, callConfig));
+        }
+        if (decisions[i] == null) {
+          pending.add(request);
+          pendingIndexes.add(i);
+        }
+      }
+      // Decisions loaded while an invalidation runs may predate it, so they must not be cached.
+      long loadToken = decisionCache != null ? decisionCache.loadToken() : 0;
+      List<AuthorizationResponse> loaded =
+          evaluatePending(pending, callConfig, configs.evaluations(callConfig.getPriority()));
+      for (int i = 0; i < loaded.size(); i++) {
+        decisions[pendingIndexes.get(i)] = loaded.get(i);
+        if (decisionCache != null) {
+          decisionCache.put(DecisionKey.of(pending.get(i)), loaded.get(i), loadToken);
+        }
+      }
+      return Arrays.asList(decisions);
+    } catch (AuthorizationException e) {
+      throw e;
+    } catch (Exception e) {
+      throw unexpected(e);
+    }
+  }
+
+  /**
+   * Sends requests as one Access Evaluations request, or one by one if there is no evaluations
+   * endpoint or the codec is not JSON.
+   */
+  private List<AuthorizationResponse> evaluatePending(
+      List<AuthorizationRequest> pending,
+      AuthzClientConfig callConfig,
+      AuthzClientConfig evaluationsConfig)
+      throws Exception {
+    if (pending.isEmpty()) {
+      return List.of();
+    }
+    if (pending.size() == 1 || evaluationsConfig == null || !isJson(callConfig.getCodec())) {
+      List<AuthorizationResponse> responses = new ArrayList<>(pending.size());
+      for (AuthorizationRequest request : pending) {
+        responses.add(evaluate(request, callConfig));
+      }
+      return responses;
+    }
+    SerializationEvent serialize = SerializationEvent.start();
+    String requestJson = AuthorizationRequestSerializer.buildEvaluationsJson(pending);
+    serialize.record(SerializationEvent.SERIALIZE, Codecs.JSON_MEDIA_TYPE, requestJson.length());
+    String responseJson = transport.request(evaluationsConfig, requestJson);
+    SerializationEvent parse = SerializationEvent.start();
+    List<AuthorizationResponse> responses =
+        AuthorizationResponseDeserializer.parseEvaluationsJson(responseJson, pending.size());
+    parse.record(SerializationEvent.PARSE, Codecs.JSON_MEDIA_TYPE, responseJson.length());
+    return responses;
+  }
+
+  /** Sends a fully prepared request to the PDP, bypassing the cache. */
+  private AuthorizationResponse evaluate(AuthorizationRequest request, AuthzClientConfig callConfig)
+      throws AuthorizationException {
+    try {
+      Codec codec = callConfig.getCodec();
+      if (isJson(codec)) {
+        SerializationEvent serialize = SerializationEvent.start();
+        String requestJson = AuthorizationRequestSerializer.buildRequestJson(request);
+        serialize.record(
+            SerializationEvent.SERIALIZE, Codecs.JSON_MEDIA_TYPE, requestJson.length());
+        return parseJson(transport.request(callConfig, requestJson));
+      }
+      SerializationEvent serialize = SerializationEvent.start();
+      byte[] requestBody = AuthorizationRequestSerializer.buildRequest(request, codec);
+      serialize.record(SerializationEvent.SERIALIZE, codec.getMediaType(), requestBody.length);
+      Payload response =
+          transport.request(callConfig, new Payload(requestBody, codec.getMediaType()));
+      SerializationEvent parse = SerializationEvent.start();
+      AuthorizationResponse decision =
+          AuthorizationResponseDeserializer.parseResponse(
+              response.getBody(), response.getContentType(), codec);
+      parse.record(SerializationEvent.PARSE, response.getContentType(), response.getBody().length);
+      return decision;
+    } catch (AuthorizationException e) {
+      throw e;
+    } catch (Exception e) {
+      throw unexpected(e);
+    }
+  }
+
+  /** Returns the configuration to call with at the given priority. */
+  private AuthzClientConfig withPriority(Priority priority) {
+    if (priority == null) {
+      throw new IllegalArgumentException("Priority must be provided.");
+    }
+    return callConfigs().get(priority);
+  }
+
+  /** Returns the call configurations of the current configuration snapshot. */
+  private CallConfigs callConfigs() {
+    AuthzClientConfig snapshot = config.snapshot();
+    CallConfigs current = callConfigs;
+    if (current == null || current.snapshot != snapshot) {
+      // Racing threads may both build them; either result is equivalent.
+      current = new CallConfigs(snapshot);
+      callConfigs = current;
+    }
+    return current;
+  }
+
+  private static AuthorizationResponse parseJson(String responseJson)
+      throws AuthorizationException {
+    SerializationEvent event = SerializationEvent.start();
+    AuthorizationResponse response =
+        AuthorizationResponseDeserializer.parseResponseJson(responseJson);
+    event.record(SerializationEvent.PARSE, Codecs.JSON_MEDIA_TYPE, responseJson.length());
+    return response;
+  }
+
+  private static boolean isJson(Codec codec) {
+    return codec == null || codec == Codecs.json();
+  }
+
+  static AuthorizationException unexpected(Exception e) {
+    return new AuthorizationException("Authorization request failed due to an unexpected error", e);
+  }
+
+  /**
+   * The configurations to call with at each priority, for requests and Access Evaluations requests,
+   * derived once per configuration snapshot so that transports see the same objects on every call.
+   */
+  private static final class CallConfigs {
+    final AuthzClientConfig snapshot;
+    private final Priority defaultPriority;
+    private final Map<Priority, AuthzClientConfig> requests = new EnumMap<>(Priority.class);
+    private final Map<Priority, AuthzClientConfig> evaluations = new EnumMap<>(Priority.class);
+
+    CallConfigs(AuthzClientConfig snapshot) {
+      this.snapshot = snapshot;
+      this.defaultPriority =
+          snapshot.getPriority() != null ? snapshot.getPriority() : Priority.INTERACTIVE;
+      Optional<String> evaluationsEndpoint = snapshot.getEvaluationsEndpoint();
+      for (Priority priority : Priority.values()) {
+        requests.put(
+            priority,
+            priority == snapshot.getPriority()
+                ? snapshot
+                : new CallConfig(snapshot, snapshot.getEndpoint(), priority));
+        if (evaluationsEndpoint.isPresent()) {
+          evaluations.put(priority, new CallConfig(snapshot, evaluationsEndpoint.get(), priority));
+        }
+      }
+    }
+
+    /** Returns the configuration at the given priority or, if {@code null}, the configured one. */
+    AuthzClientConfig get(Priority priority) {
+      return requests.get(priority != null ? priority : defaultPriority);
+    }
+
+    /** Returns the Access Evaluations configuration, or {@code null} if there is no endpoint. */
+    AuthzClientConfig evaluations(Priority priority) {
+      return evaluations.get(priority != null ? priority : defaultPriority);
+    }
+  }
+
+  /**
+   * The client's configuration with another endpoint or priority for one call, e.g. for Access
+   * Evaluations requests. Instances derived from the same snapshot with the same endpoint and
+   * priority are equal, so that transports keyed on configurations reuse what they derived even if
+   * the call configurations were built again.
+   */
+  private static final class CallConfig implements AuthzClientConfig {
+    private final AuthzClientConfig config;
+    private final String endpoint;
+    private final Priority priority;
+
+    CallConfig(AuthzClientConfig config, String endpoint, Priority priority) {
+      this.config = config;
+      this.endpoint = endpoint;
+      this.priority = priority;
+    }
+
+    @Override
+    public String getEndpoint() {
+      return endpoint;
+    }
+
+    @Override
+    public Optional<String> getEvaluationsEndpoint() {
+      return config.getEvaluationsEndpoint();
+    }
+
+    @Override
+    public Optional<String> getApiKey() {
+      return config.getApiKey();
+    }
+
+    @Override
+    public Optional<String> getApiKeyHeader() {
+      return config.getApiKeyHeader();
+    }
+
+    @Override
+    public Optional<String> getCompression() {
+      return config.getCompression();
+    }
+
+    @Override
+    public int getCompressionThreshold() {
+      return config.getCompressionThreshold();
+    }
+
+    @Override
+    public Codec getCodec() {
+      return config.getCodec();
+    }
+
+    @Override
+    public int getWarmUpConnections() {
+      return config.getWarmUpConnections();
+    }
+
+    @Override
+    public Optional<String> getUnixSocketPath() {
+      return config.getUnixSocketPath();
+    }
+
+    @Override
+    public int getMaxConnections() {
+      return config.getMaxConnections();
+    }
+
+    @Override
+    public RequestIdGenerator getRequestIdGenerator() {
+      return config.getRequestIdGenerator();
+    }
+
+    @Override
+    public Priority getPriority() {
+      return priority;
+    }
+
+    @Override
+    public boolean isImmutable() {
+      return config.isImmutable();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CallConfig)) {
+        return false;
+      }
+      CallConfig other = (CallConfig) o;
+      return config == other.config
+          && Objects.equals(endpoint, other.endpoint)
+          && priority == other.priority;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(config), endpoint, priority);
+    }
+  }
+
+  public static class Builder {
+    private AuthzClientConfig config;
+    private Transport transport;
+    private ContextFactory contextFactory;
+    private DecisionCache decisionCache;
+    private LocalEvaluator localEvaluator;
+
+    private Builder() {}
+
+    public Builder config(AuthzClientConfig config) {
+      this.config = config;
+      return this;
+    }
+
+    public Builder transport(Transport transport) {
+      this.transport = transport;
+      return this;
+    }
+
+    public Builder contextFactory(ContextFactory contextFactory) {
+      this.contextFactory = contextFactory;
+      return this;
+    }
+
+    public Builder decisionCache(DecisionCache decisionCache) {
+      this.decisionCache = decisionCache;
+      return this;
+    }
+
+    public Builder localEvaluator(LocalEvaluator localEvaluator) {
+      this.localEvaluator = localEvaluator;
+      return this;
+    }
+
+    public AuthzClient build() {
+      if (config == null) {
+        throw new IllegalStateException("Config must be provided.");
+      }
+      if (transport == null) {
+        throw new IllegalStateException("Transport must be provided.");
+      }
+      return new AuthzClient(this);
     }
   }
 }
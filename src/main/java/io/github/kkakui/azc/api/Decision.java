@@ -0,0 +1,137 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.api;
+
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.exception.OverloadException;
+import io.github.kkakui.azc.exception.StatusException;
+import io.github.kkakui.azc.exception.ThrottledException;
+import io.github.kkakui.azc.exception.TransportException;
+import java.io.IOException;
+
+/**
+ * The outcome of an authorization check made with {@link AuthzClient#decide(AuthorizationRequest)}:
+ * the request was allowed, denied, or could not be decided, in which case an {@link ErrorCode} says
+ * why. Callers on a hot path can branch on the outcome without catching exceptions. For example:
+ *
+ * <pre>
+ * Decision decision = client.decide(request);
+ * if (decision.isError() &amp;&amp; decision.getErrorCode() == Decision.ErrorCode.THROTTLED) {
+ *   // Serve a degraded response.
+ * }
+ * return decision.isAllowed();
+ * </pre>
+ */
+public final class Decision {
+
+  /** Whether the request was decided, and how. */
+  public enum Status {
+    ALLOWED,
+    DENIED,
+    ERROR
+  }
+
+  /** Why a request could not be decided. */
+  public enum ErrorCode {
+    /** The PDP could not be reached, or the connection failed. */
+    NETWORK,
+    /** The client shed the request before sending it, because it was overloaded. */
+    OVERLOADED,
+    /** The PDP turned the request away with {@code 429} or {@code 503}. */
+    THROTTLED,
+    /** The PDP rejected the request with another {@code 4xx} status. */
+    REJECTED,
+    /** The PDP failed with a {@code 5xx} or other unexpected status. */
+    SERVER_ERROR,
+    /** The calling thread was interrupted. */
+    INTERRUPTED,
+    /** Any other failure, e.g. an invalid configuration or a malformed response. */
+    OTHER
+  }
+
+  private final AuthorizationResponse response;
+  private final ErrorCode errorCode;
+  private final AuthorizationException failure;
+
+  private Decision(
+      AuthorizationResponse response, ErrorCode errorCode, AuthorizationException failure) {
+    this.response = response;
+    this.errorCode = errorCode;
+    this.failure = failure;
+  }
+
+  /** Returns the decision for a response from the PDP, the cache or the local evaluator. */
+  static Decision of(AuthorizationResponse response) {
+    return new Decision(response, null, null);
+  }
+
+  /** Returns the decision for a request that failed with the given exception. */
+  static Decision failed(AuthorizationException failure) {
+    return new Decision(null, classify(failure), failure);
+  }
+
+  /** Returns whether the request was allowed, denied or not decided. */
+  public Status getStatus() {
+    if (response == null) {
+      return Status.ERROR;
+    }
+    return response.isAllowed() ? Status.ALLOWED : Status.DENIED;
+  }
+
+  /** Returns whether the request was decided and allowed; a failed request is not allowed. */
+  public boolean isAllowed() {
+    return response != null && response.isAllowed();
+  }
+
+  /** Returns whether the request was decided and denied. */
+  public boolean isDenied() {
+    return response != null && !response.isAllowed();
+  }
+
+  /** Returns whether the request could not be decided. */
+  public boolean isError() {
+    return response == null;
+  }
+
+  /** Returns the response, or {@code null} if the request could not be decided. */
+  public AuthorizationResponse getResponse() {
+    return response;
+  }
+
+  /** Returns why the request could not be decided, or {@code null} if it was decided. */
+  public ErrorCode getErrorCode() {
+    return errorCode;
+  }
+
+  /**
+   * Returns the exception that prevented a decision, or {@code null} if it was decided. Failures
+   * from the HTTP transports and the admission layer carry no stack trace of their own.
+   */
+  public AuthorizationException getFailure() {
+    return failure;
+  }
+
+  private static ErrorCode classify(AuthorizationException failure) {
+    for (Throwable cause = failure.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof OverloadException) {
+        return ErrorCode.OVERLOADED;
+      }
+      if (cause instanceof ThrottledException) {
+        return ErrorCode.THROTTLED;
+      }
+      if (cause instanceof StatusException) {
+        int status = ((StatusException) cause).getStatusCode();
+        return status >= 400 && status < 500 ? ErrorCode.REJECTED : ErrorCode.SERVER_ERROR;
+      }
+      if (cause instanceof InterruptedException) {
+        return ErrorCode.INTERRUPTED;
+      }
+      if (cause instanceof TransportException && cause.getCause() instanceof IOException) {
+        return ErrorCode.NETWORK;
+      }
+    }
+    return ErrorCode.OTHER;
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.api;
+
+import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.context.ContextFactory;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Context;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import io.github.kkakui.azc.serialization.AuthorizationResponseDeserializer;
+import io.github.kkakui.azc.serialization.Codecs;
+import io.github.kkakui.azc.serialization.RequestTemplate;
+import io.github.kkakui.azc.transport.Payload;
+import io.github.kkakui.azc.transport.Transport;
+
+/**
+ * Checks one subject and action against many resources, created by {@link
+ * AuthzClient#prepare(Subject, Action, Context)}.
+ *
+ * <p>The subject, action and context are encoded once into a {@link RequestTemplate}, so each check
+ * only copies the template around the resource type and id before sending it. If the client has a
+ * {@link ContextFactory}, its context is merged in as for {@link
+ * AuthzClient#authorize(AuthorizationRequest)}; the template is re-encoded only when the factory
+ * returns a different context instance, e.g. when a {@link
+ * io.github.kkakui.azc.context.ContextPipeline} clock steps.
+ *
+ * <p>Clients with a decision cache, a local evaluator or a non-JSON codec need the full request, so
+ * for them each check builds one and calls {@link AuthzClient#authorize(AuthorizationRequest)}.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class PreparedAuthorization {
+  private final AuthzClient client;
+  private final AuthzClientConfig config;
+  private final Transport transport;
+  private final ContextFactory contextFactory;
+  private final Subject subject;
+  private final Action action;
+  private final Context context;
+  private final RequestTemplate template;
+  private volatile ContextTemplate current;
+
+  PreparedAuthorization(
+      AuthzClient client,
+      AuthzClientConfig config,
+      Transport transport,
+      ContextFactory contextFactory,
+      Subject subject,
+      Action action,
+      Context context,
+      boolean templated)
+      throws AuthorizationException {
+    this.client = client;
+    this.config = config;
+    this.transport = transport;
+    this.contextFactory = contextFactory;
+    this.subject = subject;
+    this.action = action;
+    this.context = context;
+    this.template = templated ? RequestTemplate.of(subject, action, context) : null;
+  }
+
+  /**
+   * Checks the prepared subject and action against a resource.
+   *
+   * @param resourceType the resource type.
+   * @param resourceId the resource id.
+   * @return the decision.
+   * @throws IllegalArgumentException if the type or id is null or blank.
+   * @throws AuthorizationException if the request fails.
+   */
+  public AuthorizationResponse authorize(String resourceType, String resourceId)
+      throws AuthorizationException {
+    if (template == null) {
+      return client.authorize(
+          new AuthorizationRequest.Builder()
+              .subject(subject)
+              .resource(new Resource.Builder().type(resourceType).id(resourceId).build())
+              .action(action)
+              .context(context)
+              .build());
+    }
+    AuthzClientConfig snapshot = config.snapshot();
+    AuthorizeEvent event = new AuthorizeEvent();
+    event.begin();
+    AuthorizationResponse response = null;
+    AuthorizationException failure = null;
+    try {
+      response = send(snapshot, resourceType, resourceId);
+      return response;
+    } catch (AuthorizationException e) {
+      failure = e;
+      throw e;
+    } finally {
+      if (event.shouldCommit()) {
+        event.endpoint = snapshot.getEndpoint();
+        event.priority = String.valueOf(snapshot.getPriority());
+        event.allowed = response != null && response.isAllowed();
+        event.failure = failure != null ? failure.getMessage() : null;
+        event.commit();
+      }
+    }
+  }
+
+  /** Renders the template for a resource and sends it, bypassing the client's request path. */
+  private AuthorizationResponse send(
+      AuthzClientConfig snapshot, String resourceType, String resourceId)
+      throws AuthorizationException {
+    try {
+      byte[] body = template().render(resourceType, resourceId);
+      Payload response = transport.request(snapshot, new Payload(body, Codecs.JSON_MEDIA_TYPE));
+      return AuthorizationResponseDeserializer.parseResponse(
+          response.getBody(), response.getContentType(), Codecs.json());
+    } catch (AuthorizationException | IllegalArgumentException e) {
+      throw e;
+    } catch (Exception e) {
+      throw AuthzClient.unexpected(e);
+    }
+  }
+
+  /** Returns the template with the context factory's current context merged in. */
+  private RequestTemplate template() throws AuthorizationException {
+    if (contextFactory == null) {
+      return template;
+    }
+    Context created = contextFactory.createContext();
+    ContextTemplate cached = current;
+    if (cached == null || cached.created != created) {
+      Context merged;
+      if (created == null || created.isEmpty()) {
+        merged = context;
+      } else {
+        merged = context == null ? created : context.merge(created);
+      }
+      cached = new ContextTemplate(created, template.withContext(merged));
+      current = cached;
+    }
+    return cached.template;
+  }
+
+  private static final class ContextTemplate {
+    final Context created;
+    final RequestTemplate template;
+
+    ContextTemplate(Context created, RequestTemplate template) {
+      this.created = created;
+      this.template = template;
+    }
+  }
+}
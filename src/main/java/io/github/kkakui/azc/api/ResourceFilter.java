@@ -0,0 +1,286 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.api;
+
+import io.github.kkakui.azc.admission.Priority;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Keeps the resources of a collection that a subject may act on, e.g. the documents a user may read
+ * out of thousands of candidates.
+ *
+ * <p>Resources are taken in chunks of {@code chunkSize}. For each chunk, the client's local
+ * evaluator and decision cache are consulted first; the remaining resources are decided by one
+ * Access Evaluations request to {@link
+ * io.github.kkakui.azc.config.AuthzClientConfig#getEvaluationsEndpoint()}, or one request each if
+ * there is none, and the decisions are cached. Up to {@code parallelism} chunks are in flight at a
+ * time.
+ *
+ * <p>{@link #stream(Subject, Action, Collection)} yields permitted resources in their original
+ * order as soon as their chunk is decided, and only dispatches chunks as the stream is consumed, so
+ * a page that stops early, e.g. with {@link Stream#limit(long)}, does not evaluate the rest. For
+ * example:
+ *
+ * <pre>
+ * ResourceFilter filter = ResourceFilter.builder().client(client).chunkSize(200).build();
+ * try (Stream&lt;Resource&gt; readable = filter.stream(user, read, documents)) {
+ *   page = readable.limit(50).collect(Collectors.toList());
+ * }
+ * </pre>
+ *
+ * <p>This class is thread-safe.
+ */
+public final class ResourceFilter {
+  private static final int DEFAULT_CHUNK_SIZE = 100;
+  private static final int DEFAULT_PARALLELISM = 4;
+
+  private final AuthzClient client;
+  private final int chunkSize;
+  private final int parallelism;
+  private final Executor executor;
+  private final Priority priority;
+
+  private ResourceFilter(Builder builder) {
+    this.client = builder.client;
+    this.chunkSize = builder.chunkSize;
+    this.parallelism = builder.parallelism;
+    this.executor = builder.executor != null ? builder.executor : DefaultExecutor.INSTANCE;
+    this.priority = builder.priority;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the resources the subject may act on.
+   *
+   * @param subject the subject.
+   * @param action the action.
+   * @param resources the candidates.
+   * @return the permitted resources, in their original order.
+   * @throws AuthorizationException if a decision cannot be obtained.
+   */
+  public List<Resource> filter(
+      Subject subject, Action action, Collection<? extends Resource> resources)
+      throws AuthorizationException {
+    List<Resource> permitted = new ArrayList<>();
+    try (Stream<Resource> stream = stream(subject, action, resources)) {
+      stream.forEach(permitted::add);
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof AuthorizationException) {
+        throw (AuthorizationException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+    return permitted;
+  }
+
+  /**
+   * Returns a lazily evaluated stream of the resources the subject may act on. Close the stream to
+   * cancel chunks that were dispatched but not consumed.
+   *
+   * @param subject the subject.
+   * @param action the action.
+   * @param resources the candidates, which must not change while the stream is consumed.
+   * @return the permitted resources, in their original order.
+   * @throws CompletionException when consumed, wrapping the {@link AuthorizationException} of a
+   *     chunk that could not be decided.
+   */
+  public Stream<Resource> stream(
+      Subject subject, Action action, Collection<? extends Resource> resources) {
+    if (subject == null) {
+      throw new IllegalArgumentException("Subject must be provided.");
+    }
+    if (action == null) {
+      throw new IllegalArgumentException("Action must be provided.");
+    }
+    FilterIterator iterator = new FilterIterator(subject, action, resources.iterator());
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(iterator::cancel);
+  }
+
+  /** Dispatches chunks ahead of the consumer and yields their permitted resources in order. */
+  private final class FilterIterator implements Iterator<Resource> {
+    private final Subject subject;
+    private final Action action;
+    private final Iterator<? extends Resource> source;
+    private final Deque<CompletableFuture<List<Resource>>> inFlight = new ArrayDeque<>();
+    private Iterator<Resource> current = List.<Resource>of().iterator();
+
+    FilterIterator(Subject subject, Action action, Iterator<? extends Resource> source) {
+      this.subject = subject;
+      this.action = action;
+      this.source = source;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!current.hasNext()) {
+        dispatch();
+        CompletableFuture<List<Resource>> next = inFlight.poll();
+        if (next == null) {
+          return false;
+        }
+        current = next.join().iterator();
+      }
+      return true;
+    }
+
+    @Override
+    public Resource next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.next();
+    }
+
+    void cancel() {
+      for (CompletableFuture<List<Resource>> chunk : inFlight) {
+        chunk.cancel(false);
+      }
+      inFlight.clear();
+    }
+
+    private void dispatch() {
+      while (inFlight.size() < parallelism && source.hasNext()) {
+        List<Resource> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize && source.hasNext()) {
+          Resource resource = source.next();
+          if (resource == null) {
+            throw new IllegalArgumentException("Resources must not contain null.");
+          }
+          chunk.add(resource);
+        }
+        inFlight.add(CompletableFuture.supplyAsync(() -> decide(chunk), executor));
+      }
+    }
+
+    private List<Resource> decide(List<Resource> chunk) {
+      List<AuthorizationResponse> decisions;
+      try {
+        decisions = client.evaluateAll(subject, action, chunk, priority);
+      } catch (AuthorizationException e) {
+        throw new CompletionException(e);
+      }
+      List<Resource> permitted = new ArrayList<>(chunk.size());
+      for (int i = 0; i < chunk.size(); i++) {
+        if (decisions.get(i).isAllowed()) {
+          permitted.add(chunk.get(i));
+        }
+      }
+      return permitted;
+    }
+  }
+
+  /** Shared by filters without an executor of their own; PDP calls block, so threads are cached. */
+  private static final class DefaultExecutor {
+    static final ExecutorService INSTANCE =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread = new Thread(runnable, "azc-resource-filter");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  public static class Builder {
+    private AuthzClient client;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int parallelism = DEFAULT_PARALLELISM;
+    private Executor executor;
+    private Priority priority;
+
+    private Builder() {}
+
+    public Builder client(AuthzClient client) {
+      this.client = client;
+      return this;
+    }
+
+    /**
+     * Sets how many resources are decided by one Access Evaluations request.
+     *
+     * @param chunkSize the number of resources per request, 100 by default.
+     * @return this builder.
+     */
+    public Builder chunkSize(int chunkSize) {
+      this.chunkSize = chunkSize;
+      return this;
+    }
+
+    /**
+     * Sets how many chunks may be in flight at a time, per stream.
+     *
+     * @param parallelism the number of chunks, 4 by default.
+     * @return this builder.
+     */
+    public Builder parallelism(int parallelism) {
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Sets the executor that decides chunks. By default, a shared pool of daemon threads is used.
+     *
+     * @param executor the executor.
+     * @return this builder.
+     */
+    public Builder executor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Sets the priority of the filter's calls, e.g. {@link Priority#BATCH} for a background job. By
+     * default, the client's configured priority is used.
+     *
+     * @param priority the priority.
+     * @return this builder.
+     */
+    public Builder priority(Priority priority) {
+      this.priority = priority;
+      return this;
+    }
+
+    public ResourceFilter build() {
+      if (client == null) {
+        throw new IllegalStateException("Client must be provided.");
+      }
+      if (chunkSize < 1) {
+        throw new IllegalStateException("Chunk size must be positive.");
+      }
+      if (parallelism < 1) {
+        throw new IllegalStateException("Parallelism must be positive.");
+      }
+      return new ResourceFilter(this);
+    }
+  }
+}
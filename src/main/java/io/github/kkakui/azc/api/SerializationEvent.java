@@ -0,0 +1,56 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for encoding a request or decoding a response in {@link
+ * AuthzClient}. There is one per message, so it is disabled unless a recording enables it, e.g.
+ * with the {@code azc.jfc} settings.
+ */
+@Name("io.github.kkakui.azc.Serialization")
+@Label("Serialization")
+@Category("azc")
+@Description("Encoding of a request or decoding of a response")
+@Enabled(false)
+@StackTrace(false)
+final class SerializationEvent extends Event {
+  static final String SERIALIZE = "serialize";
+  static final String PARSE = "parse";
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Media Type")
+  String mediaType;
+
+  @Label("Size")
+  @Description("Length of the encoded form, in characters for JSON text and bytes otherwise")
+  long size;
+
+  /** Creates an event and starts its timing. */
+  static SerializationEvent start() {
+    SerializationEvent event = new SerializationEvent();
+    event.begin();
+    return event;
+  }
+
+  /** Ends the timing and commits the event, if it is enabled and above its threshold. */
+  void record(String operation, String mediaType, long size) {
+    if (shouldCommit()) {
+      this.operation = operation;
+      this.mediaType = mediaType;
+      this.size = size;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.cache;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for a lookup in a {@link DecisionCache}, including any promotion
+ * from its tiers. There is one per cached check, so it is disabled unless a recording enables it,
+ * e.g. with the {@code azc.jfc} settings.
+ */
+@Name("io.github.kkakui.azc.CacheLookup")
+@Label("Decision Cache Lookup")
+@Category("azc")
+@Description("A lookup in the decision cache")
+@Enabled(false)
+@StackTrace(false)
+final class CacheLookupEvent extends Event {
+  static final String HIT = "hit";
+  static final String REFRESH = "refresh";
+  static final String MISS = "miss";
+
+  @Label("Outcome")
+  @Description("hit, refresh for a stale decision served while it is refreshed, or miss")
+  String outcome;
+
+  /** Creates an event and starts its timing. */
+  static CacheLookupEvent start() {
+    CacheLookupEvent event = new CacheLookupEvent();
+    event.begin();
+    return event;
+  }
+
+  /** Ends the timing and commits the event, if it is enabled and above its threshold. */
+  void record(String outcome) {
+    if (shouldCommit()) {
+      this.outcome = outcome;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.cache;
+
+/**
+ * A secondary store consulted by a {@link DecisionCache} when a key is not in memory, such as a
+ * {@link DecisionCacheSnapshot} left by a previous process. Decisions found in a tier are promoted
+ * into the cache and then follow its usual phases.
+ *
+ * <p>Implementations must be thread-safe.
+ */
+public interface CacheTier {
+
+  /**
+   * Looks up a decision.
+   *
+   * @param key the cache key.
+   * @return the decision, or {@code null} if the tier does not hold one. Expired decisions may be
+   *     returned; the cache discards them.
+   */
+  CachedDecision get(DecisionKey key);
+
+  /**
+   * Offers a decision that the cache has just stored. Read-only tiers ignore it, which is the
+   * default.
+   *
+   * @param key the cache key.
+   * @param decision the decision.
+   */
+  default void put(DecisionKey key, CachedDecision decision) {}
+
+  /**
+   * Tells the tier that decisions selected by an event must no longer be returned.
+   *
+   * @param event the invalidation event.
+   */
+  void invalidate(InvalidationEvent event);
+}
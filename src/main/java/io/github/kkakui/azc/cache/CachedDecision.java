@@ -0,0 +1,46 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.cache;
+
+import io.github.kkakui.azc.api.AuthorizationResponse;
+
+/**
+ * A decision held by a {@link CacheTier}, with the absolute times (in {@link
+ * java.time.Clock#millis() milliseconds since the epoch}) that bound its {@link DecisionCache}
+ * phases. This class is immutable.
+ */
+public final class CachedDecision {
+  private final AuthorizationResponse response;
+  private final long refreshAt;
+  private final long staleUntil;
+
+  public CachedDecision(AuthorizationResponse response, long refreshAt, long staleUntil) {
+    this.response = response;
+    this.refreshAt = refreshAt;
+    this.staleUntil = staleUntil;
+  }
+
+  public AuthorizationResponse getResponse() {
+    return response;
+  }
+
+  /**
+   * Returns when the decision stops being fresh and a background refresh should start.
+   *
+   * @return the time in milliseconds since the epoch.
+   */
+  public long getRefreshAt() {
+    return refreshAt;
+  }
+
+  /**
+   * Returns when the decision must no longer be served, including any stale window.
+   *
+   * @return the time in milliseconds since the epoch.
+   */
+  public long getStaleUntil() {
+    return staleUntil;
+  }
+}
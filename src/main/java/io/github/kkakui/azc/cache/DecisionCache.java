@@ -0,0 +1,844 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.cache;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.api.AuthorizationResponse;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An in-memory cache of authorization decisions, keyed by {@link DecisionKey}.
+ *
+ * <p>Each entry moves through three phases:
+ *
+ * <ol>
+ *   <li><b>Fresh</b> &mdash; served directly.
+ *   <li><b>Refresh-ahead</b> &mdash; the last {@code refreshAhead} of its time-to-live. The cached
+ *       decision is still served, and a single background refresh is started so that popular
+ *       entries are renewed before they expire instead of causing a miss.
+ *   <li><b>Stale</b> &mdash; up to {@code staleWindow} after expiry. The stale decision is served
+ *       while a background refresh is attempted, so a slow or failing PDP does not turn into
+ *       latency spikes for callers. Past this window the entry is dropped and the next call loads
+ *       synchronously.
+ * </ol>
+ *
+ * <p>Each entry's time-to-live is shortened by a random fraction of up to {@code jitter}, so that
+ * entries written together do not all expire together.
+ *
+ * <p>Serving stale decisions trades freshness for availability, so the stale window is disabled by
+ * default.
+ *
+ * <p>Secondary indexes over subject, resource and action allow dropping exactly the decisions
+ * affected by a change, e.g. with {@link #invalidateSubject(String, String)} when a user's roles
+ * change, instead of flushing the whole cache. Invalidations can also be fed from an {@link
+ * InvalidationSource}. A decision that was being loaded while an invalidation ran is not cached.
+ *
+ * <p>On a miss, the cache consults its {@link CacheTier}s before loading. With {@link
+ * Builder#snapshot(Path, Duration)}, live decisions are written to a file periodically and on
+ * shutdown, and read back lazily by the next process, so that a restart does not begin with a cold
+ * cache. An {@link OffHeapDecisionTier} holds far more decisions than the heap could, optionally
+ * shared between JVMs.
+ *
+ * <p>This class is thread-safe and should be constructed using its {@link Builder}.
+ */
+public final class DecisionCache {
+  private static final Logger logger = Logger.getLogger(DecisionCache.class.getName());
+  private static final double EVICTION_FRACTION = 0.1;
+  private static final int REFRESH_THREADS = 4;
+  private static final int REFRESH_QUEUE_SIZE = 1_000;
+  private static final long REFRESH_BACKOFF_MILLIS = 1_000;
+  private static final long MAX_REFRESH_BACKOFF_MILLIS = 30_000;
+
+  private final ConcurrentMap<DecisionKey, Entry> entries = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Set<DecisionKey>> bySubject = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Set<DecisionKey>> bySubjectType = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Set<DecisionKey>> byResource = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Set<DecisionKey>> byResourceType = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Set<DecisionKey>> byAction = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+  private final Object evictionLock = new Object();
+  private final List<InvalidationSource> sources = new CopyOnWriteArrayList<>();
+  private final long ttlMillis;
+  private final long refreshAheadMillis;
+  private final long staleWindowMillis;
+  private final double jitter;
+  private final int maxEntries;
+  private final Executor refreshExecutor;
+  private final ExecutorService ownedRefreshExecutor;
+  private final Clock clock;
+  private final List<CacheTier> tiers;
+  private final Path snapshotFile;
+  private final DecisionCacheSnapshot snapshot;
+  private final ScheduledExecutorService snapshotScheduler;
+  private final Thread shutdownHook;
+
+  private DecisionCache(Builder builder) {
+    this.ttlMillis = builder.ttl.toMillis();
+    this.refreshAheadMillis = builder.refreshAhead.toMillis();
+    this.staleWindowMillis = builder.staleWindow.toMillis();
+    this.jitter = builder.jitter;
+    this.maxEntries = builder.maxEntries;
+    this.ownedRefreshExecutor = builder.refreshExecutor == null ? defaultRefreshExecutor() : null;
+    this.refreshExecutor =
+        builder.refreshExecutor != null ? builder.refreshExecutor : ownedRefreshExecutor;
+    this.clock = builder.clock;
+    List<CacheTier> tiers = new ArrayList<>(builder.tiers);
+    this.snapshotFile = builder.snapshotFile;
+    this.snapshot = snapshotFile != null ? openSnapshot(snapshotFile) : null;
+    if (snapshotFile != null) {
+      if (snapshot != null) {
+        tiers.add(snapshot);
+      }
+      long intervalMillis = builder.snapshotInterval.toMillis();
+      this.snapshotScheduler =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "azc-decision-snapshot");
+                thread.setDaemon(true);
+                return thread;
+              });
+      snapshotScheduler.scheduleWithFixedDelay(
+          this::writeSnapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+      this.shutdownHook = new Thread(this::writeSnapshotQuietly, "azc-decision-snapshot-shutdown");
+      Runtime.getRuntime().addShutdownHook(shutdownHook);
+    } else {
+      this.snapshotScheduler = null;
+      this.shutdownHook = null;
+    }
+    this.tiers = List.copyOf(tiers);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the cached decision for a request, loading it through {@code loader} on a miss.
+   *
+   * @param request the request, after any context has been merged in.
+   * @param loader obtains a decision from the PDP.
+   * @return the cached or freshly loaded decision.
+   * @throws AuthorizationException if the decision had to be loaded and loading failed.
+   */
+  public AuthorizationResponse get(AuthorizationRequest request, DecisionLoader loader)
+      throws AuthorizationException {
+    DecisionKey key = DecisionKey.of(request);
+    AuthorizationResponse cached = lookup(key, request, loader);
+    if (cached != null) {
+      return cached;
+    }
+    long loadGeneration = generation.get();
+    AuthorizationResponse response = loader.load(request);
+    storeAndOffer(key, newEntry(response), loadGeneration);
+    return response;
+  }
+
+  /**
+   * Returns the cached decision for a request without loading it on a miss, e.g. to collect the
+   * misses of many requests and load them together. A decision due for refresh is still served and
+   * refreshed in the background through {@code loader}.
+   *
+   * @param request the request, after any context has been merged in.
+   * @param loader refreshes the decision from the PDP.
+   * @return the cached decision, or {@code null} on a miss.
+   */
+  public AuthorizationResponse getIfPresent(AuthorizationRequest request, DecisionLoader loader) {
+    return lookup(DecisionKey.of(request), request, loader);
+  }
+
+  /**
+   * Stores a decision obtained outside of {@link #get}.
+   *
+   * @param key the cache key.
+   * @param response the decision to cache.
+   */
+  public void put(DecisionKey key, AuthorizationResponse response) {
+    storeAndOffer(key, newEntry(response), generation.get());
+  }
+
+  /**
+   * Returns a token to take before loading decisions outside of {@link #get}, e.g. for a batch of
+   * misses, and to pass to {@link #put(DecisionKey, AuthorizationResponse, long)} with each result.
+   *
+   * @return the load token.
+   */
+  public long loadToken() {
+    return generation.get();
+  }
+
+  /**
+   * Stores a decision obtained outside of {@link #get}, unless an invalidation ran since {@code
+   * loadToken} was taken: the decision may then predate the change being invalidated.
+   *
+   * @param key the cache key.
+   * @param response the decision to cache.
+   * @param loadToken the {@linkplain #loadToken() token} taken before the decision was loaded.
+   * @return whether the decision was stored.
+   */
+  public boolean put(DecisionKey key, AuthorizationResponse response, long loadToken) {
+    Entry entry = newEntry(response);
+    if (!store(key, entry, loadToken)) {
+      return false;
+    }
+    offer(key, entry);
+    return true;
+  }
+
+  /**
+   * Removes the decisions for one subject.
+   *
+   * @param type the subject type.
+   * @param id the subject id.
+   * @return the number of decisions removed.
+   */
+  public int invalidateSubject(String type, String id) {
+    invalidateTiers(() -> InvalidationEvent.subject(type, id));
+    return invalidate(bySubject, type + '\0' + id);
+  }
+
+  /**
+   * Removes the decisions for every subject of a type.
+   *
+   * @param type the subject type.
+   * @return the number of decisions removed.
+   */
+  public int invalidateSubjectType(String type) {
+    invalidateTiers(() -> InvalidationEvent.subjectType(type));
+    return invalidate(bySubjectType, type);
+  }
+
+  /**
+   * Removes the decisions for one resource.
+   *
+   * @param type the resource type.
+   * @param id the resource id.
+   * @return the number of decisions removed.
+   */
+  public int invalidateResource(String type, String id) {
+    invalidateTiers(() -> InvalidationEvent.resource(type, id));
+    return invalidate(byResource, type + '\0' + id);
+  }
+
+  /**
+   * Removes the decisions for every resource of a type.
+   *
+   * @param type the resource type.
+   * @return the number of decisions removed.
+   */
+  public int invalidateResourceType(String type) {
+    invalidateTiers(() -> InvalidationEvent.resourceType(type));
+    return invalidate(byResourceType, type);
+  }
+
+  /**
+   * Removes the decisions for an action.
+   *
+   * @param name the action name.
+   * @return the number of decisions removed.
+   */
+  public int invalidateAction(String name) {
+    invalidateTiers(() -> InvalidationEvent.action(name));
+    return invalidate(byAction, name);
+  }
+
+  /**
+   * Removes the decisions selected by an event.
+   *
+   * @param event the invalidation event.
+   * @return the number of decisions removed.
+   */
+  public int invalidate(InvalidationEvent event) {
+    switch (event.getScope()) {
+      case SUBJECT:
+        return invalidateSubject(event.getType(), event.getId());
+      case SUBJECT_TYPE:
+        return invalidateSubjectType(event.getType());
+      case RESOURCE:
+        return invalidateResource(event.getType(), event.getId());
+      case RESOURCE_TYPE:
+        return invalidateResourceType(event.getType());
+      case ACTION:
+        return invalidateAction(event.getId());
+      default:
+        int size = entries.size();
+        invalidateAll();
+        return size;
+    }
+  }
+
+  /** Removes all cached decisions. */
+  public void invalidateAll() {
+    invalidateTiers(InvalidationEvent::all);
+    generation.incrementAndGet();
+    for (DecisionKey key : entries.keySet()) {
+      remove(key);
+    }
+  }
+
+  /**
+   * Applies the events of an invalidation source to this cache until the source is closed, or until
+   * {@link #close()} is called.
+   *
+   * @param source the source to subscribe to.
+   */
+  public void subscribe(InvalidationSource source) {
+    sources.add(source);
+    source.start(
+        event -> {
+          int removed = invalidate(event);
+          logger.fine("Invalidated " + removed + " decisions for " + event);
+        });
+  }
+
+  /**
+   * Closes all subscribed invalidation sources, stops the default refresh pool and, if snapshots
+   * are enabled, stops the periodic writer and writes a final snapshot. Cached decisions remain
+   * available, but are no longer refreshed in the background by the default pool.
+   */
+  public void close() {
+    for (InvalidationSource source : sources) {
+      source.close();
+    }
+    sources.clear();
+    if (ownedRefreshExecutor != null) {
+      ownedRefreshExecutor.shutdown();
+    }
+    if (snapshotScheduler != null && !snapshotScheduler.isShutdown()) {
+      snapshotScheduler.shutdown();
+      try {
+        Runtime.getRuntime().removeShutdownHook(shutdownHook);
+      } catch (IllegalStateException e) {
+        // Already shutting down; the hook writes the snapshot.
+        return;
+      }
+      writeSnapshotQuietly();
+    }
+  }
+
+  /**
+   * Writes the live decisions to the snapshot file now.
+   *
+   * @return the number of decisions written.
+   * @throws IllegalStateException if no snapshot file is configured.
+   * @throws IOException if the file cannot be written.
+   */
+  public int writeSnapshot() throws IOException {
+    if (snapshotFile == null) {
+      throw new IllegalStateException("No snapshot file is configured.");
+    }
+    return DecisionCacheSnapshot.write(this, snapshotFile);
+  }
+
+  /** Passes every decision that has not left its stale window to {@code action}. */
+  void forEachLive(BiConsumer<DecisionKey, CachedDecision> action) {
+    long now = clock.millis();
+    entries.forEach(
+        (key, entry) -> {
+          if (now < entry.staleUntil) {
+            action.accept(
+                key, new CachedDecision(entry.response, entry.refreshAt, entry.staleUntil));
+          }
+        });
+  }
+
+  /** Returns the snapshot opened when this cache was built, or {@code null} if there is none. */
+  DecisionCacheSnapshot openedSnapshot() {
+    return snapshot;
+  }
+
+  /** Returns the current time of this cache's clock, in milliseconds. */
+  long millis() {
+    return clock.millis();
+  }
+
+  /**
+   * Returns the number of cached decisions, including stale ones.
+   *
+   * @return the number of entries.
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  private AuthorizationResponse lookup(
+      DecisionKey key, AuthorizationRequest request, DecisionLoader loader) {
+    CacheLookupEvent event = CacheLookupEvent.start();
+    Entry entry = entries.get(key);
+    if (entry == null && !tiers.isEmpty()) {
+      entry = promote(key);
+    }
+    if (entry != null) {
+      long now = clock.millis();
+      if (entry.lastAccess != now) {
+        entry.lastAccess = now;
+      }
+      if (now < entry.refreshAt) {
+        event.record(CacheLookupEvent.HIT);
+        return entry.response;
+      }
+      if (now < entry.staleUntil) {
+        refreshInBackground(key, entry, request, loader);
+        event.record(CacheLookupEvent.REFRESH);
+        return entry.response;
+      }
+      remove(key, entry);
+    }
+    event.record(CacheLookupEvent.MISS);
+    return null;
+  }
+
+  private Entry newEntry(AuthorizationResponse response) {
+    long now = clock.millis();
+    long ttl = ttlMillis;
+    if (jitter > 0) {
+      ttl -= (long) (ttl * jitter * ThreadLocalRandom.current().nextDouble());
+    }
+    long expiresAt = now + ttl;
+    long refreshAt = Math.max(now, expiresAt - refreshAheadMillis);
+    return new Entry(response, refreshAt, expiresAt + staleWindowMillis);
+  }
+
+  /** Moves a decision from the first tier that holds a live one into memory. */
+  private Entry promote(DecisionKey key) {
+    long loadGeneration = generation.get();
+    for (CacheTier tier : tiers) {
+      CachedDecision decision = tier.get(key);
+      if (decision != null && clock.millis() < decision.getStaleUntil()) {
+        Entry entry =
+            new Entry(decision.getResponse(), decision.getRefreshAt(), decision.getStaleUntil());
+        return store(key, entry, loadGeneration) ? entry : null;
+      }
+    }
+    return null;
+  }
+
+  private void invalidateTiers(Supplier<InvalidationEvent> event) {
+    if (!tiers.isEmpty()) {
+      InvalidationEvent e = event.get();
+      for (CacheTier tier : tiers) {
+        tier.invalidate(e);
+      }
+    }
+  }
+
+  private void writeSnapshotQuietly() {
+    try {
+      int written = DecisionCacheSnapshot.write(this, snapshotFile);
+      logger.fine("Wrote " + written + " decisions to " + snapshotFile);
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Could not write decision cache snapshot " + snapshotFile, e);
+    }
+  }
+
+  private static DecisionCacheSnapshot openSnapshot(Path file) {
+    try {
+      DecisionCacheSnapshot snapshot = DecisionCacheSnapshot.open(file);
+      logger.fine("Opened " + snapshot);
+      return snapshot;
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Ignoring unreadable decision cache snapshot " + file, e);
+      return null;
+    }
+  }
+
+  private void refreshInBackground(
+      DecisionKey key, Entry entry, AuthorizationRequest request, DecisionLoader loader) {
+    if (clock.millis() < entry.retryRefreshAt) {
+      return; // The last refresh failed; give the PDP time to recover.
+    }
+    if (!entry.refreshing.compareAndSet(false, true)) {
+      return; // Another caller already started the refresh.
+    }
+    try {
+      refreshExecutor.execute(
+          () -> {
+            try {
+              long loadGeneration = generation.get();
+              AuthorizationResponse response = loader.load(request);
+              Entry refreshed = newEntry(response);
+              if (entries.replace(key, entry, refreshed)) {
+                if (generation.get() != loadGeneration) {
+                  remove(key);
+                } else {
+                  offer(key, refreshed);
+                }
+              }
+            } catch (AuthorizationException | RuntimeException e) {
+              // Keep serving the current decision until it leaves the stale window.
+              logger.log(Level.WARNING, "Background refresh failed for " + key, e);
+              refreshFailed(entry);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      // The refresh pool is saturated or closed; a later hit tries again.
+      logger.fine("Skipped background refresh for " + key + ": " + e.getMessage());
+      refreshFailed(entry);
+    } catch (RuntimeException e) {
+      logger.log(Level.WARNING, "Could not schedule background refresh for " + key, e);
+      refreshFailed(entry);
+    }
+  }
+
+  /** Allows the next refresh of an entry after a delay that doubles with each failure. */
+  private void refreshFailed(Entry entry) {
+    int failures = Math.min(entry.refreshFailures + 1, 16);
+    entry.refreshFailures = failures;
+    long backoff = Math.min(MAX_REFRESH_BACKOFF_MILLIS, REFRESH_BACKOFF_MILLIS << (failures - 1));
+    entry.retryRefreshAt = clock.millis() + backoff;
+    entry.refreshing.set(false);
+  }
+
+  /**
+   * Indexes and stores an entry, unless an invalidation ran since {@code loadGeneration}: the
+   * decision may then predate the change being invalidated.
+   */
+  private boolean store(DecisionKey key, Entry entry, long loadGeneration) {
+    if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+      makeRoom();
+    }
+    entry.lastAccess = clock.millis();
+    // Index before publishing, so a concurrent invalidation that misses the index entry is
+    // guaranteed to bump the generation seen below. Both happen under the key's lock in the map, so
+    // a concurrent removal cannot unindex the key after the new entry is published.
+    entries.compute(
+        key,
+        (k, old) -> {
+          index(k);
+          return entry;
+        });
+    if (generation.get() != loadGeneration) {
+      remove(key);
+      return false;
+    }
+    return true;
+  }
+
+  private void storeAndOffer(DecisionKey key, Entry entry, long loadGeneration) {
+    if (store(key, entry, loadGeneration)) {
+      offer(key, entry);
+    }
+  }
+
+  private void offer(DecisionKey key, Entry entry) {
+    if (!tiers.isEmpty()) {
+      CachedDecision decision =
+          new CachedDecision(entry.response, entry.refreshAt, entry.staleUntil);
+      for (CacheTier tier : tiers) {
+        tier.put(key, decision);
+      }
+    }
+  }
+
+  private int invalidate(ConcurrentMap<String, Set<DecisionKey>> index, String indexKey) {
+    generation.incrementAndGet();
+    Set<DecisionKey> keys = index.get(indexKey);
+    if (keys == null) {
+      return 0;
+    }
+    int removed = 0;
+    for (DecisionKey key : keys.toArray(new DecisionKey[0])) {
+      if (remove(key)) {
+        removed++;
+      }
+    }
+    return removed;
+  }
+
+  private void index(DecisionKey key) {
+    addTo(bySubject, key.getSubjectType() + '\0' + key.getSubjectId(), key);
+    addTo(bySubjectType, key.getSubjectType(), key);
+    addTo(byResource, key.getResourceType() + '\0' + key.getResourceId(), key);
+    addTo(byResourceType, key.getResourceType(), key);
+    addTo(byAction, key.getActionName(), key);
+  }
+
+  /**
+   * Removes and unindexes the decision for a key. The index is updated under the key's lock in the
+   * map, so that it always agrees with whether the key is cached.
+   */
+  private boolean remove(DecisionKey key) {
+    boolean[] removed = {false};
+    entries.computeIfPresent(
+        key,
+        (k, old) -> {
+          unindex(k);
+          removed[0] = true;
+          return null;
+        });
+    return removed[0];
+  }
+
+  /** Removes and unindexes the decision for a key if it is still {@code entry}. */
+  private boolean remove(DecisionKey key, Entry entry) {
+    boolean[] removed = {false};
+    entries.computeIfPresent(
+        key,
+        (k, old) -> {
+          if (old != entry) {
+            return old;
+          }
+          unindex(k);
+          removed[0] = true;
+          return null;
+        });
+    return removed[0];
+  }
+
+  private void unindex(DecisionKey key) {
+    removeFrom(bySubject, key.getSubjectType() + '\0' + key.getSubjectId(), key);
+    removeFrom(bySubjectType, key.getSubjectType(), key);
+    removeFrom(byResource, key.getResourceType() + '\0' + key.getResourceId(), key);
+    removeFrom(byResourceType, key.getResourceType(), key);
+    removeFrom(byAction, key.getActionName(), key);
+  }
+
+  private static void addTo(
+      ConcurrentMap<String, Set<DecisionKey>> index, String indexKey, DecisionKey key) {
+    index.compute(
+        indexKey,
+        (k, keys) -> {
+          Set<DecisionKey> result = keys != null ? keys : ConcurrentHashMap.newKeySet();
+          result.add(key);
+          return result;
+        });
+  }
+
+  private static void removeFrom(
+      ConcurrentMap<String, Set<DecisionKey>> index, String indexKey, DecisionKey key) {
+    index.computeIfPresent(
+        indexKey,
+        (k, keys) -> {
+          keys.remove(key);
+          return keys.isEmpty() ? null : keys;
+        });
+  }
+
+  /**
+   * Drops entries past their stale window and then the least recently used ones, until a tenth of
+   * the capacity is free. Freeing a batch at once means the entries are only scanned once every so
+   * many inserts, rather than on every insert into a full cache.
+   */
+  private void makeRoom() {
+    synchronized (evictionLock) {
+      if (entries.size() < maxEntries) {
+        return; // Another thread made room meanwhile.
+      }
+      long now = clock.millis();
+      int target = maxEntries - Math.max(1, (int) (maxEntries * EVICTION_FRACTION));
+      List<Candidate> candidates = new ArrayList<>(entries.size());
+      for (Map.Entry<DecisionKey, Entry> e : entries.entrySet()) {
+        Entry entry = e.getValue();
+        if (now >= entry.staleUntil) {
+          remove(e.getKey(), entry);
+        } else {
+          candidates.add(new Candidate(e.getKey(), entry));
+        }
+      }
+      int excess = entries.size() - target;
+      if (excess <= 0) {
+        return;
+      }
+      candidates.sort(Comparator.comparingLong(candidate -> candidate.lastAccess));
+      for (int i = 0; i < candidates.size() && excess > 0; i++) {
+        Candidate candidate = candidates.get(i);
+        if (remove(candidate.key, candidate.entry)) {
+          excess--;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns a small pool for background refreshes. Its queue is bounded, so that a burst of
+   * refresh-ahead triggers skips refreshes instead of piling up threads or tasks.
+   */
+  private static ExecutorService defaultRefreshExecutor() {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            REFRESH_THREADS,
+            REFRESH_THREADS,
+            30,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(REFRESH_QUEUE_SIZE),
+            runnable -> {
+              Thread thread = new Thread(runnable, "azc-decision-refresh");
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static final class Entry {
+    final AuthorizationResponse response;
+    final long refreshAt;
+    final long staleUntil;
+    final AtomicBoolean refreshing = new AtomicBoolean();
+    volatile long lastAccess;
+    // Written by the thread that holds the refresh, before it releases it.
+    volatile int refreshFailures;
+    volatile long retryRefreshAt;
+
+    Entry(AuthorizationResponse response, long refreshAt, long staleUntil) {
+      this.response = response;
+      this.refreshAt = refreshAt;
+      this.staleUntil = staleUntil;
+    }
+  }
+
+  /** An entry considered for eviction, with its last access time fixed for sorting. */
+  private static final class Candidate {
+    final DecisionKey key;
+    final Entry entry;
+    final long lastAccess;
+
+    Candidate(DecisionKey key, Entry entry) {
+      this.key = key;
+      this.entry = entry;
+      this.lastAccess = entry.lastAccess;
+    }
+  }
+
+  public static class Builder {
+    private Duration ttl = Duration.ofMinutes(1);
+    private Duration refreshAhead = Duration.ZERO;
+    private Duration staleWindow = Duration.ZERO;
+    private double jitter = 0.1;
+    private int maxEntries = 10_000;
+    private Executor refreshExecutor;
+    private Clock clock = Clock.systemUTC();
+    private final List<CacheTier> tiers = new ArrayList<>();
+    private Path snapshotFile;
+    private Duration snapshotInterval;
+
+    private Builder() {}
+
+    /** Sets how long a decision is considered valid. Defaults to one minute. */
+    public Builder ttl(Duration ttl) {
+      this.ttl = ttl;
+      return this;
+    }
+
+    /** Sets how long before expiry a background refresh starts. Defaults to zero (disabled). */
+    public Builder refreshAhead(Duration refreshAhead) {
+      this.refreshAhead = refreshAhead;
+      return this;
+    }
+
+    /** Sets how long after expiry a stale decision may still be served. Defaults to zero. */
+    public Builder staleWindow(Duration staleWindow) {
+      this.staleWindow = staleWindow;
+      return this;
+    }
+
+    /** Sets the maximum fraction (0 to 1) by which each TTL is randomly shortened. */
+    public Builder jitter(double jitter) {
+      this.jitter = jitter;
+      return this;
+    }
+
+    /**
+     * Sets the approximate maximum number of cached decisions. Defaults to 10,000. When the cache
+     * is full, the least recently used tenth of it is evicted.
+     */
+    public Builder maxEntries(int maxEntries) {
+      this.maxEntries = maxEntries;
+      return this;
+    }
+
+    /**
+     * Sets the executor for background refreshes. Defaults to a pool of 4 daemon threads owned by
+     * the cache, which {@link DecisionCache#close()} shuts down.
+     */
+    public Builder refreshExecutor(Executor refreshExecutor) {
+      this.refreshExecutor = refreshExecutor;
+      return this;
+    }
+
+    /** Sets the clock used for expiry. Intended for testing. */
+    public Builder clock(Clock clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    /** Adds a tier to consult on a miss. Tiers are consulted in the order they are added. */
+    public Builder tier(CacheTier tier) {
+      this.tiers.add(tier);
+      return this;
+    }
+
+    /**
+     * Enables snapshots: decisions are read lazily from {@code file} if it exists, and live
+     * decisions are written back to it every {@code interval}, on {@link DecisionCache#close()} and
+     * at JVM shutdown. An unreadable file is logged and ignored.
+     */
+    public Builder snapshot(Path file, Duration interval) {
+      this.snapshotFile = file;
+      this.snapshotInterval = interval;
+      return this;
+    }
+
+    public DecisionCache build() {
+      if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+        throw new IllegalStateException("TTL must be positive.");
+      }
+      if (refreshAhead == null || refreshAhead.isNegative() || refreshAhead.compareTo(ttl) > 0) {
+        throw new IllegalStateException("Refresh-ahead must be between zero and the TTL.");
+      }
+      if (staleWindow == null || staleWindow.isNegative()) {
+        throw new IllegalStateException("Stale window must not be negative.");
+      }
+      if (jitter < 0 || jitter >= 1) {
+        throw new IllegalStateException("Jitter must be at least 0 and less than 1.");
+      }
+      if (maxEntries <= 0) {
+        throw new IllegalStateException("Max entries must be positive.");
+      }
+      if (clock == null) {
+        throw new IllegalStateException("Clock must not be null.");
+      }
+      if (tiers.contains(null)) {
+        throw new IllegalStateException("Tier must not be null.");
+      }
+      if (snapshotFile != null
+          && (snapshotInterval == null
+              || snapshotInterval.isNegative()
+              || snapshotInterval.isZero())) {
+        throw new IllegalStateException("Snapshot interval must be positive.");
+      }
+      return new DecisionCache(this);
+    }
+  }
+}
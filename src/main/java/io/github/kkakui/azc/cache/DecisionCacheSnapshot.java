@@ -0,0 +1,425 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.kkakui.azc.api.AuthorizationResponse;
+import io.github.kkakui.azc.fingerprint.Fingerprint;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+/**
+ * A read-only {@link CacheTier} backed by a snapshot file of a {@link DecisionCache}, so that a
+ * restarted process starts with the decisions of its predecessor.
+ *
+ * <p>The file is memory-mapped and entries are decoded only when requested, so opening even a large
+ * snapshot is cheap. Decisions keep the absolute expiry they had when written; expired ones are
+ * ignored. Invalidations received after opening are remembered and applied to entries as they are
+ * read. Entries are matched by the canonical {@link DecisionKey#fingerprint() fingerprint} of their
+ * key, so property values compare as they do in memory regardless of their Java number types.
+ *
+ * <p>Snapshots are written to a temporary file that then replaces the target atomically, so a crash
+ * mid-write leaves the previous snapshot intact. A cache that was started from a snapshot carries
+ * its unexpired, uninvalidated entries into the next one, even if they were never requested and so
+ * never promoted into memory. Usually they are managed through {@link
+ * DecisionCache.Builder#snapshot(Path, java.time.Duration)} rather than used directly.
+ *
+ * <p>File layout (big-endian):
+ *
+ * <pre>
+ * header:  int magic "AZCS", int version, int count, long indexOffset
+ * entries: long refreshAt, long staleUntil, byte decision, long fingerprint high, long fingerprint low,
+ *          5 &times; string (subject type and id, resource type and id, action name),
+ *          JSON map (response context)
+ * index:   count &times; (int key hash, long entry offset), sorted by hash
+ * </pre>
+ *
+ * Strings and maps are prefixed by their length in bytes; a length of -1 denotes {@code null}.
+ */
+public final class DecisionCacheSnapshot implements CacheTier {
+  private static final int MAGIC = 0x415A4353; // "AZCS"
+  private static final int VERSION = 2;
+  private static final int HEADER_SIZE = 20;
+  private static final int INDEX_ENTRY_SIZE = 12;
+  private static final int STRINGS_OFFSET = 33;
+  // Past this many invalidations, checking each entry against all of them costs more than a miss.
+  private static final int MAX_TRACKED_INVALIDATIONS = 1024;
+  private static final Logger logger = Logger.getLogger(DecisionCacheSnapshot.class.getName());
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+  private final Path file;
+  private final ByteBuffer buffer;
+  private final int count;
+  private final int indexOffset;
+  private final List<InvalidationEvent> invalidations = new CopyOnWriteArrayList<>();
+  private volatile boolean disabled;
+
+  private DecisionCacheSnapshot(Path file, ByteBuffer buffer, int count, int indexOffset) {
+    this.file = file;
+    this.buffer = buffer;
+    this.count = count;
+    this.indexOffset = indexOffset;
+  }
+
+  /**
+   * Memory-maps a snapshot file.
+   *
+   * @param file the snapshot file.
+   * @return the snapshot.
+   * @throws java.nio.file.NoSuchFileException if the file does not exist.
+   * @throws IOException if the file cannot be read or is not a valid snapshot.
+   */
+  public static DecisionCacheSnapshot open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+        throw invalid(file);
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+        throw invalid(file);
+      }
+      int count = buffer.getInt(8);
+      long indexOffset = buffer.getLong(12);
+      if (count < 0
+          || indexOffset < HEADER_SIZE
+          || indexOffset + (long) count * INDEX_ENTRY_SIZE != size) {
+        throw invalid(file);
+      }
+      return new DecisionCacheSnapshot(file, buffer, count, (int) indexOffset);
+    }
+  }
+
+  /**
+   * Writes the live decisions of a cache to a snapshot file, atomically replacing any previous one.
+   *
+   * @param cache the cache to save.
+   * @param file the snapshot file.
+   * @return the number of decisions written.
+   * @throws IOException if the file cannot be written.
+   */
+  public static int write(DecisionCache cache, Path file) throws IOException {
+    List<Record> records = new ArrayList<>();
+    Set<Long> live = new HashSet<>();
+    cache.forEachLive(
+        (key, decision) -> {
+          Record record = new Record(key, decision);
+          live.add(record.fingerprint.getHigh());
+          records.add(record);
+        });
+    DecisionCacheSnapshot previous = cache.openedSnapshot();
+    if (previous != null) {
+      previous.carryOver(cache.millis(), live, records);
+    }
+    records.sort(Comparator.comparingInt(record -> record.hash));
+
+    Path target = file.toAbsolutePath();
+    Path temp = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        DataOutputStream out =
+            new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        out.write(new byte[HEADER_SIZE]); // Patched once the index offset is known.
+        long[] offsets = new long[records.size()];
+        for (int i = 0; i < offsets.length; i++) {
+          offsets[i] = out.size();
+          records.get(i).writeTo(out);
+          checkSize(out);
+        }
+        long indexOffset = out.size();
+        for (int i = 0; i < offsets.length; i++) {
+          out.writeInt(records.get(i).hash);
+          out.writeLong(offsets[i]);
+        }
+        out.flush();
+        checkSize(out);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(offsets.length).putLong(indexOffset).flip();
+        channel.write(header, 0);
+        channel.force(true);
+      }
+      try {
+        Files.move(
+            temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+    return records.size();
+  }
+
+  /**
+   * Returns the number of decisions in the file, including expired ones.
+   *
+   * @return the number of entries.
+   */
+  public int size() {
+    return count;
+  }
+
+  @Override
+  public CachedDecision get(DecisionKey key) {
+    if (disabled || count == 0) {
+      return null;
+    }
+    for (InvalidationEvent event : invalidations) {
+      if (event.matches(key)) {
+        return null;
+      }
+    }
+    int hash = key.hashCode();
+    // Binary search for the first index entry with this hash, then scan the collisions.
+    int low = 0;
+    int high = count;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (buffer.getInt(indexOffset + mid * INDEX_ENTRY_SIZE) < hash) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    Fingerprint fingerprint = null;
+    for (int i = low; i < count; i++) {
+      int position = indexOffset + i * INDEX_ENTRY_SIZE;
+      if (buffer.getInt(position) != hash) {
+        break;
+      }
+      if (fingerprint == null) {
+        fingerprint = key.fingerprint();
+      }
+      try {
+        CachedDecision decision = readEntry((int) buffer.getLong(position + 4), key, fingerprint);
+        if (decision != null) {
+          return decision;
+        }
+      } catch (IOException | RuntimeException e) {
+        // A damaged entry is only a miss; the PDP will be asked instead.
+        disabled = true;
+        logger.warning("Ignoring damaged decision cache snapshot " + file + ": " + e.getMessage());
+        return null;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void invalidate(InvalidationEvent event) {
+    if (event.getScope() == InvalidationEvent.Scope.ALL
+        || invalidations.size() >= MAX_TRACKED_INVALIDATIONS) {
+      disabled = true;
+      invalidations.clear();
+    } else if (!disabled) {
+      invalidations.add(event);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "DecisionCacheSnapshot[" + file + ", " + count + " entries]";
+  }
+
+  /**
+   * Adds the entries of this snapshot that are still worth keeping to {@code records}: those that
+   * have not expired or been invalidated, and whose keys are not among the {@code live}
+   * fingerprints already taken from memory. Entries are copied as they are, without decoding their
+   * JSON.
+   */
+  private void carryOver(long now, Set<Long> live, List<Record> records) {
+    if (disabled) {
+      return;
+    }
+    try {
+      for (int i = 0; i < count; i++) {
+        int position = indexOffset + i * INDEX_ENTRY_SIZE;
+        int entry = (int) buffer.getLong(position + 4);
+        if (buffer.getLong(entry + 8) <= now || live.contains(buffer.getLong(entry + 17))) {
+          continue;
+        }
+        int[] cursor = {entry + STRINGS_OFFSET};
+        String subjectType = readString(cursor);
+        String subjectId = readString(cursor);
+        String resourceType = readString(cursor);
+        String resourceId = readString(cursor);
+        String actionName = readString(cursor);
+        if (isInvalidated(subjectType, subjectId, resourceType, resourceId, actionName)) {
+          continue;
+        }
+        cursor[0] += 4 + Math.max(0, buffer.getInt(cursor[0]));
+        byte[] bytes = new byte[cursor[0] - entry];
+        buffer.get(entry, bytes);
+        records.add(new Record(buffer.getInt(position), bytes));
+      }
+    } catch (RuntimeException e) {
+      disabled = true;
+      logger.warning("Ignoring damaged decision cache snapshot " + file + ": " + e.getMessage());
+      records.removeIf(record -> record.bytes != null);
+    }
+  }
+
+  private boolean isInvalidated(
+      String subjectType,
+      String subjectId,
+      String resourceType,
+      String resourceId,
+      String actionName) {
+    for (InvalidationEvent event : invalidations) {
+      if (event.matches(subjectType, subjectId, resourceType, resourceId, actionName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Decodes the entry at {@code position} if it belongs to {@code key}. The identifying strings and
+   * the fingerprint are compared before any JSON is parsed, so hash collisions are cheap to reject.
+   */
+  private CachedDecision readEntry(int position, DecisionKey key, Fingerprint fingerprint)
+      throws IOException {
+    long refreshAt = buffer.getLong(position);
+    long staleUntil = buffer.getLong(position + 8);
+    boolean allowed = buffer.get(position + 16) != 0;
+    if (buffer.getLong(position + 17) != fingerprint.getHigh()
+        || buffer.getLong(position + 25) != fingerprint.getLow()) {
+      return null;
+    }
+    int[] cursor = {position + STRINGS_OFFSET};
+    if (!Objects.equals(readString(cursor), key.getSubjectType())
+        || !Objects.equals(readString(cursor), key.getSubjectId())
+        || !Objects.equals(readString(cursor), key.getResourceType())
+        || !Objects.equals(readString(cursor), key.getResourceId())
+        || !Objects.equals(readString(cursor), key.getActionName())) {
+      return null;
+    }
+    return new CachedDecision(
+        new AuthorizationResponse(allowed, readMap(cursor)), refreshAt, staleUntil);
+  }
+
+  private String readString(int[] cursor) {
+    byte[] bytes = readBytes(cursor);
+    return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private Map<String, Object> readMap(int[] cursor) throws IOException {
+    byte[] bytes = readBytes(cursor);
+    if (bytes == null) {
+      return null;
+    }
+    return bytes.length == 0 ? Collections.emptyMap() : MAPPER.readValue(bytes, MAP_TYPE);
+  }
+
+  private byte[] readBytes(int[] cursor) {
+    int length = buffer.getInt(cursor[0]);
+    cursor[0] += 4;
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(cursor[0], bytes);
+    cursor[0] += length;
+    return bytes;
+  }
+
+  private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+    if (bytes == null) {
+      out.writeInt(-1);
+    } else {
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  private static byte[] utf8(String value) {
+    return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] json(Map<String, Object> map) throws IOException {
+    if (map == null) {
+      return null;
+    }
+    return map.isEmpty() ? new byte[0] : MAPPER.writeValueAsBytes(map);
+  }
+
+  private static void checkSize(DataOutputStream out) throws IOException {
+    // size() saturates at Integer.MAX_VALUE, which is also the most that can be mapped.
+    if (out.size() == Integer.MAX_VALUE) {
+      throw new IOException("Decision cache snapshot exceeds 2 GiB.");
+    }
+  }
+
+  private static IOException invalid(Path file) {
+    return new IOException("Not a valid decision cache snapshot: " + file);
+  }
+
+  /** An entry to write: either a live decision, or the raw bytes of one carried over. */
+  private static final class Record {
+    final int hash;
+    final DecisionKey key;
+    final Fingerprint fingerprint;
+    final CachedDecision decision;
+    final byte[] bytes;
+
+    Record(DecisionKey key, CachedDecision decision) {
+      this.hash = key.hashCode();
+      this.key = key;
+      this.fingerprint = key.fingerprint();
+      this.decision = decision;
+      this.bytes = null;
+    }
+
+    Record(int hash, byte[] bytes) {
+      this.hash = hash;
+      this.key = null;
+      this.fingerprint = null;
+      this.decision = null;
+      this.bytes = bytes;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+      if (bytes != null) {
+        out.write(bytes);
+        return;
+      }
+      AuthorizationResponse response = decision.getResponse();
+      out.writeLong(decision.getRefreshAt());
+      out.writeLong(decision.getStaleUntil());
+      out.writeByte(response.isAllowed() ? 1 : 0);
+      out.writeLong(fingerprint.getHigh());
+      out.writeLong(fingerprint.getLow());
+      writeBytes(out, utf8(key.getSubjectType()));
+      writeBytes(out, utf8(key.getSubjectId()));
+      writeBytes(out, utf8(key.getResourceType()));
+      writeBytes(out, utf8(key.getResourceId()));
+      writeBytes(out, utf8(key.getActionName()));
+      writeBytes(out, json(response.getContext()));
+    }
+  }
+}
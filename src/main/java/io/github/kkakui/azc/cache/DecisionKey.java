@@ -0,0 +1,197 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.cache;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.fingerprint.CanonicalEncoder;
+import io.github.kkakui.azc.fingerprint.Fingerprint;
+import io.github.kkakui.azc.fingerprint.RequestFingerprinter;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The identity of a cached decision: every field of an {@link AuthorizationRequest} that can
+ * influence the PDP's answer. Two requests with equal subjects, resources, actions and contexts map
+ * to equal keys, regardless of the order in which their properties were added.
+ *
+ * <p>The hash code depends only on the string, number, boolean, list and map values of the request,
+ * so it is the same in every JVM and can be persisted, as {@link DecisionCacheSnapshot} does.
+ *
+ * <p>{@link #equals(Object)} compares property values with {@link Map#equals(Object)}, but the
+ * {@linkplain #fingerprint() fingerprint} normalizes numbers as {@link CanonicalEncoder} does. Keys
+ * whose properties differ only in the boxed type of a number, e.g. {@code 1} and {@code 1L}, are
+ * therefore different keys in memory but share an entry in the fingerprint-addressed {@link
+ * OffHeapDecisionTier} and in snapshots. Both serialize to the same JSON, so the PDP sees the same
+ * request either way; in memory the difference costs at most an extra miss.
+ */
+public final class DecisionKey {
+  private static final ThreadLocal<CanonicalEncoder> ENCODERS =
+      ThreadLocal.withInitial(CanonicalEncoder::new);
+
+  private final String subjectType;
+  private final String subjectId;
+  private final Map<String, Object> subjectProperties;
+  private final String resourceType;
+  private final String resourceId;
+  private final Map<String, Object> resourceProperties;
+  private final String actionName;
+  private final Map<String, Object> actionProperties;
+  private final Map<String, Object> context;
+  private final int hash;
+
+  private DecisionKey(AuthorizationRequest request) {
+    this(
+        request.getSubject().getType(),
+        request.getSubject().getId(),
+        request.getSubject().getProperties(),
+        request.getResource().getType(),
+        request.getResource().getId(),
+        request.getResource().getProperties(),
+        request.getAction().getName(),
+        request.getAction().getProperties(),
+        request.getContext() == null
+            ? Collections.emptyMap()
+            : request.getContext().getAttributes());
+  }
+
+  /** Reassembles a key from its fields, e.g. when reading a {@link DecisionCacheSnapshot}. */
+  DecisionKey(
+      String subjectType,
+      String subjectId,
+      Map<String, Object> subjectProperties,
+      String resourceType,
+      String resourceId,
+      Map<String, Object> resourceProperties,
+      String actionName,
+      Map<String, Object> actionProperties,
+      Map<String, Object> context) {
+    this.subjectType = subjectType;
+    this.subjectId = subjectId;
+    this.subjectProperties = subjectProperties;
+    this.resourceType = resourceType;
+    this.resourceId = resourceId;
+    this.resourceProperties = resourceProperties;
+    this.actionName = actionName;
+    this.actionProperties = actionProperties;
+    this.context = context;
+    this.hash =
+        Objects.hash(
+            subjectType,
+            subjectId,
+            subjectProperties,
+            resourceType,
+            resourceId,
+            resourceProperties,
+            actionName,
+            actionProperties,
+            context);
+  }
+
+  /**
+   * Creates the key for a request.
+   *
+   * @param request the request, after any context has been merged in.
+   * @return the cache key.
+   */
+  public static DecisionKey of(AuthorizationRequest request) {
+    return new DecisionKey(request);
+  }
+
+  public String getSubjectType() {
+    return subjectType;
+  }
+
+  public String getSubjectId() {
+    return subjectId;
+  }
+
+  public String getResourceType() {
+    return resourceType;
+  }
+
+  public String getResourceId() {
+    return resourceId;
+  }
+
+  public String getActionName() {
+    return actionName;
+  }
+
+  Map<String, Object> getSubjectProperties() {
+    return subjectProperties;
+  }
+
+  Map<String, Object> getResourceProperties() {
+    return resourceProperties;
+  }
+
+  Map<String, Object> getActionProperties() {
+    return actionProperties;
+  }
+
+  Map<String, Object> getContext() {
+    return context;
+  }
+
+  /**
+   * Returns the fingerprint of this key, which equals that of its request under {@link
+   * RequestFingerprinter#getDefault()}. Each thread reuses its own encoding buffer.
+   */
+  Fingerprint fingerprint() {
+    return ENCODERS
+        .get()
+        .reset()
+        .string(subjectType)
+        .string(subjectId)
+        .value(subjectProperties)
+        .string(resourceType)
+        .string(resourceId)
+        .value(resourceProperties)
+        .string(actionName)
+        .value(actionProperties)
+        .value(context)
+        .fingerprint();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof DecisionKey)) {
+      return false;
+    }
+    DecisionKey other = (DecisionKey) o;
+    return hash == other.hash
+        && subjectId.equals(other.subjectId)
+        && resourceId.equals(other.resourceId)
+        && actionName.equals(other.actionName)
+        && subjectType.equals(other.subjectType)
+        && resourceType.equals(other.resourceType)
+        && subjectProperties.equals(other.subjectProperties)
+        && resourceProperties.equals(other.resourceProperties)
+        && actionProperties.equals(other.actionProperties)
+        && context.equals(other.context);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return subjectType
+        + ":"
+        + subjectId
+        + " -> "
+        + actionName
+        + " -> "
+        + resourceType
+        + ":"
+        + resourceId;
+  }
+}
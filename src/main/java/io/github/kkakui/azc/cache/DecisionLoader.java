@@ -0,0 +1,15 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.cache;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.api.AuthorizationResponse;
+import io.github.kkakui.azc.exception.AuthorizationException;
+
+/** Obtains a fresh decision from the PDP on behalf of a {@link DecisionCache}. */
+@FunctionalInterface
+public interface DecisionLoader {
+  AuthorizationResponse load(AuthorizationRequest request) throws AuthorizationException;
+}
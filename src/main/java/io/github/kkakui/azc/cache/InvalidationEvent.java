@@ -0,0 +1,167 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.cache;
+
+import java.util.Locale;
+
+/**
+ * Describes a set of cached decisions that are no longer valid, e.g. because a subject's roles or a
+ * resource's ownership changed at the PDP. This class is immutable and should be constructed using
+ * its static factory methods.
+ */
+public final class InvalidationEvent {
+  /** The dimension an event selects decisions by. */
+  public enum Scope {
+    /** Decisions for one subject, selected by type and id. */
+    SUBJECT,
+    /** Decisions for every subject of a type. */
+    SUBJECT_TYPE,
+    /** Decisions for one resource, selected by type and id. */
+    RESOURCE,
+    /** Decisions for every resource of a type. */
+    RESOURCE_TYPE,
+    /** Decisions for an action, selected by name. */
+    ACTION,
+    /** Every cached decision. */
+    ALL
+  }
+
+  private static final InvalidationEvent ALL_EVENT = new InvalidationEvent(Scope.ALL, null, null);
+
+  private final Scope scope;
+  private final String type;
+  private final String id;
+
+  private InvalidationEvent(Scope scope, String type, String id) {
+    this.scope = scope;
+    this.type = type;
+    this.id = id;
+  }
+
+  public static InvalidationEvent subject(String type, String id) {
+    return new InvalidationEvent(Scope.SUBJECT, required(type, "type"), required(id, "id"));
+  }
+
+  public static InvalidationEvent subjectType(String type) {
+    return new InvalidationEvent(Scope.SUBJECT_TYPE, required(type, "type"), null);
+  }
+
+  public static InvalidationEvent resource(String type, String id) {
+    return new InvalidationEvent(Scope.RESOURCE, required(type, "type"), required(id, "id"));
+  }
+
+  public static InvalidationEvent resourceType(String type) {
+    return new InvalidationEvent(Scope.RESOURCE_TYPE, required(type, "type"), null);
+  }
+
+  public static InvalidationEvent action(String name) {
+    return new InvalidationEvent(Scope.ACTION, null, required(name, "name"));
+  }
+
+  public static InvalidationEvent all() {
+    return ALL_EVENT;
+  }
+
+  /**
+   * Creates an event from its wire form, as used by {@link SseInvalidationSource}.
+   *
+   * @param scope the scope name, e.g. "subject" or "resource_type", case-insensitive.
+   * @param type the subject or resource type, if the scope needs one.
+   * @param id the subject or resource id, or the action name, if the scope needs one.
+   * @return the event.
+   * @throws IllegalArgumentException if the scope is unknown or a required field is missing.
+   */
+  public static InvalidationEvent of(String scope, String type, String id) {
+    if (scope == null) {
+      throw new IllegalArgumentException("Invalidation 'scope' must not be null.");
+    }
+    switch (Scope.valueOf(scope.trim().toUpperCase(Locale.ROOT))) {
+      case SUBJECT:
+        return subject(type, id);
+      case SUBJECT_TYPE:
+        return subjectType(type);
+      case RESOURCE:
+        return resource(type, id);
+      case RESOURCE_TYPE:
+        return resourceType(type);
+      case ACTION:
+        return action(id);
+      default:
+        return all();
+    }
+  }
+
+  public Scope getScope() {
+    return scope;
+  }
+
+  /**
+   * Returns the subject or resource type.
+   *
+   * @return the type, or {@code null} for action and global scopes.
+   */
+  public String getType() {
+    return type;
+  }
+
+  /**
+   * Returns the subject or resource id, or the action name.
+   *
+   * @return the id, or {@code null} for type and global scopes.
+   */
+  public String getId() {
+    return id;
+  }
+
+  /**
+   * Returns whether this event selects a decision.
+   *
+   * @param key the key of the decision.
+   * @return {@code true} if the decision must be invalidated.
+   */
+  boolean matches(DecisionKey key) {
+    return matches(
+        key.getSubjectType(),
+        key.getSubjectId(),
+        key.getResourceType(),
+        key.getResourceId(),
+        key.getActionName());
+  }
+
+  /** Returns whether this event selects a decision with the given identifying fields. */
+  boolean matches(
+      String subjectType,
+      String subjectId,
+      String resourceType,
+      String resourceId,
+      String actionName) {
+    switch (scope) {
+      case SUBJECT:
+        return type.equals(subjectType) && id.equals(subjectId);
+      case SUBJECT_TYPE:
+        return type.equals(subjectType);
+      case RESOURCE:
+        return type.equals(resourceType) && id.equals(resourceId);
+      case RESOURCE_TYPE:
+        return type.equals(resourceType);
+      case ACTION:
+        return id.equals(actionName);
+      default:
+        return true;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return scope + (type != null ? " " + type : "") + (id != null ? " " + id : "");
+  }
+
+  private static String required(String value, String field) {
+    if (value == null || value.isBlank()) {
+      throw new IllegalArgumentException("Invalidation '" + field + "' must not be null or blank.");
+    }
+    return value;
+  }
+}
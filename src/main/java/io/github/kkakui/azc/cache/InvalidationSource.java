@@ -0,0 +1,26 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * A feed of {@link InvalidationEvent}s, such as a PDP's policy or data change stream.
+ *
+ * <p>Sources are attached with {@link DecisionCache#subscribe(InvalidationSource)}. They deliver
+ * events from their own threads until closed.
+ */
+public interface InvalidationSource extends AutoCloseable {
+  /**
+   * Starts delivering events to the given listener. Called once.
+   *
+   * @param listener receives each event as it arrives.
+   */
+  void start(Consumer<InvalidationEvent> listener);
+
+  /** Stops delivering events and releases any resources held by the source. */
+  @Override
+  void close();
+}
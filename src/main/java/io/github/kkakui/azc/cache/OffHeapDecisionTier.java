@@ -0,0 +1,419 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.cache;
+
+import io.github.kkakui.azc.api.AuthorizationResponse;
+import io.github.kkakui.azc.fingerprint.Fingerprint;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@link CacheTier} that keeps decisions outside the Java heap, for key spaces far larger than a
+ * {@link DecisionCache} should hold in memory. Pair it with a small {@code maxEntries} so that only
+ * hot decisions live on the heap.
+ *
+ * <p>Each decision takes a fixed 40-byte slot in direct or memory-mapped {@link ByteBuffer}
+ * segments, found by open addressing on a 128-bit fingerprint of its {@link DecisionKey}. The key
+ * itself is not stored: two keys with equal fingerprints are treated as the same key, which is
+ * vanishingly unlikely at 128 bits. Only the decision and its expiry are kept, so responses that
+ * carry a {@code context} are not stored. When all slots a key may occupy are taken, the one
+ * closest to expiry is replaced.
+ *
+ * <p>A tier created with {@link #map(Path, long)} lives in a file and can be shared by several JVMs
+ * on the same host: slots are guarded by a per-slot sequence lock, so readers never see a torn
+ * entry and concurrent writers simply skip a slot that is being written.
+ *
+ * <p>Invalidations apply to every JVM sharing the tier. Since fingerprints cannot be matched
+ * against a subject or resource, the header keeps hashes of the last 128 scoped invalidations and
+ * each slot the number of invalidations when it was written. A read checks the requested key
+ * against those recorded since, so an invalidation only costs the decisions it selects (and the
+ * rare ones whose hashes collide with them). Slots older than the whole record read as misses.
+ * Invalidating {@link InvalidationEvent.Scope#ALL all} decisions clears the tier at once.
+ *
+ * <p>Slot layout (native byte order):
+ *
+ * <pre>
+ * long fingerprint high, long fingerprint low, long staleUntil,
+ * int sequence (odd while being written),
+ * int meta (refresh lead in seconds &lt;&lt; 8 | epoch &lt;&lt; 1 | allowed),
+ * long number of invalidations when written
+ * </pre>
+ *
+ * A slot belongs to the current contents only if its epoch matches the one in the tier's header,
+ * which is advanced by every invalidation of all decisions. Scoped invalidations are recorded in
+ * the header as (long number, int scope ordinal, int hash), each guarded by its number in the same
+ * way as slots by their sequence.
+ */
+public final class OffHeapDecisionTier implements CacheTier {
+  private static final int MAGIC = 0x415A434F; // "AZCO"
+  private static final int VERSION = 2;
+  private static final int RING_SIZE = 128;
+  private static final int RECORD_SIZE = 16;
+  private static final int HEADER_CAPACITY = 8;
+  private static final int HEADER_EPOCH = 16;
+  private static final int HEADER_INVALIDATIONS = 24;
+  private static final int HEADER_RING = 64;
+  private static final int HEADER_SIZE = HEADER_RING + RING_SIZE * RECORD_SIZE;
+  private static final int RECORD_SCOPE = 8;
+  private static final int RECORD_HASH = 12;
+  private static final int SLOT_SIZE = 40;
+  private static final int FINGERPRINT_HIGH = 0;
+  private static final int FINGERPRINT_LOW = 8;
+  private static final int STALE_UNTIL = 16;
+  private static final int SEQUENCE = 24;
+  private static final int META = 28;
+  private static final int WRITTEN = 32;
+  private static final int SEGMENT_SHIFT = 25; // 2^25 slots, 1.25 GiB per segment
+  private static final int MAX_PROBES = 8;
+  private static final int MAX_EPOCH = 127;
+  private static final long MAX_LEAD_SECONDS = (1 << 23) - 1;
+  private static final long MAX_CAPACITY = 1L << 40;
+
+  private static final VarHandle INT =
+      MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+  private static final VarHandle LONG =
+      MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+  private static final AuthorizationResponse ALLOW = new AuthorizationResponse(true, null);
+  private static final AuthorizationResponse DENY = new AuthorizationResponse(false, null);
+  private static final InvalidationEvent.Scope[] SCOPES = InvalidationEvent.Scope.values();
+
+  private final ByteBuffer header;
+  private final ByteBuffer[] segments;
+  private final long capacity;
+  private final int segmentMask;
+
+  private OffHeapDecisionTier(ByteBuffer header, ByteBuffer[] segments, long capacity) {
+    this.header = header;
+    this.segments = segments;
+    this.capacity = capacity;
+    this.segmentMask = (int) Math.min(capacity, 1L << SEGMENT_SHIFT) - 1;
+  }
+
+  /**
+   * Creates a tier in direct memory, private to this JVM.
+   *
+   * @param capacity the minimum number of decisions to hold; rounded up to a power of two.
+   * @return the tier.
+   */
+  public static OffHeapDecisionTier allocate(long capacity) {
+    long slots = slots(capacity);
+    ByteBuffer header = aligned(HEADER_SIZE);
+    header.order(ByteOrder.nativeOrder());
+    initHeader(header, slots);
+    ByteBuffer[] segments = new ByteBuffer[segmentCount(slots)];
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] = aligned((int) (segmentSlots(slots) * SLOT_SIZE));
+    }
+    return new OffHeapDecisionTier(header, segments, slots);
+  }
+
+  /**
+   * Opens or creates a tier in a memory-mapped file that other JVMs on the same host may share. If
+   * the file already holds a tier, its capacity is kept and {@code capacity} is ignored.
+   *
+   * @param file the backing file.
+   * @param capacity the minimum number of decisions to hold when creating the file.
+   * @return the tier.
+   * @throws IOException if the file cannot be opened or does not hold a tier.
+   */
+  @SuppressWarnings("try") // The lock is only held, never referenced.
+  public static OffHeapDecisionTier map(Path file, long capacity) throws IOException {
+    long slots = slots(capacity);
+    try (FileChannel channel =
+            FileChannel.open(
+                file,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE);
+        // Keeps other JVMs from reading the header while this one sizes and initializes the file.
+        FileLock lock = channel.lock()) {
+      boolean created = channel.size() == 0;
+      if (created) {
+        // Writing the last byte sizes the file; the slots read as zeros, i.e. empty.
+        channel.write(ByteBuffer.allocate(1), HEADER_SIZE + slots * SLOT_SIZE - 1);
+      } else if (channel.size() < HEADER_SIZE) {
+        throw invalid(file);
+      }
+      ByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+      header.order(ByteOrder.nativeOrder());
+      if (created) {
+        initHeader(header, slots);
+      } else {
+        slots = header.getLong(HEADER_CAPACITY);
+        if (header.getInt(0) != MAGIC
+            || header.getInt(4) != VERSION
+            || slots < MAX_PROBES
+            || Long.bitCount(slots) != 1
+            || channel.size() != HEADER_SIZE + slots * SLOT_SIZE) {
+          throw invalid(file);
+        }
+      }
+      long segmentBytes = segmentSlots(slots) * SLOT_SIZE;
+      ByteBuffer[] segments = new ByteBuffer[segmentCount(slots)];
+      for (int i = 0; i < segments.length; i++) {
+        segments[i] =
+            channel.map(
+                FileChannel.MapMode.READ_WRITE, HEADER_SIZE + i * segmentBytes, segmentBytes);
+      }
+      return new OffHeapDecisionTier(header, segments, slots);
+    }
+  }
+
+  /**
+   * Returns the number of slots.
+   *
+   * @return the capacity, a power of two.
+   */
+  public long capacity() {
+    return capacity;
+  }
+
+  @Override
+  public CachedDecision get(DecisionKey key) {
+    Fingerprint fingerprint = key.fingerprint();
+    int epoch = epoch();
+    for (int probe = 0; probe < MAX_PROBES; probe++) {
+      long slot = (fingerprint.getLow() + probe) & (capacity - 1);
+      ByteBuffer segment = segment(slot);
+      int base = offset(slot);
+      int sequence = (int) INT.getAcquire(segment, base + SEQUENCE);
+      long high = (long) LONG.get(segment, base + FINGERPRINT_HIGH);
+      long low = (long) LONG.get(segment, base + FINGERPRINT_LOW);
+      long staleUntil = (long) LONG.get(segment, base + STALE_UNTIL);
+      int meta = (int) INT.get(segment, base + META);
+      long written = (long) LONG.get(segment, base + WRITTEN);
+      VarHandle.loadLoadFence();
+      if ((sequence & 1) != 0 || (int) INT.getVolatile(segment, base + SEQUENCE) != sequence) {
+        continue; // Being written; a miss is cheaper than waiting.
+      }
+      if (((meta >>> 1) & MAX_EPOCH) != epoch) {
+        return null; // Entries are only placed before the first free slot.
+      }
+      if (high == fingerprint.getHigh() && low == fingerprint.getLow()) {
+        if (written != invalidations() && isInvalidated(key, written)) {
+          return null;
+        }
+        long refreshAt = staleUntil - (meta >>> 8) * 1000L;
+        return new CachedDecision((meta & 1) != 0 ? ALLOW : DENY, refreshAt, staleUntil);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void put(DecisionKey key, CachedDecision decision) {
+    Map<String, Object> context = decision.getResponse().getContext();
+    if (context != null && !context.isEmpty()) {
+      return;
+    }
+    Fingerprint fingerprint = key.fingerprint();
+    int epoch = epoch();
+    long written = invalidations();
+    long target = -1;
+    long oldest = Long.MAX_VALUE;
+    for (int probe = 0; probe < MAX_PROBES; probe++) {
+      long slot = (fingerprint.getLow() + probe) & (capacity - 1);
+      ByteBuffer segment = segment(slot);
+      int base = offset(slot);
+      int meta = (int) INT.getVolatile(segment, base + META);
+      if (((meta >>> 1) & MAX_EPOCH) != epoch
+          || ((long) LONG.get(segment, base + FINGERPRINT_HIGH) == fingerprint.getHigh()
+              && (long) LONG.get(segment, base + FINGERPRINT_LOW) == fingerprint.getLow())) {
+        target = slot;
+        break;
+      }
+      long staleUntil = (long) LONG.get(segment, base + STALE_UNTIL);
+      if (staleUntil < oldest) {
+        oldest = staleUntil;
+        target = slot;
+      }
+    }
+    ByteBuffer segment = segment(target);
+    int base = offset(target);
+    int sequence = (int) INT.getVolatile(segment, base + SEQUENCE);
+    if ((sequence & 1) != 0
+        || !INT.compareAndSet(segment, base + SEQUENCE, sequence, sequence + 1)) {
+      return; // Another writer owns the slot.
+    }
+    VarHandle.storeStoreFence();
+    long lead = Math.max(0, decision.getStaleUntil() - decision.getRefreshAt());
+    long leadSeconds = Math.min(MAX_LEAD_SECONDS, (lead + 999) / 1000);
+    int meta =
+        (int) (leadSeconds << 8) | (epoch << 1) | (decision.getResponse().isAllowed() ? 1 : 0);
+    LONG.set(segment, base + FINGERPRINT_HIGH, fingerprint.getHigh());
+    LONG.set(segment, base + FINGERPRINT_LOW, fingerprint.getLow());
+    LONG.set(segment, base + STALE_UNTIL, decision.getStaleUntil());
+    INT.set(segment, base + META, meta);
+    LONG.set(segment, base + WRITTEN, written);
+    INT.setRelease(segment, base + SEQUENCE, sequence + 2);
+  }
+
+  /**
+   * Records a scoped invalidation for reads to check, or clears the tier by advancing the epoch,
+   * which orphans every slot at once.
+   */
+  @Override
+  public void invalidate(InvalidationEvent event) {
+    if (event.getScope() != InvalidationEvent.Scope.ALL) {
+      long number = (long) LONG.getAndAdd(header, HEADER_INVALIDATIONS, 1L) + 1;
+      int record = record(number);
+      // Readers of the record's previous contents see it change while it is being written.
+      LONG.setVolatile(header, record, 0L);
+      VarHandle.storeStoreFence();
+      INT.set(header, record + RECORD_SCOPE, event.getScope().ordinal());
+      INT.set(header, record + RECORD_HASH, hash(event));
+      LONG.setRelease(header, record, number);
+      return;
+    }
+    while (true) {
+      int epoch = epoch();
+      int next = epoch + 1;
+      if (next > MAX_EPOCH) {
+        // Slots from the first epoch may still be around; wipe them before it comes back.
+        clearSlots();
+        next = 1;
+      }
+      if (INT.compareAndSet(header, HEADER_EPOCH, epoch, next)) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "OffHeapDecisionTier[" + capacity + " slots]";
+  }
+
+  private int epoch() {
+    return (int) INT.getVolatile(header, HEADER_EPOCH);
+  }
+
+  private long invalidations() {
+    return (long) LONG.getVolatile(header, HEADER_INVALIDATIONS);
+  }
+
+  /**
+   * Returns whether an invalidation recorded after a slot was written selects its key. Records that
+   * are being written or have already been overwritten count as matches, since they can no longer
+   * be checked.
+   */
+  private boolean isInvalidated(DecisionKey key, long written) {
+    long count = invalidations();
+    if (count - written > RING_SIZE) {
+      return true;
+    }
+    for (long number = written + 1; number <= count; number++) {
+      int record = record(number);
+      long before = (long) LONG.getAcquire(header, record);
+      int scope = (int) INT.get(header, record + RECORD_SCOPE);
+      int hash = (int) INT.get(header, record + RECORD_HASH);
+      VarHandle.loadLoadFence();
+      if (before != number
+          || (long) LONG.getVolatile(header, record) != number
+          || scope < 0
+          || scope >= InvalidationEvent.Scope.ALL.ordinal()
+          || hash(key, SCOPES[scope]) == hash) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int record(long number) {
+    return HEADER_RING + (int) (number & (RING_SIZE - 1)) * RECORD_SIZE;
+  }
+
+  /** Returns the hash an invalidation of {@code scope} would select the key's decisions by. */
+  private static int hash(DecisionKey key, InvalidationEvent.Scope scope) {
+    switch (scope) {
+      case SUBJECT:
+        return hash(key.getSubjectType(), key.getSubjectId());
+      case SUBJECT_TYPE:
+        return Objects.hashCode(key.getSubjectType());
+      case RESOURCE:
+        return hash(key.getResourceType(), key.getResourceId());
+      case RESOURCE_TYPE:
+        return Objects.hashCode(key.getResourceType());
+      default:
+        return Objects.hashCode(key.getActionName());
+    }
+  }
+
+  private static int hash(InvalidationEvent event) {
+    switch (event.getScope()) {
+      case SUBJECT:
+      case RESOURCE:
+        return hash(event.getType(), event.getId());
+      case SUBJECT_TYPE:
+      case RESOURCE_TYPE:
+        return Objects.hashCode(event.getType());
+      default:
+        return Objects.hashCode(event.getId());
+    }
+  }
+
+  private static int hash(String type, String id) {
+    return 31 * Objects.hashCode(type) + Objects.hashCode(id);
+  }
+
+  private ByteBuffer segment(long slot) {
+    return segments[(int) (slot >>> SEGMENT_SHIFT)];
+  }
+
+  private int offset(long slot) {
+    return ((int) slot & segmentMask) * SLOT_SIZE;
+  }
+
+  private void clearSlots() {
+    for (ByteBuffer segment : segments) {
+      for (int base = 0; base < segment.capacity(); base += SLOT_SIZE) {
+        INT.setVolatile(segment, base + META, 0);
+      }
+    }
+  }
+
+  private static void initHeader(ByteBuffer header, long slots) {
+    header.putInt(0, MAGIC);
+    header.putInt(4, VERSION);
+    header.putLong(HEADER_CAPACITY, slots);
+    INT.setVolatile(header, HEADER_EPOCH, 1);
+  }
+
+  private static long slots(long capacity) {
+    if (capacity <= 0 || capacity > MAX_CAPACITY) {
+      throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ".");
+    }
+    return Math.max(MAX_PROBES, Long.highestOneBit(capacity - 1) << 1);
+  }
+
+  private static long segmentSlots(long slots) {
+    return Math.min(slots, 1L << SEGMENT_SHIFT);
+  }
+
+  private static int segmentCount(long slots) {
+    return (int) (slots / segmentSlots(slots));
+  }
+
+  /** Allocates a direct buffer whose start is aligned for atomic access to longs. */
+  private static ByteBuffer aligned(int size) {
+    return ByteBuffer.allocateDirect(size + Long.BYTES)
+        .alignedSlice(Long.BYTES)
+        .limit(size)
+        .slice();
+  }
+
+  private static IOException invalid(Path file) {
+    return new IOException("Not a valid off-heap decision cache file: " + file);
+  }
+}
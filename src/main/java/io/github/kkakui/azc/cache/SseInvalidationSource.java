@@ -0,0 +1,192 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * An {@link InvalidationSource} that reads a server-sent events (SSE) stream, such as a PDP's
+ * change feed or a local relay for its webhooks.
+ *
+ * <p>Each event's {@code data} is a JSON object with a {@code scope} (one of {@code subject},
+ * {@code subject_type}, {@code resource}, {@code resource_type}, {@code action} or {@code all}) and
+ * the {@code type} and {@code id} the scope requires, e.g.:
+ *
+ * <pre>
+ * data: {"scope":"subject","type":"user","id":"alice@acmecorp.com"}
+ * </pre>
+ *
+ * <p>The stream is read on a daemon thread and reopened after a delay whenever it ends or fails.
+ * The reopened stream is requested with the {@code Last-Event-ID} of the last event received, so
+ * that a server that keeps a history can replay what was missed. Since not every server does, the
+ * listener is also sent an {@link InvalidationEvent.Scope#ALL} event each time the stream is
+ * reopened, as any invalidation published in the gap would otherwise be lost. Malformed events are
+ * logged and skipped.
+ */
+public class SseInvalidationSource implements InvalidationSource {
+  private static final Logger logger = Logger.getLogger(SseInvalidationSource.class.getName());
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final Duration DEFAULT_RECONNECT_DELAY = Duration.ofSeconds(5);
+
+  private final URI uri;
+  private final HttpClient client;
+  private final Duration reconnectDelay;
+  private volatile boolean closed;
+  private volatile Stream<String> currentStream;
+  private volatile String lastEventId;
+  private Thread reader;
+
+  public SseInvalidationSource(URI uri) {
+    this(uri, HttpClient.newHttpClient(), DEFAULT_RECONNECT_DELAY);
+  }
+
+  /**
+   * The primary constructor for SseInvalidationSource.
+   *
+   * @param uri The URI of the event stream.
+   * @param client The HTTP client used to open the stream.
+   * @param reconnectDelay The delay before reopening a stream that ended or failed.
+   */
+  public SseInvalidationSource(URI uri, HttpClient client, Duration reconnectDelay) {
+    this.uri = uri;
+    this.client = client;
+    this.reconnectDelay = reconnectDelay;
+  }
+
+  @Override
+  public synchronized void start(Consumer<InvalidationEvent> listener) {
+    if (reader != null) {
+      throw new IllegalStateException("Invalidation source has already been started.");
+    }
+    reader = new Thread(() -> run(listener), "azc-sse-invalidation");
+    reader.setDaemon(true);
+    reader.start();
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    Stream<String> stream = currentStream;
+    if (stream != null) {
+      stream.close();
+    }
+    Thread thread;
+    synchronized (this) {
+      thread = reader;
+    }
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  private void run(Consumer<InvalidationEvent> listener) {
+    boolean reconnect = false;
+    while (!closed) {
+      try {
+        HttpRequest.Builder request =
+            HttpRequest.newBuilder(uri).header("Accept", "text/event-stream").GET();
+        String eventId = lastEventId;
+        if (eventId != null) {
+          request.header("Last-Event-ID", eventId);
+        }
+        HttpResponse<Stream<String>> response =
+            client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        if (response.statusCode() == 200) {
+          try (Stream<String> lines = response.body()) {
+            currentStream = lines;
+            if (reconnect) {
+              // Events published while the stream was down may be lost.
+              logger.info("Reopened invalidation stream; invalidating all decisions.");
+              listener.accept(InvalidationEvent.all());
+            }
+            reconnect = true;
+            readEvents(lines.iterator(), listener);
+          } finally {
+            currentStream = null;
+          }
+        } else {
+          response.body().close();
+          logger.warning("Invalidation stream returned status " + response.statusCode());
+        }
+      } catch (IOException | RuntimeException e) {
+        reconnect = true;
+        if (!closed) {
+          logger.log(Level.WARNING, "Invalidation stream failed: " + e.getMessage(), e);
+        }
+      } catch (InterruptedException e) {
+        return;
+      }
+      try {
+        Thread.sleep(reconnectDelay.toMillis());
+      } catch (InterruptedException e) {
+        return;
+      }
+    }
+  }
+
+  private void readEvents(Iterator<String> lines, Consumer<InvalidationEvent> listener) {
+    StringBuilder data = new StringBuilder();
+    String eventId = null;
+    while (!closed && lines.hasNext()) {
+      String line = lines.next();
+      if (line.isEmpty()) {
+        // A blank line dispatches the event.
+        if (data.length() > 0) {
+          dispatch(data.toString(), listener);
+          data.setLength(0);
+        }
+        if (eventId != null) {
+          lastEventId = eventId;
+          eventId = null;
+        }
+      } else if (line.startsWith("data:")) {
+        if (data.length() > 0) {
+          data.append('\n');
+        }
+        data.append(value(line, 5));
+      } else if (line.startsWith("id:")) {
+        String id = value(line, 3);
+        if (id.indexOf('\0') < 0) {
+          eventId = id;
+        }
+      }
+      // Comments, event names and retry hints are not needed.
+    }
+  }
+
+  /** Returns the value of a field line, without the single space that may follow the colon. */
+  private static String value(String line, int colon) {
+    return line.startsWith(" ", colon) ? line.substring(colon + 1) : line.substring(colon);
+  }
+
+  private static void dispatch(String data, Consumer<InvalidationEvent> listener) {
+    InvalidationEvent event;
+    try {
+      JsonNode node = MAPPER.readTree(data);
+      event = InvalidationEvent.of(text(node, "scope"), text(node, "type"), text(node, "id"));
+    } catch (IOException | IllegalArgumentException e) {
+      logger.warning("Skipping malformed invalidation event: " + data);
+      return;
+    }
+    listener.accept(event);
+  }
+
+  private static String text(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    return value == null || value.isNull() ? null : value.asText();
+  }
+}
@@ -4,6 +4,11 @@
  */
 package io.github.kkakui.azc.config;
 
+import io.github.kkakui.azc.admission.Priority;
+import io.github.kkakui.azc.serialization.Codec;
+import io.github.kkakui.azc.serialization.Codecs;
+import io.github.kkakui.azc.transport.RequestIdGenerator;
+import io.github.kkakui.azc.transport.RequestIdGenerators;
 import java.util.Optional;
 
 /**
@@ -27,6 +32,21 @@ public interface AuthzClientConfig {
    */
   Optional<String> getApiKey();
 
+  /**
+   * Returns the URL of the Access Evaluations endpoint, which decides many requests in one call.
+   * The default derives it from {@link #getEndpoint()} when that ends in {@code /evaluation}, as in
+   * the AuthZEN HTTPS binding, by appending an {@code s}.
+   *
+   * @return an {@link Optional} containing the URL, or empty to send requests one by one.
+   */
+  default Optional<String> getEvaluationsEndpoint() {
+    String endpoint = getEndpoint();
+    if (endpoint != null && endpoint.endsWith("/evaluation")) {
+      return Optional.of(endpoint + "s");
+    }
+    return Optional.empty();
+  }
+
   /**
    * Returns the name of the HTTP header to use for the API key.
    *
@@ -35,4 +55,119 @@ public interface AuthzClientConfig {
    * @return an {@link Optional} containing the header name, or empty to use the default.
    */
   Optional<String> getApiKeyHeader();
+
+  /**
+   * Returns the HTTP content coding (e.g., "gzip" or "deflate") used to compress large request
+   * bodies. When present, the transport also advertises the coding via {@code Accept-Encoding}.
+   *
+   * @return an {@link Optional} containing the coding name, or empty to disable compression.
+   */
+  default Optional<String> getCompression() {
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the minimum request body size, in bytes, from which compression is applied. Smaller
+   * bodies are sent uncompressed since the codec overhead outweighs the savings.
+   *
+   * @return the compression threshold in bytes.
+   */
+  default int getCompressionThreshold() {
+    return 1024;
+  }
+
+  /**
+   * Returns the wire format used to encode requests and negotiate responses.
+   *
+   * <p>Standard AuthZEN servers only speak JSON, the default. Binary formats such as {@link
+   * Codecs#smile()} are intended for PDPs under the caller's control.
+   *
+   * @return the codec to use.
+   */
+  default Codec getCodec() {
+    return Codecs.json();
+  }
+
+  /**
+   * Returns how many connections a transport should open and keep when warmed up, e.g. through
+   * {@link io.github.kkakui.azc.api.AuthzClient#warmUp()}. Set this to the expected number of
+   * concurrent requests so that none of them pays for a handshake.
+   *
+   * @return the number of connections, or zero to skip opening connections.
+   */
+  default int getWarmUpConnections() {
+    return 1;
+  }
+
+  /**
+   * Returns the path of a Unix domain socket on which the PDP listens, e.g. when it runs as a
+   * sidecar. Socket-based transports such as {@link
+   * io.github.kkakui.azc.transport.http.UnixSocketHttpClient} connect to it and use the endpoint
+   * URL only for the request target and {@code Host} header.
+   *
+   * @return an {@link Optional} containing the socket path, or empty if not configured.
+   */
+  default Optional<String> getUnixSocketPath() {
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the maximum number of connections a pooling transport keeps open to the endpoint.
+   * Requests beyond this limit wait for a connection to become free.
+   *
+   * @return the maximum number of connections.
+   */
+  default int getMaxConnections() {
+    return 8;
+  }
+
+  /**
+   * Returns the priority of calls made with this configuration, e.g. {@link Priority#BATCH} for a
+   * client used by a re-indexing job. Transports such as {@link
+   * io.github.kkakui.azc.admission.AdmissionTransport} queue calls in the lane of their priority.
+   *
+   * @return the priority.
+   */
+  default Priority getPriority() {
+    return Priority.INTERACTIVE;
+  }
+
+  /**
+   * Returns the generator of the {@code X-Request-ID} sent with each request, e.g. {@link
+   * RequestIdGenerators#propagating(java.util.function.Supplier)} to pass on the id of the request
+   * being served.
+   *
+   * @return the generator, {@link RequestIdGenerators#timeOrdered()} by default.
+   */
+  default RequestIdGenerator getRequestIdGenerator() {
+    return RequestIdGenerators.timeOrdered();
+  }
+
+  /**
+   * Returns a view of this configuration for one call. Clients take a snapshot at the start of each
+   * call so that all its settings come from the same configuration. If the snapshot is {@linkplain
+   * #isImmutable() immutable}, transports may keep what they derive from it, such as parsed
+   * endpoints and headers, for as long as the same snapshot is returned.
+   *
+   * <p>Configurations whose values never change return themselves, the default. Configurations that
+   * can change, such as {@link ReloadableAuthzClientConfig}, return the current configuration and a
+   * different object after each change.
+   *
+   * @return the current configuration.
+   */
+  default AuthzClientConfig snapshot() {
+    return this;
+  }
+
+  /**
+   * Returns whether the values of this configuration never change, so that transports may keep what
+   * they derive from it. Configurations that compute their values on each call, e.g. to read a
+   * rotating API key, must return {@code false}, the default; transports then read them on every
+   * request.
+   *
+   * @return {@code true} if every getter always returns the same value.
+   */
+  default boolean isImmutable() {
+    return false;
+  }
 }
@@ -4,6 +4,11 @@
  */
 package io.github.kkakui.azc.config;
 
+import io.github.kkakui.azc.admission.Priority;
+import io.github.kkakui.azc.serialization.Codec;
+import io.github.kkakui.azc.serialization.Codecs;
+import io.github.kkakui.azc.transport.RequestIdGenerator;
+import io.github.kkakui.azc.transport.RequestIdGenerators;
 import java.net.URI;
 import java.util.Optional;
 
@@ -11,17 +16,37 @@ import java.util.Optional;
  * A default, concrete implementation of {@link AuthzClientConfig}.
  *
  * <p>This class holds the endpoint URL and authentication credentials (API key) for the
- * authorization service.
+ * authorization service, as well as optional transport settings such as body compression, the wire
+ * format, the number of connections to open on warm-up, the Unix domain socket of a sidecar PDP,
+ * the priority of calls and the generator of request ids.
  */
 public class DefaultAuthzClientConfig implements AuthzClientConfig {
   private final String endpoint;
+  private final String evaluationsEndpoint;
   private final String apiKey;
   private final String apiKeyHeader;
+  private final String compression;
+  private final int compressionThreshold;
+  private final Codec codec;
+  private final int warmUpConnections;
+  private final String unixSocketPath;
+  private final int maxConnections;
+  private final Priority priority;
+  private final RequestIdGenerator requestIdGenerator;
 
   private DefaultAuthzClientConfig(Builder builder) {
     this.endpoint = builder.endpoint;
+    this.evaluationsEndpoint = builder.evaluationsEndpoint;
     this.apiKey = builder.apiKey;
     this.apiKeyHeader = builder.apiKeyHeader;
+    this.compression = builder.compression;
+    this.compressionThreshold = builder.compressionThreshold;
+    this.codec = builder.codec;
+    this.warmUpConnections = builder.warmUpConnections;
+    this.unixSocketPath = builder.unixSocketPath;
+    this.maxConnections = builder.maxConnections;
+    this.priority = builder.priority;
+    this.requestIdGenerator = builder.requestIdGenerator;
   }
 
   public static Builder builder() {
@@ -33,6 +58,14 @@ public class DefaultAuthzClientConfig implements AuthzClientConfig {
     return endpoint;
   }
 
+  @Override
+  public Optional<String> getEvaluationsEndpoint() {
+    if (evaluationsEndpoint != null) {
+      return Optional.of(evaluationsEndpoint);
+    }
+    return AuthzClientConfig.super.getEvaluationsEndpoint();
+  }
+
   @Override
   public Optional<String> getApiKey() {
     return Optional.ofNullable(apiKey);
@@ -43,10 +76,68 @@ public class DefaultAuthzClientConfig implements AuthzClientConfig {
     return Optional.ofNullable(apiKeyHeader);
   }
 
+  @Override
+  public Optional<String> getCompression() {
+    return Optional.ofNullable(compression);
+  }
+
+  @Override
+  public int getCompressionThreshold() {
+    return compressionThreshold;
+  }
+
+  @Override
+  public Codec getCodec() {
+    return codec;
+  }
+
+  @Override
+  public int getWarmUpConnections() {
+    return warmUpConnections;
+  }
+
+  @Override
+  public Optional<String> getUnixSocketPath() {
+    return Optional.ofNullable(unixSocketPath);
+  }
+
+  @Override
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  @Override
+  public Priority getPriority() {
+    return priority;
+  }
+
+  @Override
+  public RequestIdGenerator getRequestIdGenerator() {
+    return requestIdGenerator;
+  }
+
+  /**
+   * Returns {@code true}, since the settings are fixed when the configuration is built. Subclasses
+   * that override getters to return changing values must override this method too.
+   */
+  @Override
+  public boolean isImmutable() {
+    return true;
+  }
+
   public static class Builder {
     private String endpoint;
+    private String evaluationsEndpoint;
     private String apiKey;
     private String apiKeyHeader;
+    private String compression;
+    private int compressionThreshold = 1024;
+    private Codec codec = Codecs.json();
+    private int warmUpConnections = 1;
+    private String unixSocketPath;
+    private int maxConnections = 8;
+    private Priority priority = Priority.INTERACTIVE;
+    private RequestIdGenerator requestIdGenerator = RequestIdGenerators.timeOrdered();
 
     private Builder() {}
 
@@ -55,6 +146,11 @@ public class DefaultAuthzClientConfig implements AuthzClientConfig {
       return this;
     }
 
+    public Builder evaluationsEndpoint(String evaluationsEndpoint) {
+      this.evaluationsEndpoint = evaluationsEndpoint;
+      return this;
+    }
+
     public Builder apiKey(String apiKey) {
       this.apiKey = apiKey;
       return this;
@@ -65,6 +161,46 @@ public class DefaultAuthzClientConfig implements AuthzClientConfig {
       return this;
     }
 
+    public Builder compression(String compression) {
+      this.compression = compression;
+      return this;
+    }
+
+    public Builder compressionThreshold(int compressionThreshold) {
+      this.compressionThreshold = compressionThreshold;
+      return this;
+    }
+
+    public Builder codec(Codec codec) {
+      this.codec = codec;
+      return this;
+    }
+
+    public Builder warmUpConnections(int warmUpConnections) {
+      this.warmUpConnections = warmUpConnections;
+      return this;
+    }
+
+    public Builder unixSocketPath(String unixSocketPath) {
+      this.unixSocketPath = unixSocketPath;
+      return this;
+    }
+
+    public Builder maxConnections(int maxConnections) {
+      this.maxConnections = maxConnections;
+      return this;
+    }
+
+    public Builder priority(Priority priority) {
+      this.priority = priority;
+      return this;
+    }
+
+    public Builder requestIdGenerator(RequestIdGenerator requestIdGenerator) {
+      this.requestIdGenerator = requestIdGenerator;
+      return this;
+    }
+
     public DefaultAuthzClientConfig build() {
       if (endpoint == null || endpoint.isBlank()) {
         throw new IllegalStateException("Endpoint must be provided.");
@@ -75,6 +211,39 @@ public class DefaultAuthzClientConfig implements AuthzClientConfig {
       } catch (IllegalArgumentException e) {
         throw new IllegalStateException("Endpoint must be a valid URL.", e);
       }
+      if (evaluationsEndpoint != null) {
+        try {
+          URI.create(evaluationsEndpoint);
+        } catch (IllegalArgumentException e) {
+          throw new IllegalStateException("Evaluations endpoint must be a valid URL.", e);
+        }
+      }
+      if (compression != null
+          && !compression.equalsIgnoreCase("gzip")
+          && !compression.equalsIgnoreCase("deflate")) {
+        throw new IllegalStateException("Compression must be either 'gzip' or 'deflate'.");
+      }
+      if (compressionThreshold < 0) {
+        throw new IllegalStateException("Compression threshold must not be negative.");
+      }
+      if (codec == null) {
+        throw new IllegalStateException("Codec must not be null.");
+      }
+      if (warmUpConnections < 0) {
+        throw new IllegalStateException("Warm-up connections must not be negative.");
+      }
+      if (unixSocketPath != null && unixSocketPath.isBlank()) {
+        throw new IllegalStateException("Unix socket path must not be blank.");
+      }
+      if (maxConnections < 1) {
+        throw new IllegalStateException("Max connections must be positive.");
+      }
+      if (priority == null) {
+        throw new IllegalStateException("Priority must not be null.");
+      }
+      if (requestIdGenerator == null) {
+        throw new IllegalStateException("Request ID generator must not be null.");
+      }
       return new DefaultAuthzClientConfig(this);
     }
   }
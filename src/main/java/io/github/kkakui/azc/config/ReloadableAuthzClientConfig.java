@@ -0,0 +1,133 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.config;
+
+import io.github.kkakui.azc.admission.Priority;
+import io.github.kkakui.azc.serialization.Codec;
+import io.github.kkakui.azc.transport.RequestIdGenerator;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * An {@link AuthzClientConfig} whose settings can be replaced while clients use it, e.g. to rotate
+ * an API key or move to another PDP endpoint without rebuilding the client. For example:
+ *
+ * <pre>
+ * ReloadableAuthzClientConfig config =
+ *     new ReloadableAuthzClientConfig(DefaultAuthzClientConfig.builder()
+ *         .endpoint(endpoint).apiKey(currentKey).build());
+ * AuthzClient client = new AuthzClient(config, new SimpleHttpClient());
+ * // Later, when the key is rotated:
+ * config.update(DefaultAuthzClientConfig.builder().endpoint(endpoint).apiKey(newKey).build());
+ * </pre>
+ *
+ * <p>The current configuration is held in a single volatile reference, so an update is one write
+ * and reading it costs no locking. Each call works with the {@linkplain #snapshot() snapshot} taken
+ * at its start, so calls in flight finish with the settings they started with and later calls use
+ * the new ones. Transports that keep parsed endpoints and headers per snapshot rebuild them once
+ * after an update.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class ReloadableAuthzClientConfig implements AuthzClientConfig {
+  private static final Logger logger =
+      Logger.getLogger(ReloadableAuthzClientConfig.class.getName());
+
+  private volatile AuthzClientConfig current;
+
+  /**
+   * Creates a configuration with the given initial settings.
+   *
+   * @param initial the initial configuration.
+   */
+  public ReloadableAuthzClientConfig(AuthzClientConfig initial) {
+    if (initial == null) {
+      throw new IllegalArgumentException("Config must be provided.");
+    }
+    this.current = initial;
+  }
+
+  /**
+   * Replaces the settings. Calls that start afterwards use the new configuration.
+   *
+   * @param config the new configuration.
+   */
+  public void update(AuthzClientConfig config) {
+    if (config == null) {
+      throw new IllegalArgumentException("Config must be provided.");
+    }
+    if (config == this) {
+      throw new IllegalArgumentException("Config must not refer to itself.");
+    }
+    current = config;
+    logger.info("Updated client configuration for: " + config.getEndpoint());
+  }
+
+  /** Returns the current configuration. */
+  @Override
+  public AuthzClientConfig snapshot() {
+    return current.snapshot();
+  }
+
+  @Override
+  public String getEndpoint() {
+    return current.getEndpoint();
+  }
+
+  @Override
+  public Optional<String> getEvaluationsEndpoint() {
+    return current.getEvaluationsEndpoint();
+  }
+
+  @Override
+  public Optional<String> getApiKey() {
+    return current.getApiKey();
+  }
+
+  @Override
+  public Optional<String> getApiKeyHeader() {
+    return current.getApiKeyHeader();
+  }
+
+  @Override
+  public Optional<String> getCompression() {
+    return current.getCompression();
+  }
+
+  @Override
+  public int getCompressionThreshold() {
+    return current.getCompressionThreshold();
+  }
+
+  @Override
+  public Codec getCodec() {
+    return current.getCodec();
+  }
+
+  @Override
+  public int getWarmUpConnections() {
+    return current.getWarmUpConnections();
+  }
+
+  @Override
+  public Optional<String> getUnixSocketPath() {
+    return current.getUnixSocketPath();
+  }
+
+  @Override
+  public int getMaxConnections() {
+    return current.getMaxConnections();
+  }
+
+  @Override
+  public Priority getPriority() {
+    return current.getPriority();
+  }
+
+  @Override
+  public RequestIdGenerator getRequestIdGenerator() {
+    return current.getRequestIdGenerator();
+  }
+}
@@ -0,0 +1,24 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.context;
+
+/**
+ * The destination of context attributes written by a {@link ContextContributor}.
+ *
+ * <p>Depending on the caller, attributes are collected into a {@link
+ * io.github.kkakui.azc.model.Context} or written straight into the request body, so contributors
+ * never build maps of their own. The typed overloads avoid boxing; {@link #write(String, Object)}
+ * accepts any value the serializer can bind, such as lists and maps. Each name should be written at
+ * most once.
+ */
+public interface AttributeWriter {
+  void write(String name, String value);
+
+  void write(String name, long value);
+
+  void write(String name, boolean value);
+
+  void write(String name, Object value);
+}
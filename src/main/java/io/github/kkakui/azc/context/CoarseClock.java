@@ -0,0 +1,101 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.context;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A clock that only advances in steps of a fixed granularity and caches the text of the current
+ * step, so reading the time does not allocate.
+ *
+ * <p>Truncated timestamps also make otherwise identical requests identical, so that decisions can
+ * be served from a {@link io.github.kkakui.azc.cache.DecisionCache} for the whole step. Choose the
+ * coarsest granularity the policies tolerate. This class is thread-safe.
+ */
+public final class CoarseClock {
+  private final Clock source;
+  private final long granularityMillis;
+  private volatile Tick tick = new Tick(Long.MIN_VALUE, null);
+
+  private CoarseClock(Clock source, long granularityMillis) {
+    this.source = source;
+    this.granularityMillis = granularityMillis;
+  }
+
+  /**
+   * Creates a clock over the system UTC clock.
+   *
+   * @param granularity the step size, at least one millisecond.
+   * @return the clock.
+   * @throws IllegalArgumentException if the granularity is too small.
+   */
+  public static CoarseClock of(Duration granularity) {
+    return of(granularity, Clock.systemUTC());
+  }
+
+  /**
+   * Creates a clock over another clock.
+   *
+   * @param granularity the step size, at least one millisecond.
+   * @param source the underlying clock.
+   * @return the clock.
+   * @throws IllegalArgumentException if the granularity is too small or the source is null.
+   */
+  public static CoarseClock of(Duration granularity, Clock source) {
+    if (granularity == null || granularity.toMillis() < 1) {
+      throw new IllegalArgumentException("Granularity must be at least one millisecond.");
+    }
+    if (source == null) {
+      throw new IllegalArgumentException("Source clock must not be null.");
+    }
+    return new CoarseClock(source, granularity.toMillis());
+  }
+
+  /**
+   * Returns the start of the current step.
+   *
+   * @return the truncated time in milliseconds since the epoch.
+   */
+  public long millis() {
+    long now = source.millis();
+    return now - Math.floorMod(now, granularityMillis);
+  }
+
+  /**
+   * Returns the start of the current step in ISO-8601 format, e.g. {@code 2025-01-01T00:00:00Z}.
+   *
+   * @return the cached timestamp text.
+   */
+  public String timestamp() {
+    return current().text;
+  }
+
+  public Duration getGranularity() {
+    return Duration.ofMillis(granularityMillis);
+  }
+
+  /** Returns the current step, formatting it once per step. */
+  Tick current() {
+    long millis = millis();
+    Tick current = tick;
+    if (current.millis != millis) {
+      current = new Tick(millis, Instant.ofEpochMilli(millis).toString());
+      tick = current;
+    }
+    return current;
+  }
+
+  static final class Tick {
+    final long millis;
+    final String text;
+
+    Tick(long millis, String text) {
+      this.millis = millis;
+      this.text = text;
+    }
+  }
+}
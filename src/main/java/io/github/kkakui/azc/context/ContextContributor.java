@@ -0,0 +1,19 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.context;
+
+/**
+ * A source of context attributes that is called for every authorization request, e.g. to add the
+ * current tenant or trace ID from a thread-local. See {@link ContextPipeline}.
+ */
+@FunctionalInterface
+public interface ContextContributor {
+  /**
+   * Writes this contributor's attributes.
+   *
+   * @param attributes the destination.
+   */
+  void contribute(AttributeWriter attributes);
+}
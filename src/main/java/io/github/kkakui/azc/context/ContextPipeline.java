@@ -0,0 +1,194 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.context;
+
+import io.github.kkakui.azc.model.Context;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link ContextFactory} composed of static attributes, a timestamp from a {@link CoarseClock}
+ * and {@link ContextContributor}s.
+ *
+ * <p>Static attributes are fixed when the pipeline is built. Without contributors, the resulting
+ * {@link Context} only changes when the clock steps, so it is created once per step and shared by
+ * all requests in between. Contributors run for every request.
+ *
+ * <p>The pipeline is also a {@link ContextContributor} itself: the {@link
+ * io.github.kkakui.azc.api.AuthzClient} writes its attributes straight into the request body
+ * instead of creating a context, whenever neither a decision cache nor a local evaluator needs to
+ * see it. For example:
+ *
+ * <pre>
+ * ContextPipeline context = ContextPipeline.builder()
+ *     .attribute("service", "billing")
+ *     .timestamp("timestamp", CoarseClock.of(Duration.ofSeconds(1)))
+ *     .contributor(attributes -&gt; attributes.write("tenant", Tenant.current()))
+ *     .build();
+ * </pre>
+ *
+ * <p>This class is thread-safe if its contributors are.
+ */
+public final class ContextPipeline implements ContextFactory, ContextContributor {
+  private final String[] names;
+  private final Object[] values;
+  private final String timestampName;
+  private final CoarseClock clock;
+  private final ContextContributor[] contributors;
+  private final Context staticContext;
+  private volatile CachedContext cached;
+
+  private ContextPipeline(Builder builder) {
+    this.names = builder.attributes.keySet().toArray(new String[0]);
+    this.values = builder.attributes.values().toArray();
+    this.timestampName = builder.timestampName;
+    this.clock = builder.clock;
+    this.contributors = builder.contributors.toArray(new ContextContributor[0]);
+    this.staticContext = new Context(builder.attributes);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Without contributors, the same instance is returned until the clock steps.
+   */
+  @Override
+  public Context createContext() {
+    if (contributors.length > 0) {
+      MapWriter writer = new MapWriter();
+      contribute(writer);
+      return new Context(writer.attributes);
+    }
+    if (clock == null) {
+      return staticContext;
+    }
+    CoarseClock.Tick tick = clock.current();
+    CachedContext current = cached;
+    if (current == null || current.tick != tick) {
+      Context timestamp = new Context(Map.of(timestampName, tick.text));
+      current = new CachedContext(tick, staticContext.merge(timestamp));
+      cached = current;
+    }
+    return current.context;
+  }
+
+  /** Writes all attributes of the pipeline, in the order they were added. */
+  @Override
+  public void contribute(AttributeWriter attributes) {
+    for (int i = 0; i < names.length; i++) {
+      attributes.write(names[i], values[i]);
+    }
+    if (clock != null) {
+      attributes.write(timestampName, clock.timestamp());
+    }
+    for (ContextContributor contributor : contributors) {
+      contributor.contribute(attributes);
+    }
+  }
+
+  private static final class CachedContext {
+    final CoarseClock.Tick tick;
+    final Context context;
+
+    CachedContext(CoarseClock.Tick tick, Context context) {
+      this.tick = tick;
+      this.context = context;
+    }
+  }
+
+  /** Collects attributes into a map; later values replace earlier ones. */
+  private static final class MapWriter implements AttributeWriter {
+    final Map<String, Object> attributes = new HashMap<>();
+
+    @Override
+    public void write(String name, String value) {
+      attributes.put(name, value);
+    }
+
+    @Override
+    public void write(String name, long value) {
+      attributes.put(name, value);
+    }
+
+    @Override
+    public void write(String name, boolean value) {
+      attributes.put(name, value);
+    }
+
+    @Override
+    public void write(String name, Object value) {
+      attributes.put(name, value);
+    }
+  }
+
+  public static class Builder {
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private final List<ContextContributor> contributors = new ArrayList<>();
+    private String timestampName;
+    private CoarseClock clock;
+
+    private Builder() {}
+
+    /**
+     * Adds an attribute with a fixed value, e.g. the service name or host.
+     *
+     * @param name the attribute name.
+     * @param value the value, which must not change afterwards.
+     * @return this builder.
+     */
+    public Builder attribute(String name, Object value) {
+      attributes.put(name, value);
+      return this;
+    }
+
+    /**
+     * Adds the current time, truncated by the given clock, as an ISO-8601 string.
+     *
+     * @param name the attribute name, e.g. {@code timestamp}.
+     * @param clock the clock.
+     * @return this builder.
+     */
+    public Builder timestamp(String name, CoarseClock clock) {
+      this.timestampName = name;
+      this.clock = clock;
+      return this;
+    }
+
+    public Builder contributor(ContextContributor contributor) {
+      contributors.add(contributor);
+      return this;
+    }
+
+    public ContextPipeline build() {
+      for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+        if (attribute.getKey() == null || attribute.getKey().isBlank()) {
+          throw new IllegalStateException("Attribute name must not be blank.");
+        }
+        if (attribute.getValue() == null) {
+          throw new IllegalStateException(
+              "Attribute '" + attribute.getKey() + "' must not be null.");
+        }
+      }
+      if (clock != null && (timestampName == null || timestampName.isBlank())) {
+        throw new IllegalStateException("Timestamp name must not be blank.");
+      }
+      if (clock != null && attributes.containsKey(timestampName)) {
+        throw new IllegalStateException(
+            "Timestamp name '" + timestampName + "' is already used by an attribute.");
+      }
+      if (contributors.contains(null)) {
+        throw new IllegalStateException("Contributor must not be null.");
+      }
+      return new ContextPipeline(this);
+    }
+  }
+}
@@ -12,6 +12,9 @@ import java.util.Map;
 /**
  * A default implementation of {@link ContextFactory} that adds the current timestamp to the context
  * of every authorization request.
+ *
+ * <p>A new context is created for every call. Use a {@link ContextPipeline} with a {@link
+ * CoarseClock} to share contexts between requests and avoid formatting the time each time.
  */
 public class DefaultContextFactory implements ContextFactory {
 
@@ -16,4 +16,17 @@ public class AuthorizationException extends Exception {
   public AuthorizationException(String message) {
     super(message);
   }
+
+  /**
+   * Constructs a new AuthorizationException that may skip recording its stack trace. Failures that
+   * describe a response or wrap a cause, whose own trace shows where it arose, are cheaper to
+   * create without one.
+   *
+   * @param message the detail message.
+   * @param cause the cause, or {@code null} for none.
+   * @param writableStackTrace whether to record the stack trace.
+   */
+  public AuthorizationException(String message, Throwable cause, boolean writableStackTrace) {
+    super(message, cause, true, writableStackTrace);
+  }
 }
@@ -0,0 +1,43 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.exception;
+
+/**
+ * A {@link TransportException} thrown when a request is shed before it is sent, because the client
+ * already has as many requests waiting as it may queue, or because the request waited longer than
+ * allowed. The PDP never saw the request, so it may be retried once the load has eased.
+ */
+public class OverloadException extends TransportException {
+  /**
+   * Constructs a new OverloadException with the specified detail message.
+   *
+   * @param message the detail message.
+   */
+  public OverloadException(String message) {
+    super(message);
+  }
+
+  /**
+   * Constructs a new OverloadException with the specified detail message and cause.
+   *
+   * @param message the detail message.
+   * @param cause the cause (which is saved for later retrieval by the {@link #getCause()} method).
+   */
+  public OverloadException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  /**
+   * Constructs a new OverloadException that may skip recording its stack trace, since shedding
+   * under load produces many of them.
+   *
+   * @param message the detail message.
+   * @param cause the cause, or {@code null} for none.
+   * @param writableStackTrace whether to record the stack trace.
+   */
+  public OverloadException(String message, Throwable cause, boolean writableStackTrace) {
+    super(message, cause, writableStackTrace);
+  }
+}
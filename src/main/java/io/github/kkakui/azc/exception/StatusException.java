@@ -0,0 +1,37 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.exception;
+
+/**
+ * A {@link TransportException} thrown when the PDP answers with an HTTP status that is not a
+ * decision, such as {@code 400 Bad Request} or a {@code 500 Internal Server Error} that persisted
+ * through the retries.
+ *
+ * <p>Instances carry no stack trace: they describe the PDP's response rather than a fault in the
+ * client, and a PDP incident can produce thousands of them per second.
+ */
+public class StatusException extends TransportException {
+  private final int statusCode;
+
+  /**
+   * Constructs a new StatusException.
+   *
+   * @param message the detail message.
+   * @param statusCode the HTTP status code of the response.
+   */
+  public StatusException(String message, int statusCode) {
+    super(message, null, false);
+    this.statusCode = statusCode;
+  }
+
+  /**
+   * Returns the HTTP status code of the response.
+   *
+   * @return the status code, e.g. 400.
+   */
+  public int getStatusCode() {
+    return statusCode;
+  }
+}
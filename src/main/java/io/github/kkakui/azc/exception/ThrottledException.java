@@ -0,0 +1,38 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.exception;
+
+import java.time.Duration;
+
+/**
+ * A {@link StatusException} thrown when the PDP turns a request away because the caller exceeds its
+ * quota or the PDP is overloaded, with {@code 429 Too Many Requests} or {@code 503 Service
+ * Unavailable}. If the PDP sent {@code Retry-After}, it says how long to hold off before the next
+ * request.
+ */
+public class ThrottledException extends StatusException {
+  private final Duration retryAfter;
+
+  /**
+   * Constructs a new ThrottledException.
+   *
+   * @param message the detail message.
+   * @param statusCode the HTTP status code of the response.
+   * @param retryAfter the delay the PDP asked for, or {@code null} if it did not send one.
+   */
+  public ThrottledException(String message, int statusCode, Duration retryAfter) {
+    super(message, statusCode);
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * Returns how long the PDP asked callers to wait before sending another request.
+   *
+   * @return the delay, or {@code null} if the response had no valid {@code Retry-After}.
+   */
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
@@ -27,4 +27,17 @@ public class TransportException extends Exception {
   public TransportException(String message, Throwable cause) {
     super(message, cause);
   }
+
+  /**
+   * Constructs a new TransportException that may skip recording its stack trace. Failures that
+   * describe a response or wrap a cause, whose own trace shows where it arose, are cheaper to
+   * create without one.
+   *
+   * @param message the detail message.
+   * @param cause the cause, or {@code null} for none.
+   * @param writableStackTrace whether to record the stack trace.
+   */
+  public TransportException(String message, Throwable cause, boolean writableStackTrace) {
+    super(message, cause, true, writableStackTrace);
+  }
 }
@@ -0,0 +1,180 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.fingerprint;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Writes values as type-tagged, length-prefixed bytes, so that equal values always produce equal
+ * bytes.
+ *
+ * <p>Map entries are sorted by key, and every integral number is written as a {@code long}, so the
+ * encoding does not depend on property order, on the map implementation or on whether a number was
+ * parsed as an {@code Integer} or a {@code Long}. It is the same in every JVM. Strings, booleans,
+ * numbers, maps, collections and arrays are supported; any other value is written as its {@code
+ * toString()} under a tag of its own, so it never encodes like a number or string that prints the
+ * same.
+ *
+ * <p>Because numbers are normalized, values that differ under {@link Object#equals(Object)} can
+ * encode equally: {@code Map.of("n", 1)} and {@code Map.of("n", 1L)} produce the same bytes, as do
+ * a {@code Float} and the {@code Double} it widens to.
+ *
+ * <p>An encoder is reusable after {@link #reset()}, but is not thread-safe.
+ */
+public final class CanonicalEncoder {
+  private static final int INITIAL_CAPACITY = 256;
+  private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+  private static final Comparator<Map.Entry<?, ?>> BY_KEY =
+      Comparator.comparing(entry -> String.valueOf(entry.getKey()));
+
+  private byte[] bytes = new byte[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Appends a string, or a null marker.
+   *
+   * @param value the string, or {@code null}.
+   * @return this encoder.
+   */
+  public CanonicalEncoder string(String value) {
+    if (value == null) {
+      tag('z');
+    } else {
+      tag('s');
+      utf8(value);
+    }
+    return this;
+  }
+
+  /**
+   * Appends any supported value, recursively.
+   *
+   * @param value the value, or {@code null}.
+   * @return this encoder.
+   */
+  public CanonicalEncoder value(Object value) {
+    if (value == null) {
+      tag('z');
+    } else if (value instanceof String) {
+      string((String) value);
+    } else if (value instanceof Boolean) {
+      tag('b');
+      put((Boolean) value ? 1 : 0);
+    } else if (value instanceof Long
+        || value instanceof Integer
+        || value instanceof Short
+        || value instanceof Byte) {
+      tag('i');
+      putLong(((Number) value).longValue());
+    } else if (value instanceof Double || value instanceof Float) {
+      tag('d');
+      putLong(Double.doubleToLongBits(((Number) value).doubleValue()));
+    } else if (value instanceof BigInteger && ((BigInteger) value).bitLength() < 64) {
+      tag('i');
+      putLong(((BigInteger) value).longValue());
+    } else if (value instanceof BigDecimal) {
+      tag('n');
+      utf8(((BigDecimal) value).stripTrailingZeros().toPlainString());
+    } else if (value instanceof Map) {
+      Map.Entry<?, ?>[] entries = ((Map<?, ?>) value).entrySet().toArray(new Map.Entry<?, ?>[0]);
+      Arrays.sort(entries, BY_KEY);
+      startMap(entries.length);
+      for (Map.Entry<?, ?> entry : entries) {
+        string(String.valueOf(entry.getKey()));
+        value(entry.getValue());
+      }
+    } else if (value instanceof Collection) {
+      Collection<?> collection = (Collection<?>) value;
+      tag('a');
+      putInt(collection.size());
+      for (Object element : collection) {
+        value(element);
+      }
+    } else if (value instanceof Object[]) {
+      value(Arrays.asList((Object[]) value));
+    } else {
+      tag('o');
+      utf8(value.toString());
+    }
+    return this;
+  }
+
+  /** Returns the number of bytes written since the last reset. */
+  public int size() {
+    return size;
+  }
+
+  /** Returns a copy of the bytes written since the last reset. */
+  public byte[] toByteArray() {
+    return Arrays.copyOf(bytes, size);
+  }
+
+  /** Returns the fingerprint of the bytes written since the last reset. */
+  public Fingerprint fingerprint() {
+    return Fingerprint.of(bytes, size);
+  }
+
+  /**
+   * Discards the bytes written so far.
+   *
+   * @return this encoder.
+   */
+  public CanonicalEncoder reset() {
+    if (bytes.length > MAX_RETAINED_CAPACITY) {
+      bytes = new byte[INITIAL_CAPACITY];
+    }
+    size = 0;
+    return this;
+  }
+
+  /** Starts a map of {@code entries} entries; each must follow as a key string and a value. */
+  void startMap(int entries) {
+    tag('m');
+    putInt(entries);
+  }
+
+  private void utf8(String value) {
+    byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+    putInt(encoded.length);
+    ensure(encoded.length);
+    System.arraycopy(encoded, 0, bytes, size, encoded.length);
+    size += encoded.length;
+  }
+
+  private void tag(char tag) {
+    put((byte) tag);
+  }
+
+  private void putInt(int value) {
+    ensure(4);
+    for (int shift = 24; shift >= 0; shift -= 8) {
+      bytes[size++] = (byte) (value >>> shift);
+    }
+  }
+
+  private void putLong(long value) {
+    ensure(8);
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      bytes[size++] = (byte) (value >>> shift);
+    }
+  }
+
+  private void put(int value) {
+    ensure(1);
+    bytes[size++] = (byte) value;
+  }
+
+  private void ensure(int extra) {
+    if (size + extra > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.fingerprint;
+
+/**
+ * A 128-bit MurmurHash3 (x64 variant, seed 0) of some bytes, usually the canonical form of an
+ * authorization request written by a {@link CanonicalEncoder}.
+ *
+ * <p>The hash is not cryptographic: it identifies requests for caching, deduplication and sharding,
+ * but must not be relied on where an adversary could choose colliding inputs. Either half can be
+ * used on its own as a 64-bit fingerprint. This class is immutable.
+ */
+public final class Fingerprint {
+  private static final long C1 = 0x87c37b91114253d5L;
+  private static final long C2 = 0x4cf5ad432745937fL;
+
+  private final long high;
+  private final long low;
+
+  private Fingerprint(long high, long low) {
+    this.high = high;
+    this.low = low;
+  }
+
+  /**
+   * Hashes the given bytes.
+   *
+   * @param data the bytes to hash.
+   * @return their fingerprint.
+   */
+  public static Fingerprint of(byte[] data) {
+    return of(data, data.length);
+  }
+
+  /** Hashes the first {@code length} bytes. */
+  static Fingerprint of(byte[] data, int length) {
+    long h1 = 0;
+    long h2 = 0;
+    int blocks = length / 16;
+    for (int i = 0; i < blocks; i++) {
+      long k1 = littleEndian(data, i * 16, 8);
+      long k2 = littleEndian(data, i * 16 + 8, 8);
+      h1 ^= mixK1(k1);
+      h1 = Long.rotateLeft(h1, 27) + h2;
+      h1 = h1 * 5 + 0x52dce729;
+      h2 ^= mixK2(k2);
+      h2 = Long.rotateLeft(h2, 31) + h1;
+      h2 = h2 * 5 + 0x38495ab5;
+    }
+    int tail = blocks * 16;
+    int remaining = length - tail;
+    if (remaining > 8) {
+      h2 ^= mixK2(littleEndian(data, tail + 8, remaining - 8));
+    }
+    if (remaining > 0) {
+      h1 ^= mixK1(littleEndian(data, tail, Math.min(remaining, 8)));
+    }
+    h1 ^= length;
+    h2 ^= length;
+    h1 += h2;
+    h2 += h1;
+    h1 = fmix(h1);
+    h2 = fmix(h2);
+    h1 += h2;
+    h2 += h1;
+    return new Fingerprint(h1, h2);
+  }
+
+  /** Returns the first 64 bits of the hash. */
+  public long getHigh() {
+    return high;
+  }
+
+  /** Returns the last 64 bits of the hash. */
+  public long getLow() {
+    return low;
+  }
+
+  /** Returns the fingerprint as 32 lowercase hexadecimal digits, high bits first. */
+  public String toHexString() {
+    return String.format("%016x%016x", high, low);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Fingerprint)) {
+      return false;
+    }
+    Fingerprint other = (Fingerprint) o;
+    return high == other.high && low == other.low;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(low);
+  }
+
+  @Override
+  public String toString() {
+    return toHexString();
+  }
+
+  private static long littleEndian(byte[] data, int offset, int count) {
+    long value = 0;
+    for (int i = count - 1; i >= 0; i--) {
+      value = (value << 8) | (data[offset + i] & 0xffL);
+    }
+    return value;
+  }
+
+  private static long mixK1(long k1) {
+    return Long.rotateLeft(k1 * C1, 31) * C2;
+  }
+
+  private static long mixK2(long k2) {
+    return Long.rotateLeft(k2 * C2, 33) * C1;
+  }
+
+  private static long fmix(long k) {
+    k ^= k >>> 33;
+    k *= 0xff51afd7ed558ccdL;
+    k ^= k >>> 33;
+    k *= 0xc4ceb9fe1a85ec53L;
+    k ^= k >>> 33;
+    return k;
+  }
+}
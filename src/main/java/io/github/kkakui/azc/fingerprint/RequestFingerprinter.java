@@ -0,0 +1,147 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.fingerprint;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.model.Context;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Computes the canonical form and {@link Fingerprint} of an {@link AuthorizationRequest}, for
+ * caching, deduplication, sharding or audit.
+ *
+ * <p>The canonical form is the subject type, id and properties, then the resource type, id and
+ * properties, then the action name and properties, then the context, written by a {@link
+ * CanonicalEncoder}. Two requests that differ only in the order of their properties, or in whether
+ * an integral number is an {@code Integer} or a {@code Long}, have the same canonical form. A
+ * missing context is written as an empty one.
+ *
+ * <p>By default the whole context is included. Volatile attributes such as a timestamp or a request
+ * id would make every fingerprint unique, so the context can be limited to selected keys:
+ *
+ * <pre>
+ * RequestFingerprinter fingerprinter =
+ *     RequestFingerprinter.builder().contextKeys("tenant", "ip").build();
+ * Fingerprint fingerprint = fingerprinter.fingerprint(request);
+ * </pre>
+ *
+ * <p>Each thread reuses its own encoding buffer, so computing a fingerprint for every request is
+ * cheap. This class is thread-safe.
+ */
+public final class RequestFingerprinter {
+  private static final RequestFingerprinter DEFAULT = new RequestFingerprinter(null);
+  private static final ThreadLocal<CanonicalEncoder> ENCODERS =
+      ThreadLocal.withInitial(CanonicalEncoder::new);
+
+  // Sorted, or null to include the whole context.
+  private final String[] contextKeys;
+
+  private RequestFingerprinter(String[] contextKeys) {
+    this.contextKeys = contextKeys;
+  }
+
+  /** Returns a fingerprinter that includes the whole context. */
+  public static RequestFingerprinter getDefault() {
+    return DEFAULT;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the canonical form of a request.
+   *
+   * @param request the request.
+   * @return a new array with its canonical bytes.
+   */
+  public byte[] canonicalForm(AuthorizationRequest request) {
+    return encode(request).toByteArray();
+  }
+
+  /**
+   * Returns the fingerprint of a request's canonical form.
+   *
+   * @param request the request.
+   * @return its fingerprint.
+   */
+  public Fingerprint fingerprint(AuthorizationRequest request) {
+    return encode(request).fingerprint();
+  }
+
+  private CanonicalEncoder encode(AuthorizationRequest request) {
+    CanonicalEncoder encoder = ENCODERS.get().reset();
+    encoder
+        .string(request.getSubject().getType())
+        .string(request.getSubject().getId())
+        .value(request.getSubject().getProperties())
+        .string(request.getResource().getType())
+        .string(request.getResource().getId())
+        .value(request.getResource().getProperties())
+        .string(request.getAction().getName())
+        .value(request.getAction().getProperties());
+    Context context = request.getContext();
+    if (context == null) {
+      encoder.startMap(0);
+    } else if (contextKeys == null) {
+      encoder.value(context.getAttributes());
+    } else {
+      encodeSelected(encoder, context);
+    }
+    return encoder;
+  }
+
+  /** Writes the selected attributes as a map, looking each one up without merging the layers. */
+  private void encodeSelected(CanonicalEncoder encoder, Context context) {
+    int present = 0;
+    for (String key : contextKeys) {
+      if (context.getAttribute(key) != null) {
+        present++;
+      }
+    }
+    encoder.startMap(present);
+    for (String key : contextKeys) {
+      Object value = context.getAttribute(key);
+      if (value != null) {
+        encoder.string(key).value(value);
+      }
+    }
+  }
+
+  public static class Builder {
+    private String[] contextKeys;
+
+    private Builder() {}
+
+    /**
+     * Limits the context to the given keys. Without this call, the whole context is included; with
+     * no keys, none of it is.
+     *
+     * @param keys the context attribute names to include.
+     * @return this builder.
+     */
+    public Builder contextKeys(String... keys) {
+      this.contextKeys = keys == null ? null : keys.clone();
+      return this;
+    }
+
+    public Builder contextKeys(Collection<String> keys) {
+      this.contextKeys = keys == null ? null : keys.toArray(new String[0]);
+      return this;
+    }
+
+    public RequestFingerprinter build() {
+      if (contextKeys == null) {
+        return DEFAULT;
+      }
+      if (Arrays.asList(contextKeys).contains(null)) {
+        throw new IllegalStateException("Context keys must not be null.");
+      }
+      String[] sorted = Arrays.stream(contextKeys).distinct().sorted().toArray(String[]::new);
+      return new RequestFingerprinter(sorted);
+    }
+  }
+}
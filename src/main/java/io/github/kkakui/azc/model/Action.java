@@ -4,8 +4,8 @@
  */
 package io.github.kkakui.azc.model;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Represents an action (or verb) in an authorization request.
@@ -13,6 +13,11 @@ import java.util.Map;
  * <p>An action is defined by its name and can include additional, arbitrary properties. This class
  * is immutable and should be constructed using its inner {@link Builder}.
  *
+ * <p>Numbers and booleans added through the typed {@code addProperty} overloads are stored and
+ * serialized without boxing; {@link #getProperties()} boxes them on access. {@code float} and
+ * {@code char} values are stored boxed, as they would be through {@code addProperty(String,
+ * Object)}.
+ *
  * @see <a
  *     href="https://github.com/kkakui/azc/blob/main/docs/authorization-api-1_0_draft_04.md#action">AuthZEN
  *     Authorization API Spec: Action</a>
@@ -21,14 +26,14 @@ public class Action {
   private final String name;
   private final Map<String, Object> properties;
 
-  private Action(String name, Map<String, Object> properties) {
+  private Action(String name, PropertyMap properties) {
     this.name = name;
-    this.properties = Map.copyOf(properties);
+    this.properties = properties;
   }
 
   public static class Builder {
     private String name;
-    private Map<String, Object> properties = new HashMap<>();
+    private final PropertyMap.Builder properties = new PropertyMap.Builder();
 
     public Builder name(String name) {
       this.name = name;
@@ -40,11 +45,50 @@ public class Action {
       return this;
     }
 
+    public Builder addProperty(String key, int value) {
+      properties.put(key, value);
+      return this;
+    }
+
+    public Builder addProperty(String key, long value) {
+      properties.put(key, value);
+      return this;
+    }
+
+    public Builder addProperty(String key, double value) {
+      properties.put(key, value);
+      return this;
+    }
+
+    public Builder addProperty(String key, boolean value) {
+      properties.put(key, value);
+      return this;
+    }
+
+    /**
+     * Adds a {@code float} property boxed, as {@link #addProperty(String, Object)} would, so that
+     * it is serialized as written rather than widened to {@code double}, e.g. {@code 0.1} rather
+     * than {@code 0.10000000149011612}.
+     */
+    public Builder addProperty(String key, float value) {
+      properties.put(key, (Object) value);
+      return this;
+    }
+
+    /**
+     * Adds a {@code char} property boxed, as {@link #addProperty(String, Object)} would, so that it
+     * is serialized as a string rather than widened to its {@code int} code.
+     */
+    public Builder addProperty(String key, char value) {
+      properties.put(key, (Object) value);
+      return this;
+    }
+
     public Action build() {
       if (name == null || name.isBlank()) {
         throw new IllegalArgumentException("Action 'name' must not be null or blank.");
       }
-      return new Action(name, properties);
+      return new Action(name, properties.build());
     }
   }
 
@@ -55,4 +99,21 @@ public class Action {
   public Map<String, Object> getProperties() {
     return properties;
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Action)) {
+      return false;
+    }
+    Action other = (Action) o;
+    return name.equals(other.name) && properties.equals(other.properties);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(name, properties);
+  }
 }
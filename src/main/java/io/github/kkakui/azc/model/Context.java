@@ -4,10 +4,11 @@
  */
 package io.github.kkakui.azc.model;
 
-import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 /**
  * Represents the environmental or contextual data for an authorization request.
@@ -16,28 +17,170 @@ import java.util.Map;
  * information for policy evaluation, such as the time of the request or the source IP address. This
  * class is immutable.
  *
+ * <p>{@link #merge(Context)} does not copy attributes. It returns a layered view in which the
+ * merged context's attributes override this one's. Lookups through {@link #getAttribute(String)}
+ * and {@link #forEachAttribute(BiConsumer)}, which the serializer uses, walk the layers directly;
+ * only {@link #getAttributes()} materializes them into a single map, once per instance. Deep chains
+ * of merges are flattened so that lookups stay cheap.
+ *
+ * <p>Two contexts are equal if they resolve to the same attributes, however they were merged.
+ *
  * @see <a
  *     href="https://github.com/kkakui/azc/blob/main/docs/authorization-api-1_0_draft_04.md#context">AuthZEN
  *     Authorization API Spec: Context</a>
  */
+@JsonSerialize(using = ContextSerializer.class)
 public class Context {
+  private static final int MAX_DEPTH = 8;
+
+  // A leaf has attributes; a layered context has a lower and an upper layer instead.
   private final Map<String, Object> attributes;
+  private final Context lower;
+  private final Context upper;
+  private final int depth;
+  private volatile Map<String, Object> flattened;
 
   public Context(Map<String, Object> attributes) {
     // Use an immutable copy to prevent external modifications
     this.attributes = attributes == null ? Collections.emptyMap() : Map.copyOf(attributes);
+    this.lower = null;
+    this.upper = null;
+    this.depth = 0;
+    this.flattened = this.attributes;
   }
 
-  @JsonValue
+  private Context(Context lower, Context upper) {
+    this.attributes = null;
+    this.lower = lower;
+    this.upper = upper;
+    this.depth = Math.max(lower.depth, upper.depth) + 1;
+  }
+
+  /**
+   * Returns all attributes as one map, with merged layers resolved.
+   *
+   * @return an unmodifiable map of the attributes.
+   */
   public Map<String, Object> getAttributes() {
-    // The map is already immutable
-    return attributes;
+    Map<String, Object> result = flattened;
+    if (result == null) {
+      Map<String, Object> merged = new HashMap<>();
+      forEachAttribute(merged::put);
+      result = Map.copyOf(merged);
+      flattened = result;
+    }
+    return result;
+  }
+
+  /**
+   * Looks up a single attribute without materializing merged layers.
+   *
+   * @param name the attribute name.
+   * @return the value, or {@code null} if absent.
+   */
+  public Object getAttribute(String name) {
+    Context context = this;
+    while (context.attributes == null) {
+      if (context.upper.containsAttribute(name)) {
+        context = context.upper;
+      } else {
+        context = context.lower;
+      }
+    }
+    return context.attributes.get(name);
+  }
+
+  /**
+   * Visits every attribute once, with merged layers resolved. The iteration order is unspecified.
+   *
+   * @param action called with each name and value.
+   */
+  public void forEachAttribute(BiConsumer<String, Object> action) {
+    forEachVisible(action, null);
   }
 
+  /** Returns whether there are no attributes. */
+  public boolean isEmpty() {
+    // Empty contexts are never layered.
+    return attributes != null && attributes.isEmpty();
+  }
+
+  /**
+   * Returns a context with the attributes of both, where {@code other} takes precedence.
+   *
+   * @param other the context to merge, or {@code null}.
+   * @return the merged view, or one of the two if the other is empty.
+   */
   public Context merge(Context other) {
-    if (other == null || other.getAttributes().isEmpty()) return this;
-    Map<String, Object> mergedAttributes = new HashMap<>(this.attributes);
-    mergedAttributes.putAll(other.getAttributes());
-    return new Context(mergedAttributes);
+    if (other == null || other.isEmpty()) return this;
+    if (this.isEmpty()) return other;
+    if (Math.max(depth, other.depth) + 1 > MAX_DEPTH) {
+      Map<String, Object> merged = new HashMap<>(getAttributes());
+      other.forEachAttribute(merged::put);
+      return new Context(merged);
+    }
+    return new Context(this, other);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Context)) {
+      return false;
+    }
+    Context other = (Context) o;
+    return getAttributes().equals(other.getAttributes());
+  }
+
+  @Override
+  public int hashCode() {
+    return getAttributes().hashCode();
+  }
+
+  private boolean containsAttribute(String name) {
+    Context context = this;
+    while (context.attributes == null) {
+      if (context.upper.containsAttribute(name)) {
+        return true;
+      }
+      context = context.lower;
+    }
+    return context.attributes.containsKey(name);
+  }
+
+  private void forEachVisible(BiConsumer<String, Object> action, Shadow shadow) {
+    if (attributes != null) {
+      attributes.forEach(
+          (name, value) -> {
+            if (shadow == null || !shadow.hides(name)) {
+              action.accept(name, value);
+            }
+          });
+      return;
+    }
+    upper.forEachVisible(action, shadow);
+    lower.forEachVisible(action, new Shadow(upper, shadow));
+  }
+
+  /** The layers above the one being visited, whose names hide its attributes. */
+  private static final class Shadow {
+    final Context context;
+    final Shadow next;
+
+    Shadow(Context context, Shadow next) {
+      this.context = context;
+      this.next = next;
+    }
+
+    boolean hides(String name) {
+      for (Shadow shadow = this; shadow != null; shadow = shadow.next) {
+        if (shadow.context.containsAttribute(name)) {
+          return true;
+        }
+      }
+      return false;
+    }
   }
 }
@@ -0,0 +1,47 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes a {@link Context} as a flat JSON object by walking its layers, so that merged contexts are
+ * never materialized into a map just to be serialized.
+ */
+class ContextSerializer extends StdSerializer<Context> {
+
+  ContextSerializer() {
+    super(Context.class);
+  }
+
+  @Override
+  public void serialize(Context context, JsonGenerator generator, SerializerProvider provider)
+      throws IOException {
+    generator.writeStartObject(context);
+    try {
+      context.forEachAttribute(
+          (name, value) -> {
+            try {
+              generator.writeFieldName(name);
+              provider.defaultSerializeValue(value, generator);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    generator.writeEndObject();
+  }
+
+  @Override
+  public boolean isEmpty(SerializerProvider provider, Context context) {
+    return context.isEmpty();
+  }
+}
@@ -0,0 +1,292 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The properties of a {@link Subject}, {@link Resource} or {@link Action}, kept in parallel arrays
+ * in the order they were added.
+ *
+ * <p>Numbers and booleans are stored unboxed and written to JSON as such by {@link
+ * PropertyMapSerializer}. The {@link Map} view boxes them on access, as {@link Integer}, {@link
+ * Long}, {@link Double} or {@link Boolean} depending on how they were added. Lookups scan the
+ * names, which is faster than hashing for the handful of properties a request usually has; larger
+ * maps get an index.
+ *
+ * <p>This class is immutable.
+ */
+@JsonSerialize(using = PropertyMapSerializer.class)
+final class PropertyMap extends AbstractMap<String, Object> {
+  static final byte OBJECT = 0;
+  static final byte INT = 1;
+  static final byte LONG = 2;
+  static final byte DOUBLE = 3;
+  static final byte BOOLEAN = 4;
+
+  private static final int INDEX_THRESHOLD = 16;
+  private static final PropertyMap EMPTY =
+      new PropertyMap(new String[0], new byte[0], new long[0], new Object[0], 0);
+
+  // Slots at or beyond size may be written by the builder this map came from; they are never read.
+  private final String[] names;
+  private final byte[] kinds;
+  private final long[] bits;
+  private final Object[] objects;
+  private final int size;
+  private final Map<String, Integer> index;
+  private Set<Map.Entry<String, Object>> entrySet;
+
+  private PropertyMap(String[] names, byte[] kinds, long[] bits, Object[] objects, int size) {
+    this.names = names;
+    this.kinds = kinds;
+    this.bits = bits;
+    this.objects = objects;
+    this.size = size;
+    this.index = size > INDEX_THRESHOLD ? index(names, size) : null;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return key instanceof String && indexOf((String) key) >= 0;
+  }
+
+  @Override
+  public Object get(Object key) {
+    int i = key instanceof String ? indexOf((String) key) : -1;
+    return i < 0 ? null : value(i);
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet() {
+    Set<Map.Entry<String, Object>> result = entrySet;
+    if (result == null) {
+      result = new EntrySet();
+      entrySet = result;
+    }
+    return result;
+  }
+
+  String name(int i) {
+    return names[i];
+  }
+
+  byte kind(int i) {
+    return kinds[i];
+  }
+
+  long longValue(int i) {
+    return bits[i];
+  }
+
+  double doubleValue(int i) {
+    return Double.longBitsToDouble(bits[i]);
+  }
+
+  boolean booleanValue(int i) {
+    return bits[i] != 0;
+  }
+
+  Object objectValue(int i) {
+    return objects[i];
+  }
+
+  /** Returns the value in slot {@code i}, boxing it if it is stored unboxed. */
+  Object value(int i) {
+    switch (kinds[i]) {
+      case INT:
+        return (int) bits[i];
+      case LONG:
+        return bits[i];
+      case DOUBLE:
+        return doubleValue(i);
+      case BOOLEAN:
+        return booleanValue(i);
+      default:
+        return objects[i];
+    }
+  }
+
+  private int indexOf(String name) {
+    if (index != null) {
+      Integer i = index.get(name);
+      return i == null ? -1 : i;
+    }
+    for (int i = 0; i < size; i++) {
+      if (names[i].equals(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static Map<String, Integer> index(String[] names, int size) {
+    Map<String, Integer> index = new HashMap<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      index.put(names[i], i);
+    }
+    return index;
+  }
+
+  private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public Iterator<Map.Entry<String, Object>> iterator() {
+      return new Iterator<>() {
+        private int next;
+
+        @Override
+        public boolean hasNext() {
+          return next < size;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+          if (next >= size) {
+            throw new NoSuchElementException();
+          }
+          int i = next++;
+          return new SimpleImmutableEntry<>(names[i], value(i));
+        }
+      };
+    }
+  }
+
+  /**
+   * Collects properties for a {@link PropertyMap}. A later value for the same name replaces the
+   * earlier one.
+   *
+   * <p>{@link #build()} hands the builder's arrays to the map without copying them. The builder may
+   * still be used afterwards: it appends past the end of the built map, and copies the arrays
+   * before replacing a value the map can see.
+   */
+  static final class Builder {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private String[] names;
+    private byte[] kinds;
+    private long[] bits;
+    private Object[] objects;
+    private int size;
+    private boolean shared;
+    private Map<String, Integer> index;
+
+    Builder put(String name, Object value) {
+      Objects.requireNonNull(value, "value");
+      int i = slot(name);
+      kinds[i] = OBJECT;
+      bits[i] = 0;
+      objects[i] = value;
+      return this;
+    }
+
+    Builder put(String name, int value) {
+      return putBits(name, INT, value);
+    }
+
+    Builder put(String name, long value) {
+      return putBits(name, LONG, value);
+    }
+
+    Builder put(String name, double value) {
+      return putBits(name, DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    Builder put(String name, boolean value) {
+      return putBits(name, BOOLEAN, value ? 1 : 0);
+    }
+
+    PropertyMap build() {
+      if (size == 0) {
+        return EMPTY;
+      }
+      shared = true;
+      return new PropertyMap(names, kinds, bits, objects, size);
+    }
+
+    private Builder putBits(String name, byte kind, long value) {
+      int i = slot(name);
+      kinds[i] = kind;
+      bits[i] = value;
+      objects[i] = null;
+      return this;
+    }
+
+    /** Returns the slot for a name, making room for it if it is new. */
+    private int slot(String name) {
+      Objects.requireNonNull(name, "name");
+      int i = indexOf(name);
+      if (i >= 0) {
+        if (shared) {
+          grow(names.length);
+        }
+        return i;
+      }
+      if (names == null) {
+        grow(INITIAL_CAPACITY);
+      } else if (size == names.length) {
+        grow(size * 2);
+      }
+      names[size] = name;
+      if (index != null) {
+        index.put(name, size);
+      } else if (size == INDEX_THRESHOLD) {
+        index = index(names, size + 1);
+      }
+      return size++;
+    }
+
+    private int indexOf(String name) {
+      if (index != null) {
+        Integer i = index.get(name);
+        return i == null ? -1 : i;
+      }
+      for (int i = 0; i < size; i++) {
+        if (names[i].equals(name)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private void grow(int capacity) {
+      if (names == null) {
+        names = new String[capacity];
+        kinds = new byte[capacity];
+        bits = new long[capacity];
+        objects = new Object[capacity];
+      } else {
+        names = Arrays.copyOf(names, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
+        bits = Arrays.copyOf(bits, capacity);
+        objects = Arrays.copyOf(objects, capacity);
+      }
+      shared = false;
+    }
+  }
+}
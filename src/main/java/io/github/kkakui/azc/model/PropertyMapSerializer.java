@@ -0,0 +1,53 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/**
+ * Writes a {@link PropertyMap} as a JSON object, with numbers and booleans taken straight from its
+ * arrays instead of being boxed.
+ */
+class PropertyMapSerializer extends StdSerializer<PropertyMap> {
+
+  PropertyMapSerializer() {
+    super(PropertyMap.class);
+  }
+
+  @Override
+  public void serialize(
+      PropertyMap properties, JsonGenerator generator, SerializerProvider provider)
+      throws IOException {
+    generator.writeStartObject(properties);
+    for (int i = 0; i < properties.size(); i++) {
+      generator.writeFieldName(properties.name(i));
+      switch (properties.kind(i)) {
+        case PropertyMap.INT:
+          generator.writeNumber((int) properties.longValue(i));
+          break;
+        case PropertyMap.LONG:
+          generator.writeNumber(properties.longValue(i));
+          break;
+        case PropertyMap.DOUBLE:
+          generator.writeNumber(properties.doubleValue(i));
+          break;
+        case PropertyMap.BOOLEAN:
+          generator.writeBoolean(properties.booleanValue(i));
+          break;
+        default:
+          provider.defaultSerializeValue(properties.objectValue(i), generator);
+      }
+    }
+    generator.writeEndObject();
+  }
+
+  @Override
+  public boolean isEmpty(SerializerProvider provider, PropertyMap properties) {
+    return properties.isEmpty();
+  }
+}
@@ -4,8 +4,8 @@
  */
 package io.github.kkakui.azc.model;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Represents a subject (a user or machine principal) in an authorization request.
@@ -13,6 +13,11 @@ import java.util.Map;
  * <p>A subject is defined by its type and a unique ID, and can include additional, arbitrary
  * properties. This class is immutable and should be constructed using its inner {@link Builder}.
  *
+ * <p>Numbers and booleans added through the typed {@code addProperty} overloads are stored and
+ * serialized without boxing; {@link #getProperties()} boxes them on access. {@code float} and
+ * {@code char} values are stored boxed, as they would be through {@code addProperty(String,
+ * Object)}.
+ *
  * @see <a
  *     href="https://github.com/kkakui/azc/blob/main/docs/authorization-api-1_0_draft_04.md#subject">AuthZEN
  *     Authorization API Spec: Subject</a>
@@ -22,16 +27,16 @@ public class Subject {
   private final String type;
   private final Map<String, Object> properties;
 
-  private Subject(String id, String type, Map<String, Object> properties) {
+  private Subject(String id, String type, PropertyMap properties) {
     this.id = id;
     this.type = type;
-    this.properties = Map.copyOf(properties);
+    this.properties = properties;
   }
 
   public static class Builder {
     private String id;
     private String type;
-    private Map<String, Object> properties = new HashMap<>();
+    private final PropertyMap.Builder properties = new PropertyMap.Builder();
 
     public Builder id(String id) {
       this.id = id;
@@ -48,6 +53,45 @@ public class Subject {
       return this;
     }
 
+    public Builder addProperty(String key, int value) {
+      properties.put(key, value);
+      return this;
+    }
+
+    public Builder addProperty(String key, long value) {
+      properties.put(key, value);
+      return this;
+    }
+
+    public Builder addProperty(String key, double value) {
+      properties.put(key, value);
+      return this;
+    }
+
+    public Builder addProperty(String key, boolean value) {
+      properties.put(key, value);
+      return this;
+    }
+
+    /**
+     * Adds a {@code float} property boxed, as {@link #addProperty(String, Object)} would, so that
+     * it is serialized as written rather than widened to {@code double}, e.g. {@code 0.1} rather
+     * than {@code 0.10000000149011612}.
+     */
+    public Builder addProperty(String key, float value) {
+      properties.put(key, (Object) value);
+      return this;
+    }
+
+    /**
+     * Adds a {@code char} property boxed, as {@link #addProperty(String, Object)} would, so that it
+     * is serialized as a string rather than widened to its {@code int} code.
+     */
+    public Builder addProperty(String key, char value) {
+      properties.put(key, (Object) value);
+      return this;
+    }
+
     public Subject build() {
       if (id == null || id.isBlank()) {
         throw new IllegalArgumentException("Subject 'id' must not be null or blank.");
@@ -55,7 +99,7 @@ public class Subject {
       if (type == null || type.isBlank()) {
         throw new IllegalArgumentException("Subject 'type' must not be null or blank.");
       }
-      return new Subject(id, type, properties);
+      return new Subject(id, type, properties.build());
     }
   }
 
@@ -70,4 +114,21 @@ public class Subject {
   public Map<String, Object> getProperties() {
     return properties;
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Subject)) {
+      return false;
+    }
+    Subject other = (Subject) o;
+    return id.equals(other.id) && type.equals(other.type) && properties.equals(other.properties);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, type, properties);
+  }
 }
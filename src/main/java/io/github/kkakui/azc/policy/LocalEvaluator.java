@@ -0,0 +1,27 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.policy;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.api.AuthorizationResponse;
+
+/**
+ * Decides requests in-process, without a round trip to the PDP. An {@link
+ * io.github.kkakui.azc.api.AuthzClient} consults its evaluator before its cache and transport, and
+ * falls through to them when the evaluator has no answer.
+ *
+ * <p>Implementations must be thread-safe and fast, since they run on every request.
+ */
+@FunctionalInterface
+public interface LocalEvaluator {
+
+  /**
+   * Decides a request locally, if possible.
+   *
+   * @param request the request, after any context has been merged in.
+   * @return the decision, or {@code null} to ask the PDP.
+   */
+  AuthorizationResponse evaluate(AuthorizationRequest request);
+}
@@ -0,0 +1,358 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.policy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.api.AuthorizationResponse;
+import io.github.kkakui.azc.model.Context;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A compiled set of simple rules, such as "owners may do anything" or "public documents are
+ * readable", that decides requests without asking the PDP.
+ *
+ * <p>Rules are read from JSON:
+ *
+ * <pre>
+ * {
+ *   "rules": [
+ *     {
+ *       "resource_type": "document",
+ *       "action": "*",
+ *       "when": [{"path": "subject.id", "equals_path": "resource.properties.owner"}],
+ *       "decision": true
+ *     },
+ *     {
+ *       "resource_type": "document",
+ *       "action": "read",
+ *       "when": [{"path": "resource.properties.visibility", "equals": "public"}],
+ *       "decision": true,
+ *       "context": {"reason": "public"}
+ *     }
+ *   ]
+ * }
+ * </pre>
+ *
+ * <p>{@code resource_type} and {@code action} default to {@code "*"}, which matches any value. All
+ * conditions in {@code when} must hold; each compares the value at {@code path} either with a
+ * literal ({@code equals}), with the value at another path ({@code equals_path}) or with a list of
+ * literals ({@code in}). Paths start with {@code subject}, {@code resource}, {@code action} or
+ * {@code context}, e.g. {@code subject.type}, {@code action.name} or {@code
+ * context.device.trusted}. The first matching rule in file order decides; if none matches, the
+ * request goes to the PDP.
+ *
+ * <p>Rules are indexed by resource type and action, and each decision is allocated once at compile
+ * time, so evaluation does not allocate. This class is immutable; see {@link WatchedLocalPolicy}
+ * for reloading a rule file when it changes.
+ */
+public final class LocalPolicy implements LocalEvaluator {
+  private static final String WILDCARD = "*";
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+  // resource type -> action -> rules in file order, with "*" keys for wildcards
+  private final Map<String, Map<String, Rule[]>> index;
+  private final int size;
+
+  private LocalPolicy(Map<String, Map<String, Rule[]>> index, int size) {
+    this.index = index;
+    this.size = size;
+  }
+
+  /**
+   * Compiles a rule set.
+   *
+   * @param json the rules, in the format described above.
+   * @return the compiled policy.
+   * @throws IllegalArgumentException if the rules are malformed.
+   */
+  public static LocalPolicy parse(String json) {
+    JsonNode root;
+    try {
+      root = MAPPER.readTree(json);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Local policy is not valid JSON.", e);
+    }
+    JsonNode rules = root == null ? null : root.get("rules");
+    if (rules == null || !rules.isArray()) {
+      throw new IllegalArgumentException("Local policy must contain a 'rules' array.");
+    }
+    Map<String, Map<String, List<Rule>>> grouped = new HashMap<>();
+    for (int i = 0; i < rules.size(); i++) {
+      JsonNode node = rules.get(i);
+      Rule rule = compile(i, node);
+      grouped
+          .computeIfAbsent(text(i, node, "resource_type"), k -> new HashMap<>())
+          .computeIfAbsent(text(i, node, "action"), k -> new ArrayList<>())
+          .add(rule);
+    }
+    Map<String, Map<String, Rule[]>> index = new HashMap<>();
+    grouped.forEach(
+        (resourceType, byAction) -> {
+          Map<String, Rule[]> actions = new HashMap<>();
+          byAction.forEach((action, list) -> actions.put(action, list.toArray(new Rule[0])));
+          index.put(resourceType, Map.copyOf(actions));
+        });
+    return new LocalPolicy(Map.copyOf(index), rules.size());
+  }
+
+  /**
+   * Reads and compiles a rule file.
+   *
+   * @param file the rule file, UTF-8 encoded.
+   * @return the compiled policy.
+   * @throws IOException if the file cannot be read.
+   * @throws IllegalArgumentException if the rules are malformed.
+   */
+  public static LocalPolicy load(Path file) throws IOException {
+    return parse(Files.readString(file, StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public AuthorizationResponse evaluate(AuthorizationRequest request) {
+    String resourceType = request.getResource().getType();
+    String action = request.getAction().getName();
+    Map<String, Rule[]> byType = index.get(resourceType);
+    Map<String, Rule[]> anyType = index.get(WILDCARD);
+    Rule match = firstMatch(byType, action, request, null);
+    match = firstMatch(byType, WILDCARD, request, match);
+    match = firstMatch(anyType, action, request, match);
+    match = firstMatch(anyType, WILDCARD, request, match);
+    return match == null ? null : match.response;
+  }
+
+  /**
+   * Returns the number of rules.
+   *
+   * @return the rule count.
+   */
+  public int size() {
+    return size;
+  }
+
+  /** Returns the earliest matching rule of a bucket if it precedes {@code best}, else best. */
+  private static Rule firstMatch(
+      Map<String, Rule[]> byAction, String action, AuthorizationRequest request, Rule best) {
+    Rule[] rules = byAction == null ? null : byAction.get(action);
+    if (rules == null) {
+      return best;
+    }
+    for (Rule rule : rules) {
+      if (best != null && rule.order > best.order) {
+        return best;
+      }
+      if (rule.matches(request)) {
+        return rule;
+      }
+    }
+    return best;
+  }
+
+  private static Rule compile(int order, JsonNode node) {
+    if (node == null || !node.isObject()) {
+      throw invalid(order, "must be an object.");
+    }
+    JsonNode decision = node.get("decision");
+    if (decision == null || !decision.isBoolean()) {
+      throw invalid(order, "'decision' must be true or false.");
+    }
+    Map<String, Object> context = null;
+    JsonNode contextNode = node.get("context");
+    if (contextNode != null) {
+      if (!contextNode.isObject()) {
+        throw invalid(order, "'context' must be an object.");
+      }
+      context =
+          Collections.unmodifiableMap(
+              new LinkedHashMap<>(MAPPER.convertValue(contextNode, MAP_TYPE)));
+    }
+    List<Condition> conditions = new ArrayList<>();
+    JsonNode when = node.get("when");
+    if (when != null) {
+      if (!when.isArray()) {
+        throw invalid(order, "'when' must be an array.");
+      }
+      for (JsonNode condition : when) {
+        conditions.add(condition(order, condition));
+      }
+    }
+    return new Rule(
+        order,
+        conditions.toArray(new Condition[0]),
+        new AuthorizationResponse(decision.booleanValue(), context));
+  }
+
+  private static Condition condition(int order, JsonNode node) {
+    if (!node.isObject() || node.get("path") == null || !node.get("path").isTextual()) {
+      throw invalid(order, "each condition needs a 'path'.");
+    }
+    Function<AuthorizationRequest, Object> left = accessor(order, node.get("path").textValue());
+    if (node.has("equals")) {
+      Object literal = MAPPER.convertValue(node.get("equals"), Object.class);
+      return request -> valuesEqual(left.apply(request), literal);
+    }
+    if (node.has("equals_path")) {
+      JsonNode other = node.get("equals_path");
+      if (!other.isTextual()) {
+        throw invalid(order, "'equals_path' must be a path.");
+      }
+      Function<AuthorizationRequest, Object> right = accessor(order, other.textValue());
+      return request -> {
+        Object value = left.apply(request);
+        return value != null && valuesEqual(value, right.apply(request));
+      };
+    }
+    if (node.has("in")) {
+      JsonNode in = node.get("in");
+      if (!in.isArray()) {
+        throw invalid(order, "'in' must be an array.");
+      }
+      Object[] literals = MAPPER.convertValue(in, Object[].class);
+      return request -> {
+        Object value = left.apply(request);
+        for (Object literal : literals) {
+          if (valuesEqual(value, literal)) {
+            return true;
+          }
+        }
+        return false;
+      };
+    }
+    throw invalid(order, "each condition needs 'equals', 'equals_path' or 'in'.");
+  }
+
+  private static Function<AuthorizationRequest, Object> accessor(int order, String path) {
+    String[] parts = path.split("\\.");
+    String field = parts.length > 1 ? parts[1] : "";
+    switch (parts[0]) {
+      case "subject":
+        if (parts.length == 2 && field.equals("type")) {
+          return request -> request.getSubject().getType();
+        }
+        if (parts.length == 2 && field.equals("id")) {
+          return request -> request.getSubject().getId();
+        }
+        if (parts.length > 2 && field.equals("properties")) {
+          return request -> navigate(request.getSubject().getProperties(), parts, 2);
+        }
+        break;
+      case "resource":
+        if (parts.length == 2 && field.equals("type")) {
+          return request -> request.getResource().getType();
+        }
+        if (parts.length == 2 && field.equals("id")) {
+          return request -> request.getResource().getId();
+        }
+        if (parts.length > 2 && field.equals("properties")) {
+          return request -> navigate(request.getResource().getProperties(), parts, 2);
+        }
+        break;
+      case "action":
+        if (parts.length == 2 && field.equals("name")) {
+          return request -> request.getAction().getName();
+        }
+        if (parts.length > 2 && field.equals("properties")) {
+          return request -> navigate(request.getAction().getProperties(), parts, 2);
+        }
+        break;
+      case "context":
+        if (parts.length > 1) {
+          return request -> {
+            Context context = request.getContext();
+            return context == null ? null : navigate(context.getAttribute(parts[1]), parts, 2);
+          };
+        }
+        break;
+      default:
+        break;
+    }
+    throw invalid(order, "unknown path '" + path + "'.");
+  }
+
+  private static Object navigate(Object value, String[] parts, int from) {
+    for (int i = from; i < parts.length; i++) {
+      if (!(value instanceof Map)) {
+        return null;
+      }
+      value = ((Map<?, ?>) value).get(parts[i]);
+    }
+    return value;
+  }
+
+  /** Compares values as JSON would, so that e.g. an {@code Integer} equals a {@code Long}. */
+  private static boolean valuesEqual(Object a, Object b) {
+    if (a instanceof Number && b instanceof Number) {
+      if (isIntegral(a) && isIntegral(b)) {
+        return ((Number) a).longValue() == ((Number) b).longValue();
+      }
+      return ((Number) a).doubleValue() == ((Number) b).doubleValue();
+    }
+    return Objects.equals(a, b);
+  }
+
+  private static boolean isIntegral(Object number) {
+    return number instanceof Long
+        || number instanceof Integer
+        || number instanceof Short
+        || number instanceof Byte;
+  }
+
+  private static String text(int order, JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    if (value == null) {
+      return WILDCARD;
+    }
+    if (!value.isTextual() || value.textValue().isBlank()) {
+      throw invalid(order, "'" + field + "' must be a non-blank string.");
+    }
+    return value.textValue();
+  }
+
+  private static IllegalArgumentException invalid(int order, String reason) {
+    return new IllegalArgumentException(
+        "Invalid local policy rule #" + (order + 1) + ": " + reason);
+  }
+
+  @FunctionalInterface
+  private interface Condition {
+    boolean test(AuthorizationRequest request);
+  }
+
+  private static final class Rule {
+    final int order;
+    final Condition[] conditions;
+    final AuthorizationResponse response;
+
+    Rule(int order, Condition[] conditions, AuthorizationResponse response) {
+      this.order = order;
+      this.conditions = conditions;
+      this.response = response;
+    }
+
+    boolean matches(AuthorizationRequest request) {
+      for (Condition condition : conditions) {
+        if (!condition.test(request)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.policy;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.api.AuthorizationResponse;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link LocalPolicy} read from a file that is recompiled whenever the file changes.
+ *
+ * <p>The file's directory is watched on a daemon thread. Each change is compiled off the request
+ * path and then swapped in atomically, so evaluations always see a complete rule set. If the new
+ * content cannot be read or compiled, e.g. because it was caught mid-write, the previous rules stay
+ * in effect and the failure is logged.
+ */
+public final class WatchedLocalPolicy implements LocalEvaluator, AutoCloseable {
+  private static final Logger logger = Logger.getLogger(WatchedLocalPolicy.class.getName());
+
+  private final Path file;
+  private final WatchService watchService;
+  private volatile LocalPolicy policy;
+
+  private WatchedLocalPolicy(Path file, LocalPolicy policy, WatchService watchService) {
+    this.file = file;
+    this.policy = policy;
+    this.watchService = watchService;
+  }
+
+  /**
+   * Loads a rule file and starts watching it.
+   *
+   * @param file the rule file.
+   * @return the watched policy; close it to stop watching.
+   * @throws IOException if the file cannot be read or watched.
+   * @throws IllegalArgumentException if the rules are malformed.
+   */
+  public static WatchedLocalPolicy watch(Path file) throws IOException {
+    Path absolute = file.toAbsolutePath();
+    LocalPolicy initial = LocalPolicy.load(absolute);
+    WatchService watchService = absolute.getFileSystem().newWatchService();
+    try {
+      absolute
+          .getParent()
+          .register(
+              watchService,
+              StandardWatchEventKinds.ENTRY_CREATE,
+              StandardWatchEventKinds.ENTRY_MODIFY);
+    } catch (IOException | RuntimeException e) {
+      watchService.close();
+      throw e;
+    }
+    WatchedLocalPolicy watched = new WatchedLocalPolicy(absolute, initial, watchService);
+    Thread watcher = new Thread(watched::run, "azc-local-policy-watcher");
+    watcher.setDaemon(true);
+    watcher.start();
+    return watched;
+  }
+
+  @Override
+  public AuthorizationResponse evaluate(AuthorizationRequest request) {
+    return policy.evaluate(request);
+  }
+
+  /**
+   * Returns the rules currently in effect.
+   *
+   * @return the current policy.
+   */
+  public LocalPolicy current() {
+    return policy;
+  }
+
+  /**
+   * Reads and compiles the file now, keeping the current rules if that fails.
+   *
+   * @return {@code true} if the new rules are in effect.
+   */
+  public boolean reload() {
+    try {
+      LocalPolicy reloaded = LocalPolicy.load(file);
+      policy = reloaded;
+      logger.info("Reloaded " + reloaded.size() + " local policy rules from " + file);
+      return true;
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Keeping previous local policy; could not reload " + file, e);
+      return false;
+    }
+  }
+
+  /** Stops watching the file. The current rules stay in effect. */
+  @Override
+  public void close() {
+    try {
+      watchService.close();
+    } catch (IOException e) {
+      logger.log(Level.FINE, "Failed to close watch service for " + file, e);
+    }
+  }
+
+  private void run() {
+    Path name = file.getFileName();
+    try {
+      while (true) {
+        WatchKey key = watchService.take();
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(event.context())) {
+            changed = true;
+          }
+        }
+        key.reset();
+        if (changed) {
+          reload();
+        }
+      }
+    } catch (ClosedWatchServiceException | InterruptedException e) {
+      // Closed; stop watching.
+    }
+  }
+}
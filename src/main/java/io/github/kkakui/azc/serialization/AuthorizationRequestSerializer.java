@@ -4,15 +4,29 @@
  */
 package io.github.kkakui.azc.serialization;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.context.AttributeWriter;
+import io.github.kkakui.azc.context.ContextContributor;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Context;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 /**
- * A utility class for serializing an {@link AuthorizationRequest} object to a JSON string. This
- * class uses Jackson for data binding.
+ * A utility class for serializing an {@link AuthorizationRequest} object to a JSON string, or to
+ * the wire format of a given {@link Codec}. This class uses Jackson for data binding.
  */
 public class AuthorizationRequestSerializer {
-  private static final ObjectMapper mapper = new ObjectMapper();
+  static final ObjectMapper mapper = new ObjectMapper();
 
   private AuthorizationRequestSerializer() {
     // Prevent instantiation of this utility class
@@ -21,8 +35,176 @@ public class AuthorizationRequestSerializer {
   public static String buildRequestJson(AuthorizationRequest request) throws Exception {
     // The model classes (AuthorizationRequest, Subject, etc.) are standard POJOs
     // with getters that Jackson can use for automatic data binding.
-    // The @JsonValue annotation on Context.getAttributes() ensures the context
-    // is serialized as a flat map, not an object containing an 'attributes' field.
+    // Context is serialized as a flat map, not an object containing an 'attributes' field,
+    // by walking its merged layers directly.
     return mapper.writeValueAsString(request);
   }
+
+  /**
+   * Serializes a request to JSON, taking its context from a contributor that writes straight into
+   * the output. This avoids creating and merging a {@link io.github.kkakui.azc.model.Context} for
+   * every request.
+   *
+   * @param request the request, which must not have a context of its own.
+   * @param context writes the context attributes.
+   * @return the JSON request body.
+   * @throws IllegalArgumentException if the request already has a context.
+   * @throws Exception if the request cannot be serialized.
+   */
+  public static String buildRequestJson(AuthorizationRequest request, ContextContributor context)
+      throws Exception {
+    if (request.getContext() != null) {
+      throw new IllegalArgumentException("Request must not have a context of its own.");
+    }
+    StringWriter out = new StringWriter(256);
+    try (JsonGenerator generator = mapper.createGenerator(out)) {
+      generator.writeStartObject();
+      generator.writeObjectField("subject", request.getSubject());
+      generator.writeObjectField("resource", request.getResource());
+      generator.writeObjectField("action", request.getAction());
+      generator.writeObjectFieldStart("context");
+      try {
+        context.contribute(new GeneratorWriter(generator));
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      generator.writeEndObject();
+      generator.writeEndObject();
+    }
+    return out.toString();
+  }
+
+  /**
+   * Serializes an Access Evaluations request that checks one subject and action against many
+   * resources. The subject, action and context are sent once, as defaults for every evaluation.
+   *
+   * @param subject the subject.
+   * @param action the action.
+   * @param context the context, or {@code null} for none.
+   * @param resources the resources, one evaluation each.
+   * @return the JSON request body.
+   * @throws Exception if the request cannot be serialized.
+   */
+  public static String buildEvaluationsJson(
+      Subject subject, Action action, Context context, List<Resource> resources) throws Exception {
+    List<AuthorizationRequest> requests = new ArrayList<>(resources.size());
+    for (Resource resource : resources) {
+      requests.add(
+          new AuthorizationRequest.Builder()
+              .subject(subject)
+              .resource(resource)
+              .action(action)
+              .context(context)
+              .build());
+    }
+    return buildEvaluationsJson(requests);
+  }
+
+  /**
+   * Serializes an Access Evaluations request with one evaluation per request. The subject, action
+   * and context of the first request are sent once, as defaults; each evaluation only carries its
+   * resource and the parts that differ from them.
+   *
+   * @param requests the requests, at least one.
+   * @return the JSON request body.
+   * @throws IllegalArgumentException if there are no requests.
+   * @throws Exception if the request cannot be serialized.
+   */
+  public static String buildEvaluationsJson(List<AuthorizationRequest> requests) throws Exception {
+    if (requests.isEmpty()) {
+      throw new IllegalArgumentException("Requests must not be empty.");
+    }
+    AuthorizationRequest first = requests.get(0);
+    StringWriter out = new StringWriter(128 + 64 * requests.size());
+    try (JsonGenerator generator = mapper.createGenerator(out)) {
+      generator.writeStartObject();
+      generator.writeObjectField("subject", first.getSubject());
+      generator.writeObjectField("action", first.getAction());
+      if (first.getContext() != null) {
+        generator.writeObjectField("context", first.getContext());
+      }
+      generator.writeArrayFieldStart("evaluations");
+      for (AuthorizationRequest request : requests) {
+        generator.writeStartObject();
+        if (!request.getSubject().equals(first.getSubject())) {
+          generator.writeObjectField("subject", request.getSubject());
+        }
+        generator.writeObjectField("resource", request.getResource());
+        if (!request.getAction().equals(first.getAction())) {
+          generator.writeObjectField("action", request.getAction());
+        }
+        if (!Objects.equals(request.getContext(), first.getContext())) {
+          if (request.getContext() == null) {
+            // An absent context would inherit the default, so send an empty one.
+            generator.writeObjectFieldStart("context");
+            generator.writeEndObject();
+          } else {
+            generator.writeObjectField("context", request.getContext());
+          }
+        }
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+      generator.writeEndObject();
+    }
+    return out.toString();
+  }
+
+  /**
+   * Serializes a request with the given wire format.
+   *
+   * @param request the request to serialize.
+   * @param codec the wire format to use.
+   * @return the encoded request body.
+   * @throws AuthorizationException if the request cannot be encoded.
+   */
+  public static byte[] buildRequest(AuthorizationRequest request, Codec codec)
+      throws AuthorizationException {
+    return codec.encodeRequest(request);
+  }
+
+  /** Writes attributes as fields of the current JSON object. */
+  private static final class GeneratorWriter implements AttributeWriter {
+    private final JsonGenerator generator;
+
+    GeneratorWriter(JsonGenerator generator) {
+      this.generator = generator;
+    }
+
+    @Override
+    public void write(String name, String value) {
+      try {
+        generator.writeStringField(name, value);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void write(String name, long value) {
+      try {
+        generator.writeNumberField(name, value);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void write(String name, boolean value) {
+      try {
+        generator.writeBooleanField(name, value);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void write(String name, Object value) {
+      try {
+        generator.writeObjectField(name, value);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
 }
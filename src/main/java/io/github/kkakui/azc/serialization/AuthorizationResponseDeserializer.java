@@ -4,14 +4,18 @@
  */
 package io.github.kkakui.azc.serialization;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.kkakui.azc.api.AuthorizationResponse;
 import io.github.kkakui.azc.exception.AuthorizationException;
+import java.util.List;
 
 /**
  * A utility class for deserializing the JSON response from the authorization service into an {@link
- * AuthorizationResponse} object.
+ * AuthorizationResponse} object. Responses in other wire formats are decoded by the {@link Codec}
+ * matching their content type.
  */
 public final class AuthorizationResponseDeserializer {
 
@@ -31,4 +35,61 @@ public final class AuthorizationResponseDeserializer {
           "Failed to deserialize authorization response from JSON.", e);
     }
   }
+
+  /**
+   * Deserializes an Access Evaluations response, whose {@code evaluations} array holds one decision
+   * per request in request order.
+   *
+   * @param json the response body.
+   * @param expected the number of evaluations that were requested.
+   * @return the decisions, in request order.
+   * @throws AuthorizationException if the body cannot be parsed or has the wrong number of
+   *     decisions.
+   */
+  public static List<AuthorizationResponse> parseEvaluationsJson(String json, int expected)
+      throws AuthorizationException {
+    if (json == null || json.isBlank()) {
+      throw new AuthorizationException("Response JSON from server was null or empty.");
+    }
+    EvaluationsResponse response;
+    try {
+      response = MAPPER.readValue(json, EvaluationsResponse.class);
+    } catch (JsonProcessingException e) {
+      throw new AuthorizationException("Failed to deserialize evaluations response from JSON.", e);
+    }
+    List<AuthorizationResponse> evaluations = response.evaluations;
+    if (evaluations == null || evaluations.size() != expected || evaluations.contains(null)) {
+      throw new AuthorizationException(
+          "Evaluations response has "
+              + (evaluations == null ? 0 : evaluations.size())
+              + " decisions for "
+              + expected
+              + " requests.");
+    }
+    return evaluations;
+  }
+
+  /**
+   * Deserializes a response body using the codec that matches its content type. A PDP may answer in
+   * JSON even when a binary format was requested, so the requested codec is only used when the
+   * content type is missing or unknown.
+   *
+   * @param body the encoded response body.
+   * @param contentType the response {@code Content-Type}, may be {@code null}.
+   * @param requested the codec the request was encoded with.
+   * @return the decoded response.
+   * @throws AuthorizationException if the body is empty or cannot be decoded.
+   */
+  public static AuthorizationResponse parseResponse(
+      byte[] body, String contentType, Codec requested) throws AuthorizationException {
+    Codec codec = Codecs.forMediaType(contentType);
+    return (codec != null ? codec : requested).decodeResponse(body);
+  }
+
+  /** The body of an Access Evaluations response; a top-level decision is ignored. */
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  private static final class EvaluationsResponse {
+    @JsonProperty("evaluations")
+    List<AuthorizationResponse> evaluations;
+  }
 }
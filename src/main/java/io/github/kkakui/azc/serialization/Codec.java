@@ -0,0 +1,45 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.serialization;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.api.AuthorizationResponse;
+import io.github.kkakui.azc.exception.AuthorizationException;
+
+/**
+ * A wire format for encoding {@link AuthorizationRequest}s and decoding {@link
+ * AuthorizationResponse}s.
+ *
+ * <p>JSON is the format mandated by the AuthZEN specification and is the default. Binary formats
+ * can be selected for PDPs that are under the caller's control and understand them. The media type
+ * is sent as {@code Content-Type} and {@code Accept}, and the response codec is chosen from the
+ * response {@code Content-Type}. Standard codecs are available from {@link Codecs}.
+ */
+public interface Codec {
+  /**
+   * Returns the media type of this format, e.g. {@code application/json}.
+   *
+   * @return the media type, without parameters.
+   */
+  String getMediaType();
+
+  /**
+   * Encodes an authorization request.
+   *
+   * @param request the request to encode.
+   * @return the encoded request body.
+   * @throws AuthorizationException if the request cannot be encoded.
+   */
+  byte[] encodeRequest(AuthorizationRequest request) throws AuthorizationException;
+
+  /**
+   * Decodes an authorization response.
+   *
+   * @param body the encoded response body.
+   * @return the decoded response.
+   * @throws AuthorizationException if the body is empty or cannot be decoded.
+   */
+  AuthorizationResponse decodeResponse(byte[] body) throws AuthorizationException;
+}
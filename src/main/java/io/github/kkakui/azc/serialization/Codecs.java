@@ -0,0 +1,93 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * The standard {@link Codec}s.
+ *
+ * <p>The Smile and CBOR codecs require the optional {@code jackson-dataformat-smile} and {@code
+ * jackson-dataformat-cbor} artifacts on the classpath. They are loaded lazily, so applications that
+ * stay on JSON do not need them.
+ */
+public final class Codecs {
+  public static final String JSON_MEDIA_TYPE = "application/json";
+  public static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+  public static final String CBOR_MEDIA_TYPE = "application/cbor";
+
+  private static final Codec JSON = new JacksonCodec(JSON_MEDIA_TYPE, "JSON", new ObjectMapper());
+
+  private Codecs() {
+    // Prevent instantiation of this utility class
+  }
+
+  /**
+   * Returns the JSON codec, the default for standard AuthZEN servers.
+   *
+   * @return the JSON codec.
+   */
+  public static Codec json() {
+    return JSON;
+  }
+
+  /**
+   * Returns the Jackson Smile codec.
+   *
+   * @return the Smile codec.
+   * @throws NoClassDefFoundError if {@code jackson-dataformat-smile} is not on the classpath.
+   */
+  public static Codec smile() {
+    return SmileHolder.CODEC;
+  }
+
+  /**
+   * Returns the CBOR codec.
+   *
+   * @return the CBOR codec.
+   * @throws NoClassDefFoundError if {@code jackson-dataformat-cbor} is not on the classpath.
+   */
+  public static Codec cbor() {
+    return CborHolder.CODEC;
+  }
+
+  /**
+   * Returns the standard codec for a {@code Content-Type} header value. Parameters such as {@code
+   * charset} are ignored.
+   *
+   * @param contentType the header value, may be {@code null}.
+   * @return the matching codec, or {@code null} if the media type is missing or unknown.
+   */
+  public static Codec forMediaType(String contentType) {
+    if (contentType == null) {
+      return null;
+    }
+    int separator = contentType.indexOf(';');
+    String mediaType = (separator < 0 ? contentType : contentType.substring(0, separator)).trim();
+    if (mediaType.equalsIgnoreCase(JSON_MEDIA_TYPE)) {
+      return JSON;
+    }
+    if (mediaType.equalsIgnoreCase(SMILE_MEDIA_TYPE)) {
+      return smile();
+    }
+    if (mediaType.equalsIgnoreCase(CBOR_MEDIA_TYPE)) {
+      return cbor();
+    }
+    return null;
+  }
+
+  // Holder classes keep the optional format classes from being resolved until first use.
+  private static final class SmileHolder {
+    static final Codec CODEC =
+        new JacksonCodec(SMILE_MEDIA_TYPE, "Smile", new ObjectMapper(new SmileFactory()));
+  }
+
+  private static final class CborHolder {
+    static final Codec CODEC =
+        new JacksonCodec(CBOR_MEDIA_TYPE, "CBOR", new ObjectMapper(new CBORFactory()));
+  }
+}
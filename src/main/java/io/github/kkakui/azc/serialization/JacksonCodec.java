@@ -0,0 +1,61 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.api.AuthorizationResponse;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import java.io.IOException;
+
+/**
+ * A {@link Codec} backed by a Jackson {@link ObjectMapper}. The model classes bind the same way in
+ * every Jackson data format, so only the underlying factory differs between codecs.
+ */
+class JacksonCodec implements Codec {
+  private final String mediaType;
+  private final String formatName;
+  private final ObjectMapper mapper;
+
+  JacksonCodec(String mediaType, String formatName, ObjectMapper mapper) {
+    this.mediaType = mediaType;
+    this.formatName = formatName;
+    this.mapper = mapper;
+  }
+
+  @Override
+  public String getMediaType() {
+    return mediaType;
+  }
+
+  @Override
+  public byte[] encodeRequest(AuthorizationRequest request) throws AuthorizationException {
+    try {
+      return mapper.writeValueAsBytes(request);
+    } catch (IOException e) {
+      throw new AuthorizationException(
+          "Failed to serialize authorization request to " + formatName + ".", e);
+    }
+  }
+
+  @Override
+  public AuthorizationResponse decodeResponse(byte[] body) throws AuthorizationException {
+    if (body == null || body.length == 0) {
+      throw new AuthorizationException(
+          "Response " + formatName + " from server was null or empty.");
+    }
+    try {
+      return mapper.readValue(body, AuthorizationResponse.class);
+    } catch (IOException e) {
+      throw new AuthorizationException(
+          "Failed to deserialize authorization response from " + formatName + ".", e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return formatName + " (" + mediaType + ")";
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.serialization;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Context;
+import io.github.kkakui.azc.model.Subject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A JSON request body encoded ahead of time, with only the resource type and id left open.
+ *
+ * <p>The subject, action and context are serialized once, when the template is created. {@link
+ * #render(String, String)} then copies the encoded parts into a new array around the escaped
+ * resource type and id, producing the same bytes as {@link
+ * AuthorizationRequestSerializer#buildRequestJson(io.github.kkakui.azc.api.AuthorizationRequest)}
+ * would for the full request. This class is immutable.
+ */
+public final class RequestTemplate {
+  private static final byte[] RESOURCE_ID = ascii(",\"resource\":{\"id\":\"");
+  private static final byte[] RESOURCE_TYPE = ascii("\",\"type\":\"");
+
+  private final byte[] head;
+  private final byte[] action;
+  private final byte[] tail;
+
+  private RequestTemplate(byte[] head, byte[] action, byte[] tail) {
+    this.head = head;
+    this.action = action;
+    this.tail = tail;
+  }
+
+  /**
+   * Encodes the invariant parts of a request.
+   *
+   * @param subject the subject.
+   * @param action the action.
+   * @param context the context, or {@code null} for none.
+   * @return the template.
+   * @throws AuthorizationException if the parts cannot be serialized.
+   */
+  public static RequestTemplate of(Subject subject, Action action, Context context)
+      throws AuthorizationException {
+    if (subject == null) {
+      throw new IllegalArgumentException("Subject must be provided.");
+    }
+    if (action == null) {
+      throw new IllegalArgumentException("Action must be provided.");
+    }
+    byte[] head = concat(ascii("{\"subject\":"), write(subject), RESOURCE_ID);
+    byte[] encodedAction = write(action);
+    return new RequestTemplate(head, encodedAction, tail(encodedAction, context));
+  }
+
+  /**
+   * Returns a template with the same subject and action but another context.
+   *
+   * @param context the context, or {@code null} for none.
+   * @return the new template.
+   * @throws AuthorizationException if the context cannot be serialized.
+   */
+  public RequestTemplate withContext(Context context) throws AuthorizationException {
+    return new RequestTemplate(head, action, tail(action, context));
+  }
+
+  /**
+   * Produces a request body for the given resource.
+   *
+   * @param resourceType the resource type.
+   * @param resourceId the resource id.
+   * @return the UTF-8 encoded JSON body.
+   * @throws IllegalArgumentException if the type or id is null or blank.
+   */
+  public byte[] render(String resourceType, String resourceId) {
+    if (resourceId == null || resourceId.isBlank()) {
+      throw new IllegalArgumentException("Resource 'id' must not be null or blank.");
+    }
+    if (resourceType == null || resourceType.isBlank()) {
+      throw new IllegalArgumentException("Resource 'type' must not be null or blank.");
+    }
+    byte[] id = isPlainAscii(resourceId) ? null : quote(resourceId);
+    byte[] type = isPlainAscii(resourceType) ? null : quote(resourceType);
+    int length =
+        head.length
+            + (id == null ? resourceId.length() : id.length)
+            + RESOURCE_TYPE.length
+            + (type == null ? resourceType.length() : type.length)
+            + tail.length;
+    byte[] body = new byte[length];
+    int offset = copy(head, body, 0);
+    offset = id == null ? copyAscii(resourceId, body, offset) : copy(id, body, offset);
+    offset = copy(RESOURCE_TYPE, body, offset);
+    offset = type == null ? copyAscii(resourceType, body, offset) : copy(type, body, offset);
+    copy(tail, body, offset);
+    return body;
+  }
+
+  private static byte[] tail(byte[] action, Context context) throws AuthorizationException {
+    byte[] start = ascii("\",\"properties\":{}},\"action\":");
+    if (context == null) {
+      return concat(start, action, ascii("}"));
+    }
+    return concat(start, action, ascii(",\"context\":"), write(context), ascii("}"));
+  }
+
+  private static byte[] write(Object value) throws AuthorizationException {
+    try {
+      return AuthorizationRequestSerializer.mapper.writeValueAsBytes(value);
+    } catch (IOException e) {
+      throw new AuthorizationException("Failed to serialize request template to JSON.", e);
+    }
+  }
+
+  /** Returns whether a string can be copied into JSON as is, one byte per character. */
+  private static boolean isPlainAscii(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x20 || c >= 0x7f || c == '"' || c == '\\') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static byte[] quote(String value) {
+    return JsonStringEncoder.getInstance().quoteAsUTF8(value);
+  }
+
+  private static int copyAscii(String value, byte[] target, int offset) {
+    for (int i = 0; i < value.length(); i++) {
+      target[offset + i] = (byte) value.charAt(i);
+    }
+    return offset + value.length();
+  }
+
+  private static int copy(byte[] source, byte[] target, int offset) {
+    System.arraycopy(source, 0, target, offset, source.length);
+    return offset + source.length;
+  }
+
+  private static byte[] concat(byte[]... parts) {
+    int length = 0;
+    for (byte[] part : parts) {
+      length += part.length;
+    }
+    byte[] result = new byte[length];
+    int offset = 0;
+    for (byte[] part : parts) {
+      offset = copy(part, result, offset);
+    }
+    return result;
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+}
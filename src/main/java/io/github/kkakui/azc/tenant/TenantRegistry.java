@@ -0,0 +1,271 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.tenant;
+
+import io.github.kkakui.azc.api.AuthzClient;
+import io.github.kkakui.azc.cache.DecisionCache;
+import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.context.ContextFactory;
+import io.github.kkakui.azc.transport.Transport;
+import io.github.kkakui.azc.transport.http.SimpleHttpClient;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Holds one {@link AuthzClient} per tenant, for services that talk to a separate PDP endpoint, with
+ * its own API key, for each of many tenants.
+ *
+ * <p>All tenants share one {@link Transport}: transports take the endpoint and credentials from the
+ * configuration passed with each request, so a single {@link SimpleHttpClient} and its connection
+ * pool serve every tenant. If caching is enabled, each tenant gets its own partition of the
+ * decision cache, holding at most its quota of decisions, so one tenant's traffic cannot evict
+ * another's decisions and an invalidation for one tenant leaves the others untouched. All
+ * partitions share one background refresh pool.
+ *
+ * <p>Tenants can be registered, replaced and removed at any time without affecting the others or
+ * the shared transport. For example:
+ *
+ * <pre>
+ * TenantRegistry registry = TenantRegistry.builder()
+ *     .transport(new SimpleHttpClient())
+ *     .cacheTtl(Duration.ofMinutes(1))
+ *     .build();
+ * registry.register("acme", acmeConfig);
+ * registry.register("globex", globexConfig, 50_000);
+ * registry.client("acme").authorize(request);
+ * </pre>
+ *
+ * <p>This class is thread-safe.
+ */
+public final class TenantRegistry {
+  private static final Logger logger = Logger.getLogger(TenantRegistry.class.getName());
+  private static final int DEFAULT_CACHE_QUOTA = 1_000;
+
+  private final ConcurrentMap<String, Tenant> tenants = new ConcurrentHashMap<>();
+  private final Transport transport;
+  private final ContextFactory contextFactory;
+  private final Duration cacheTtl;
+  private final int defaultCacheQuota;
+  private final Executor refreshExecutor;
+
+  private TenantRegistry(Builder builder) {
+    this.transport = builder.transport != null ? builder.transport : new SimpleHttpClient();
+    this.contextFactory = builder.contextFactory;
+    this.cacheTtl = builder.cacheTtl;
+    this.defaultCacheQuota = builder.cacheQuota;
+    this.refreshExecutor =
+        builder.refreshExecutor != null ? builder.refreshExecutor : defaultRefreshExecutor();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Registers a tenant with the default cache quota, replacing any previous registration.
+   *
+   * @param tenantId the tenant id.
+   * @param config the tenant's endpoint and credentials.
+   * @return the tenant's client.
+   */
+  public AuthzClient register(String tenantId, AuthzClientConfig config) {
+    return register(tenantId, config, defaultCacheQuota);
+  }
+
+  /**
+   * Registers a tenant, replacing any previous registration. A replaced tenant's cached decisions
+   * are dropped, since they may come from another endpoint.
+   *
+   * @param tenantId the tenant id.
+   * @param config the tenant's endpoint and credentials.
+   * @param cacheQuota the maximum number of decisions cached for the tenant.
+   * @return the tenant's client.
+   * @throws IllegalArgumentException if the id is blank, the config is null or the quota is not
+   *     positive.
+   */
+  public AuthzClient register(String tenantId, AuthzClientConfig config, int cacheQuota) {
+    if (tenantId == null || tenantId.isBlank()) {
+      throw new IllegalArgumentException("Tenant id must not be null or blank.");
+    }
+    if (config == null) {
+      throw new IllegalArgumentException("Config must be provided.");
+    }
+    if (cacheQuota < 1) {
+      throw new IllegalArgumentException("Cache quota must be positive.");
+    }
+    DecisionCache cache =
+        cacheTtl == null
+            ? null
+            : DecisionCache.builder()
+                .ttl(cacheTtl)
+                .maxEntries(cacheQuota)
+                .refreshExecutor(refreshExecutor)
+                .build();
+    AuthzClient client =
+        AuthzClient.builder()
+            .config(config)
+            .transport(transport)
+            .contextFactory(contextFactory)
+            .decisionCache(cache)
+            .build();
+    Tenant previous = tenants.put(tenantId, new Tenant(client, cache));
+    if (previous != null) {
+      previous.close();
+      logger.info("Replaced tenant: " + tenantId);
+    } else {
+      logger.info("Registered tenant: " + tenantId);
+    }
+    return client;
+  }
+
+  /**
+   * Removes a tenant and drops its cached decisions. Calls already running on its client complete.
+   *
+   * @param tenantId the tenant id.
+   * @return whether the tenant was registered.
+   */
+  public boolean remove(String tenantId) {
+    Tenant removed = tenants.remove(tenantId);
+    if (removed == null) {
+      return false;
+    }
+    removed.close();
+    logger.info("Removed tenant: " + tenantId);
+    return true;
+  }
+
+  /**
+   * Returns a tenant's client.
+   *
+   * @param tenantId the tenant id.
+   * @return the client.
+   * @throws IllegalArgumentException if the tenant is not registered.
+   */
+  public AuthzClient client(String tenantId) {
+    return tenant(tenantId).client;
+  }
+
+  /**
+   * Returns a tenant's partition of the decision cache, e.g. to invalidate decisions or subscribe
+   * it to the tenant's invalidation source.
+   *
+   * @param tenantId the tenant id.
+   * @return the partition, or {@code null} if caching is disabled.
+   * @throws IllegalArgumentException if the tenant is not registered.
+   */
+  public DecisionCache cache(String tenantId) {
+    return tenant(tenantId).cache;
+  }
+
+  /** Returns the ids of the registered tenants. */
+  public Set<String> tenants() {
+    return Set.copyOf(tenants.keySet());
+  }
+
+  /** Returns the number of decisions cached across all tenants. */
+  public int cacheSize() {
+    int size = 0;
+    for (Tenant tenant : tenants.values()) {
+      if (tenant.cache != null) {
+        size += tenant.cache.size();
+      }
+    }
+    return size;
+  }
+
+  /** Returns the transport shared by all tenants. */
+  public Transport getTransport() {
+    return transport;
+  }
+
+  private Tenant tenant(String tenantId) {
+    Tenant tenant = tenants.get(tenantId);
+    if (tenant == null) {
+      throw new IllegalArgumentException("Unknown tenant '" + tenantId + "'.");
+    }
+    return tenant;
+  }
+
+  private static Executor defaultRefreshExecutor() {
+    return Executors.newCachedThreadPool(
+        runnable -> {
+          Thread thread = new Thread(runnable, "azc-tenant-refresh");
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  private static final class Tenant {
+    final AuthzClient client;
+    final DecisionCache cache;
+
+    Tenant(AuthzClient client, DecisionCache cache) {
+      this.client = client;
+      this.cache = cache;
+    }
+
+    void close() {
+      if (cache != null) {
+        cache.close();
+        cache.invalidateAll();
+      }
+    }
+  }
+
+  public static class Builder {
+    private Transport transport;
+    private ContextFactory contextFactory;
+    private Duration cacheTtl;
+    private int cacheQuota = DEFAULT_CACHE_QUOTA;
+    private Executor refreshExecutor;
+
+    private Builder() {}
+
+    /** Sets the transport shared by all tenants. Defaults to a new {@link SimpleHttpClient}. */
+    public Builder transport(Transport transport) {
+      this.transport = transport;
+      return this;
+    }
+
+    /** Sets a context factory shared by all tenants' clients. */
+    public Builder contextFactory(ContextFactory contextFactory) {
+      this.contextFactory = contextFactory;
+      return this;
+    }
+
+    /** Enables decision caching with the given TTL. Defaults to no caching. */
+    public Builder cacheTtl(Duration cacheTtl) {
+      this.cacheTtl = cacheTtl;
+      return this;
+    }
+
+    /** Sets the cache quota of tenants registered without one. Defaults to 1,000 decisions. */
+    public Builder cacheQuota(int cacheQuota) {
+      this.cacheQuota = cacheQuota;
+      return this;
+    }
+
+    /** Sets the executor for background refreshes of all tenants' caches. */
+    public Builder refreshExecutor(Executor refreshExecutor) {
+      this.refreshExecutor = refreshExecutor;
+      return this;
+    }
+
+    public TenantRegistry build() {
+      if (cacheTtl != null && (cacheTtl.isNegative() || cacheTtl.isZero())) {
+        throw new IllegalStateException("Cache TTL must be positive.");
+      }
+      if (cacheQuota < 1) {
+        throw new IllegalStateException("Cache quota must be positive.");
+      }
+      return new TenantRegistry(this);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An encoded message body together with its media type, exchanged with a {@link Transport} when a
+ * non-JSON wire format is in use. This class is immutable; the body array is not copied and must
+ * not be modified after construction.
+ */
+public final class Payload {
+  private final byte[] body;
+  private final String contentType;
+  private final String requestId;
+
+  public Payload(byte[] body, String contentType) {
+    this(body, contentType, null);
+  }
+
+  /**
+   * Creates a response payload with the request id the server echoed.
+   *
+   * @param body the body.
+   * @param contentType the media type of the body, or {@code null} if unknown.
+   * @param requestId the echoed {@code X-Request-ID}, or {@code null} if none.
+   */
+  public Payload(byte[] body, String contentType, String requestId) {
+    if (body == null) {
+      throw new IllegalArgumentException("Payload 'body' must not be null.");
+    }
+    this.body = body;
+    this.contentType = contentType;
+    this.requestId = requestId;
+  }
+
+  public byte[] getBody() {
+    return body;
+  }
+
+  /**
+   * Returns the media type of the body.
+   *
+   * @return the {@code Content-Type} value, or {@code null} if unknown.
+   */
+  public String getContentType() {
+    return contentType;
+  }
+
+  /**
+   * Returns the {@code X-Request-ID} the server echoed with a response. HTTP transports check that
+   * it matches the id they sent, so it identifies the request the response belongs to. The id is
+   * not passed on to {@link io.github.kkakui.azc.api.AuthorizationResponse}; callers that need to
+   * correlate decisions should choose the id they send, e.g. with {@link
+   * io.github.kkakui.azc.transport.RequestIdGenerators#propagating(java.util.function.Supplier)}.
+   *
+   * @return the id, or {@code null} if the server did not echo one or this is a request.
+   */
+  public String getRequestId() {
+    return requestId;
+  }
+
+  /**
+   * Returns whether the body is JSON, judging by its media type.
+   *
+   * @return {@code true} if the content type is {@code application/json}.
+   */
+  public boolean isJson() {
+    if (contentType == null) {
+      return false;
+    }
+    int separator = contentType.indexOf(';');
+    String mediaType = (separator < 0 ? contentType : contentType.substring(0, separator)).trim();
+    return mediaType.equalsIgnoreCase("application/json");
+  }
+
+  /**
+   * Decodes the body as UTF-8 text.
+   *
+   * @return the body as a string.
+   */
+  public String asString() {
+    return new String(body, StandardCharsets.UTF_8);
+  }
+}
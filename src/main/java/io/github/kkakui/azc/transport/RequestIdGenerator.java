@@ -0,0 +1,23 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport;
+
+/**
+ * Creates the {@code X-Request-ID} of each request a transport sends. Retries of a request reuse
+ * its id, and the AuthZEN specification asks PDPs to echo it in the response, so it can be used to
+ * correlate log entries on both sides.
+ *
+ * <p>Implementations must be thread-safe and should not block, since they are called on the request
+ * path of every call. Standard generators are available from {@link RequestIdGenerators}.
+ */
+@FunctionalInterface
+public interface RequestIdGenerator {
+  /**
+   * Returns the id of the next request.
+   *
+   * @return the id, which must be a non-empty header value without line breaks.
+   */
+  String next();
+}
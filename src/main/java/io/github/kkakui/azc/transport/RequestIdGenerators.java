@@ -0,0 +1,107 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/** The standard {@link RequestIdGenerator}s. */
+public final class RequestIdGenerators {
+  private static final int MAX_INBOUND_LENGTH = 128;
+
+  private static final RequestIdGenerator TIME_ORDERED =
+      () -> {
+        // A version 7 UUID: 48 bits of Unix time in milliseconds followed by 74 random bits.
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits =
+            (System.currentTimeMillis() << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+      };
+
+  private static final RequestIdGenerator RANDOM = () -> UUID.randomUUID().toString();
+
+  private RequestIdGenerators() {
+    // Prevent instantiation of this utility class
+  }
+
+  /**
+   * Returns the default generator, which creates version 7 UUIDs: ids that sort by the millisecond
+   * they were created in, from a thread-local random source, so that concurrent callers never
+   * contend for it.
+   *
+   * @return the time-ordered generator.
+   */
+  public static RequestIdGenerator timeOrdered() {
+    return TIME_ORDERED;
+  }
+
+  /**
+   * Returns a generator of random version 4 UUIDs. They come from {@link
+   * java.security.SecureRandom}, which is slower and shared by all threads, so prefer {@link
+   * #timeOrdered()} unless ids must not reveal when they were created.
+   *
+   * @return the random generator.
+   */
+  public static RequestIdGenerator random() {
+    return RANDOM;
+  }
+
+  /**
+   * Returns a generator that passes on the id of the request being served, e.g. one read from an
+   * inbound {@code X-Request-ID} or trace header into a thread-local or logging context, so that
+   * the PDP's logs line up with the caller's. For example:
+   *
+   * <pre>
+   * RequestIdGenerators.propagating(() -&gt; MDC.get("requestId"))
+   * </pre>
+   *
+   * <p>When there is no inbound id, or it is longer than 128 characters or contains characters
+   * other than visible ASCII, a {@linkplain #timeOrdered() time-ordered} id is used instead, so
+   * that untrusted input never reaches the request headers.
+   *
+   * @param inbound supplies the inbound id, or {@code null} if there is none.
+   * @return the propagating generator.
+   */
+  public static RequestIdGenerator propagating(Supplier<String> inbound) {
+    return propagating(inbound, TIME_ORDERED);
+  }
+
+  /**
+   * Like {@link #propagating(Supplier)}, with another generator for requests without a usable
+   * inbound id.
+   *
+   * @param inbound supplies the inbound id, or {@code null} if there is none.
+   * @param fallback creates ids when there is no usable inbound id.
+   * @return the propagating generator.
+   */
+  public static RequestIdGenerator propagating(
+      Supplier<String> inbound, RequestIdGenerator fallback) {
+    if (inbound == null) {
+      throw new IllegalArgumentException("Inbound id supplier must be provided.");
+    }
+    if (fallback == null) {
+      throw new IllegalArgumentException("Fallback generator must be provided.");
+    }
+    return () -> {
+      String id = inbound.get();
+      return isValid(id) ? id : fallback.next();
+    };
+  }
+
+  private static boolean isValid(String id) {
+    if (id == null || id.isEmpty() || id.length() > MAX_INBOUND_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < id.length(); i++) {
+      char c = id.charAt(i);
+      if (c < 0x21 || c > 0x7E) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -5,6 +5,8 @@
 package io.github.kkakui.azc.transport;
 
 import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.exception.TransportException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * An interface defining the transport layer for sending authorization requests.
@@ -14,4 +16,38 @@ import io.github.kkakui.azc.config.AuthzClientConfig;
  */
 public interface Transport {
   String request(AuthzClientConfig config, String jsonBody) throws Exception;
+
+  /**
+   * Sends an encoded request body of any media type and returns the encoded response body.
+   *
+   * <p>Transports that support binary {@linkplain io.github.kkakui.azc.serialization.Codec codecs}
+   * override this method to send the payload's media type as {@code Content-Type} and {@code
+   * Accept}, and to report the response {@code Content-Type}. The default implementation only
+   * handles JSON, by delegating to {@link #request(AuthzClientConfig, String)}.
+   *
+   * @param config the client configuration.
+   * @param payload the encoded request body.
+   * @return the encoded response body.
+   * @throws Exception if the request fails or the media type is not supported.
+   */
+  default Payload request(AuthzClientConfig config, Payload payload) throws Exception {
+    if (!payload.isJson()) {
+      throw new TransportException(
+          "Transport does not support media type '" + payload.getContentType() + "'.");
+    }
+    String response = request(config, payload.asString());
+    return new Payload(
+        response == null ? new byte[0] : response.getBytes(StandardCharsets.UTF_8),
+        "application/json");
+  }
+
+  /**
+   * Prepares the transport for traffic, e.g. by opening {@link
+   * AuthzClientConfig#getWarmUpConnections()} connections to the endpoint and keeping them for
+   * subsequent requests. The default implementation does nothing.
+   *
+   * @param config the client configuration.
+   * @throws Exception if the endpoint cannot be reached.
+   */
+  default void warmUp(AuthzClientConfig config) throws Exception {}
 }
@@ -0,0 +1,50 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport.http;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A Java Flight Recorder event for one exchange with the PDP by {@link SimpleHttpClient}, so that
+ * each retry of a request shows up on its own. By default only attempts that take 20 ms or longer
+ * are recorded.
+ */
+@Name("io.github.kkakui.azc.HttpAttempt")
+@Label("HTTP Attempt")
+@Category("azc")
+@Description("One attempt to send an authorization request to the PDP")
+@Threshold("20 ms")
+@StackTrace(false)
+final class AttemptEvent extends Event {
+  @Label("Endpoint")
+  String endpoint;
+
+  @Label("Request ID")
+  String requestId;
+
+  @Label("Attempt")
+  @Description("The attempt number, starting at 1")
+  int attempt;
+
+  @Label("Status")
+  @Description("The HTTP status code, or 0 if no response was received")
+  int status;
+
+  @Label("Request Size")
+  @DataAmount
+  long requestBytes;
+
+  @Label("Response Size")
+  @Description("The size of the response body after decoding")
+  @DataAmount
+  long responseBytes;
+}
@@ -0,0 +1,40 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport.http;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for the wait between a failed attempt and its retry in {@link
+ * RetryLoop}. The event's duration is the time spent waiting.
+ */
+@Name("io.github.kkakui.azc.RetryBackoff")
+@Label("Retry Backoff")
+@Category("azc")
+@Description("The wait before retrying a failed authorization request")
+@StackTrace(false)
+final class BackoffEvent extends Event {
+  @Label("Endpoint")
+  String endpoint;
+
+  @Label("Request ID")
+  String requestId;
+
+  @Label("Failed Attempt")
+  int attempt;
+
+  @Label("Status")
+  @Description("The HTTP status code of the failed attempt, or 0 after a network error")
+  int status;
+
+  @Label("Retry-After")
+  @Description("Whether the PDP set the delay with Retry-After")
+  boolean retryAfter;
+}
@@ -0,0 +1,64 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport.http;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of equally sized direct buffers. Direct buffers are expensive to allocate and are only
+ * freed by the garbage collector, so connections return theirs here when they close instead of
+ * dropping them. This class is thread-safe.
+ */
+final class BufferPool {
+  private final int bufferSize;
+  private final int maxPooled;
+  private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pooled = new AtomicInteger();
+
+  /**
+   * Creates an empty pool.
+   *
+   * @param bufferSize the capacity of each buffer in bytes.
+   * @param maxPooled the maximum number of free buffers kept; further ones are dropped.
+   */
+  BufferPool(int bufferSize, int maxPooled) {
+    this.bufferSize = bufferSize;
+    this.maxPooled = maxPooled;
+  }
+
+  /**
+   * Takes a free buffer, or allocates one if none is left.
+   *
+   * @return a cleared buffer.
+   */
+  ByteBuffer acquire() {
+    ByteBuffer buffer = free.poll();
+    if (buffer == null) {
+      return ByteBuffer.allocateDirect(bufferSize);
+    }
+    pooled.decrementAndGet();
+    return buffer.clear();
+  }
+
+  /**
+   * Returns a buffer to the pool. The caller must not use it afterwards.
+   *
+   * @param buffer a buffer taken from this pool.
+   */
+  void release(ByteBuffer buffer) {
+    if (pooled.incrementAndGet() <= maxPooled) {
+      free.offer(buffer);
+    } else {
+      pooled.decrementAndGet();
+    }
+  }
+
+  /** Returns the number of free buffers, for tests. */
+  int available() {
+    return pooled.get();
+  }
+}
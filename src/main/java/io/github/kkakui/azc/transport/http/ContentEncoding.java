@@ -0,0 +1,177 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The HTTP content codings supported for compressing request bodies and decompressing response
+ * bodies.
+ *
+ * <p>Encoding and decoding are streamed through the {@link java.util.zip} codecs, so only the
+ * compressed form and the character data are held in memory, never an additional uncompressed byte
+ * copy.
+ */
+public enum ContentEncoding {
+  /** The {@code gzip} coding (RFC 1952). */
+  GZIP("gzip") {
+    @Override
+    OutputStream wrap(OutputStream out) throws IOException {
+      return new GZIPOutputStream(out);
+    }
+
+    @Override
+    InputStream wrap(InputStream in) throws IOException {
+      return new GZIPInputStream(in);
+    }
+  },
+
+  /** The {@code deflate} coding, i.e. the zlib format (RFC 1950). */
+  DEFLATE("deflate") {
+    @Override
+    OutputStream wrap(OutputStream out) {
+      return new DeflaterOutputStream(out);
+    }
+
+    @Override
+    InputStream wrap(InputStream in) {
+      return new InflaterInputStream(in);
+    }
+  };
+
+  /** Chunks of decoded text are appended as they come, so the output grows to its actual size. */
+  private static final int DECODE_CHUNK = 8192;
+
+  private final String token;
+
+  ContentEncoding(String token) {
+    this.token = token;
+  }
+
+  /**
+   * Returns the coding name as used in the {@code Content-Encoding} and {@code Accept-Encoding}
+   * headers.
+   *
+   * @return the coding token.
+   */
+  public String token() {
+    return token;
+  }
+
+  /**
+   * Looks up a coding by its header token, ignoring case.
+   *
+   * @param token the coding token, e.g. "gzip".
+   * @return the matching coding, or {@code null} if the token is not supported.
+   */
+  public static ContentEncoding fromToken(String token) {
+    if (token == null) {
+      return null;
+    }
+    String trimmed = token.trim();
+    for (ContentEncoding encoding : values()) {
+      if (encoding.token.equalsIgnoreCase(trimmed)) {
+        return encoding;
+      }
+    }
+    return null;
+  }
+
+  abstract OutputStream wrap(OutputStream out) throws IOException;
+
+  abstract InputStream wrap(InputStream in) throws IOException;
+
+  /**
+   * Compresses the UTF-8 form of the given text. Characters are encoded straight into the
+   * compressor, so the uncompressed bytes are never materialized.
+   *
+   * @param text the text to compress.
+   * @return the compressed bytes.
+   * @throws IOException if compression fails.
+   */
+  public byte[] encode(String text) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, text.length() / 4));
+    try (Writer writer = new OutputStreamWriter(wrap(buffer), StandardCharsets.UTF_8)) {
+      writer.write(text);
+    }
+    return buffer.toByteArray();
+  }
+
+  /**
+   * Compresses the given bytes.
+   *
+   * @param data the bytes to compress.
+   * @return the compressed bytes.
+   * @throws IOException if compression fails.
+   */
+  public byte[] encode(byte[] data) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+    try (OutputStream out = wrap(buffer)) {
+      out.write(data);
+    }
+    return buffer.toByteArray();
+  }
+
+  /**
+   * Decompresses the given bytes.
+   *
+   * @param compressed the compressed bytes.
+   * @return the decompressed bytes.
+   * @throws UncheckedIOException if the data is not valid for this coding.
+   */
+  public byte[] decodeBytes(byte[] compressed) {
+    try (InputStream in = wrap(new ByteArrayInputStream(compressed))) {
+      return in.readAllBytes();
+    } catch (IOException e) {
+      throw new DecodingException(this, e);
+    }
+  }
+
+  /**
+   * Decompresses the given bytes and decodes them as UTF-8 text.
+   *
+   * @param compressed the compressed bytes.
+   * @return the decoded text.
+   * @throws UncheckedIOException if the data is not valid for this coding.
+   */
+  public String decode(byte[] compressed) {
+    StringBuilder text = new StringBuilder(Math.min(compressed.length, DECODE_CHUNK) * 2);
+    char[] chunk = new char[DECODE_CHUNK];
+    try (Reader reader =
+        new InputStreamReader(wrap(new ByteArrayInputStream(compressed)), StandardCharsets.UTF_8)) {
+      int read;
+      while ((read = reader.read(chunk)) != -1) {
+        text.append(chunk, 0, read);
+      }
+    } catch (IOException e) {
+      throw new DecodingException(this, e);
+    }
+    return text.toString();
+  }
+
+  /**
+   * Thrown when a body is not valid for its coding, so that transports can tell a corrupt response
+   * from a failed connection.
+   */
+  static final class DecodingException extends UncheckedIOException {
+    DecodingException(ContentEncoding encoding, IOException cause) {
+      super("Failed to decode " + encoding.token + " response body.", cause);
+    }
+  }
+}
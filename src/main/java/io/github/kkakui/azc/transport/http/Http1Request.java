@@ -0,0 +1,109 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport.http;
+
+import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.exception.TransportException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/** Helpers for writing HTTP/1.1 requests on the socket-level transports. */
+final class Http1Request {
+
+  private Http1Request() {}
+
+  /**
+   * Parses the configured endpoint.
+   *
+   * @param config the client configuration.
+   * @return the endpoint URI.
+   * @throws AuthorizationException if the endpoint is missing or malformed.
+   */
+  static URI endpoint(AuthzClientConfig config) throws AuthorizationException {
+    String url = config.getEndpoint();
+    if (url == null || url.isBlank()) {
+      throw new AuthorizationException(
+          "Invalid client configuration: Endpoint URL must be provided.",
+          new TransportException("Endpoint URL is null or blank."));
+    }
+    try {
+      return URI.create(url);
+    } catch (IllegalArgumentException e) {
+      throw new AuthorizationException(
+          "Invalid client configuration: Endpoint URL is malformed.",
+          new TransportException("Malformed endpoint URL: " + url, e));
+    }
+  }
+
+  /**
+   * Returns the API key header for the configuration, if an API key is set. The key is sent as a
+   * bearer token in {@code Authorization} unless another header name is configured.
+   *
+   * @param config the client configuration.
+   * @return the header name and value, or {@code null} if no API key is configured.
+   */
+  static String[] apiKeyHeader(AuthzClientConfig config) {
+    String apiKey = config.getApiKey().orElse(null);
+    if (apiKey == null) {
+      return null;
+    }
+    String headerName = config.getApiKeyHeader().orElse("Authorization");
+    String headerValue = headerName.equalsIgnoreCase("Authorization") ? "Bearer " + apiKey : apiKey;
+    return new String[] {headerName, headerValue};
+  }
+
+  /**
+   * Encodes a request line and headers, up to and including the blank line that ends them.
+   *
+   * @param method the request method.
+   * @param endpoint the endpoint, which supplies the request target and {@code Host}.
+   * @param config the client configuration, which supplies the API key.
+   * @param contentType the {@code Content-Type} of the body.
+   * @param accept the {@code Accept} value, or {@code null} to omit it.
+   * @param contentLength the body length in bytes.
+   * @param requestId the {@code X-Request-ID} value.
+   * @return the encoded head.
+   */
+  static byte[] head(
+      String method,
+      URI endpoint,
+      AuthzClientConfig config,
+      String contentType,
+      String accept,
+      int contentLength,
+      String requestId) {
+    StringBuilder head = new StringBuilder(256);
+    head.append(method).append(' ').append(target(endpoint)).append(" HTTP/1.1\r\n");
+    String host = endpoint.getRawAuthority();
+    header(head, "Host", host == null || host.isEmpty() ? "localhost" : host);
+    header(head, "Content-Type", contentType);
+    header(head, "Content-Length", Integer.toString(contentLength));
+    if (accept != null) {
+      header(head, "Accept", accept);
+    }
+    header(head, "X-Request-ID", requestId);
+    String[] apiKeyHeader = apiKeyHeader(config);
+    if (apiKeyHeader != null) {
+      header(head, apiKeyHeader[0], apiKeyHeader[1]);
+    }
+    head.append("\r\n");
+    return head.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String target(URI endpoint) {
+    String path = endpoint.getRawPath();
+    String query = endpoint.getRawQuery();
+    String target = path == null || path.isEmpty() ? "/" : path;
+    return query == null ? target : target + "?" + query;
+  }
+
+  private static void header(StringBuilder head, String name, String value) {
+    if (value.indexOf('\r') >= 0 || value.indexOf('\n') >= 0) {
+      throw new IllegalArgumentException("Header '" + name + "' must not contain line breaks.");
+    }
+    head.append(name).append(": ").append(value).append("\r\n");
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport.http;
+
+import java.nio.charset.StandardCharsets;
+
+/** An HTTP/1.1 response as read by {@link Http1ResponseParser}. This class is immutable. */
+final class Http1Response {
+  private final int statusCode;
+  private final String contentType;
+  private final String requestId;
+  private final String retryAfter;
+  private final byte[] body;
+  private final boolean keepAlive;
+
+  Http1Response(
+      int statusCode,
+      String contentType,
+      String requestId,
+      String retryAfter,
+      byte[] body,
+      boolean keepAlive) {
+    this.statusCode = statusCode;
+    this.contentType = contentType;
+    this.requestId = requestId;
+    this.retryAfter = retryAfter;
+    this.body = body;
+    this.keepAlive = keepAlive;
+  }
+
+  int getStatusCode() {
+    return statusCode;
+  }
+
+  /**
+   * Returns the {@code Content-Type} header.
+   *
+   * @return the media type, or {@code null} if absent.
+   */
+  String getContentType() {
+    return contentType;
+  }
+
+  /**
+   * Returns the {@code X-Request-ID} header.
+   *
+   * @return the id echoed by the server, or {@code null} if absent.
+   */
+  String getRequestId() {
+    return requestId;
+  }
+
+  /**
+   * Returns the {@code Retry-After} header.
+   *
+   * @return the header value, or {@code null} if absent.
+   */
+  String getRetryAfter() {
+    return retryAfter;
+  }
+
+  byte[] getBody() {
+    return body;
+  }
+
+  String getBodyText() {
+    return new String(body, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns whether the connection may carry another request after this response.
+   *
+   * @return {@code false} if the server asked to close the connection or delimited the body by
+   *     closing it.
+   */
+  boolean isKeepAlive() {
+    return keepAlive;
+  }
+}
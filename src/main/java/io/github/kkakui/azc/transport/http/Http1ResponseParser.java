@@ -0,0 +1,306 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A minimal, incremental HTTP/1.1 response parser for the socket-level transports.
+ *
+ * <p>Bytes are fed as they arrive, in chunks of any size, and a response is returned as soon as it
+ * is complete; any bytes after it are left in the buffer, so pipelined responses can be read back
+ * to back. Only the headers the client needs are interpreted: {@code Content-Length}, {@code
+ * Transfer-Encoding: chunked}, {@code Connection}, {@code Content-Type}, {@code X-Request-ID} and
+ * {@code Retry-After}. Interim {@code 1xx} responses are skipped. Instances are reused via {@link
+ * #reset(boolean)} and are not thread-safe.
+ */
+final class Http1ResponseParser {
+  private static final int MAX_LINE_LENGTH = 8192;
+  private static final int MAX_BODY_LENGTH = 64 * 1024 * 1024;
+  private static final byte[] EMPTY = new byte[0];
+
+  private enum State {
+    STATUS_LINE,
+    HEADERS,
+    FIXED_BODY,
+    CHUNK_SIZE,
+    CHUNK_DATA,
+    CHUNK_END,
+    TRAILERS,
+    BODY_UNTIL_CLOSE,
+    DONE
+  }
+
+  private final byte[] line = new byte[MAX_LINE_LENGTH];
+  private int lineLength;
+  private boolean lineComplete;
+  private State state;
+  private boolean expectBody;
+  private int statusCode;
+  private boolean http10;
+  private String contentType;
+  private String requestId;
+  private String retryAfter;
+  private long contentLength;
+  private boolean chunked;
+  private boolean connectionClose;
+  private boolean connectionKeepAlive;
+  private byte[] body;
+  private int bodyLength;
+  private long chunkRemaining;
+
+  Http1ResponseParser() {
+    reset(true);
+  }
+
+  /**
+   * Prepares for the next response.
+   *
+   * @param expectBody {@code false} for responses to {@code HEAD}, which never have a body.
+   */
+  void reset(boolean expectBody) {
+    this.expectBody = expectBody;
+    state = State.STATUS_LINE;
+    lineLength = 0;
+    lineComplete = false;
+    resetHeaders();
+  }
+
+  /**
+   * Consumes bytes from {@code in}, up to the end of the current response.
+   *
+   * @param in the received bytes, ready for reading.
+   * @return the response once complete, or {@code null} if more bytes are needed.
+   * @throws IOException if the response is malformed.
+   */
+  Http1Response parse(ByteBuffer in) throws IOException {
+    while (true) {
+      switch (state) {
+        case STATUS_LINE:
+          if (!readLine(in)) {
+            return null;
+          }
+          if (lineLength == 0) {
+            break; // Tolerate a stray CRLF between responses.
+          }
+          parseStatusLine();
+          state = State.HEADERS;
+          break;
+        case HEADERS:
+          if (!readLine(in)) {
+            return null;
+          }
+          if (lineLength > 0) {
+            parseHeader();
+          } else if (statusCode >= 100 && statusCode < 200 && statusCode != 101) {
+            resetHeaders(); // Interim response; the real one follows.
+            state = State.STATUS_LINE;
+          } else {
+            startBody();
+            if (state == State.DONE) {
+              return finish();
+            }
+          }
+          break;
+        case FIXED_BODY:
+          copyBody(in, contentLength - bodyLength);
+          if (bodyLength == contentLength) {
+            return finish();
+          }
+          return null;
+        case CHUNK_SIZE:
+          if (!readLine(in)) {
+            return null;
+          }
+          chunkRemaining = parseChunkSize();
+          state = chunkRemaining == 0 ? State.TRAILERS : State.CHUNK_DATA;
+          break;
+        case CHUNK_DATA:
+          chunkRemaining -= copyBody(in, chunkRemaining);
+          if (chunkRemaining > 0) {
+            return null;
+          }
+          state = State.CHUNK_END;
+          break;
+        case CHUNK_END:
+          if (!readLine(in)) {
+            return null;
+          }
+          state = State.CHUNK_SIZE;
+          break;
+        case TRAILERS:
+          if (!readLine(in)) {
+            return null;
+          }
+          if (lineLength == 0) {
+            return finish();
+          }
+          break;
+        case BODY_UNTIL_CLOSE:
+          copyBody(in, Long.MAX_VALUE);
+          return null;
+        default:
+          throw new IllegalStateException("Response already complete; call reset() first.");
+      }
+    }
+  }
+
+  /**
+   * Signals that the server closed the connection.
+   *
+   * @return the response, if its body was delimited by the close.
+   * @throws EOFException if the response was incomplete.
+   */
+  Http1Response endOfStream() throws EOFException {
+    if (state == State.BODY_UNTIL_CLOSE) {
+      return finish();
+    }
+    throw new EOFException("Connection closed before the response was complete.");
+  }
+
+  private void resetHeaders() {
+    statusCode = 0;
+    http10 = false;
+    contentType = null;
+    requestId = null;
+    retryAfter = null;
+    contentLength = -1;
+    chunked = false;
+    connectionClose = false;
+    connectionKeepAlive = false;
+    body = null;
+    bodyLength = 0;
+    chunkRemaining = 0;
+  }
+
+  /** Accumulates bytes up to LF into {@link #line}, dropping the line terminator. */
+  private boolean readLine(ByteBuffer in) throws IOException {
+    if (lineComplete) {
+      lineLength = 0;
+      lineComplete = false;
+    }
+    while (in.hasRemaining()) {
+      byte b = in.get();
+      if (b == '\n') {
+        if (lineLength > 0 && line[lineLength - 1] == '\r') {
+          lineLength--;
+        }
+        lineComplete = true;
+        return true;
+      }
+      if (lineLength == MAX_LINE_LENGTH) {
+        throw new IOException("HTTP response line exceeds " + MAX_LINE_LENGTH + " bytes.");
+      }
+      line[lineLength++] = b;
+    }
+    return false;
+  }
+
+  private void parseStatusLine() throws IOException {
+    String status = lineText();
+    // e.g. "HTTP/1.1 200 OK"
+    if (!status.startsWith("HTTP/1.") || status.length() < 12 || status.charAt(8) != ' ') {
+      throw new IOException("Malformed HTTP status line: " + status);
+    }
+    http10 = status.charAt(7) == '0';
+    try {
+      statusCode = Integer.parseInt(status.substring(9, 12));
+    } catch (NumberFormatException e) {
+      throw new IOException("Malformed HTTP status line: " + status, e);
+    }
+  }
+
+  private void parseHeader() throws IOException {
+    String header = lineText();
+    int colon = header.indexOf(':');
+    if (colon <= 0) {
+      throw new IOException("Malformed HTTP header: " + header);
+    }
+    String name = header.substring(0, colon).trim();
+    String value = header.substring(colon + 1).trim();
+    if (name.equalsIgnoreCase("Content-Length")) {
+      try {
+        contentLength = Long.parseLong(value);
+      } catch (NumberFormatException e) {
+        throw new IOException("Malformed Content-Length: " + value, e);
+      }
+      if (contentLength < 0 || contentLength > MAX_BODY_LENGTH) {
+        throw new IOException("Unsupported Content-Length: " + value);
+      }
+    } else if (name.equalsIgnoreCase("Transfer-Encoding")) {
+      chunked = value.toLowerCase().endsWith("chunked");
+    } else if (name.equalsIgnoreCase("Connection")) {
+      connectionClose |= value.equalsIgnoreCase("close");
+      connectionKeepAlive |= value.equalsIgnoreCase("keep-alive");
+    } else if (name.equalsIgnoreCase("Content-Type")) {
+      contentType = value;
+    } else if (name.equalsIgnoreCase("X-Request-ID")) {
+      requestId = value;
+    } else if (name.equalsIgnoreCase("Retry-After")) {
+      retryAfter = value;
+    }
+  }
+
+  private void startBody() {
+    if (!expectBody || statusCode == 204 || statusCode == 304) {
+      state = State.DONE;
+    } else if (chunked) {
+      body = new byte[256];
+      state = State.CHUNK_SIZE;
+    } else if (contentLength >= 0) {
+      body = contentLength == 0 ? EMPTY : new byte[(int) contentLength];
+      state = contentLength == 0 ? State.DONE : State.FIXED_BODY;
+    } else {
+      body = new byte[256];
+      state = State.BODY_UNTIL_CLOSE;
+    }
+  }
+
+  private long parseChunkSize() throws IOException {
+    String size = lineText();
+    int extension = size.indexOf(';');
+    try {
+      long length =
+          Long.parseLong((extension < 0 ? size : size.substring(0, extension)).trim(), 16);
+      if (length < 0 || bodyLength + length > MAX_BODY_LENGTH) {
+        throw new IOException("Unsupported chunk size: " + size);
+      }
+      return length;
+    } catch (NumberFormatException e) {
+      throw new IOException("Malformed chunk size: " + size, e);
+    }
+  }
+
+  /** Copies up to {@code max} bytes into the body, growing it if needed. */
+  private int copyBody(ByteBuffer in, long max) throws IOException {
+    int count = (int) Math.min(in.remaining(), max);
+    if (bodyLength + count > body.length) {
+      if ((long) bodyLength + count > MAX_BODY_LENGTH) {
+        throw new IOException("HTTP response body exceeds " + MAX_BODY_LENGTH + " bytes.");
+      }
+      body = Arrays.copyOf(body, Math.max(body.length * 2, bodyLength + count));
+    }
+    in.get(body, bodyLength, count);
+    bodyLength += count;
+    return count;
+  }
+
+  private Http1Response finish() {
+    boolean keepAlive =
+        state != State.BODY_UNTIL_CLOSE && !connectionClose && (!http10 || connectionKeepAlive);
+    byte[] result =
+        body == null ? EMPTY : bodyLength == body.length ? body : Arrays.copyOf(body, bodyLength);
+    state = State.DONE;
+    return new Http1Response(statusCode, contentType, requestId, retryAfter, result, keepAlive);
+  }
+
+  private String lineText() {
+    return new String(line, 0, lineLength, StandardCharsets.ISO_8859_1);
+  }
+}
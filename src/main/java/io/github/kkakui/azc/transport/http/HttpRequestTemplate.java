@@ -0,0 +1,107 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport.http;
+
+import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.exception.TransportException;
+import io.github.kkakui.azc.transport.RequestIdGenerator;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * The parts of {@link SimpleHttpClient} requests that only depend on the configuration: the parsed
+ * endpoint, the compression settings, the request id generator and the {@code Accept-Encoding} and
+ * API key headers. They are resolved and validated once per configuration snapshot, so that each
+ * request only copies the template and adds its content type and request id.
+ *
+ * <p>Instances are immutable once created and may be shared between threads.
+ */
+final class HttpRequestTemplate {
+  private final String endpoint;
+  private final ContentEncoding compression;
+  private final int compressionThreshold;
+  private final RequestIdGenerator requestIdGenerator;
+  private final HttpRequest.Builder base;
+
+  private HttpRequestTemplate(
+      String endpoint,
+      ContentEncoding compression,
+      int compressionThreshold,
+      RequestIdGenerator requestIdGenerator,
+      HttpRequest.Builder base) {
+    this.endpoint = endpoint;
+    this.compression = compression;
+    this.compressionThreshold = compressionThreshold;
+    this.requestIdGenerator = requestIdGenerator;
+    this.base = base;
+  }
+
+  /**
+   * Resolves the template for a configuration.
+   *
+   * @param config the client configuration.
+   * @param requestTimeout the timeout of each request.
+   * @return the template.
+   * @throws AuthorizationException if the endpoint is missing or malformed or the compression is
+   *     not supported.
+   */
+  static HttpRequestTemplate of(AuthzClientConfig config, Duration requestTimeout)
+      throws AuthorizationException {
+    HttpRequest.Builder base =
+        HttpRequest.newBuilder().uri(Http1Request.endpoint(config)).timeout(requestTimeout);
+    ContentEncoding compression = resolveCompression(config);
+    if (compression != null) {
+      base.header("Accept-Encoding", compression.token());
+    }
+    String[] apiKeyHeader = Http1Request.apiKeyHeader(config);
+    if (apiKeyHeader != null) {
+      base.header(apiKeyHeader[0], apiKeyHeader[1]);
+    }
+    return new HttpRequestTemplate(
+        config.getEndpoint(),
+        compression,
+        config.getCompressionThreshold(),
+        config.getRequestIdGenerator(),
+        base);
+  }
+
+  /** Returns the endpoint URL, for messages. */
+  String getEndpoint() {
+    return endpoint;
+  }
+
+  /** Returns the coding to compress a body of the given size with, or {@code null} for none. */
+  ContentEncoding compressionFor(int bodySize) {
+    return compression != null && bodySize >= compressionThreshold ? compression : null;
+  }
+
+  /**
+   * Starts a request from the template.
+   *
+   * @param contentType the {@code Content-Type} of the body.
+   * @return a new builder, which the caller may modify.
+   */
+  HttpRequest.Builder newRequest(String contentType) {
+    return base.copy()
+        .header("Content-Type", contentType)
+        .header("X-Request-ID", requestIdGenerator.next());
+  }
+
+  private static ContentEncoding resolveCompression(AuthzClientConfig config)
+      throws AuthorizationException {
+    String name = config.getCompression().orElse(null);
+    if (name == null) {
+      return null;
+    }
+    ContentEncoding encoding = ContentEncoding.fromToken(name);
+    if (encoding == null) {
+      throw new AuthorizationException(
+          "Invalid client configuration: Unsupported compression '" + name + "'.",
+          new TransportException("Unsupported content coding: " + name));
+    }
+    return encoding;
+  }
+}
@@ -0,0 +1,571 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport.http;
+
+import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.exception.TransportException;
+import io.github.kkakui.azc.transport.Payload;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An implementation of {@link HttpTransport} that pipelines HTTP/1.1 requests over persistent
+ * connections, driven by a single selector thread.
+ *
+ * <p>{@link java.net.http.HttpClient} allocates request builders, header maps and body subscribers
+ * for every exchange, which dominates the cost of small, frequent PDP requests. This transport
+ * instead writes each request head and body straight into a pooled direct buffer, sends requests on
+ * up to {@link AuthzClientConfig#getMaxConnections()} connections without waiting for earlier
+ * responses (at most {@code pipelineDepth} outstanding per connection), and reads responses with a
+ * minimal parser that only interprets the framing headers. Requests go to an idle connection first,
+ * then to a new connection while the limit allows, and are otherwise pipelined behind the shortest
+ * queue.
+ *
+ * <p>Connections are pooled per host and port, not per configuration. When configurations for the
+ * same endpoint ask for different limits, each request applies its own {@code maxConnections} to
+ * the shared pool: a higher limit lets the pool grow, and a lower one stops new connections from
+ * being opened until enough existing ones have closed.
+ *
+ * <p>Only plain {@code http} endpoints are supported, e.g. a PDP on the same host or in a trusted
+ * network; use {@link SimpleHttpClient} for TLS. Bodies are never compressed. A request whose
+ * connection fails before it was written is moved to another connection; otherwise failures are
+ * retried like {@link SimpleHttpClient} does. A request that times out fails on its own: its late
+ * response is read and discarded, so the connection stays usable. Close the client to stop its
+ * thread and close its connections.
+ */
+public class PipelinedHttpClient implements HttpTransport, AutoCloseable {
+  private static final Logger logger = Logger.getLogger(PipelinedHttpClient.class.getName());
+  private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+  private static final int DEFAULT_MAX_RETRIES = 3;
+  private static final int DEFAULT_PIPELINE_DEPTH = 16;
+  private static final int BUFFER_SIZE = 16 * 1024;
+
+  private final Duration requestTimeout;
+  private final int maxRetries;
+  private final int pipelineDepth;
+  private final BufferPool buffers = new BufferPool(BUFFER_SIZE, 64);
+  private final Selector selector;
+  private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  // Only accessed on the event loop.
+  private final Map<String, Endpoint> endpoints = new HashMap<>();
+  private volatile boolean closed;
+
+  public PipelinedHttpClient() {
+    this(DEFAULT_REQUEST_TIMEOUT, DEFAULT_MAX_RETRIES, DEFAULT_PIPELINE_DEPTH);
+  }
+
+  /**
+   * The primary constructor for PipelinedHttpClient.
+   *
+   * @param requestTimeout The timeout for each request-response exchange.
+   * @param maxRetries The maximum number of retries for transient failures.
+   * @param pipelineDepth The maximum number of outstanding requests per connection.
+   */
+  public PipelinedHttpClient(Duration requestTimeout, int maxRetries, int pipelineDepth) {
+    if (pipelineDepth < 1) {
+      throw new IllegalArgumentException("Pipeline depth must be positive.");
+    }
+    this.requestTimeout = requestTimeout;
+    this.maxRetries = maxRetries;
+    this.pipelineDepth = pipelineDepth;
+    try {
+      this.selector = Selector.open();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open selector.", e);
+    }
+    Thread loop = new Thread(this::run, "azc-pipelined-http");
+    loop.setDaemon(true);
+    loop.start();
+  }
+
+  @Override
+  public String request(AuthzClientConfig config, String jsonBody) throws AuthorizationException {
+    Http1Response response =
+        exchange(
+            config,
+            "application/json",
+            "application/json",
+            jsonBody.getBytes(StandardCharsets.UTF_8));
+    return response.getBodyText();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The payload's media type is sent as {@code Content-Type}, and is preferred over JSON in
+   * {@code Accept} so that a PDP without support for it can still answer in JSON.
+   */
+  @Override
+  public Payload request(AuthzClientConfig config, Payload payload) throws AuthorizationException {
+    String mediaType = payload.getContentType();
+    String accept = payload.isJson() ? "application/json" : mediaType + ", application/json;q=0.5";
+    Http1Response response = exchange(config, mediaType, accept, payload.getBody());
+    return new Payload(response.getBody(), response.getContentType(), response.getRequestId());
+  }
+
+  /**
+   * Opens connections until the endpoint has {@link AuthzClientConfig#getWarmUpConnections()}, but
+   * no more than {@link AuthzClientConfig#getMaxConnections()}.
+   *
+   * @param config the client configuration.
+   * @throws AuthorizationException if a connection cannot be established; failures are not retried.
+   */
+  @Override
+  public void warmUp(AuthzClientConfig config) throws AuthorizationException {
+    URI endpoint = endpoint(config);
+    int target = Math.min(config.getWarmUpConnections(), config.getMaxConnections());
+    CompletableFuture<Void> connected = new CompletableFuture<>();
+    submit(
+        () -> {
+          List<CompletableFuture<Void>> opening = new ArrayList<>();
+          Endpoint destination = destination(endpoint, config.getMaxConnections());
+          try {
+            while (destination.connections.size() < target) {
+              opening.add(destination.open().connected);
+            }
+          } catch (IOException e) {
+            connected.completeExceptionally(e);
+            return;
+          }
+          CompletableFuture.allOf(opening.toArray(new CompletableFuture<?>[0]))
+              .whenComplete(
+                  (ignored, error) -> {
+                    if (error == null) {
+                      connected.complete(null);
+                    } else {
+                      connected.completeExceptionally(
+                          error instanceof CompletionException ? error.getCause() : error);
+                    }
+                  });
+        });
+    try {
+      connected.get(requestTimeout.toNanos(), TimeUnit.NANOSECONDS);
+      logger.info("Opened " + target + " connections to: " + config.getEndpoint());
+    } catch (ExecutionException | TimeoutException e) {
+      throw new AuthorizationException(
+          "Warm-up failed to connect to " + config.getEndpoint() + ".",
+          new TransportException(
+              "Network error.", e instanceof ExecutionException ? e.getCause() : e));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AuthorizationException(
+          "Warm-up was interrupted.", new TransportException("Request thread was interrupted.", e));
+    }
+  }
+
+  /** Stops the event loop, closes all connections and fails outstanding requests. */
+  @Override
+  public void close() {
+    closed = true;
+    selector.wakeup();
+  }
+
+  private Http1Response exchange(
+      AuthzClientConfig config, String contentType, String accept, byte[] body)
+      throws AuthorizationException {
+    URI endpoint = endpoint(config);
+    int maxConnections = config.getMaxConnections();
+    String requestId = config.getRequestIdGenerator().next();
+    byte[] head =
+        Http1Request.head("POST", endpoint, config, contentType, accept, body.length, requestId);
+    return RetryLoop.run(
+        config.getEndpoint(),
+        requestId,
+        maxRetries,
+        () -> send(endpoint, maxConnections, new Exchange(head, body)),
+        Http1Response::getStatusCode,
+        Http1Response::getBodyText,
+        Http1Response::getRequestId,
+        Http1Response::getRetryAfter);
+  }
+
+  private URI endpoint(AuthzClientConfig config) throws AuthorizationException {
+    URI endpoint = Http1Request.endpoint(config);
+    if (!"http".equalsIgnoreCase(endpoint.getScheme()) || endpoint.getHost() == null) {
+      throw new AuthorizationException(
+          "Invalid client configuration: PipelinedHttpClient only supports http endpoints.",
+          new TransportException("Unsupported endpoint: " + config.getEndpoint()));
+    }
+    if (closed) {
+      throw new AuthorizationException(
+          "Transport is closed.", new TransportException("PipelinedHttpClient was closed."));
+    }
+    return endpoint;
+  }
+
+  private Http1Response send(URI endpoint, int maxConnections, Exchange exchange)
+      throws IOException, InterruptedException {
+    submit(() -> destination(endpoint, maxConnections).dispatch(exchange));
+    try {
+      return exchange.response.get(requestTimeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+    } catch (TimeoutException e) {
+      submit(exchange::abandon);
+      throw new SocketTimeoutException("Timed out waiting for the PDP to respond.");
+    }
+  }
+
+  private void submit(Runnable task) {
+    tasks.add(task);
+    selector.wakeup();
+  }
+
+  private Endpoint destination(URI endpoint, int maxConnections) {
+    int port = endpoint.getPort() < 0 ? 80 : endpoint.getPort();
+    Endpoint destination =
+        endpoints.computeIfAbsent(
+            endpoint.getHost() + ":" + port,
+            key -> new Endpoint(new InetSocketAddress(endpoint.getHost(), port), maxConnections));
+    // The pool is shared per host and port, so the latest configuration sets its limit.
+    destination.maxConnections = maxConnections;
+    return destination;
+  }
+
+  private void run() {
+    try {
+      while (!closed) {
+        runTasks();
+        selector.select();
+        runTasks();
+        for (SelectionKey key : selector.selectedKeys()) {
+          Connection connection = (Connection) key.attachment();
+          try {
+            if (key.isValid() && key.isConnectable()) {
+              connection.onConnect();
+            }
+            if (key.isValid() && key.isReadable()) {
+              connection.onRead();
+            }
+            if (key.isValid() && key.isWritable()) {
+              connection.flush();
+            }
+          } catch (IOException e) {
+            connection.fail(e);
+          }
+        }
+        selector.selectedKeys().clear();
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.SEVERE, "Event loop failed", e);
+      closed = true;
+    } finally {
+      IOException closing = new IOException("Transport is closed.");
+      for (Endpoint endpoint : endpoints.values()) {
+        endpoint.close(closing);
+      }
+      Runnable task;
+      while ((task = tasks.poll()) != null) {
+        // Fail requests that were submitted too late by running them against closed endpoints.
+        task.run();
+      }
+      for (Endpoint endpoint : endpoints.values()) {
+        endpoint.close(closing);
+      }
+      try {
+        selector.close();
+      } catch (IOException e) {
+        logger.log(Level.FINE, "Failed to close selector", e);
+      }
+    }
+  }
+
+  private void runTasks() {
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      task.run();
+    }
+  }
+
+  /** A request and its eventual response. */
+  private static final class Exchange {
+    final byte[] head;
+    final byte[] body;
+    final CompletableFuture<Http1Response> response = new CompletableFuture<>();
+    Endpoint endpoint;
+    Connection connection;
+    int written;
+
+    Exchange(byte[] head, byte[] body) {
+      this.head = head;
+      this.body = body;
+    }
+
+    /** Completes the exchange with its response, which frees it from its connection. */
+    void complete(Http1Response received) {
+      connection = null;
+      response.complete(received);
+    }
+
+    /** Gives up on the exchange after the caller timed out; runs on the event loop. */
+    void abandon() {
+      if (!response.completeExceptionally(
+          new SocketTimeoutException("Timed out waiting for the PDP to respond."))) {
+        return; // The response arrived after all, so the connection is still in step.
+      }
+      if (connection != null) {
+        if (written == 0) {
+          // Nothing was sent, so the request can simply leave the pipeline.
+          connection.unwritten.remove(this);
+          connection.inflight.remove(this);
+          connection = null;
+        }
+        // Otherwise the exchange keeps its place until its late response arrives and is discarded,
+        // so the requests pipelined behind it still receive their own responses.
+      } else if (endpoint != null) {
+        endpoint.backlog.remove(this);
+      }
+    }
+  }
+
+  /** The connections to one host and port. Only accessed on the event loop. */
+  private final class Endpoint {
+    final InetSocketAddress address;
+    int maxConnections;
+    final List<Connection> connections = new ArrayList<>();
+    final ArrayDeque<Exchange> backlog = new ArrayDeque<>();
+
+    Endpoint(InetSocketAddress address, int maxConnections) {
+      this.address = address;
+      this.maxConnections = maxConnections;
+    }
+
+    void dispatch(Exchange exchange) {
+      exchange.endpoint = this;
+      if (closed) {
+        exchange.response.completeExceptionally(new IOException("Transport is closed."));
+        return;
+      }
+      Connection target = null;
+      for (Connection connection : connections) {
+        if (target == null || connection.inflight.size() < target.inflight.size()) {
+          target = connection;
+        }
+      }
+      try {
+        if ((target == null || !target.inflight.isEmpty()) && connections.size() < maxConnections) {
+          target = open();
+        }
+      } catch (IOException e) {
+        if (target == null) {
+          exchange.response.completeExceptionally(e);
+          return;
+        }
+        logger.log(Level.FINE, "Failed to open another connection to " + address, e);
+      }
+      if (target == null || target.inflight.size() >= pipelineDepth) {
+        backlog.add(exchange);
+      } else {
+        target.enqueue(exchange);
+      }
+    }
+
+    Connection open() throws IOException {
+      Connection connection = new Connection(this);
+      connections.add(connection);
+      return connection;
+    }
+
+    /** Moves waiting requests onto connections with spare capacity. */
+    void drainBacklog() {
+      int waiting = backlog.size();
+      for (int i = 0; i < waiting; i++) {
+        dispatch(backlog.poll());
+      }
+    }
+
+    void close(IOException reason) {
+      for (Connection connection : new ArrayList<>(connections)) {
+        connection.fail(reason);
+      }
+      Exchange exchange;
+      while ((exchange = backlog.poll()) != null) {
+        exchange.response.completeExceptionally(reason);
+      }
+    }
+  }
+
+  /** A persistent connection with its pipeline of requests. Only accessed on the event loop. */
+  private final class Connection {
+    final Endpoint endpoint;
+    final SocketChannel channel;
+    final SelectionKey key;
+    final CompletableFuture<Void> connected = new CompletableFuture<>();
+    final ArrayDeque<Exchange> inflight = new ArrayDeque<>();
+    final ArrayDeque<Exchange> unwritten = new ArrayDeque<>();
+    final Http1ResponseParser parser = new Http1ResponseParser();
+    ByteBuffer in;
+    ByteBuffer out;
+    boolean open = true;
+
+    Connection(Endpoint endpoint) throws IOException {
+      this.endpoint = endpoint;
+      this.channel = SocketChannel.open();
+      try {
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        boolean established = channel.connect(endpoint.address);
+        this.key =
+            channel.register(
+                selector, established ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, this);
+        if (established) {
+          connected.complete(null);
+        }
+      } catch (IOException e) {
+        channel.close();
+        throw e;
+      } catch (RuntimeException e) {
+        // e.g. an unresolved address
+        channel.close();
+        throw new IOException("Failed to connect to " + endpoint.address + ".", e);
+      }
+      this.in = buffers.acquire();
+      this.out = buffers.acquire();
+    }
+
+    void enqueue(Exchange exchange) {
+      exchange.connection = this;
+      inflight.add(exchange);
+      unwritten.add(exchange);
+      if (connected.isDone()) {
+        try {
+          flush();
+        } catch (IOException e) {
+          fail(e);
+        }
+      }
+    }
+
+    void onConnect() throws IOException {
+      channel.finishConnect();
+      connected.complete(null);
+      key.interestOps(SelectionKey.OP_READ);
+      flush();
+    }
+
+    /** Writes as many unwritten requests as the socket accepts, back to back. */
+    void flush() throws IOException {
+      while (true) {
+        while (out.hasRemaining() && !unwritten.isEmpty()) {
+          Exchange exchange = unwritten.peek();
+          int total = exchange.head.length + exchange.body.length;
+          while (out.hasRemaining() && exchange.written < total) {
+            boolean inHead = exchange.written < exchange.head.length;
+            byte[] source = inHead ? exchange.head : exchange.body;
+            int offset = inHead ? exchange.written : exchange.written - exchange.head.length;
+            int length = Math.min(out.remaining(), source.length - offset);
+            out.put(source, offset, length);
+            exchange.written += length;
+          }
+          if (exchange.written == total) {
+            unwritten.poll();
+          }
+        }
+        out.flip();
+        channel.write(out);
+        boolean pending = out.hasRemaining();
+        out.compact();
+        if (pending || unwritten.isEmpty()) {
+          key.interestOps(
+              pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+          return;
+        }
+      }
+    }
+
+    void onRead() throws IOException {
+      int read = channel.read(in);
+      if (read < 0) {
+        Http1Response last = inflight.isEmpty() ? null : parser.endOfStream();
+        if (last != null) {
+          inflight.poll().complete(last);
+        }
+        fail(new IOException("Connection closed by the server."));
+        return;
+      }
+      in.flip();
+      while (in.hasRemaining()) {
+        if (inflight.isEmpty()) {
+          throw new IOException("Received an unsolicited response.");
+        }
+        Http1Response response = parser.parse(in);
+        if (response == null) {
+          break;
+        }
+        inflight.poll().complete(response);
+        parser.reset(true);
+        if (!response.isKeepAlive()) {
+          fail(new IOException("Connection closed by the server."));
+          return;
+        }
+      }
+      in.compact();
+      endpoint.drainBacklog();
+    }
+
+    /** Closes the connection. Requests not yet sent are dispatched again; the others fail. */
+    void fail(IOException reason) {
+      if (!open) {
+        return;
+      }
+      open = false;
+      endpoint.connections.remove(this);
+      key.cancel();
+      try {
+        channel.close();
+      } catch (IOException e) {
+        logger.log(Level.FINE, "Failed to close connection", e);
+      }
+      buffers.release(in);
+      buffers.release(out);
+      List<Exchange> retry = new ArrayList<>();
+      boolean established = connected.isDone() && !connected.isCompletedExceptionally();
+      connected.completeExceptionally(reason);
+      for (Exchange exchange : inflight) {
+        exchange.connection = null;
+        if (exchange.response.isDone()) {
+          continue;
+        }
+        // Only move requests off a connection that worked, so an unreachable PDP cannot loop.
+        if (established && exchange.written == 0 && !closed) {
+          retry.add(exchange);
+        } else {
+          exchange.response.completeExceptionally(reason);
+        }
+      }
+      inflight.clear();
+      unwritten.clear();
+      for (Exchange exchange : retry) {
+        endpoint.dispatch(exchange);
+      }
+      endpoint.drainBacklog();
+    }
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport.http;
+
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.exception.StatusException;
+import io.github.kkakui.azc.exception.ThrottledException;
+import io.github.kkakui.azc.exception.TransportException;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.logging.Logger;
+
+/**
+ * The retry policy shared by the HTTP transports: {@code 2xx} responses are returned, {@code 4xx}
+ * and other unexpected statuses fail immediately, and {@code 5xx} responses and network errors are
+ * retried with exponential backoff and full jitter. A {@code 503} with {@code Retry-After} is
+ * retried after the delay the PDP asked for instead, unless that is longer than the maximum
+ * backoff. {@code 429} responses, and {@code 503} responses that are not retried, fail with a
+ * {@link ThrottledException} cause, so that a rate limiter can slow down. A successful response
+ * that echoes another {@code X-Request-ID} than the request's fails without retry, since it belongs
+ * to another request. Other failed responses carry a {@link StatusException} cause.
+ *
+ * <p>The exceptions raised for failed responses and network errors carry no stack trace of their
+ * own: it would only ever point at this loop, and recording it dominates the cost of a failed call
+ * during a PDP incident. Network errors keep the trace of their {@link IOException} cause.
+ */
+final class RetryLoop {
+  private static final Logger logger = Logger.getLogger(RetryLoop.class.getName());
+  private static final long BASE_BACKOFF_MILLIS = 500;
+  private static final long MAX_BACKOFF_MILLIS = 30000;
+
+  /**
+   * A single exchange with the server. An {@link IOException} is retried as a network error, while
+   * an {@link AuthorizationException} ends the loop at once.
+   */
+  @FunctionalInterface
+  interface Attempt<T> {
+    T send() throws IOException, InterruptedException, AuthorizationException;
+  }
+
+  private RetryLoop() {}
+
+  /**
+   * Sends a request until it succeeds, fails permanently or runs out of retries.
+   *
+   * @param url the endpoint, for logging.
+   * @param requestId the request's {@code X-Request-ID}, for logging.
+   * @param maxRetries the maximum number of retries after the first attempt.
+   * @param attempt sends the request once.
+   * @param statusCode extracts the status code of a response.
+   * @param bodyText extracts the body of a response, for error messages.
+   * @param echoedRequestId extracts the {@code X-Request-ID} of a response, or {@code null} if
+   *     absent.
+   * @param retryAfter extracts the {@code Retry-After} of a response, or {@code null} if absent.
+   * @return the successful response.
+   * @throws AuthorizationException if the request fails.
+   */
+  static <T> T run(
+      String url,
+      String requestId,
+      int maxRetries,
+      Attempt<T> attempt,
+      ToIntFunction<T> statusCode,
+      Function<T, String> bodyText,
+      Function<T, String> echoedRequestId,
+      Function<T, String> retryAfter)
+      throws AuthorizationException {
+    for (int i = 0; ; i++) {
+      Duration serverDelay = null;
+      int failedStatus = 0;
+      try {
+        logger.info(
+            "Sending request (attempt "
+                + (i + 1)
+                + ") to: "
+                + url
+                + " with X-Request-ID: "
+                + requestId);
+        T response = attempt.send();
+        int status = statusCode.applyAsInt(response);
+        logger.info("Received response with status code: " + status);
+
+        if (status >= 200 && status < 300) {
+          String echoed = echoedRequestId.apply(response);
+          if (echoed != null && !echoed.equals(requestId)) {
+            throw new AuthorizationException(
+                "Response for X-Request-ID " + requestId + " carries X-Request-ID " + echoed + ".",
+                new TransportException("Response does not belong to the request.", null, false),
+                false);
+          }
+          return response;
+        }
+
+        // The caller is over its quota: fail immediately, passing on how long to hold off.
+        if (status == 429) {
+          throw new AuthorizationException(
+              "HTTP request failed with status " + status + ": " + bodyText.apply(response),
+              new ThrottledException(
+                  "PDP rejected the request with status 429.",
+                  status,
+                  parseRetryAfter(retryAfter.apply(response))),
+              false);
+        }
+
+        // For client errors (4xx), fail immediately without retry.
+        if (status >= 400 && status < 500) {
+          throw new AuthorizationException(
+              "HTTP request failed with status " + status + ": " + bodyText.apply(response),
+              new StatusException("PDP rejected the request with status " + status + ".", status),
+              false);
+        }
+
+        // For server errors (5xx), we will enter the retry logic below.
+        if (status >= 500 && status < 600) {
+          failedStatus = status;
+          if (status == 503) {
+            serverDelay = parseRetryAfter(retryAfter.apply(response));
+          }
+          if (i >= maxRetries
+              || (serverDelay != null && serverDelay.toMillis() > MAX_BACKOFF_MILLIS)) {
+            String message =
+                "Request failed after " + (i + 1) + " attempts with server error: " + status;
+            if (status == 503) {
+              throw new AuthorizationException(
+                  message,
+                  new ThrottledException(
+                      "PDP is unavailable with status 503.", status, serverDelay),
+                  false);
+            }
+            throw new AuthorizationException(
+                message,
+                new StatusException("PDP failed with status " + status + ".", status),
+                false);
+          }
+          logger.warning("Server error on attempt " + (i + 1) + ". Retrying...");
+        } else {
+          // For other unexpected status codes
+          throw new AuthorizationException(
+              "HTTP request failed with unexpected status "
+                  + status
+                  + ": "
+                  + bodyText.apply(response),
+              new StatusException("PDP answered with unexpected status " + status + ".", status),
+              false);
+        }
+
+      } catch (IOException e) { // Retryable network error
+        if (i >= maxRetries) {
+          throw new AuthorizationException(
+              "Request failed after " + (i + 1) + " attempts due to a network error.",
+              new TransportException("Network error.", e, false),
+              false);
+        }
+        logger.warning(
+            "Network error on attempt " + (i + 1) + ". Retrying... Error: " + e.getMessage());
+      } catch (InterruptedException e) {
+        // Not retryable. Propagate interruption.
+        Thread.currentThread().interrupt();
+        throw new AuthorizationException(
+            "Request was interrupted.",
+            new TransportException("Request thread was interrupted.", e));
+      }
+
+      // If we reach here, we are retrying. Perform backoff.
+      BackoffEvent event = new BackoffEvent();
+      event.begin();
+      try {
+        long sleepTime;
+        if (serverDelay != null) {
+          sleepTime = serverDelay.toMillis();
+        } else {
+          long currentCeiling = (long) (BASE_BACKOFF_MILLIS * Math.pow(2, i));
+          long backoff = Math.min(MAX_BACKOFF_MILLIS, currentCeiling);
+          sleepTime = (long) (Math.random() * backoff);
+        }
+        logger.info("Retrying in " + sleepTime + " ms...");
+        Thread.sleep(sleepTime);
+        if (event.shouldCommit()) {
+          event.endpoint = url;
+          event.requestId = requestId;
+          event.attempt = i + 1;
+          event.status = failedStatus;
+          event.retryAfter = serverDelay != null;
+          event.commit();
+        }
+      } catch (InterruptedException ie) {
+        logger.warning("Retry loop interrupted.");
+        Thread.currentThread().interrupt();
+        throw new AuthorizationException(
+            "Request was interrupted during retry backoff.",
+            new TransportException("Retry backoff was interrupted.", ie));
+      }
+    }
+  }
+
+  /**
+   * Parses a {@code Retry-After} value, either a number of seconds or an HTTP date.
+   *
+   * @param value the header value, may be {@code null}.
+   * @return the delay, zero for a date in the past, or {@code null} if absent or malformed.
+   */
+  static Duration parseRetryAfter(String value) {
+    if (value == null) {
+      return null;
+    }
+    String trimmed = value.trim();
+    try {
+      long seconds = Long.parseLong(trimmed);
+      return seconds < 0 ? null : Duration.ofSeconds(seconds);
+    } catch (NumberFormatException e) {
+      // Not delta-seconds; try an HTTP date.
+    }
+    try {
+      Duration delay =
+          Duration.between(
+              Instant.now(),
+              ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+      return delay.isNegative() ? Duration.ZERO : delay;
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+}
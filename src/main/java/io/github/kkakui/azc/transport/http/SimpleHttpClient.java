@@ -7,14 +7,20 @@ package io.github.kkakui.azc.transport.http;
 import io.github.kkakui.azc.config.AuthzClientConfig;
 import io.github.kkakui.azc.exception.AuthorizationException;
 import io.github.kkakui.azc.exception.TransportException;
+import io.github.kkakui.azc.transport.Payload;
 import java.io.IOException;
-import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Logger;
 
 /**
@@ -23,16 +29,67 @@ import java.util.logging.Logger;
  * <p>This client handles sending authorization requests over HTTP, including setting appropriate
  * headers for content type and API key authentication. It also features a retry mechanism with
  * exponential backoff for handling transient server errors.
+ *
+ * <p>When the configuration enables {@linkplain AuthzClientConfig#getCompression() compression},
+ * request bodies at or above the configured threshold are compressed and compressed responses are
+ * transparently decoded. Binary {@linkplain io.github.kkakui.azc.serialization.Codec codecs} are
+ * supported through {@link #request(AuthzClientConfig, Payload)}.
+ *
+ * <p>The endpoint, compression and API key settings are resolved once per {@linkplain
+ * AuthzClientConfig#isImmutable() immutable} {@linkplain AuthzClientConfig#snapshot() configuration
+ * snapshot} into a request template, which each request copies. Credentials and endpoints rotated
+ * through a {@link io.github.kkakui.azc.config.ReloadableAuthzClientConfig} take effect with the
+ * next request. Other configurations are resolved again for every request, so that their getters
+ * may return changing values.
  */
 public class SimpleHttpClient implements HttpTransport {
   private static final Logger logger = Logger.getLogger(SimpleHttpClient.class.getName());
   private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
   private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(10);
   private static final int DEFAULT_MAX_RETRIES = 3;
+  // Room for a few thousand tenants sharing one client, each with a template per endpoint.
+  private static final int MAX_TEMPLATES = 4096;
+  private static final int TEMPLATE_EVICTION_BATCH = MAX_TEMPLATES / 8;
+
+  /**
+   * Reads the response body as a string, decompressing it first if the server applied a supported
+   * {@code Content-Encoding}. Unknown codings are passed through and left to the deserializer.
+   */
+  private static final HttpResponse.BodyHandler<String> DECODING_BODY_HANDLER =
+      responseInfo -> {
+        ContentEncoding encoding =
+            responseInfo
+                .headers()
+                .firstValue("Content-Encoding")
+                .map(ContentEncoding::fromToken)
+                .orElse(null);
+        if (encoding == null) {
+          return HttpResponse.BodyHandlers.ofString().apply(responseInfo);
+        }
+        return HttpResponse.BodySubscribers.mapping(
+            HttpResponse.BodySubscribers.ofByteArray(), encoding::decode);
+      };
+
+  /** The binary counterpart of {@link #DECODING_BODY_HANDLER}. */
+  private static final HttpResponse.BodyHandler<byte[]> DECODING_BYTES_HANDLER =
+      responseInfo -> {
+        ContentEncoding encoding =
+            responseInfo
+                .headers()
+                .firstValue("Content-Encoding")
+                .map(ContentEncoding::fromToken)
+                .orElse(null);
+        if (encoding == null) {
+          return HttpResponse.BodySubscribers.ofByteArray();
+        }
+        return HttpResponse.BodySubscribers.mapping(
+            HttpResponse.BodySubscribers.ofByteArray(), encoding::decodeBytes);
+      };
 
   private final HttpClient client;
   private final int maxRetries;
   private final Duration requestTimeout;
+  private final Map<AuthzClientConfig, CachedTemplate> templates = new ConcurrentHashMap<>();
 
   public SimpleHttpClient() {
     this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_REQUEST_TIMEOUT, DEFAULT_MAX_RETRIES);
@@ -65,106 +122,248 @@ public class SimpleHttpClient implements HttpTransport {
 
   @Override
   public String request(AuthzClientConfig config, String jsonBody) throws AuthorizationException {
-    String url = config.getEndpoint();
-    if (url == null || url.isBlank()) {
-      throw new AuthorizationException(
-          "Invalid client configuration: Endpoint URL must be provided.",
-          new TransportException("Endpoint URL is null or blank."));
+    HttpRequestTemplate template = template(config);
+    HttpRequest.Builder requestBuilder = template.newRequest("application/json");
+
+    ContentEncoding compression = template.compressionFor(jsonBody.length());
+    if (compression != null) {
+      // String length is a lower bound on the UTF-8 size, so no body above the threshold is missed
+      // except those made mostly of multi-byte characters.
+      byte[] compressed;
+      try {
+        compressed = compression.encode(jsonBody);
+      } catch (IOException e) {
+        throw compressionFailed(e);
+      }
+      requestBuilder
+          .header("Content-Encoding", compression.token())
+          .POST(HttpRequest.BodyPublishers.ofByteArray(compressed));
+    } else {
+      requestBuilder.POST(HttpRequest.BodyPublishers.ofString(jsonBody, StandardCharsets.UTF_8));
     }
 
-    String requestId = UUID.randomUUID().toString();
-
-    HttpRequest.Builder requestBuilder =
-        HttpRequest.newBuilder()
-            .uri(URI.create(url))
-            .header("Content-Type", "application/json")
-            .header("X-Request-ID", requestId)
-            .timeout(this.requestTimeout)
-            .POST(HttpRequest.BodyPublishers.ofString(jsonBody, StandardCharsets.UTF_8));
-
-    config
-        .getApiKey()
-        .ifPresent(
-            apiKey -> {
-              String headerName = config.getApiKeyHeader().orElse("Authorization");
-              String headerValue =
-                  headerName.equalsIgnoreCase("Authorization") ? "Bearer " + apiKey : apiKey;
-              requestBuilder.header(headerName, headerValue);
-            });
+    return send(template, requestBuilder, DECODING_BODY_HANDLER).body();
+  }
 
-    HttpRequest request = requestBuilder.build();
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The payload's media type is sent as {@code Content-Type}, and is preferred over JSON in
+   * {@code Accept} so that a PDP without support for it can still answer in JSON.
+   */
+  @Override
+  public Payload request(AuthzClientConfig config, Payload payload) throws AuthorizationException {
+    String mediaType = payload.getContentType();
+    HttpRequestTemplate template = template(config);
+    HttpRequest.Builder requestBuilder = template.newRequest(mediaType);
+    if (!payload.isJson()) {
+      requestBuilder.setHeader("Accept", mediaType + ", application/json;q=0.5");
+    }
 
-    for (int attempt = 0; ; attempt++) {
+    byte[] body = payload.getBody();
+    ContentEncoding compression = template.compressionFor(body.length);
+    if (compression != null) {
       try {
-        logger.info(
-            "Sending request (attempt "
-                + (attempt + 1)
-                + ") to: "
-                + url
-                + " with X-Request-ID: "
-                + requestId);
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        int statusCode = response.statusCode();
-        logger.info("Received response with status code: " + statusCode);
-
-        if (statusCode >= 200 && statusCode < 300) {
-          return response.body();
-        }
+        body = compression.encode(body);
+      } catch (IOException e) {
+        throw compressionFailed(e);
+      }
+      requestBuilder.header("Content-Encoding", compression.token());
+    }
+    requestBuilder.POST(HttpRequest.BodyPublishers.ofByteArray(body));
 
-        // For client errors (4xx), fail immediately without retry.
-        if (statusCode >= 400 && statusCode < 500) {
-          throw new AuthorizationException(
-              "HTTP request failed with status " + statusCode + ": " + response.body());
-        }
+    HttpResponse<byte[]> response = send(template, requestBuilder, DECODING_BYTES_HANDLER);
+    return new Payload(
+        response.body(),
+        response.headers().firstValue("Content-Type").orElse(null),
+        response.headers().firstValue("X-Request-ID").orElse(null));
+  }
 
-        // For server errors (5xx), we will enter the retry logic below.
-        if (statusCode >= 500 && statusCode < 600) {
-          if (attempt >= maxRetries) {
-            throw new AuthorizationException(
-                "Request failed after "
-                    + (attempt + 1)
-                    + " attempts with server error: "
-                    + statusCode);
-          }
-          logger.warning("Server error on attempt " + (attempt + 1) + ". Retrying...");
-        } else {
-          // For other unexpected status codes
-          throw new AuthorizationException(
-              "HTTP request failed with unexpected status " + statusCode + ": " + response.body());
-        }
+  /**
+   * Opens {@link AuthzClientConfig#getWarmUpConnections()} connections to the endpoint by sending
+   * as many concurrent {@code HEAD} requests, whose connections the underlying {@link HttpClient}
+   * then keeps for subsequent requests. Any response status counts as success, since the connection
+   * and TLS handshakes are done either way. Over HTTP/2, requests share one connection.
+   *
+   * @param config the client configuration.
+   * @throws AuthorizationException if a connection cannot be established; failures are not retried.
+   */
+  @Override
+  public void warmUp(AuthzClientConfig config) throws AuthorizationException {
+    int connections = config.getWarmUpConnections();
+    HttpRequestTemplate template = template(config);
+    List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(connections);
+    for (int i = 0; i < connections; i++) {
+      HttpRequest request =
+          template
+              .newRequest("application/json")
+              .method("HEAD", HttpRequest.BodyPublishers.noBody())
+              .build();
+      responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+    }
+    try {
+      CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[0])).get();
+      logger.info("Opened " + connections + " connections to: " + config.getEndpoint());
+    } catch (ExecutionException e) {
+      throw new AuthorizationException(
+          "Warm-up failed to connect to " + config.getEndpoint() + ".",
+          new TransportException("Network error.", e.getCause()));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AuthorizationException(
+          "Warm-up was interrupted.", new TransportException("Request thread was interrupted.", e));
+    }
+  }
 
-      } catch (IOException e) { // Retryable network error
-        if (attempt >= maxRetries) {
-          throw new AuthorizationException(
-              "Request failed after " + (attempt + 1) + " attempts due to a network error.",
-              new TransportException("Network error.", e));
-        }
-        logger.warning(
-            "Network error on attempt " + (attempt + 1) + ". Retrying... Error: " + e.getMessage());
-      } catch (InterruptedException e) {
-        // Not retryable. Propagate interruption.
-        Thread.currentThread().interrupt();
-        throw new AuthorizationException(
-            "Request was interrupted.",
-            new TransportException("Request thread was interrupted.", e));
+  /**
+   * Returns the request template of a configuration snapshot, resolving it on first use if the
+   * snapshot is immutable, so that the template stays valid for as long as the snapshot is in use.
+   */
+  private HttpRequestTemplate template(AuthzClientConfig config) throws AuthorizationException {
+    AuthzClientConfig snapshot = config.snapshot();
+    if (!snapshot.isImmutable()) {
+      return HttpRequestTemplate.of(snapshot, requestTimeout);
+    }
+    CachedTemplate cached = templates.get(snapshot);
+    if (cached == null) {
+      cached = new CachedTemplate(HttpRequestTemplate.of(snapshot, requestTimeout));
+      if (templates.size() >= MAX_TEMPLATES) {
+        evictTemplates();
       }
+      templates.put(snapshot, cached);
+    }
+    long now = System.currentTimeMillis();
+    if (cached.lastUsed != now) {
+      cached.lastUsed = now;
+    }
+    return cached.template;
+  }
 
-      // If we reach here, we are retrying. Perform backoff.
-      try {
-        long baseBackoff = 500; // 500ms
-        long maxBackoff = 30000; // 30s
-        long currentCeiling = (long) (baseBackoff * Math.pow(2, attempt));
-        long backoff = Math.min(maxBackoff, currentCeiling);
-        long sleepTime = (long) (Math.random() * backoff);
-        logger.info("Retrying in " + sleepTime + " ms...");
-        Thread.sleep(sleepTime);
-      } catch (InterruptedException ie) {
-        logger.warning("Retry loop interrupted.");
-        Thread.currentThread().interrupt();
+  /**
+   * Removes the least recently used templates, such as those of snapshots replaced by rotation, a
+   * batch at a time so that most misses do not pay for the scan.
+   */
+  private void evictTemplates() {
+    synchronized (templates) {
+      if (templates.size() < MAX_TEMPLATES) {
+        return;
+      }
+      List<Candidate> candidates = new ArrayList<>(templates.size());
+      templates.forEach((config, cached) -> candidates.add(new Candidate(config, cached)));
+      candidates.sort(Comparator.comparingLong(candidate -> candidate.lastUsed));
+      for (int i = 0; i < TEMPLATE_EVICTION_BATCH && i < candidates.size(); i++) {
+        templates.remove(candidates.get(i).config, candidates.get(i).cached);
+      }
+    }
+  }
+
+  private <T> HttpResponse<T> send(
+      HttpRequestTemplate template,
+      HttpRequest.Builder requestBuilder,
+      HttpResponse.BodyHandler<T> bodyHandler)
+      throws AuthorizationException {
+    HttpRequest request = requestBuilder.build();
+    String requestId = request.headers().firstValue("X-Request-ID").orElse(null);
+    int[] attempts = {0};
+    return RetryLoop.run(
+        template.getEndpoint(),
+        requestId,
+        maxRetries,
+        () -> attempt(template, request, requestId, ++attempts[0], bodyHandler),
+        HttpResponse::statusCode,
+        SimpleHttpClient::bodyText,
+        response -> response.headers().firstValue("X-Request-ID").orElse(null),
+        response -> response.headers().firstValue("Retry-After").orElse(null));
+  }
+
+  /** Sends a request once, recording the exchange as an {@link AttemptEvent}. */
+  private <T> HttpResponse<T> attempt(
+      HttpRequestTemplate template,
+      HttpRequest request,
+      String requestId,
+      int attempt,
+      HttpResponse.BodyHandler<T> bodyHandler)
+      throws IOException, InterruptedException, AuthorizationException {
+    AttemptEvent event = new AttemptEvent();
+    event.begin();
+    HttpResponse<T> response = null;
+    try {
+      response = client.send(request, bodyHandler);
+      return response;
+    } catch (IOException e) {
+      ContentEncoding.DecodingException undecodable = decodingFailure(e);
+      if (undecodable != null) {
+        // The server answered, so sending the request again would not help.
         throw new AuthorizationException(
-            "Request was interrupted during retry backoff.",
-            new TransportException("Retry backoff was interrupted.", ie));
+            undecodable.getMessage(),
+            new TransportException("Response body could not be decoded.", undecodable, false),
+            false);
+      }
+      throw e;
+    } finally {
+      if (event.shouldCommit()) {
+        event.endpoint = template.getEndpoint();
+        event.requestId = requestId;
+        event.attempt = attempt;
+        event.status = response != null ? response.statusCode() : 0;
+        event.requestBytes =
+            request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+        event.responseBytes = response != null ? bodySize(response) : 0;
+        event.commit();
+      }
+    }
+  }
+
+  /** Returns the decoding failure that {@link HttpClient} reported as an I/O error, if any. */
+  private static ContentEncoding.DecodingException decodingFailure(IOException e) {
+    for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof ContentEncoding.DecodingException) {
+        return (ContentEncoding.DecodingException) cause;
       }
     }
+    return null;
+  }
+
+  private static long bodySize(HttpResponse<?> response) {
+    Object body = response.body();
+    if (body instanceof byte[]) {
+      return ((byte[]) body).length;
+    }
+    return body instanceof String ? ((String) body).getBytes(StandardCharsets.UTF_8).length : 0;
+  }
+
+  private static String bodyText(HttpResponse<?> response) {
+    Object body = response.body();
+    return body instanceof byte[]
+        ? new String((byte[]) body, StandardCharsets.UTF_8)
+        : String.valueOf(body);
+  }
+
+  private static AuthorizationException compressionFailed(IOException e) {
+    return new AuthorizationException(
+        "Failed to compress request body.",
+        new TransportException("Request body compression failed.", e));
+  }
+
+  private static final class CachedTemplate {
+    final HttpRequestTemplate template;
+    volatile long lastUsed;
+
+    CachedTemplate(HttpRequestTemplate template) {
+      this.template = template;
+    }
+  }
+
+  /** A template and when it was last used, fixed so that sorting sees consistent values. */
+  private static final class Candidate {
+    final AuthzClientConfig config;
+    final CachedTemplate cached;
+    final long lastUsed;
+
+    Candidate(AuthzClientConfig config, CachedTemplate cached) {
+      this.config = config;
+      this.cached = cached;
+      this.lastUsed = cached.lastUsed;
+    }
   }
 }
@@ -0,0 +1,327 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport.http;
+
+import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.exception.TransportException;
+import io.github.kkakui.azc.transport.Payload;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.net.URI;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An implementation of {@link HttpTransport} that speaks HTTP/1.1 to a PDP listening on a Unix
+ * domain socket, such as a sidecar in the same pod or host.
+ *
+ * <p>The socket is taken from {@link AuthzClientConfig#getUnixSocketPath()}; the endpoint URL only
+ * supplies the request target and {@code Host} header. Connections are persistent and pooled per
+ * socket, up to {@link AuthzClientConfig#getMaxConnections()}, and each one reads and writes
+ * through its own direct buffers, so a request costs no connection setup and no per-request buffer
+ * allocation. A pooled connection that turns out to have been closed by the server is replaced once
+ * without counting as a retry. Otherwise failures are retried like {@link SimpleHttpClient} does.
+ *
+ * <p>Bodies are never compressed, since the socket does not leave the host; {@link
+ * AuthzClientConfig#getCompression()} is ignored. Binary {@linkplain
+ * io.github.kkakui.azc.serialization.Codec codecs} are supported through {@link
+ * #request(AuthzClientConfig, Payload)}. Close the client to close its connections.
+ */
+public class UnixSocketHttpClient implements HttpTransport, AutoCloseable {
+  private static final Logger logger = Logger.getLogger(UnixSocketHttpClient.class.getName());
+  private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+  private static final int DEFAULT_MAX_RETRIES = 3;
+  private static final int BUFFER_SIZE = 16 * 1024;
+
+  private final Duration requestTimeout;
+  private final int maxRetries;
+  private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+  private volatile boolean closed;
+
+  public UnixSocketHttpClient() {
+    this(DEFAULT_REQUEST_TIMEOUT, DEFAULT_MAX_RETRIES);
+  }
+
+  /**
+   * The primary constructor for UnixSocketHttpClient.
+   *
+   * @param requestTimeout The timeout for the entire request-response exchange, including waiting
+   *     for a free connection.
+   * @param maxRetries The maximum number of retries for transient failures.
+   */
+  public UnixSocketHttpClient(Duration requestTimeout, int maxRetries) {
+    this.requestTimeout = requestTimeout;
+    this.maxRetries = maxRetries;
+  }
+
+  @Override
+  public String request(AuthzClientConfig config, String jsonBody) throws AuthorizationException {
+    Http1Response response =
+        exchange(
+            config,
+            "application/json",
+            "application/json",
+            jsonBody.getBytes(StandardCharsets.UTF_8));
+    return response.getBodyText();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The payload's media type is sent as {@code Content-Type}, and is preferred over JSON in
+   * {@code Accept} so that a PDP without support for it can still answer in JSON.
+   */
+  @Override
+  public Payload request(AuthzClientConfig config, Payload payload) throws AuthorizationException {
+    String mediaType = payload.getContentType();
+    String accept = payload.isJson() ? "application/json" : mediaType + ", application/json;q=0.5";
+    Http1Response response = exchange(config, mediaType, accept, payload.getBody());
+    return new Payload(response.getBody(), response.getContentType(), response.getRequestId());
+  }
+
+  /**
+   * Opens connections until the pool holds {@link AuthzClientConfig#getWarmUpConnections()} idle
+   * ones, but no more than {@link AuthzClientConfig#getMaxConnections()}.
+   *
+   * @param config the client configuration.
+   * @throws AuthorizationException if the socket cannot be connected to; failures are not retried.
+   */
+  @Override
+  public void warmUp(AuthzClientConfig config) throws AuthorizationException {
+    Pool pool = pool(config);
+    int target = Math.min(config.getWarmUpConnections(), config.getMaxConnections());
+    List<Connection> opened = new ArrayList<>();
+    try {
+      while (pool.idle.size() + opened.size() < target) {
+        opened.add(Connection.open(pool.socket));
+      }
+    } catch (IOException e) {
+      opened.forEach(Connection::close);
+      throw new AuthorizationException(
+          "Warm-up failed to connect to " + pool.socket + ".",
+          new TransportException("Network error.", e));
+    }
+    opened.forEach(pool::release);
+    logger.info("Opened " + opened.size() + " connections to: " + pool.socket);
+  }
+
+  /** Closes all idle connections. Connections in use are closed when their request completes. */
+  @Override
+  public void close() {
+    closed = true;
+    pools.values().forEach(Pool::close);
+  }
+
+  private Http1Response exchange(
+      AuthzClientConfig config, String contentType, String accept, byte[] body)
+      throws AuthorizationException {
+    URI endpoint = Http1Request.endpoint(config);
+    Pool pool = pool(config);
+    String requestId = config.getRequestIdGenerator().next();
+    byte[] head =
+        Http1Request.head("POST", endpoint, config, contentType, accept, body.length, requestId);
+    return RetryLoop.run(
+        config.getEndpoint(),
+        requestId,
+        maxRetries,
+        () -> pool.exchange(head, body, requestTimeout.toNanos()),
+        Http1Response::getStatusCode,
+        Http1Response::getBodyText,
+        Http1Response::getRequestId,
+        Http1Response::getRetryAfter);
+  }
+
+  private Pool pool(AuthzClientConfig config) throws AuthorizationException {
+    String socketPath = config.getUnixSocketPath().orElse(null);
+    if (socketPath == null || socketPath.isBlank()) {
+      throw new AuthorizationException(
+          "Invalid client configuration: Unix socket path must be provided.",
+          new TransportException("Unix socket path is not configured."));
+    }
+    if (closed) {
+      throw new AuthorizationException(
+          "Transport is closed.", new TransportException("UnixSocketHttpClient was closed."));
+    }
+    return pools.computeIfAbsent(
+        socketPath, path -> new Pool(Path.of(path), config.getMaxConnections()));
+  }
+
+  /** The connections to one socket. */
+  private final class Pool {
+    final Path socket;
+    final Semaphore permits;
+    final ConcurrentLinkedDeque<Connection> idle = new ConcurrentLinkedDeque<>();
+
+    Pool(Path socket, int maxConnections) {
+      this.socket = socket;
+      this.permits = new Semaphore(maxConnections);
+    }
+
+    Http1Response exchange(byte[] head, byte[] body, long timeoutNanos)
+        throws IOException, InterruptedException {
+      long deadline = System.nanoTime() + timeoutNanos;
+      if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+        throw new SocketTimeoutException("Timed out waiting for a connection to " + socket + ".");
+      }
+      try {
+        while (true) {
+          Connection connection = idle.pollFirst();
+          boolean reused = connection != null;
+          if (connection == null) {
+            connection = Connection.open(socket);
+          }
+          try {
+            Http1Response response = connection.exchange(head, body, deadline);
+            if (response.isKeepAlive()) {
+              release(connection);
+            } else {
+              connection.close();
+            }
+            return response;
+          } catch (IOException e) {
+            connection.close();
+            if (!reused || connection.received) {
+              throw e;
+            }
+            // The server closed the idle connection; try again on another one.
+            logger.log(Level.FINE, "Discarding stale connection to " + socket, e);
+          }
+        }
+      } finally {
+        permits.release();
+      }
+    }
+
+    void release(Connection connection) {
+      idle.offerFirst(connection);
+      if (closed) {
+        close();
+      }
+    }
+
+    void close() {
+      Connection connection;
+      while ((connection = idle.pollFirst()) != null) {
+        connection.close();
+      }
+    }
+  }
+
+  /** A persistent connection with its buffers. Used by one request at a time. */
+  private static final class Connection {
+    final SocketChannel channel;
+    final Selector selector;
+    final SelectionKey key;
+    final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    final Http1ResponseParser parser = new Http1ResponseParser();
+    boolean received;
+
+    private Connection(SocketChannel channel, Selector selector) throws IOException {
+      this.channel = channel;
+      this.selector = selector;
+      this.key = channel.register(selector, 0);
+    }
+
+    static Connection open(Path socket) throws IOException {
+      SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+      Selector selector = null;
+      try {
+        channel.connect(UnixDomainSocketAddress.of(socket));
+        channel.configureBlocking(false);
+        selector = Selector.open();
+        return new Connection(channel, selector);
+      } catch (IOException | RuntimeException e) {
+        if (selector != null) {
+          selector.close();
+        }
+        channel.close();
+        throw e;
+      }
+    }
+
+    Http1Response exchange(byte[] head, byte[] body, long deadline) throws IOException {
+      received = false;
+      write(head, body, deadline);
+      parser.reset(true);
+      in.clear();
+      while (true) {
+        int read = channel.read(in);
+        if (read < 0) {
+          return parser.endOfStream();
+        }
+        if (read == 0) {
+          await(SelectionKey.OP_READ, deadline);
+          continue;
+        }
+        received = true;
+        in.flip();
+        Http1Response response = parser.parse(in);
+        if (response != null) {
+          return response;
+        }
+        in.clear();
+      }
+    }
+
+    private void write(byte[] head, byte[] body, long deadline) throws IOException {
+      int total = head.length + body.length;
+      int position = 0;
+      while (position < total) {
+        out.clear();
+        while (out.hasRemaining() && position < total) {
+          byte[] source = position < head.length ? head : body;
+          int offset = position < head.length ? position : position - head.length;
+          int length = Math.min(out.remaining(), source.length - offset);
+          out.put(source, offset, length);
+          position += length;
+        }
+        out.flip();
+        while (out.hasRemaining()) {
+          if (channel.write(out) == 0) {
+            await(SelectionKey.OP_WRITE, deadline);
+          }
+        }
+      }
+    }
+
+    private void await(int operation, long deadline) throws IOException {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        throw new SocketTimeoutException("Timed out waiting for the PDP to respond.");
+      }
+      key.interestOps(operation);
+      selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+      selector.selectedKeys().clear();
+      key.interestOps(0);
+    }
+
+    void close() {
+      try {
+        selector.close();
+        channel.close();
+      } catch (IOException e) {
+        logger.log(Level.FINE, "Failed to close connection", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.admission.AdmissionQueue.ShedPolicy;
+import io.github.kkakui.azc.exception.OverloadException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link AdmissionQueue}. */
+public class TestAdmissionQueue {
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  /** Starts a call that holds its place until released. */
+  private Future<String> hold(AdmissionQueue queue, String name) {
+    return executor.submit(
+        () ->
+            queue.call(
+                () -> {
+                  release.await(10, TimeUnit.SECONDS);
+                  return name;
+                }));
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+      Thread.sleep(1);
+    }
+  }
+
+  @Test
+  void testRunsCallsUpToConcurrencyAndQueuesTheRest() throws Exception {
+    AdmissionQueue queue =
+        AdmissionQueue.builder()
+            .maxConcurrency(2)
+            .maxQueueSize(2)
+            .maxQueueTime(Duration.ofSeconds(10))
+            .build();
+
+    Future<String> first = hold(queue, "first");
+    Future<String> second = hold(queue, "second");
+    await(() -> queue.getRunning() == 2);
+    Future<String> third = hold(queue, "third");
+    await(() -> queue.getQueueDepth() == 1);
+    release.countDown();
+
+    assertEquals("first", first.get(10, TimeUnit.SECONDS));
+    assertEquals("second", second.get(10, TimeUnit.SECONDS));
+    assertEquals("third", third.get(10, TimeUnit.SECONDS));
+    assertEquals(0, queue.getRunning());
+    assertEquals(0, queue.getQueueDepth());
+    assertEquals(0, queue.getShedCount());
+  }
+
+  @Test
+  void testRejectNewestShedsArrivingCall() throws Exception {
+    AdmissionQueue queue =
+        AdmissionQueue.builder()
+            .maxConcurrency(1)
+            .maxQueueSize(1)
+            .maxQueueTime(Duration.ofSeconds(10))
+            .build();
+    hold(queue, "running");
+    await(() -> queue.getRunning() == 1);
+    Future<String> waiting = hold(queue, "waiting");
+    await(() -> queue.getQueueDepth() == 1);
+
+    assertThrows(OverloadException.class, () -> queue.call(() -> "newest"));
+
+    assertEquals(1, queue.getShedCount());
+    release.countDown();
+    assertEquals("waiting", waiting.get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testRejectOldestShedsLongestWaitingCall() throws Exception {
+    AdmissionQueue queue =
+        AdmissionQueue.builder()
+            .maxConcurrency(1)
+            .maxQueueSize(1)
+            .maxQueueTime(Duration.ofSeconds(10))
+            .shedPolicy(ShedPolicy.REJECT_OLDEST)
+            .build();
+    hold(queue, "running");
+    await(() -> queue.getRunning() == 1);
+    Future<String> oldest = hold(queue, "oldest");
+    await(() -> queue.getQueueDepth() == 1);
+    Future<String> newest = hold(queue, "newest");
+
+    ExecutionException shed =
+        assertThrows(ExecutionException.class, () -> oldest.get(10, TimeUnit.SECONDS));
+    assertInstanceOf(OverloadException.class, shed.getCause());
+    assertEquals(1, queue.getShedCount());
+    release.countDown();
+    assertEquals("newest", newest.get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testRejectByDeadlineShedsCallsThatWouldWaitTooLong() throws Exception {
+    AdmissionQueue queue =
+        AdmissionQueue.builder()
+            .maxConcurrency(1)
+            .maxQueueSize(100)
+            .maxQueueTime(Duration.ofMillis(100))
+            .shedPolicy(ShedPolicy.REJECT_BY_DEADLINE)
+            .build();
+    // Teach the queue that calls take about 60 ms.
+    queue.call(
+        () -> {
+          Thread.sleep(60);
+          return null;
+        });
+    hold(queue, "running");
+    await(() -> queue.getRunning() == 1);
+    hold(queue, "waiting");
+    await(() -> queue.getQueueDepth() == 1);
+
+    // Two calls of about 60 ms would be ahead of it.
+    OverloadException exception =
+        assertThrows(OverloadException.class, () -> queue.call(() -> "late"));
+
+    assertTrue(exception.getMessage().contains("would wait"), exception.getMessage());
+    assertEquals(1, queue.getShedCount());
+  }
+
+  @Test
+  void testCallExpiresAfterMaxQueueTime() throws Exception {
+    AdmissionQueue queue =
+        AdmissionQueue.builder().maxConcurrency(1).maxQueueTime(Duration.ofMillis(20)).build();
+    hold(queue, "running");
+    await(() -> queue.getRunning() == 1);
+
+    assertThrows(OverloadException.class, () -> queue.call(() -> "expired"));
+
+    assertEquals(1, queue.getExpiredCount());
+    assertEquals(0, queue.getQueueDepth());
+  }
+
+  @Test
+  void testFailedCallReleasesItsPlace() throws Exception {
+    AdmissionQueue queue = AdmissionQueue.builder().maxConcurrency(1).maxQueueSize(0).build();
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            queue.call(
+                () -> {
+                  throw new IllegalStateException("PDP error");
+                }));
+
+    assertEquals("next", queue.call(() -> "next"));
+    assertEquals(0, queue.getRunning());
+  }
+
+  @Test
+  void testBuilderValidation() {
+    assertThrows(
+        IllegalStateException.class, () -> AdmissionQueue.builder().maxConcurrency(0).build());
+    assertThrows(
+        IllegalStateException.class, () -> AdmissionQueue.builder().maxQueueSize(-1).build());
+    assertThrows(
+        IllegalStateException.class,
+        () -> AdmissionQueue.builder().maxQueueTime(Duration.ZERO).build());
+    assertThrows(
+        IllegalStateException.class, () -> AdmissionQueue.builder().shedPolicy(null).build());
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.api.AuthzClient;
+import io.github.kkakui.azc.config.DefaultAuthzClientConfig;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.exception.OverloadException;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import io.github.kkakui.azc.transport.Transport;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link AdmissionTransport}. */
+public class TestAdmissionTransport {
+  private static final AuthorizationRequest REQUEST =
+      new AuthorizationRequest.Builder()
+          .subject(new Subject.Builder().type("user").id("alice").build())
+          .resource(new Resource.Builder().type("document").id("doc1").build())
+          .action(new Action.Builder().name("read").build())
+          .build();
+
+  @Test
+  void testShedRequestFailsWithOverloadException() throws Exception {
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Transport slow =
+        (config, jsonBody) -> {
+          entered.countDown();
+          release.await(10, TimeUnit.SECONDS);
+          return "{\"decision\":true}";
+        };
+    AdmissionTransport transport =
+        new AdmissionTransport(
+            slow,
+            AdmissionQueue.builder()
+                .maxConcurrency(1)
+                .maxQueueSize(0)
+                .maxQueueTime(Duration.ofSeconds(10))
+                .build());
+    AuthzClient client =
+        new AuthzClient(
+            DefaultAuthzClientConfig.builder().endpoint("https://pdp.example.com").build(),
+            transport);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Boolean> first = executor.submit(() -> client.authorize(REQUEST).isAllowed());
+      assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+      AuthorizationException exception =
+          assertThrows(AuthorizationException.class, () -> client.authorize(REQUEST));
+
+      assertInstanceOf(OverloadException.class, exception.getCause());
+      assertEquals(1, transport.getQueue(Priority.INTERACTIVE).getShedCount());
+      release.countDown();
+      assertTrue(first.get(10, TimeUnit.SECONDS));
+      assertTrue(client.authorize(REQUEST).isAllowed());
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testInteractiveCallsBypassBusyBatchLane() throws Exception {
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Transport transport =
+        (config, jsonBody) -> {
+          if (config.getPriority() == Priority.BATCH) {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+          }
+          return "{\"decision\":true}";
+        };
+    AdmissionQueue interactive = AdmissionQueue.builder().maxConcurrency(1).build();
+    AdmissionQueue batch =
+        AdmissionQueue.builder()
+            .maxConcurrency(1)
+            .maxQueueSize(1)
+            .maxQueueTime(Duration.ofSeconds(10))
+            .build();
+    AdmissionTransport lanes =
+        new AdmissionTransport(
+            transport,
+            Map.of(
+                Priority.INTERACTIVE, interactive,
+                Priority.BATCH, batch,
+                Priority.PREFETCH, batch));
+    AuthzClient client =
+        new AuthzClient(
+            DefaultAuthzClientConfig.builder().endpoint("https://pdp.example.com").build(), lanes);
+    ExecutorService executor = Executors.newCachedThreadPool();
+    try {
+      executor.submit(() -> client.authorize(REQUEST, Priority.BATCH));
+      assertTrue(entered.await(10, TimeUnit.SECONDS));
+      executor.submit(() -> client.authorize(REQUEST, Priority.PREFETCH));
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (batch.getQueueDepth() == 0 && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+
+      assertTrue(client.authorize(REQUEST).isAllowed());
+
+      assertEquals(1, batch.getRunning());
+      assertEquals(1, batch.getQueueDepth());
+      assertEquals(0, interactive.getRunning());
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testConstructorValidation() {
+    AdmissionQueue queue = AdmissionQueue.builder().build();
+    assertThrows(IllegalArgumentException.class, () -> new AdmissionTransport(null, queue));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new AdmissionTransport((config, jsonBody) -> "{}", (AdmissionQueue) null));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new AdmissionTransport(
+                (config, jsonBody) -> "{}", Map.of(Priority.INTERACTIVE, queue)));
+  }
+}
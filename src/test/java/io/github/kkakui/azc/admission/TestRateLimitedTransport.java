@@ -0,0 +1,85 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.api.AuthzClient;
+import io.github.kkakui.azc.config.DefaultAuthzClientConfig;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.exception.OverloadException;
+import io.github.kkakui.azc.exception.ThrottledException;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import io.github.kkakui.azc.transport.Transport;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link RateLimitedTransport}. */
+public class TestRateLimitedTransport {
+  private static final AuthorizationRequest REQUEST =
+      new AuthorizationRequest.Builder()
+          .subject(new Subject.Builder().type("user").id("alice").build())
+          .resource(new Resource.Builder().type("document").id("doc1").build())
+          .action(new Action.Builder().name("read").build())
+          .build();
+
+  @Test
+  void testThrottledResponseHoldsOffFurtherCalls() throws Exception {
+    AtomicInteger sent = new AtomicInteger();
+    Transport throttling =
+        (config, jsonBody) -> {
+          sent.incrementAndGet();
+          throw new AuthorizationException(
+              "HTTP request failed with status 429: quota exceeded",
+              new ThrottledException("Too many requests.", 429, Duration.ofSeconds(30)));
+        };
+    RateLimiter limiter = RateLimiter.builder().rate(100).maxWait(Duration.ofMillis(50)).build();
+    RateLimitedTransport transport = new RateLimitedTransport(throttling, limiter);
+    AuthzClient client =
+        new AuthzClient(
+            DefaultAuthzClientConfig.builder().endpoint("https://pdp.example.com").build(),
+            transport);
+
+    AuthorizationException first =
+        assertThrows(AuthorizationException.class, () -> client.authorize(REQUEST));
+    assertInstanceOf(ThrottledException.class, first.getCause());
+
+    AuthorizationException second =
+        assertThrows(AuthorizationException.class, () -> client.authorize(REQUEST));
+    assertInstanceOf(OverloadException.class, second.getCause());
+    assertEquals(1, sent.get());
+    assertEquals(50, limiter.getRate(), 0.001);
+    assertEquals(1, limiter.getRejectedCount());
+    assertSame(limiter, transport.getLimiter());
+  }
+
+  @Test
+  void testSuccessfulCallsPassThrough() throws Exception {
+    RateLimiter limiter = RateLimiter.builder().rate(1000).build();
+    limiter.onThrottled(null);
+    RateLimitedTransport transport =
+        new RateLimitedTransport((config, jsonBody) -> "{\"decision\":true}", limiter);
+    AuthzClient client =
+        new AuthzClient(
+            DefaultAuthzClientConfig.builder().endpoint("https://pdp.example.com").build(),
+            transport);
+
+    assertTrue(client.authorize(REQUEST).isAllowed());
+    assertEquals(510, limiter.getRate(), 0.001);
+  }
+
+  @Test
+  void testConstructorValidation() {
+    RateLimiter limiter = RateLimiter.builder().rate(1).build();
+    assertThrows(IllegalArgumentException.class, () -> new RateLimitedTransport(null, limiter));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new RateLimitedTransport((config, jsonBody) -> "{}", null));
+  }
+}
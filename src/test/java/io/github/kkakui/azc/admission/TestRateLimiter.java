@@ -0,0 +1,104 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.exception.OverloadException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link RateLimiter}. */
+public class TestRateLimiter {
+
+  @Test
+  void testLetsBurstThroughAndRejectsTheRest() throws Exception {
+    RateLimiter limiter = RateLimiter.builder().rate(1).burst(3).maxWait(Duration.ZERO).build();
+
+    limiter.acquire();
+    limiter.acquire();
+    limiter.acquire();
+
+    assertThrows(OverloadException.class, limiter::acquire);
+    assertEquals(1, limiter.getRejectedCount());
+  }
+
+  @Test
+  void testQueuesCallsWithinMaxWait() throws Exception {
+    RateLimiter limiter =
+        RateLimiter.builder().rate(20).burst(1).maxWait(Duration.ofSeconds(1)).build();
+    limiter.acquire();
+
+    long start = System.nanoTime();
+    limiter.acquire();
+    limiter.acquire();
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    // Two more calls at 20 per second take about 100 ms.
+    assertTrue(elapsed >= 80, "elapsed " + elapsed);
+    assertEquals(0, limiter.getRejectedCount());
+  }
+
+  @Test
+  void testThrottlingHalvesRateOnceAndSuccessRestoresIt() {
+    RateLimiter limiter = RateLimiter.builder().rate(100).minRate(30).build();
+
+    limiter.onThrottled(null);
+    limiter.onThrottled(null);
+
+    assertEquals(50, limiter.getRate(), 0.001);
+    assertEquals(2, limiter.getThrottledCount());
+
+    for (int i = 0; i < 10; i++) {
+      limiter.onSuccess();
+    }
+    assertEquals(60, limiter.getRate(), 0.001);
+    for (int i = 0; i < 100; i++) {
+      limiter.onSuccess();
+    }
+    assertEquals(100, limiter.getRate(), 0.001);
+  }
+
+  @Test
+  void testRateDoesNotDropBelowMinRate() throws Exception {
+    RateLimiter limiter = RateLimiter.builder().rate(100).minRate(80).build();
+
+    limiter.onThrottled(null);
+
+    assertEquals(80, limiter.getRate(), 0.001);
+  }
+
+  @Test
+  void testRetryAfterHoldsOffCalls() throws Exception {
+    RateLimiter limiter = RateLimiter.builder().rate(1000).maxWait(Duration.ofMillis(100)).build();
+
+    limiter.onThrottled(Duration.ofSeconds(5));
+
+    OverloadException exception = assertThrows(OverloadException.class, limiter::acquire);
+    assertTrue(exception.getMessage().contains("would wait"), exception.getMessage());
+
+    limiter.onThrottled(Duration.ZERO);
+    RateLimiter shortPause =
+        RateLimiter.builder().rate(1000).maxWait(Duration.ofSeconds(1)).build();
+    shortPause.onThrottled(Duration.ofMillis(50));
+    long start = System.nanoTime();
+    shortPause.acquire();
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 40);
+  }
+
+  @Test
+  void testBuilderValidation() {
+    assertThrows(IllegalStateException.class, () -> RateLimiter.builder().build());
+    assertThrows(IllegalStateException.class, () -> RateLimiter.builder().rate(-1).build());
+    assertThrows(
+        IllegalStateException.class, () -> RateLimiter.builder().rate(10).minRate(20).build());
+    assertThrows(
+        IllegalStateException.class, () -> RateLimiter.builder().rate(10).burst(-1).build());
+    assertThrows(
+        IllegalStateException.class,
+        () -> RateLimiter.builder().rate(10).maxWait(Duration.ofSeconds(-1)).build());
+  }
+}
@@ -0,0 +1,329 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.kkakui.azc.api.AuthorizationProcessor.Ordering;
+import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.config.DefaultAuthzClientConfig;
+import io.github.kkakui.azc.exception.TransportException;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import io.github.kkakui.azc.transport.http.HttpTransport;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link AuthorizationProcessor}. */
+public class TestAuthorizationProcessor {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final Action READ = new Action.Builder().name("read").build();
+
+  /**
+   * Permits users to read documents with their own name, and blocks on documents named "slow" until
+   * released. Records the number of requests and evaluations per request.
+   */
+  static class OwnerTransport implements HttpTransport {
+    final Queue<Integer> sizes = new ConcurrentLinkedQueue<>();
+    final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    public String request(AuthzClientConfig config, String jsonBody) throws Exception {
+      JsonNode body = MAPPER.readTree(jsonBody);
+      if (!body.has("evaluations")) {
+        sizes.add(1);
+        return "{\"decision\":" + decide(body.path("subject"), body.path("resource")) + "}";
+      }
+      sizes.add(body.path("evaluations").size());
+      StringBuilder response = new StringBuilder("{\"evaluations\":[");
+      for (JsonNode evaluation : body.path("evaluations")) {
+        if (response.charAt(response.length() - 1) == '}') {
+          response.append(',');
+        }
+        JsonNode subject =
+            evaluation.has("subject") ? evaluation.path("subject") : body.path("subject");
+        response
+            .append("{\"decision\":")
+            .append(decide(subject, evaluation.path("resource")))
+            .append('}');
+      }
+      return response.append("]}").toString();
+    }
+
+    private boolean decide(JsonNode subject, JsonNode resource) throws InterruptedException {
+      if (resource.path("id").asText().equals("slow")) {
+        release.await(10, TimeUnit.SECONDS);
+      }
+      return resource.path("id").asText().equals(subject.path("id").asText());
+    }
+  }
+
+  /** Collects results, requesting a fixed number of them when subscribed. */
+  static class CollectingSubscriber implements Flow.Subscriber<AuthorizationResult> {
+    final List<AuthorizationResult> results = new ArrayList<>();
+    final CountDownLatch done = new CountDownLatch(1);
+    final long initialRequest;
+    volatile Flow.Subscription subscription;
+    volatile Throwable error;
+
+    CollectingSubscriber(long initialRequest) {
+      this.initialRequest = initialRequest;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      if (initialRequest > 0) {
+        subscription.request(initialRequest);
+      }
+    }
+
+    @Override
+    public synchronized void onNext(AuthorizationResult item) {
+      results.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+      done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      done.countDown();
+    }
+
+    synchronized List<String> ids() {
+      return results.stream()
+          .map(result -> result.getRequest().getResource().getId())
+          .collect(Collectors.toList());
+    }
+  }
+
+  private static AuthzClient client(HttpTransport transport) {
+    return new AuthzClient(
+        DefaultAuthzClientConfig.builder()
+            .endpoint("https://pdp.example.com/access/v1/evaluation")
+            .build(),
+        transport);
+  }
+
+  private static AuthorizationRequest request(String user, String document) {
+    return new AuthorizationRequest.Builder()
+        .subject(new Subject.Builder().type("user").id(user).build())
+        .resource(new Resource.Builder().type("document").id(document).build())
+        .action(READ)
+        .build();
+  }
+
+  @Test
+  void testDecidesInOrderAndBatchesUnderLoad() throws Exception {
+    OwnerTransport transport = new OwnerTransport();
+    AuthorizationProcessor processor =
+        AuthorizationProcessor.builder().client(client(transport)).maxInFlight(1).build();
+    CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+    processor.subscribe(subscriber);
+
+    // Hold up the first batch, so that the rest accumulate behind it.
+    List<String> expected = new ArrayList<>();
+    try (SubmissionPublisher<AuthorizationRequest> publisher = new SubmissionPublisher<>()) {
+      publisher.subscribe(processor);
+      publisher.submit(request("alice", "slow"));
+      expected.add("slow");
+      for (int i = 0; i < 50; i++) {
+        String user = i % 2 == 0 ? "alice" : "bob";
+        publisher.submit(request(user, i % 3 == 0 ? user : "doc" + i));
+        expected.add(i % 3 == 0 ? user : "doc" + i);
+      }
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (transport.sizes.isEmpty() && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      Thread.sleep(50);
+      transport.release.countDown();
+    }
+
+    assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+    assertNull(subscriber.error);
+    assertEquals(expected, subscriber.ids());
+    for (AuthorizationResult result : subscriber.results) {
+      AuthorizationRequest request = result.getRequest();
+      assertEquals(
+          request.getSubject().getId().equals(request.getResource().getId()), result.isAllowed());
+      assertNull(result.getException());
+    }
+    assertTrue(transport.sizes.size() < 51, "Requests should be batched: " + transport.sizes);
+  }
+
+  @Test
+  void testAsCompletedEmitsBatchesWithoutWaiting() throws Exception {
+    OwnerTransport transport = new OwnerTransport();
+    AuthorizationProcessor processor =
+        AuthorizationProcessor.builder()
+            .client(client(transport))
+            .batchSize(1)
+            .maxInFlight(2)
+            .ordering(Ordering.AS_COMPLETED)
+            .build();
+    CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+    processor.subscribe(subscriber);
+
+    try (SubmissionPublisher<AuthorizationRequest> publisher = new SubmissionPublisher<>()) {
+      publisher.subscribe(processor);
+      publisher.submit(request("alice", "slow"));
+      publisher.submit(request("alice", "alice"));
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (subscriber.ids().isEmpty() && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      assertEquals(List.of("alice"), subscriber.ids());
+      transport.release.countDown();
+    }
+
+    assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+    assertEquals(List.of("alice", "slow"), subscriber.ids());
+  }
+
+  @Test
+  void testRequestsNoMoreThanItCanHold() throws Exception {
+    OwnerTransport transport = new OwnerTransport();
+    transport.release.countDown();
+    AuthorizationProcessor processor =
+        AuthorizationProcessor.builder()
+            .client(client(transport))
+            .batchSize(5)
+            .maxInFlight(2)
+            .build();
+    AtomicLong requested = new AtomicLong();
+    Flow.Subscriber<AuthorizationRequest> upstream = processor;
+    processor.subscribe(new CollectingSubscriber(0));
+    upstream.onSubscribe(
+        new Flow.Subscription() {
+          @Override
+          public void request(long n) {
+            requested.addAndGet(n);
+          }
+
+          @Override
+          public void cancel() {}
+        });
+
+    assertEquals(10, requested.get());
+    for (int i = 0; i < 10; i++) {
+      upstream.onNext(request("alice", "doc" + i));
+    }
+    // Nothing was emitted, so nothing more is requested however fast the PDP is.
+    Thread.sleep(100);
+    assertEquals(10, requested.get());
+  }
+
+  @Test
+  void testFailureYieldsResultAndStreamContinues() throws Exception {
+    AuthorizationProcessor processor =
+        AuthorizationProcessor.builder()
+            .client(
+                client(
+                    (config, jsonBody) -> {
+                      throw new TransportException("PDP unavailable");
+                    }))
+            .build();
+    CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+    processor.subscribe(subscriber);
+
+    try (SubmissionPublisher<AuthorizationRequest> publisher = new SubmissionPublisher<>()) {
+      publisher.subscribe(processor);
+      publisher.submit(request("alice", "doc1"));
+      publisher.submit(request("alice", "doc2"));
+    }
+
+    assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+    assertNull(subscriber.error);
+    assertEquals(2, subscriber.results.size());
+    for (AuthorizationResult result : subscriber.results) {
+      assertFalse(result.isAllowed());
+      assertNull(result.getResponse());
+      assertNotNull(result.getException());
+    }
+  }
+
+  @Test
+  void testPassesOnPublisherError() throws Exception {
+    OwnerTransport transport = new OwnerTransport();
+    transport.release.countDown();
+    AuthzClient client = client(transport);
+    CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+
+    AuthorizationRequest first = request("alice", "alice");
+    IllegalStateException failure = new IllegalStateException("Consumer failed");
+    // Emits one request and then fails, from within the processor's first request for more.
+    Flow.Publisher<AuthorizationRequest> publisher =
+        processor ->
+            processor.onSubscribe(
+                new Flow.Subscription() {
+                  boolean emitted;
+
+                  @Override
+                  public void request(long n) {
+                    if (!emitted) {
+                      emitted = true;
+                      processor.onNext(first);
+                      processor.onError(failure);
+                    }
+                  }
+
+                  @Override
+                  public void cancel() {}
+                });
+    client.authorizeAll(publisher).subscribe(subscriber);
+
+    assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+    assertSame(failure, subscriber.error);
+    assertEquals(List.of("alice"), subscriber.ids());
+  }
+
+  @Test
+  void testRejectsSecondSubscriberAndInvalidDemand() throws Exception {
+    AuthorizationProcessor processor =
+        AuthorizationProcessor.builder().client(client(new OwnerTransport())).build();
+    CollectingSubscriber first = new CollectingSubscriber(0);
+    CollectingSubscriber second = new CollectingSubscriber(0);
+    processor.subscribe(first);
+    processor.subscribe(second);
+
+    assertTrue(second.error instanceof IllegalStateException);
+
+    first.subscription.request(0);
+    assertTrue(first.done.await(10, TimeUnit.SECONDS));
+    assertTrue(first.error instanceof IllegalArgumentException);
+  }
+
+  @Test
+  void testBuilderValidation() {
+    assertThrows(IllegalStateException.class, () -> AuthorizationProcessor.builder().build());
+    AuthzClient client = client(new OwnerTransport());
+    assertThrows(
+        IllegalStateException.class,
+        () -> AuthorizationProcessor.builder().client(client).batchSize(0).build());
+    assertThrows(
+        IllegalStateException.class,
+        () -> AuthorizationProcessor.builder().client(client).maxInFlight(0).build());
+    assertThrows(
+        IllegalStateException.class,
+        () -> AuthorizationProcessor.builder().client(client).ordering(null).build());
+  }
+}
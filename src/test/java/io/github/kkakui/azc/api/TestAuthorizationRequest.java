@@ -189,4 +189,24 @@ public class TestAuthorizationRequest {
 
     assertEquals("Action must be provided.", exception.getMessage());
   }
+
+  @Test
+  public void testEquals() {
+    AuthorizationRequest first =
+        new AuthorizationRequest.Builder()
+            .subject(new Subject.Builder().id("user123").type("user").build())
+            .resource(new Resource.Builder().id("file456").type("file").build())
+            .action(new Action.Builder().name("read").build())
+            .build();
+    AuthorizationRequest second =
+        new AuthorizationRequest.Builder()
+            .subject(new Subject.Builder().id("user123").type("user").build())
+            .resource(new Resource.Builder().id("file456").type("file").build())
+            .action(new Action.Builder().name("read").build())
+            .build();
+
+    assertEquals(first, second);
+    assertEquals(first.hashCode(), second.hashCode());
+    assertNotEquals(first, second.withMergedContext(new Context(Map.of("ip", "10.0.0.1"))));
+  }
 }
@@ -8,18 +8,42 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.kkakui.azc.admission.Priority;
+import io.github.kkakui.azc.cache.DecisionCache;
 import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.config.DefaultAuthzClientConfig;
+import io.github.kkakui.azc.context.CoarseClock;
 import io.github.kkakui.azc.context.ContextFactory;
+import io.github.kkakui.azc.context.ContextPipeline;
 import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.exception.ThrottledException;
 import io.github.kkakui.azc.exception.TransportException;
 import io.github.kkakui.azc.model.Action;
 import io.github.kkakui.azc.model.Context;
 import io.github.kkakui.azc.model.Resource;
 import io.github.kkakui.azc.model.Subject;
+import io.github.kkakui.azc.policy.LocalPolicy;
+import io.github.kkakui.azc.serialization.Codecs;
 import io.github.kkakui.azc.transport.http.HttpTransport;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -236,4 +260,388 @@ public class TestAuthzClientIntegration {
         "The cause of the AuthorizationException should be a TransportException");
     assertEquals("Connection timed out", cause.getMessage());
   }
+
+  @Test
+  public void testAuthorize_withBinaryCodecOnJsonOnlyTransport() {
+    // Given: a transport that only implements the JSON string method
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder()
+            .endpoint("https://mock-endpoint")
+            .codec(Codecs.smile())
+            .build();
+    AuthzClient client = new AuthzClient(config, new MockHttpTransport());
+
+    AuthorizationRequest request =
+        new AuthorizationRequest.Builder()
+            .subject(new Subject.Builder().id("s").type("t").build())
+            .resource(new Resource.Builder().id("r").type("t").build())
+            .action(new Action.Builder().name("a").build())
+            .build();
+
+    // When & Then
+    AuthorizationException exception =
+        assertThrows(AuthorizationException.class, () -> client.authorize(request));
+    assertTrue(exception.getCause() instanceof TransportException);
+  }
+
+  @Test
+  public void testAuthorize_withDecisionCacheReusesDecision() throws Exception {
+    // Given
+    AtomicInteger calls = new AtomicInteger();
+    HttpTransport countingTransport =
+        (config, jsonBody) -> {
+          calls.incrementAndGet();
+          return "{\"decision\": true}";
+        };
+    AuthzClient client =
+        AuthzClient.builder()
+            .config(new MockAuthzClientConfig("https://mock-endpoint"))
+            .transport(countingTransport)
+            .decisionCache(DecisionCache.builder().ttl(Duration.ofMinutes(1)).build())
+            .build();
+
+    AuthorizationRequest request =
+        new AuthorizationRequest.Builder()
+            .subject(new Subject.Builder().id("alice").type("user").build())
+            .resource(new Resource.Builder().id("doc789").type("file").build())
+            .action(new Action.Builder().name("read").build())
+            .build();
+
+    // When
+    assertTrue(client.authorize(request).isAllowed());
+    assertTrue(client.authorize(request).isAllowed());
+
+    // Then
+    assertEquals(1, calls.get(), "The second call should be served from the cache");
+  }
+
+  @Test
+  public void testWarmUpExercisesContextFactoryAndTransport() throws Exception {
+    // Given
+    AtomicInteger contexts = new AtomicInteger();
+    AtomicInteger warmUps = new AtomicInteger();
+    HttpTransport transport =
+        new HttpTransport() {
+          @Override
+          public String request(AuthzClientConfig config, String jsonBody) {
+            fail("Warm-up must not send authorization requests");
+            return null;
+          }
+
+          @Override
+          public void warmUp(AuthzClientConfig config) {
+            warmUps.incrementAndGet();
+          }
+        };
+    ContextFactory contextFactory =
+        () -> {
+          contexts.incrementAndGet();
+          return new Context(Map.of("time", "now"));
+        };
+    AuthzClient client =
+        AuthzClient.builder()
+            .config(new MockAuthzClientConfig("https://mock-endpoint"))
+            .transport(transport)
+            .contextFactory(contextFactory)
+            .build();
+
+    // When
+    Duration elapsed = client.warmUp(10);
+
+    // Then
+    assertFalse(elapsed.isNegative());
+    assertEquals(10, contexts.get());
+    assertEquals(1, warmUps.get());
+  }
+
+  @Test
+  public void testAuthorize_withLocalEvaluatorSkipsTransport() throws Exception {
+    // Given
+    AtomicInteger calls = new AtomicInteger();
+    HttpTransport countingTransport =
+        (config, jsonBody) -> {
+          calls.incrementAndGet();
+          return "{\"decision\": false}";
+        };
+    AuthzClient client =
+        AuthzClient.builder()
+            .config(new MockAuthzClientConfig("https://mock-endpoint"))
+            .transport(countingTransport)
+            .localEvaluator(
+                LocalPolicy.parse(
+                    "{\"rules\": [{\"resource_type\": \"public\", \"decision\": true}]}"))
+            .build();
+
+    AuthorizationRequest publicRequest =
+        new AuthorizationRequest.Builder()
+            .subject(new Subject.Builder().id("alice").type("user").build())
+            .resource(new Resource.Builder().id("page1").type("public").build())
+            .action(new Action.Builder().name("read").build())
+            .build();
+    AuthorizationRequest fileRequest =
+        new AuthorizationRequest.Builder()
+            .subject(new Subject.Builder().id("alice").type("user").build())
+            .resource(new Resource.Builder().id("doc789").type("file").build())
+            .action(new Action.Builder().name("read").build())
+            .build();
+
+    // When & Then
+    assertTrue(client.authorize(publicRequest).isAllowed());
+    assertEquals(0, calls.get(), "A local decision must not reach the transport");
+    assertFalse(client.authorize(fileRequest).isAllowed());
+    assertEquals(1, calls.get(), "Requests without a matching rule fall through to the PDP");
+  }
+
+  @Test
+  public void testAuthorize_withContextPipelineWritesContextIntoBody() throws Exception {
+    // Given
+    AuthzClientConfig config = new MockAuthzClientConfig("https://mock-endpoint");
+    MockHttpTransport mockTransport = new MockHttpTransport();
+    ContextPipeline pipeline =
+        ContextPipeline.builder()
+            .attribute("source", "integration-test")
+            .timestamp(
+                "timestamp",
+                CoarseClock.of(
+                    Duration.ofMinutes(1),
+                    Clock.fixed(Instant.parse("2025-08-06T00:00:42Z"), ZoneOffset.UTC)))
+            .contributor(attributes -> attributes.write("attempt", 1))
+            .build();
+    AuthzClient client = new AuthzClient(config, mockTransport, pipeline);
+
+    AuthorizationRequest request =
+        new AuthorizationRequest.Builder()
+            .subject(new Subject.Builder().id("alice").type("user").build())
+            .resource(new Resource.Builder().id("doc789").type("file").build())
+            .action(new Action.Builder().name("read").build())
+            .build();
+
+    // When
+    client.authorize(request);
+
+    // Then
+    JsonNode contextNode =
+        new ObjectMapper().readTree(mockTransport.getLastJsonBody()).path("context");
+    assertEquals("integration-test", contextNode.path("source").asText());
+    assertEquals("2025-08-06T00:00:00Z", contextNode.path("timestamp").asText());
+    assertEquals(1, contextNode.path("attempt").asInt());
+  }
+
+  @Test
+  public void testPrepare_sendsSameBodyAsFullRequest() throws Exception {
+    // Given
+    AuthzClientConfig config = new MockAuthzClientConfig("https://mock-endpoint");
+    MockHttpTransport mockTransport = new MockHttpTransport();
+    ContextFactory contextFactory = () -> new Context(Map.of("ip", "10.0.0.1"));
+    AuthzClient client = new AuthzClient(config, mockTransport, contextFactory);
+    Subject subject =
+        new Subject.Builder().id("alice").type("user").addProperty("level", 3).build();
+    Action action = new Action.Builder().name("read").build();
+    Context context = new Context(Map.of("tenant", "acme"));
+    PreparedAuthorization prepared = client.prepare(subject, action, context);
+
+    for (String id : new String[] {"doc1", "doc \"2\" \u00e9"}) {
+      // When
+      AuthorizationResponse response = prepared.authorize("file", id);
+      String preparedBody = mockTransport.getLastJsonBody();
+      client.authorize(
+          new AuthorizationRequest.Builder()
+              .subject(subject)
+              .resource(new Resource.Builder().type("file").id(id).build())
+              .action(action)
+              .context(context)
+              .build());
+
+      // Then
+      assertTrue(response.isAllowed());
+      assertEquals(mockTransport.getLastJsonBody(), preparedBody);
+    }
+  }
+
+  @Test
+  public void testPrepare_withDecisionCacheUsesFullRequests() throws Exception {
+    // Given
+    AtomicInteger calls = new AtomicInteger();
+    HttpTransport countingTransport =
+        (config, jsonBody) -> {
+          calls.incrementAndGet();
+          return "{\"decision\": true}";
+        };
+    AuthzClient client =
+        AuthzClient.builder()
+            .config(new MockAuthzClientConfig("https://mock-endpoint"))
+            .transport(countingTransport)
+            .decisionCache(DecisionCache.builder().ttl(Duration.ofMinutes(1)).build())
+            .build();
+    PreparedAuthorization prepared =
+        client.prepare(
+            new Subject.Builder().id("alice").type("user").build(),
+            new Action.Builder().name("read").build());
+
+    // When
+    assertTrue(prepared.authorize("file", "doc1").isAllowed());
+    assertTrue(prepared.authorize("file", "doc1").isAllowed());
+
+    // Then
+    assertEquals(1, calls.get(), "The second check must be served from the cache");
+  }
+
+  @Test
+  public void testPrepare_rejectsBlankResourceId() throws Exception {
+    AuthzClient client =
+        new AuthzClient(
+            new MockAuthzClientConfig("https://mock-endpoint"), new MockHttpTransport());
+    PreparedAuthorization prepared =
+        client.prepare(
+            new Subject.Builder().id("alice").type("user").build(),
+            new Action.Builder().name("read").build());
+
+    Exception e =
+        assertThrows(IllegalArgumentException.class, () -> prepared.authorize("file", " "));
+    assertEquals("Resource 'id' must not be null or blank.", e.getMessage());
+  }
+
+  @Test
+  public void testDecide_returnsDecisionsAndFailures() {
+    AuthorizationRequest request =
+        new AuthorizationRequest.Builder()
+            .subject(new Subject.Builder().id("alice").type("user").build())
+            .resource(new Resource.Builder().id("doc1").type("file").build())
+            .action(new Action.Builder().name("read").build())
+            .build();
+    AuthzClientConfig config = new MockAuthzClientConfig("https://mock-endpoint");
+
+    Decision allowed = new AuthzClient(config, new MockHttpTransport()).decide(request);
+    Decision denied =
+        new AuthzClient(config, (HttpTransport) (c, body) -> "{\"decision\": false}")
+            .decide(request, Priority.BATCH);
+    Decision failed =
+        new AuthzClient(
+                config,
+                (HttpTransport)
+                    (c, body) -> {
+                      throw new AuthorizationException(
+                          "HTTP request failed with status 429: slow down",
+                          new ThrottledException("Throttled.", 429, Duration.ofSeconds(1)),
+                          false);
+                    })
+            .decide(request);
+
+    assertEquals(Decision.Status.ALLOWED, allowed.getStatus());
+    assertEquals("mock-policy", allowed.getResponse().getContext().get("policy"));
+    assertNull(allowed.getErrorCode());
+    assertEquals(Decision.Status.DENIED, denied.getStatus());
+    assertTrue(denied.isDenied());
+    assertEquals(Decision.Status.ERROR, failed.getStatus());
+    assertFalse(failed.isAllowed());
+    assertEquals(Decision.ErrorCode.THROTTLED, failed.getErrorCode());
+    assertEquals(
+        "HTTP request failed with status 429: slow down", failed.getFailure().getMessage());
+    assertNull(failed.getResponse());
+  }
+
+  @Test
+  public void testRecordsFlightRecorderEvents() throws Exception {
+    // Given: a client with a cache, recorded with the bundled settings.
+    AuthzClient client =
+        AuthzClient.builder()
+            .config(new MockAuthzClientConfig("https://mock-endpoint"))
+            .transport(new MockHttpTransport())
+            .decisionCache(DecisionCache.builder().ttl(Duration.ofMinutes(1)).build())
+            .build();
+    AuthorizationRequest request =
+        new AuthorizationRequest.Builder()
+            .subject(new Subject.Builder().id("alice").type("user").build())
+            .resource(new Resource.Builder().id("doc1").type("file").build())
+            .action(new Action.Builder().name("read").build())
+            .build();
+    Configuration settings;
+    try (Reader reader =
+        new InputStreamReader(
+            AuthzClient.class.getResourceAsStream("/io/github/kkakui/azc/azc.jfc"),
+            StandardCharsets.UTF_8)) {
+      settings = Configuration.create(reader);
+    }
+    Path file = Files.createTempFile("azc", ".jfr");
+
+    // When: the first check misses the cache and the second hits it.
+    try (Recording recording = new Recording(settings)) {
+      recording.start();
+      client.authorize(request);
+      client.authorize(request);
+      recording.stop();
+      recording.dump(file);
+    }
+
+    // Then
+    List<RecordedEvent> events;
+    try {
+      events = RecordingFile.readAllEvents(file);
+    } finally {
+      Files.delete(file);
+    }
+    List<RecordedEvent> checks = eventsNamed(events, "io.github.kkakui.azc.Authorize");
+    assertEquals(2, checks.size());
+    assertEquals("https://mock-endpoint", checks.get(0).getString("endpoint"));
+    assertTrue(checks.get(0).getBoolean("allowed"));
+    assertNull(checks.get(0).getString("failure"));
+    List<RecordedEvent> lookups = eventsNamed(events, "io.github.kkakui.azc.CacheLookup");
+    assertEquals(
+        List.of("miss", "hit"),
+        lookups.stream().map(e -> e.getString("outcome")).collect(Collectors.toList()));
+    List<RecordedEvent> serialization = eventsNamed(events, "io.github.kkakui.azc.Serialization");
+    assertEquals(
+        List.of("serialize", "parse"),
+        serialization.stream().map(e -> e.getString("operation")).collect(Collectors.toList()));
+    assertEquals("application/json", serialization.get(0).getString("mediaType"));
+    assertTrue(serialization.get(0).getLong("size") > 0);
+  }
+
+  @Test
+  public void testPrepare_recordsFlightRecorderEvents() throws Exception {
+    // Given
+    AuthzClient client =
+        new AuthzClient(
+            new MockAuthzClientConfig("https://mock-endpoint"), new MockHttpTransport());
+    PreparedAuthorization prepared =
+        client.prepare(
+            new Subject.Builder().id("alice").type("user").build(),
+            new Action.Builder().name("read").build(),
+            null);
+    Configuration settings;
+    try (Reader reader =
+        new InputStreamReader(
+            AuthzClient.class.getResourceAsStream("/io/github/kkakui/azc/azc.jfc"),
+            StandardCharsets.UTF_8)) {
+      settings = Configuration.create(reader);
+    }
+    Path file = Files.createTempFile("azc", ".jfr");
+
+    // When
+    try (Recording recording = new Recording(settings)) {
+      recording.start();
+      prepared.authorize("file", "doc1");
+      recording.stop();
+      recording.dump(file);
+    }
+
+    // Then
+    List<RecordedEvent> events;
+    try {
+      events = RecordingFile.readAllEvents(file);
+    } finally {
+      Files.delete(file);
+    }
+    List<RecordedEvent> checks = eventsNamed(events, "io.github.kkakui.azc.Authorize");
+    assertEquals(1, checks.size());
+    assertEquals("https://mock-endpoint", checks.get(0).getString("endpoint"));
+    assertTrue(checks.get(0).getBoolean("allowed"));
+  }
+
+  private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+    return events.stream()
+        .filter(e -> e.getEventType().getName().equals(name))
+        .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+        .collect(Collectors.toList());
+  }
 }
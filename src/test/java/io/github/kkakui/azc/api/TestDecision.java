@@ -0,0 +1,69 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.exception.OverloadException;
+import io.github.kkakui.azc.exception.StatusException;
+import io.github.kkakui.azc.exception.ThrottledException;
+import io.github.kkakui.azc.exception.TransportException;
+import java.io.IOException;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link Decision}. */
+public class TestDecision {
+
+  private static Decision.ErrorCode errorCode(Throwable cause) {
+    return Decision.failed(new AuthorizationException("Failed.", cause)).getErrorCode();
+  }
+
+  @Test
+  void testDecided() {
+    Decision allowed = Decision.of(new AuthorizationResponse(true, Map.of()));
+    Decision denied = Decision.of(new AuthorizationResponse(false, null));
+
+    assertEquals(Decision.Status.ALLOWED, allowed.getStatus());
+    assertTrue(allowed.isAllowed());
+    assertFalse(allowed.isError());
+    assertNull(allowed.getFailure());
+    assertEquals(Decision.Status.DENIED, denied.getStatus());
+    assertFalse(denied.isAllowed());
+    assertTrue(denied.isDenied());
+  }
+
+  @Test
+  void testFailed() {
+    AuthorizationException failure = new AuthorizationException("Failed.");
+    Decision decision = Decision.failed(failure);
+
+    assertEquals(Decision.Status.ERROR, decision.getStatus());
+    assertTrue(decision.isError());
+    assertFalse(decision.isAllowed());
+    assertFalse(decision.isDenied());
+    assertNull(decision.getResponse());
+    assertSame(failure, decision.getFailure());
+    assertEquals(Decision.ErrorCode.OTHER, decision.getErrorCode());
+  }
+
+  @Test
+  void testErrorCodes() {
+    assertEquals(
+        Decision.ErrorCode.NETWORK,
+        errorCode(new TransportException("Network error.", new IOException("reset"))));
+    assertEquals(Decision.ErrorCode.OVERLOADED, errorCode(new OverloadException("Shed.")));
+    assertEquals(
+        Decision.ErrorCode.THROTTLED, errorCode(new ThrottledException("Throttled.", 503, null)));
+    assertEquals(Decision.ErrorCode.REJECTED, errorCode(new StatusException("Bad.", 400)));
+    assertEquals(Decision.ErrorCode.SERVER_ERROR, errorCode(new StatusException("Failed.", 500)));
+    assertEquals(
+        Decision.ErrorCode.INTERRUPTED,
+        errorCode(new TransportException("Interrupted.", new InterruptedException())));
+    assertEquals(Decision.ErrorCode.OTHER, errorCode(new IOException("Malformed JSON.")));
+    assertEquals(Decision.ErrorCode.OTHER, errorCode(null));
+  }
+}
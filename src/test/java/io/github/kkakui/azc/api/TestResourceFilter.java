@@ -0,0 +1,224 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.kkakui.azc.admission.Priority;
+import io.github.kkakui.azc.cache.DecisionCache;
+import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.config.DefaultAuthzClientConfig;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.exception.TransportException;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import io.github.kkakui.azc.transport.http.HttpTransport;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link ResourceFilter}. */
+public class TestResourceFilter {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final Subject ALICE = new Subject.Builder().id("alice").type("user").build();
+  private static final Action READ = new Action.Builder().name("read").build();
+
+  /** Permits documents with an even number, and records the endpoint of every request. */
+  static class EvenTransport implements HttpTransport {
+    final Queue<String> endpoints = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public String request(AuthzClientConfig config, String jsonBody) throws Exception {
+      endpoints.add(config.getEndpoint());
+      JsonNode body = MAPPER.readTree(jsonBody);
+      assertEquals("alice", body.path("subject").path("id").asText());
+      assertEquals("read", body.path("action").path("name").asText());
+      if (!body.has("evaluations")) {
+        return "{\"decision\":" + isEven(body.path("resource")) + "}";
+      }
+      StringBuilder response = new StringBuilder("{\"evaluations\":[");
+      for (JsonNode evaluation : body.path("evaluations")) {
+        if (response.charAt(response.length() - 1) == '}') {
+          response.append(',');
+        }
+        response.append("{\"decision\":").append(isEven(evaluation.path("resource"))).append('}');
+      }
+      return response.append("]}").toString();
+    }
+
+    private static boolean isEven(JsonNode resource) {
+      return Integer.parseInt(resource.path("id").asText().substring(3)) % 2 == 0;
+    }
+  }
+
+  private static List<Resource> documents(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> new Resource.Builder().type("document").id("doc" + i).build())
+        .collect(Collectors.toList());
+  }
+
+  private static List<String> ids(List<Resource> resources) {
+    return resources.stream().map(Resource::getId).collect(Collectors.toList());
+  }
+
+  private static AuthzClient client(String endpoint, HttpTransport transport) {
+    return new AuthzClient(
+        DefaultAuthzClientConfig.builder().endpoint(endpoint).build(), transport);
+  }
+
+  @Test
+  void testFilterSendsChunksToEvaluationsEndpoint() throws Exception {
+    EvenTransport transport = new EvenTransport();
+    AuthzClient client = client("https://pdp.example.com/access/v1/evaluation", transport);
+    ResourceFilter filter = ResourceFilter.builder().client(client).chunkSize(10).build();
+
+    List<Resource> permitted = filter.filter(ALICE, READ, documents(35));
+
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 35; i += 2) {
+      expected.add("doc" + i);
+    }
+    assertEquals(expected, ids(permitted));
+    assertEquals(4, transport.endpoints.size());
+    assertTrue(
+        transport.endpoints.stream()
+            .allMatch("https://pdp.example.com/access/v1/evaluations"::equals));
+  }
+
+  @Test
+  void testStreamStopsEarly() {
+    EvenTransport transport = new EvenTransport();
+    AuthzClient client = client("https://pdp.example.com/access/v1/evaluation", transport);
+    ResourceFilter filter =
+        ResourceFilter.builder().client(client).chunkSize(10).parallelism(1).build();
+
+    List<Resource> page;
+    try (Stream<Resource> stream = filter.stream(ALICE, READ, documents(10_000))) {
+      page = stream.limit(3).collect(Collectors.toList());
+    }
+
+    assertEquals(List.of("doc0", "doc2", "doc4"), ids(page));
+    assertTrue(transport.endpoints.size() <= 2, "Only the chunks read should be evaluated");
+  }
+
+  @Test
+  void testFallsBackToSingleRequestsWithoutEvaluationsEndpoint() throws Exception {
+    EvenTransport transport = new EvenTransport();
+    AuthzClient client = client("https://pdp.example.com/authorize", transport);
+
+    List<Resource> permitted = client.filter(ALICE, READ, documents(5));
+
+    assertEquals(List.of("doc0", "doc2", "doc4"), ids(permitted));
+    assertEquals(5, transport.endpoints.size());
+    assertTrue(transport.endpoints.stream().allMatch("https://pdp.example.com/authorize"::equals));
+  }
+
+  @Test
+  void testUsesAndFillsDecisionCache() throws Exception {
+    EvenTransport transport = new EvenTransport();
+    AuthzClient client =
+        AuthzClient.builder()
+            .config(
+                DefaultAuthzClientConfig.builder()
+                    .endpoint("https://pdp.example.com/access/v1/evaluation")
+                    .build())
+            .transport(transport)
+            .decisionCache(DecisionCache.builder().ttl(Duration.ofMinutes(1)).build())
+            .build();
+    Resource doc2 = new Resource.Builder().type("document").id("doc2").build();
+    client.authorize(
+        new AuthorizationRequest.Builder().subject(ALICE).resource(doc2).action(READ).build());
+    transport.endpoints.clear();
+
+    assertEquals(List.of("doc0", "doc2"), ids(client.filter(ALICE, READ, documents(4))));
+    assertEquals(1, transport.endpoints.size(), "doc2 is cached, the rest is one request");
+
+    assertEquals(List.of("doc0", "doc2"), ids(client.filter(ALICE, READ, documents(4))));
+    assertEquals(1, transport.endpoints.size(), "All decisions are cached now");
+  }
+
+  @Test
+  void testDoesNotCacheDecisionsLoadedDuringInvalidation() throws Exception {
+    EvenTransport even = new EvenTransport();
+    DecisionCache cache = DecisionCache.builder().ttl(Duration.ofMinutes(1)).build();
+    AuthzClient client =
+        AuthzClient.builder()
+            .config(
+                DefaultAuthzClientConfig.builder()
+                    .endpoint("https://pdp.example.com/access/v1/evaluation")
+                    .build())
+            .transport(
+                (HttpTransport)
+                    (config, jsonBody) -> {
+                      // Alice's roles change while the batch is in flight.
+                      cache.invalidateSubject("user", "alice");
+                      return even.request(config, jsonBody);
+                    })
+            .decisionCache(cache)
+            .build();
+
+    assertEquals(List.of("doc0", "doc2"), ids(client.filter(ALICE, READ, documents(4))));
+
+    assertEquals(0, cache.size(), "Decisions loaded across an invalidation must not be cached");
+  }
+
+  @Test
+  void testFilterCallsAtItsPriority() throws Exception {
+    Queue<Priority> priorities = new ConcurrentLinkedQueue<>();
+    EvenTransport even = new EvenTransport();
+    AuthzClient client =
+        client(
+            "https://pdp.example.com/access/v1/evaluation",
+            (config, jsonBody) -> {
+              priorities.add(config.getPriority());
+              return even.request(config, jsonBody);
+            });
+    ResourceFilter filter =
+        ResourceFilter.builder().client(client).chunkSize(2).priority(Priority.BATCH).build();
+
+    assertEquals(List.of("doc0", "doc2"), ids(filter.filter(ALICE, READ, documents(4))));
+
+    assertEquals(List.of(Priority.BATCH, Priority.BATCH), new ArrayList<>(priorities));
+    assertTrue(
+        even.endpoints.stream().allMatch("https://pdp.example.com/access/v1/evaluations"::equals));
+  }
+
+  @Test
+  void testFilterPropagatesTransportFailure() {
+    AuthzClient client =
+        client(
+            "https://pdp.example.com/access/v1/evaluation",
+            (config, jsonBody) -> {
+              throw new AuthorizationException("PDP unavailable", new TransportException("down"));
+            });
+
+    AuthorizationException exception =
+        assertThrows(AuthorizationException.class, () -> client.filter(ALICE, READ, documents(3)));
+
+    assertEquals("PDP unavailable", exception.getMessage());
+  }
+
+  @Test
+  void testBuilderValidation() {
+    assertThrows(IllegalStateException.class, () -> ResourceFilter.builder().build());
+    AuthzClient client =
+        client("https://pdp.example.com/access/v1/evaluation", new EvenTransport());
+    assertThrows(
+        IllegalStateException.class,
+        () -> ResourceFilter.builder().client(client).chunkSize(0).build());
+    assertThrows(
+        IllegalStateException.class,
+        () -> ResourceFilter.builder().client(client).parallelism(0).build());
+  }
+}
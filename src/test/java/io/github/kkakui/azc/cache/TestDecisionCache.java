@@ -0,0 +1,402 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.api.AuthorizationResponse;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Context;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link DecisionCache}. */
+public class TestDecisionCache {
+
+  /** A clock that only moves when told to. */
+  static class MutableClock extends Clock {
+    private long millis;
+
+    void advance(Duration duration) {
+      millis += duration.toMillis();
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+  }
+
+  /** A loader that counts calls and returns a scripted sequence of decisions. */
+  static class CountingLoader implements DecisionLoader {
+    final AtomicInteger calls = new AtomicInteger();
+    boolean failing;
+
+    @Override
+    public AuthorizationResponse load(AuthorizationRequest request) throws AuthorizationException {
+      int call = calls.incrementAndGet();
+      if (failing) {
+        throw new AuthorizationException("PDP unavailable");
+      }
+      return new AuthorizationResponse(true, Map.of("call", call));
+    }
+  }
+
+  private final MutableClock clock = new MutableClock();
+  private final List<Runnable> scheduled = new ArrayList<>();
+
+  private DecisionCache.Builder cacheBuilder() {
+    return DecisionCache.builder().ttl(Duration.ofSeconds(10)).jitter(0).clock(clock);
+  }
+
+  private static AuthorizationRequest request(String resourceId) {
+    return request("alice", resourceId, "read");
+  }
+
+  private static AuthorizationRequest request(String subjectId, String resourceId, String action) {
+    return new AuthorizationRequest.Builder()
+        .subject(new Subject.Builder().id(subjectId).type("user").build())
+        .resource(new Resource.Builder().id(resourceId).type("document").build())
+        .action(new Action.Builder().name(action).build())
+        .build();
+  }
+
+  private void runScheduled() {
+    List<Runnable> tasks = new ArrayList<>(scheduled);
+    scheduled.clear();
+    tasks.forEach(Runnable::run);
+  }
+
+  @Test
+  void testFreshEntryIsServedFromCache() throws Exception {
+    DecisionCache cache = cacheBuilder().build();
+    CountingLoader loader = new CountingLoader();
+
+    cache.get(request("doc1"), loader);
+    clock.advance(Duration.ofSeconds(5));
+    AuthorizationResponse response = cache.get(request("doc1"), loader);
+
+    assertEquals(1, loader.calls.get());
+    assertEquals(1, response.getContext().get("call"));
+  }
+
+  @Test
+  void testExpiredEntryIsReloaded() throws Exception {
+    DecisionCache cache = cacheBuilder().build();
+    CountingLoader loader = new CountingLoader();
+
+    cache.get(request("doc1"), loader);
+    clock.advance(Duration.ofSeconds(10));
+    AuthorizationResponse response = cache.get(request("doc1"), loader);
+
+    assertEquals(2, loader.calls.get());
+    assertEquals(2, response.getContext().get("call"));
+  }
+
+  @Test
+  void testRefreshAheadServesCachedDecisionAndRefreshesOnce() throws Exception {
+    DecisionCache cache =
+        cacheBuilder().refreshAhead(Duration.ofSeconds(2)).refreshExecutor(scheduled::add).build();
+    CountingLoader loader = new CountingLoader();
+
+    cache.get(request("doc1"), loader);
+    clock.advance(Duration.ofSeconds(9));
+    AuthorizationResponse first = cache.get(request("doc1"), loader);
+    AuthorizationResponse second = cache.get(request("doc1"), loader);
+
+    // Both calls are served from the cache and only one refresh is scheduled.
+    assertEquals(1, first.getContext().get("call"));
+    assertEquals(1, second.getContext().get("call"));
+    assertEquals(1, scheduled.size());
+
+    runScheduled();
+    clock.advance(Duration.ofSeconds(5));
+    AuthorizationResponse refreshed = cache.get(request("doc1"), loader);
+    assertEquals(2, refreshed.getContext().get("call"));
+    assertEquals(2, loader.calls.get());
+  }
+
+  @Test
+  void testStaleEntryIsServedWhileLoaderFails() throws Exception {
+    DecisionCache cache =
+        cacheBuilder().staleWindow(Duration.ofSeconds(30)).refreshExecutor(scheduled::add).build();
+    CountingLoader loader = new CountingLoader();
+
+    cache.get(request("doc1"), loader);
+    loader.failing = true;
+    clock.advance(Duration.ofSeconds(15));
+
+    AuthorizationResponse stale = cache.get(request("doc1"), loader);
+    runScheduled();
+    AuthorizationResponse stillStale = cache.get(request("doc1"), loader);
+
+    assertEquals(1, stale.getContext().get("call"));
+    assertEquals(1, stillStale.getContext().get("call"));
+
+    // Past the stale window the failure surfaces to the caller.
+    clock.advance(Duration.ofSeconds(30));
+    assertThrows(AuthorizationException.class, () -> cache.get(request("doc1"), loader));
+  }
+
+  @Test
+  void testFailedRefreshBacksOff() throws Exception {
+    DecisionCache cache =
+        cacheBuilder().staleWindow(Duration.ofMinutes(5)).refreshExecutor(scheduled::add).build();
+    CountingLoader loader = new CountingLoader();
+    cache.get(request("doc1"), loader);
+    loader.failing = true;
+    clock.advance(Duration.ofSeconds(15));
+
+    cache.get(request("doc1"), loader);
+    runScheduled();
+    cache.get(request("doc1"), loader);
+    assertTrue(scheduled.isEmpty(), "No refresh right after a failure");
+
+    clock.advance(Duration.ofSeconds(1));
+    cache.get(request("doc1"), loader);
+    runScheduled();
+    clock.advance(Duration.ofSeconds(1));
+    cache.get(request("doc1"), loader);
+    assertTrue(scheduled.isEmpty(), "The delay doubles after a second failure");
+
+    clock.advance(Duration.ofSeconds(1));
+    cache.get(request("doc1"), loader);
+    assertEquals(1, scheduled.size());
+    assertEquals(3, loader.calls.get());
+  }
+
+  @Test
+  void testJitterShortensTtlWithinBound() throws Exception {
+    DecisionCache cache = cacheBuilder().jitter(0.5).build();
+    CountingLoader loader = new CountingLoader();
+
+    cache.get(request("doc1"), loader);
+    clock.advance(Duration.ofMillis(4999));
+    cache.get(request("doc1"), loader);
+    assertEquals(1, loader.calls.get(), "Entry must live at least ttl * (1 - jitter)");
+
+    clock.advance(Duration.ofSeconds(6));
+    cache.get(request("doc1"), loader);
+    assertEquals(2, loader.calls.get(), "Entry must not outlive the ttl");
+  }
+
+  @Test
+  void testKeysDifferByContext() throws Exception {
+    DecisionCache cache = cacheBuilder().build();
+    CountingLoader loader = new CountingLoader();
+    AuthorizationRequest withContext =
+        new AuthorizationRequest.Builder()
+            .subject(new Subject.Builder().id("alice").type("user").build())
+            .resource(new Resource.Builder().id("doc1").type("document").build())
+            .action(new Action.Builder().name("read").build())
+            .context(new Context(Map.of("ip", "10.0.0.1")))
+            .build();
+
+    cache.get(request("doc1"), loader);
+    cache.get(withContext, loader);
+
+    assertEquals(2, loader.calls.get());
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  void testMaxEntriesBoundsSize() throws Exception {
+    DecisionCache cache = cacheBuilder().maxEntries(2).build();
+    CountingLoader loader = new CountingLoader();
+
+    cache.get(request("doc1"), loader);
+    cache.get(request("doc2"), loader);
+    cache.get(request("doc3"), loader);
+
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  void testFullCacheEvictsLeastRecentlyUsed() throws Exception {
+    DecisionCache cache = cacheBuilder().maxEntries(3).build();
+    CountingLoader loader = new CountingLoader();
+    for (String id : List.of("doc1", "doc2", "doc3")) {
+      cache.get(request(id), loader);
+      clock.advance(Duration.ofMillis(1));
+    }
+    cache.get(request("doc1"), loader);
+    clock.advance(Duration.ofMillis(1));
+
+    cache.get(request("doc4"), loader);
+    assertEquals(4, loader.calls.get());
+    assertEquals(3, cache.size());
+
+    // doc1 was used after doc2, so doc2 was evicted.
+    cache.get(request("doc1"), loader);
+    assertEquals(4, loader.calls.get());
+    cache.get(request("doc2"), loader);
+    assertEquals(5, loader.calls.get());
+  }
+
+  @Test
+  void testFullCacheFreesRoomInBatches() throws Exception {
+    DecisionCache cache = cacheBuilder().maxEntries(100).build();
+    CountingLoader loader = new CountingLoader();
+    for (int i = 0; i < 100; i++) {
+      cache.get(request("doc" + i), loader);
+    }
+
+    cache.get(request("doc100"), loader);
+
+    // A tenth of the capacity is freed, so the next inserts do not need to evict.
+    assertEquals(91, cache.size());
+  }
+
+  @Test
+  void testBuilderRejectsRefreshAheadLongerThanTtl() {
+    IllegalStateException exception =
+        assertThrows(
+            IllegalStateException.class,
+            () -> cacheBuilder().refreshAhead(Duration.ofSeconds(11)).build());
+    assertEquals("Refresh-ahead must be between zero and the TTL.", exception.getMessage());
+  }
+
+  @Test
+  void testInvalidateSubjectRemovesOnlyThatSubject() throws Exception {
+    DecisionCache cache = cacheBuilder().build();
+    CountingLoader loader = new CountingLoader();
+    cache.get(request("alice", "doc1", "read"), loader);
+    cache.get(request("alice", "doc2", "write"), loader);
+    cache.get(request("bob", "doc1", "read"), loader);
+
+    assertEquals(2, cache.invalidateSubject("user", "alice"));
+
+    assertEquals(1, cache.size());
+    cache.get(request("bob", "doc1", "read"), loader);
+    assertEquals(3, loader.calls.get(), "Bob's decision should still be cached");
+  }
+
+  @Test
+  void testInvalidateByResourceTypeAndAction() throws Exception {
+    DecisionCache cache = cacheBuilder().build();
+    CountingLoader loader = new CountingLoader();
+    cache.get(request("alice", "doc1", "read"), loader);
+    cache.get(request("alice", "doc2", "write"), loader);
+    cache.get(request("bob", "doc3", "read"), loader);
+
+    assertEquals(2, cache.invalidate(InvalidationEvent.action("read")));
+    assertEquals(1, cache.invalidate(InvalidationEvent.resourceType("document")));
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.invalidateResource("document", "doc1"));
+  }
+
+  @Test
+  void testDecisionLoadedDuringInvalidationIsNotCached() throws Exception {
+    DecisionCache cache = cacheBuilder().build();
+    CountingLoader loader = new CountingLoader();
+    DecisionLoader invalidatingLoader =
+        request -> {
+          // Simulates a role change landing while the PDP call is in flight.
+          cache.invalidateSubject("user", "alice");
+          return loader.load(request);
+        };
+
+    cache.get(request("doc1"), invalidatingLoader);
+
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void testConcurrentStoresStayReachableByInvalidation() throws Exception {
+    DecisionCache cache = cacheBuilder().build();
+    CountingLoader loader = new CountingLoader();
+    AtomicBoolean running = new AtomicBoolean(true);
+    List<Thread> threads = new ArrayList<>();
+    // More threads than cores, so that removals are preempted between their steps.
+    int pairs = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    for (int i = 0; i < pairs; i++) {
+      threads.add(
+          new Thread(
+              () -> {
+                for (int n = 0; running.get(); n++) {
+                  try {
+                    cache.get(request("doc" + (n & 63)), loader);
+                  } catch (AuthorizationException e) {
+                    throw new AssertionError(e);
+                  }
+                }
+              }));
+      threads.add(
+          new Thread(
+              () -> {
+                while (running.get()) {
+                  cache.invalidateSubject("user", "alice");
+                }
+              }));
+    }
+    threads.forEach(Thread::start);
+    Thread.sleep(1000);
+    running.set(false);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    cache.invalidateSubject("user", "alice");
+
+    assertEquals(0, cache.size(), "Every stored decision must stay indexed for invalidation");
+  }
+
+  @Test
+  void testSubscribedSourceInvalidatesEntries() throws Exception {
+    DecisionCache cache = cacheBuilder().build();
+    CountingLoader loader = new CountingLoader();
+    cache.get(request("doc1"), loader);
+    List<Consumer<InvalidationEvent>> listeners = new ArrayList<>();
+    AtomicInteger closed = new AtomicInteger();
+    InvalidationSource source =
+        new InvalidationSource() {
+          @Override
+          public void start(Consumer<InvalidationEvent> listener) {
+            listeners.add(listener);
+          }
+
+          @Override
+          public void close() {
+            closed.incrementAndGet();
+          }
+        };
+
+    cache.subscribe(source);
+    listeners.get(0).accept(InvalidationEvent.subject("user", "alice"));
+    cache.close();
+
+    assertEquals(0, cache.size());
+    assertEquals(1, closed.get());
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.api.AuthorizationResponse;
+import io.github.kkakui.azc.cache.TestDecisionCache.CountingLoader;
+import io.github.kkakui.azc.cache.TestDecisionCache.MutableClock;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Context;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for {@link DecisionCacheSnapshot}. */
+public class TestDecisionCacheSnapshot {
+
+  @TempDir Path dir;
+
+  private final MutableClock clock = new MutableClock();
+
+  private DecisionCache.Builder cacheBuilder() {
+    return DecisionCache.builder().ttl(Duration.ofSeconds(10)).jitter(0).clock(clock);
+  }
+
+  private static AuthorizationRequest request(String subjectId, String resourceId) {
+    return new AuthorizationRequest.Builder()
+        .subject(
+            new Subject.Builder()
+                .id(subjectId)
+                .type("user")
+                .addProperty("roles", List.of("editor"))
+                .build())
+        .resource(new Resource.Builder().id(resourceId).type("document").build())
+        .action(new Action.Builder().name("read").build())
+        .context(new Context(Map.of("tenant", "acme")))
+        .build();
+  }
+
+  @Test
+  void testRestartedCacheServesSnapshotDecisions() throws Exception {
+    Path file = dir.resolve("decisions.snapshot");
+    DecisionCache first = cacheBuilder().build();
+    CountingLoader loader = new CountingLoader();
+    first.get(request("alice", "doc1"), loader);
+    first.get(request("bob", "doc2"), loader);
+
+    assertEquals(2, DecisionCacheSnapshot.write(first, file));
+
+    DecisionCache second = cacheBuilder().tier(DecisionCacheSnapshot.open(file)).build();
+    CountingLoader secondLoader = new CountingLoader();
+    clock.advance(Duration.ofSeconds(5));
+    AuthorizationResponse response = second.get(request("bob", "doc2"), secondLoader);
+
+    assertEquals(0, secondLoader.calls.get());
+    assertTrue(response.isAllowed());
+    assertEquals(2, response.getContext().get("call"));
+    assertEquals(1, second.size(), "Only the requested decision is decoded");
+  }
+
+  @Test
+  void testExpiredSnapshotDecisionsAreIgnored() throws Exception {
+    Path file = dir.resolve("decisions.snapshot");
+    DecisionCache first = cacheBuilder().build();
+    first.get(request("alice", "doc1"), new CountingLoader());
+    DecisionCacheSnapshot.write(first, file);
+
+    DecisionCache second = cacheBuilder().tier(DecisionCacheSnapshot.open(file)).build();
+    CountingLoader loader = new CountingLoader();
+    clock.advance(Duration.ofSeconds(10));
+    second.get(request("alice", "doc1"), loader);
+
+    assertEquals(1, loader.calls.get());
+  }
+
+  @Test
+  void testWriteSkipsExpiredDecisions() throws Exception {
+    Path file = dir.resolve("decisions.snapshot");
+    DecisionCache cache = cacheBuilder().build();
+    cache.get(request("alice", "doc1"), new CountingLoader());
+    clock.advance(Duration.ofSeconds(10));
+
+    assertEquals(0, DecisionCacheSnapshot.write(cache, file));
+    assertEquals(0, DecisionCacheSnapshot.open(file).size());
+  }
+
+  @Test
+  void testInvalidationAppliesToSnapshotDecisions() throws Exception {
+    Path file = dir.resolve("decisions.snapshot");
+    DecisionCache first = cacheBuilder().build();
+    first.get(request("alice", "doc1"), new CountingLoader());
+    first.get(request("bob", "doc1"), new CountingLoader());
+    DecisionCacheSnapshot.write(first, file);
+
+    DecisionCache second = cacheBuilder().tier(DecisionCacheSnapshot.open(file)).build();
+    second.invalidateSubject("user", "alice");
+    CountingLoader loader = new CountingLoader();
+    second.get(request("alice", "doc1"), loader);
+    second.get(request("bob", "doc1"), loader);
+
+    assertEquals(1, loader.calls.get(), "Only alice's decision must be reloaded");
+  }
+
+  @Test
+  void testSnapshotOptionReadsAndWritesFile() throws Exception {
+    Path file = dir.resolve("decisions.snapshot");
+    DecisionCache first = cacheBuilder().snapshot(file, Duration.ofHours(1)).build();
+    first.get(request("alice", "doc1"), new CountingLoader());
+    first.close();
+    assertTrue(Files.exists(file), "close() writes a final snapshot");
+
+    DecisionCache second = cacheBuilder().snapshot(file, Duration.ofHours(1)).build();
+    CountingLoader loader = new CountingLoader();
+    second.get(request("alice", "doc1"), loader);
+    second.close();
+
+    assertEquals(0, loader.calls.get());
+  }
+
+  @Test
+  void testDecisionsWithNumericPropertiesSurviveRestart() throws Exception {
+    Path file = dir.resolve("decisions.snapshot");
+    AuthorizationRequest request =
+        new AuthorizationRequest.Builder()
+            .subject(
+                new Subject.Builder().id("alice").type("user").addProperty("level", 3L).build())
+            .resource(new Resource.Builder().id("doc1").type("document").build())
+            .action(new Action.Builder().name("read").build())
+            .context(new Context(Map.of("score", 0.5f)))
+            .build();
+    DecisionCache first = cacheBuilder().build();
+    first.get(request, new CountingLoader());
+    DecisionCacheSnapshot.write(first, file);
+
+    DecisionCache second = cacheBuilder().tier(DecisionCacheSnapshot.open(file)).build();
+    CountingLoader loader = new CountingLoader();
+    second.get(request, loader);
+
+    assertEquals(0, loader.calls.get(), "Long and Float values must match after a restart");
+  }
+
+  @Test
+  void testUnpromotedSnapshotDecisionsAreCarriedOver() throws Exception {
+    Path file = dir.resolve("decisions.snapshot");
+    DecisionCache first = cacheBuilder().build();
+    first.get(request("alice", "doc1"), new CountingLoader());
+    first.get(request("bob", "doc1"), new CountingLoader());
+    first.get(request("carol", "doc1"), new CountingLoader());
+    DecisionCacheSnapshot.write(first, file);
+
+    DecisionCache second = cacheBuilder().snapshot(file, Duration.ofHours(1)).build();
+    second.get(request("alice", "doc1"), new CountingLoader());
+    second.invalidateSubject("user", "carol");
+    second.get(request("dave", "doc1"), new CountingLoader());
+    assertEquals(3, second.writeSnapshot(), "alice and dave from memory, bob from the snapshot");
+    second.close();
+
+    DecisionCache third = cacheBuilder().tier(DecisionCacheSnapshot.open(file)).build();
+    CountingLoader loader = new CountingLoader();
+    third.get(request("alice", "doc1"), loader);
+    third.get(request("bob", "doc1"), loader);
+    third.get(request("dave", "doc1"), loader);
+    assertEquals(0, loader.calls.get());
+    third.get(request("carol", "doc1"), loader);
+    assertEquals(1, loader.calls.get(), "Invalidated decisions are not carried over");
+  }
+
+  @Test
+  void testCorruptFileIsRejected() throws Exception {
+    Path file = dir.resolve("decisions.snapshot");
+    Files.write(
+        file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20});
+
+    assertThrows(IOException.class, () -> DecisionCacheSnapshot.open(file));
+
+    // The cache starts cold instead of failing.
+    DecisionCache cache = cacheBuilder().snapshot(file, Duration.ofHours(1)).build();
+    CountingLoader loader = new CountingLoader();
+    cache.get(request("alice", "doc1"), loader);
+    cache.close();
+    assertEquals(1, loader.calls.get());
+  }
+
+  @Test
+  void testSnapshotIntervalMustBePositive() {
+    Exception e =
+        assertThrows(
+            IllegalStateException.class,
+            () -> cacheBuilder().snapshot(dir.resolve("x"), Duration.ZERO).build());
+    assertEquals("Snapshot interval must be positive.", e.getMessage());
+  }
+}
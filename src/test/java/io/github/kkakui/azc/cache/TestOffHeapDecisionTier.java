@@ -0,0 +1,227 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.api.AuthorizationResponse;
+import io.github.kkakui.azc.cache.TestDecisionCache.MutableClock;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for {@link OffHeapDecisionTier}. */
+public class TestOffHeapDecisionTier {
+
+  @TempDir Path dir;
+
+  private static DecisionKey key(String resourceId) {
+    return DecisionKey.of(request("alice", resourceId));
+  }
+
+  private static AuthorizationRequest request(String subjectId, String resourceId) {
+    return new AuthorizationRequest.Builder()
+        .subject(new Subject.Builder().id(subjectId).type("user").build())
+        .resource(new Resource.Builder().id(resourceId).type("document").build())
+        .action(new Action.Builder().name("read").build())
+        .build();
+  }
+
+  private static CachedDecision decision(boolean allowed) {
+    return new CachedDecision(new AuthorizationResponse(allowed, null), 5_000, 10_000);
+  }
+
+  @Test
+  void testStoresDecisionAndExpiry() {
+    OffHeapDecisionTier tier = OffHeapDecisionTier.allocate(1024);
+    tier.put(key("doc1"), decision(true));
+    tier.put(key("doc2"), decision(false));
+
+    CachedDecision allowed = tier.get(key("doc1"));
+    assertTrue(allowed.getResponse().isAllowed());
+    assertEquals(5_000, allowed.getRefreshAt());
+    assertEquals(10_000, allowed.getStaleUntil());
+    assertFalse(tier.get(key("doc2")).getResponse().isAllowed());
+    assertNull(tier.get(key("doc3")));
+  }
+
+  @Test
+  void testFingerprintIgnoresPropertyOrderAndIntegerWidth() {
+    OffHeapDecisionTier tier = OffHeapDecisionTier.allocate(64);
+    AuthorizationRequest first =
+        new AuthorizationRequest.Builder()
+            .subject(
+                new Subject.Builder()
+                    .id("alice")
+                    .type("user")
+                    .addProperty("level", 3)
+                    .addProperty("team", "red")
+                    .build())
+            .resource(new Resource.Builder().id("doc1").type("document").build())
+            .action(new Action.Builder().name("read").build())
+            .build();
+    AuthorizationRequest second =
+        new AuthorizationRequest.Builder()
+            .subject(
+                new Subject.Builder()
+                    .id("alice")
+                    .type("user")
+                    .addProperty("team", "red")
+                    .addProperty("level", 3L)
+                    .build())
+            .resource(new Resource.Builder().id("doc1").type("document").build())
+            .action(new Action.Builder().name("read").build())
+            .build();
+
+    tier.put(DecisionKey.of(first), decision(true));
+
+    assertNotNull(tier.get(DecisionKey.of(second)));
+  }
+
+  @Test
+  void testResponsesWithContextAreNotStored() {
+    OffHeapDecisionTier tier = OffHeapDecisionTier.allocate(64);
+    tier.put(
+        key("doc1"),
+        new CachedDecision(new AuthorizationResponse(false, Map.of("reason", "x")), 5_000, 10_000));
+
+    assertNull(tier.get(key("doc1")));
+  }
+
+  @Test
+  void testInvalidationOnlyRemovesSelectedDecisions() {
+    OffHeapDecisionTier tier = OffHeapDecisionTier.allocate(64);
+    tier.put(key("doc1"), decision(true));
+    tier.put(key("doc2"), decision(true));
+    tier.put(DecisionKey.of(request("bob", "doc1")), decision(true));
+
+    tier.invalidate(InvalidationEvent.resource("document", "doc2"));
+    assertNotNull(tier.get(key("doc1")));
+    assertNull(tier.get(key("doc2")));
+
+    tier.invalidate(InvalidationEvent.subject("user", "alice"));
+    assertNull(tier.get(key("doc1")));
+    assertNotNull(tier.get(DecisionKey.of(request("bob", "doc1"))));
+
+    tier.put(key("doc1"), decision(true));
+    assertNotNull(tier.get(key("doc1")), "Decisions written after an invalidation are kept");
+
+    tier.invalidate(InvalidationEvent.action("read"));
+    assertNull(tier.get(DecisionKey.of(request("bob", "doc1"))));
+  }
+
+  @Test
+  void testDecisionsOlderThanRecordedInvalidationsAreMisses() {
+    OffHeapDecisionTier tier = OffHeapDecisionTier.allocate(64);
+    tier.put(key("doc1"), decision(true));
+    for (int i = 0; i < 128; i++) {
+      tier.invalidate(InvalidationEvent.resource("document", "other" + i));
+    }
+    assertNotNull(tier.get(key("doc1")));
+
+    tier.invalidate(InvalidationEvent.resource("document", "other"));
+    assertNull(tier.get(key("doc1")), "Invalidations no longer recorded cannot be checked");
+  }
+
+  @Test
+  void testAllInvalidationClearsTier() {
+    OffHeapDecisionTier tier = OffHeapDecisionTier.allocate(64);
+    tier.put(key("doc1"), decision(true));
+
+    tier.invalidate(InvalidationEvent.all());
+    assertNull(tier.get(key("doc1")));
+
+    tier.put(key("doc1"), decision(true));
+    assertNotNull(tier.get(key("doc1")));
+  }
+
+  @Test
+  void testEpochWrapDoesNotResurrectOldEntries() {
+    OffHeapDecisionTier tier = OffHeapDecisionTier.allocate(64);
+    tier.put(key("doc1"), decision(true));
+    for (int i = 0; i < 127; i++) {
+      tier.invalidate(InvalidationEvent.all());
+    }
+
+    assertNull(tier.get(key("doc1")));
+  }
+
+  @Test
+  void testFullProbeWindowEvictsEarliestExpiry() {
+    OffHeapDecisionTier tier = OffHeapDecisionTier.allocate(8);
+    for (int i = 0; i < 100; i++) {
+      tier.put(key("doc" + i), new CachedDecision(new AuthorizationResponse(true, null), i, i));
+    }
+
+    int hits = 0;
+    for (int i = 0; i < 100; i++) {
+      CachedDecision found = tier.get(key("doc" + i));
+      if (found != null) {
+        hits++;
+        assertEquals(i, found.getStaleUntil(), "A hit must never return another key's entry");
+      }
+    }
+    assertEquals(8, hits);
+    assertNotNull(tier.get(key("doc99")), "The latest-expiring entries survive");
+  }
+
+  @Test
+  void testMappedFileIsSharedBetweenInstances() throws Exception {
+    Path file = dir.resolve("decisions.offheap");
+    OffHeapDecisionTier writer = OffHeapDecisionTier.map(file, 1000);
+    OffHeapDecisionTier reader = OffHeapDecisionTier.map(file, 1);
+
+    assertEquals(1024, reader.capacity(), "An existing file keeps its capacity");
+    writer.put(key("doc1"), decision(true));
+    assertTrue(reader.get(key("doc1")).getResponse().isAllowed());
+
+    writer.put(key("doc2"), decision(true));
+    reader.invalidate(InvalidationEvent.resource("document", "doc2"));
+    assertNull(writer.get(key("doc2")));
+    assertNotNull(writer.get(key("doc1")));
+
+    reader.invalidate(InvalidationEvent.all());
+    assertNull(writer.get(key("doc1")));
+  }
+
+  @Test
+  void testCacheWritesThroughAndPromotes() throws Exception {
+    MutableClock clock = new MutableClock();
+    OffHeapDecisionTier tier = OffHeapDecisionTier.allocate(1024);
+    DecisionCache cache =
+        DecisionCache.builder()
+            .ttl(Duration.ofSeconds(10))
+            .jitter(0)
+            .maxEntries(1)
+            .clock(clock)
+            .tier(tier)
+            .build();
+    AtomicInteger calls = new AtomicInteger();
+    DecisionLoader loader =
+        request -> {
+          calls.incrementAndGet();
+          return new AuthorizationResponse(true, null);
+        };
+
+    cache.get(request("alice", "doc1"), loader);
+    cache.get(request("alice", "doc2"), loader); // Evicts doc1 from the heap.
+    AuthorizationResponse response = cache.get(request("alice", "doc1"), loader);
+
+    assertTrue(response.isAllowed());
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  void testCapacityMustBePositive() {
+    assertThrows(IllegalArgumentException.class, () -> OffHeapDecisionTier.allocate(0));
+  }
+}
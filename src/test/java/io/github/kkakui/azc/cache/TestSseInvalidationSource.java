@@ -0,0 +1,123 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link SseInvalidationSource}. */
+public class TestSseInvalidationSource {
+
+  private MockWebServer mockWebServer;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    mockWebServer.shutdown();
+  }
+
+  @Test
+  void testParsesEventsAndSkipsMalformedOnes() throws Exception {
+    // Given
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setHeader("Content-Type", "text/event-stream")
+            .setBody(
+                ": keep-alive\n\n"
+                    + "event: invalidate\n"
+                    + "data: {\"scope\":\"subject\",\"type\":\"user\",\"id\":\"alice\"}\n\n"
+                    + "data: {\"scope\":\"bogus\"}\n\n"
+                    + "data: {\"scope\":\"resource_type\",\n"
+                    + "data: \"type\":\"document\"}\n\n"));
+    List<InvalidationEvent> events = new CopyOnWriteArrayList<>();
+    CountDownLatch received = new CountDownLatch(2);
+
+    // When
+    try (SseInvalidationSource source =
+        new SseInvalidationSource(
+            mockWebServer.url("/events").uri(),
+            HttpClient.newHttpClient(),
+            Duration.ofMinutes(1))) {
+      source.start(
+          event -> {
+            events.add(event);
+            received.countDown();
+          });
+      assertTrue(received.await(5, TimeUnit.SECONDS), "Events should be delivered");
+    }
+
+    // Then
+    RecordedRequest recordedRequest = mockWebServer.takeRequest();
+    assertEquals("text/event-stream", recordedRequest.getHeader("Accept"));
+    assertEquals(InvalidationEvent.Scope.SUBJECT, events.get(0).getScope());
+    assertEquals("alice", events.get(0).getId());
+    assertEquals(InvalidationEvent.Scope.RESOURCE_TYPE, events.get(1).getScope());
+    assertEquals("document", events.get(1).getType());
+  }
+
+  @Test
+  void testReconnectResumesFromLastEventIdAndInvalidatesAll() throws Exception {
+    // Given: the first stream ends after one event, and the second sends another.
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setHeader("Content-Type", "text/event-stream")
+            .setBody(
+                "id: 41\n"
+                    + "data: {\"scope\":\"subject\",\"type\":\"user\",\"id\":\"alice\"}\n\n"));
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setHeader("Content-Type", "text/event-stream")
+            .setBody("id: 42\ndata: {\"scope\":\"action\",\"id\":\"delete\"}\n\n"));
+    List<InvalidationEvent> events = new CopyOnWriteArrayList<>();
+    CountDownLatch received = new CountDownLatch(3);
+
+    // When
+    try (SseInvalidationSource source =
+        new SseInvalidationSource(
+            mockWebServer.url("/events").uri(),
+            HttpClient.newHttpClient(),
+            Duration.ofMillis(10))) {
+      source.start(
+          event -> {
+            events.add(event);
+            received.countDown();
+          });
+      assertTrue(received.await(5, TimeUnit.SECONDS), "Events should be delivered");
+    }
+
+    // Then
+    assertNull(mockWebServer.takeRequest().getHeader("Last-Event-ID"));
+    assertEquals("41", mockWebServer.takeRequest().getHeader("Last-Event-ID"));
+    assertEquals(InvalidationEvent.Scope.SUBJECT, events.get(0).getScope());
+    assertEquals(InvalidationEvent.Scope.ALL, events.get(1).getScope());
+    assertEquals(InvalidationEvent.Scope.ACTION, events.get(2).getScope());
+  }
+
+  @Test
+  void testEventFactoryRejectsMissingFields() {
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class, () -> InvalidationEvent.of("subject", "user", null));
+    assertEquals("Invalidation 'id' must not be null or blank.", exception.getMessage());
+  }
+}
@@ -6,6 +6,9 @@ package io.github.kkakui.azc.config;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.github.kkakui.azc.admission.Priority;
+import io.github.kkakui.azc.transport.RequestIdGenerator;
+import io.github.kkakui.azc.transport.RequestIdGenerators;
 import org.junit.jupiter.api.Test;
 
 /** Unit tests for {@link DefaultAuthzClientConfig}. */
@@ -63,4 +66,100 @@ public class TestDefaultAuthzClientConfig {
     assertNotNull(exception.getCause());
     assertTrue(exception.getCause() instanceof IllegalArgumentException);
   }
+
+  @Test
+  void testCompressionDefaultsToDisabled() {
+    DefaultAuthzClientConfig config =
+        DefaultAuthzClientConfig.builder().endpoint("https://api.example.com/v1/authz").build();
+
+    assertTrue(config.getCompression().isEmpty());
+    assertEquals(1024, config.getCompressionThreshold());
+  }
+
+  @Test
+  void testBuilderThrowsExceptionForUnsupportedCompression() {
+    IllegalStateException exception =
+        assertThrows(
+            IllegalStateException.class,
+            () -> {
+              DefaultAuthzClientConfig.builder()
+                  .endpoint("https://api.example.com/v1/authz")
+                  .compression("br")
+                  .build();
+            });
+    assertEquals("Compression must be either 'gzip' or 'deflate'.", exception.getMessage());
+  }
+
+  @Test
+  void testBuilderThrowsExceptionForNegativeWarmUpConnections() {
+    IllegalStateException exception =
+        assertThrows(
+            IllegalStateException.class,
+            () -> {
+              DefaultAuthzClientConfig.builder()
+                  .endpoint("https://api.example.com/v1/authz")
+                  .warmUpConnections(-1)
+                  .build();
+            });
+    assertEquals("Warm-up connections must not be negative.", exception.getMessage());
+  }
+
+  @Test
+  void testBuilderThrowsExceptionForNonPositiveMaxConnections() {
+    IllegalStateException exception =
+        assertThrows(
+            IllegalStateException.class,
+            () -> {
+              DefaultAuthzClientConfig.builder()
+                  .endpoint("http://localhost/access/v1/evaluation")
+                  .unixSocketPath("/run/pdp.sock")
+                  .maxConnections(0)
+                  .build();
+            });
+    assertEquals("Max connections must be positive.", exception.getMessage());
+  }
+
+  @Test
+  void testEvaluationsEndpoint() {
+    assertEquals(
+        "https://pdp.example.com/access/v1/evaluations",
+        DefaultAuthzClientConfig.builder()
+            .endpoint("https://pdp.example.com/access/v1/evaluation")
+            .build()
+            .getEvaluationsEndpoint()
+            .orElseThrow());
+    assertTrue(
+        DefaultAuthzClientConfig.builder()
+            .endpoint("https://api.example.com/v1/authz")
+            .build()
+            .getEvaluationsEndpoint()
+            .isEmpty());
+    assertEquals(
+        "https://api.example.com/v1/authz/bulk",
+        DefaultAuthzClientConfig.builder()
+            .endpoint("https://api.example.com/v1/authz")
+            .evaluationsEndpoint("https://api.example.com/v1/authz/bulk")
+            .build()
+            .getEvaluationsEndpoint()
+            .orElseThrow());
+  }
+
+  @Test
+  void testPriority() {
+    DefaultAuthzClientConfig.Builder builder =
+        DefaultAuthzClientConfig.builder().endpoint("https://pdp.example.com");
+    assertEquals(Priority.INTERACTIVE, builder.build().getPriority());
+    assertEquals(Priority.BATCH, builder.priority(Priority.BATCH).build().getPriority());
+    assertThrows(IllegalStateException.class, () -> builder.priority(null).build());
+  }
+
+  @Test
+  void testRequestIdGenerator() {
+    DefaultAuthzClientConfig.Builder builder =
+        DefaultAuthzClientConfig.builder().endpoint("https://pdp.example.com");
+    assertSame(RequestIdGenerators.timeOrdered(), builder.build().getRequestIdGenerator());
+    RequestIdGenerator generator = () -> "id";
+    assertSame(generator, builder.requestIdGenerator(generator).build().getRequestIdGenerator());
+    assertThrows(IllegalStateException.class, () -> builder.requestIdGenerator(null).build());
+  }
 }
@@ -0,0 +1,63 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.admission.Priority;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link ReloadableAuthzClientConfig}. */
+public class TestReloadableAuthzClientConfig {
+
+  @Test
+  void testUpdateReplacesSnapshot() {
+    DefaultAuthzClientConfig initial =
+        DefaultAuthzClientConfig.builder()
+            .endpoint("https://pdp.example.com/access/v1/evaluation")
+            .apiKey("old-key")
+            .build();
+    DefaultAuthzClientConfig rotated =
+        DefaultAuthzClientConfig.builder()
+            .endpoint("https://pdp2.example.com/access/v1/evaluation")
+            .apiKey("new-key")
+            .priority(Priority.BATCH)
+            .build();
+    ReloadableAuthzClientConfig config = new ReloadableAuthzClientConfig(initial);
+
+    assertSame(initial, config.snapshot());
+    assertEquals("old-key", config.getApiKey().orElse(null));
+
+    config.update(rotated);
+
+    assertSame(rotated, config.snapshot());
+    assertEquals("https://pdp2.example.com/access/v1/evaluation", config.getEndpoint());
+    assertEquals(
+        "https://pdp2.example.com/access/v1/evaluations",
+        config.getEvaluationsEndpoint().orElse(null));
+    assertEquals("new-key", config.getApiKey().orElse(null));
+    assertEquals(Priority.BATCH, config.getPriority());
+  }
+
+  @Test
+  void testSnapshotOfNestedConfig() {
+    DefaultAuthzClientConfig initial =
+        DefaultAuthzClientConfig.builder().endpoint("https://pdp.example.com").build();
+    ReloadableAuthzClientConfig inner = new ReloadableAuthzClientConfig(initial);
+    ReloadableAuthzClientConfig outer = new ReloadableAuthzClientConfig(inner);
+
+    assertSame(initial, outer.snapshot());
+  }
+
+  @Test
+  void testRejectsMissingConfig() {
+    assertThrows(IllegalArgumentException.class, () -> new ReloadableAuthzClientConfig(null));
+    ReloadableAuthzClientConfig config =
+        new ReloadableAuthzClientConfig(
+            DefaultAuthzClientConfig.builder().endpoint("https://pdp.example.com").build());
+    assertThrows(IllegalArgumentException.class, () -> config.update(null));
+    assertThrows(IllegalArgumentException.class, () -> config.update(config));
+  }
+}
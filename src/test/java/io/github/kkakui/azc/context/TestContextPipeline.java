@@ -0,0 +1,128 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.context;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.model.Context;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link ContextPipeline} and {@link CoarseClock}. */
+public class TestContextPipeline {
+
+  /** A clock that only moves when told to. */
+  static final class ManualClock extends Clock {
+    long millis;
+
+    ManualClock(String instant) {
+      this.millis = Instant.parse(instant).toEpochMilli();
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+  }
+
+  @Test
+  void testCoarseClockTruncatesAndCachesText() {
+    ManualClock source = new ManualClock("2025-01-01T00:00:07.250Z");
+    CoarseClock clock = CoarseClock.of(Duration.ofSeconds(5), source);
+
+    String first = clock.timestamp();
+    assertEquals("2025-01-01T00:00:05Z", first);
+    source.millis += 2_000;
+    assertSame(first, clock.timestamp(), "The text is reused within a step");
+    source.millis += 1_000;
+    assertEquals("2025-01-01T00:00:10Z", clock.timestamp());
+    assertEquals(Instant.parse("2025-01-01T00:00:10Z").toEpochMilli(), clock.millis());
+  }
+
+  @Test
+  void testCoarseClockRejectsSubMillisecondGranularity() {
+    assertThrows(IllegalArgumentException.class, () -> CoarseClock.of(Duration.ofNanos(10)));
+  }
+
+  @Test
+  void testContextIsSharedWithinClockStep() {
+    ManualClock source = new ManualClock("2025-01-01T00:00:00Z");
+    ContextPipeline pipeline =
+        ContextPipeline.builder()
+            .attribute("service", "billing")
+            .timestamp("timestamp", CoarseClock.of(Duration.ofSeconds(1), source))
+            .build();
+
+    Context first = pipeline.createContext();
+    source.millis += 999;
+    Context second = pipeline.createContext();
+    source.millis += 1;
+    Context third = pipeline.createContext();
+
+    assertSame(first, second);
+    assertNotSame(second, third);
+    assertEquals(
+        Map.of("service", "billing", "timestamp", "2025-01-01T00:00:01Z"), third.getAttributes());
+  }
+
+  @Test
+  void testContributorsRunForEveryContext() {
+    AtomicInteger calls = new AtomicInteger();
+    ContextPipeline pipeline =
+        ContextPipeline.builder()
+            .attribute("service", "billing")
+            .contributor(attributes -> attributes.write("call", calls.incrementAndGet()))
+            .contributor(attributes -> attributes.write("trusted", true))
+            .build();
+
+    assertEquals(
+        Map.of("service", "billing", "call", 1L, "trusted", true),
+        pipeline.createContext().getAttributes());
+    assertEquals(2L, pipeline.createContext().getAttributes().get("call"));
+  }
+
+  @Test
+  void testBuilderValidation() {
+    CoarseClock clock = CoarseClock.of(Duration.ofSeconds(1));
+
+    IllegalStateException nullValue =
+        assertThrows(
+            IllegalStateException.class,
+            () -> ContextPipeline.builder().attribute("service", null).build());
+    assertEquals("Attribute 'service' must not be null.", nullValue.getMessage());
+
+    IllegalStateException duplicate =
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                ContextPipeline.builder()
+                    .attribute("timestamp", "x")
+                    .timestamp("timestamp", clock)
+                    .build());
+    assertEquals(
+        "Timestamp name 'timestamp' is already used by an attribute.", duplicate.getMessage());
+  }
+}
@@ -29,4 +29,14 @@ public class TestAuthorizationException {
     assertEquals(message, exception.getMessage());
     assertEquals(cause, exception.getCause());
   }
+
+  @Test
+  void testConstructorWithoutStackTrace() {
+    Throwable cause = new RuntimeException("The root cause");
+    AuthorizationException exception = new AuthorizationException("Failed.", cause, false);
+
+    assertEquals("Failed.", exception.getMessage());
+    assertEquals(cause, exception.getCause());
+    assertEquals(0, exception.getStackTrace().length);
+  }
 }
@@ -0,0 +1,41 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.exception;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link OverloadException}. */
+public class TestOverloadException {
+
+  @Test
+  void testConstructorWithMessage() {
+    String errorMessage = "Admission queue is full.";
+    OverloadException exception = new OverloadException(errorMessage);
+
+    assertEquals(errorMessage, exception.getMessage());
+    assertNull(exception.getCause());
+    assertInstanceOf(TransportException.class, exception);
+  }
+
+  @Test
+  void testConstructorWithMessageAndCause() {
+    String errorMessage = "Request waited too long.";
+    Throwable cause = new InterruptedException("Caller gave up");
+    OverloadException exception = new OverloadException(errorMessage, cause);
+
+    assertEquals(errorMessage, exception.getMessage());
+    assertEquals(cause, exception.getCause());
+  }
+
+  @Test
+  void testConstructorWithoutStackTrace() {
+    OverloadException exception = new OverloadException("Admission queue is full.", null, false);
+
+    assertEquals("Admission queue is full.", exception.getMessage());
+    assertEquals(0, exception.getStackTrace().length);
+  }
+}
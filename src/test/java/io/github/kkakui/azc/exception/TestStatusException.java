@@ -0,0 +1,24 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.exception;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link StatusException}. */
+public class TestStatusException {
+
+  @Test
+  void testConstructor() {
+    StatusException exception = new StatusException("Bad request.", 400);
+
+    assertEquals("Bad request.", exception.getMessage());
+    assertEquals(400, exception.getStatusCode());
+    assertNull(exception.getCause());
+    assertInstanceOf(TransportException.class, exception);
+    assertEquals(0, exception.getStackTrace().length);
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.exception;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link ThrottledException}. */
+public class TestThrottledException {
+
+  @Test
+  void testConstructor() {
+    ThrottledException exception =
+        new ThrottledException("Too many requests.", 429, Duration.ofSeconds(2));
+
+    assertEquals("Too many requests.", exception.getMessage());
+    assertEquals(429, exception.getStatusCode());
+    assertEquals(Duration.ofSeconds(2), exception.getRetryAfter());
+    assertNull(exception.getCause());
+    assertInstanceOf(StatusException.class, exception);
+    assertInstanceOf(TransportException.class, exception);
+    assertEquals(0, exception.getStackTrace().length);
+  }
+
+  @Test
+  void testConstructorWithoutRetryAfter() {
+    ThrottledException exception = new ThrottledException("Unavailable.", 503, null);
+
+    assertEquals(503, exception.getStatusCode());
+    assertNull(exception.getRetryAfter());
+  }
+}
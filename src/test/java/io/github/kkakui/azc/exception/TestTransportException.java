@@ -29,4 +29,14 @@ public class TestTransportException {
     assertEquals(errorMessage, exception.getMessage());
     assertEquals(cause, exception.getCause());
   }
+
+  @Test
+  void testConstructorWithoutStackTrace() {
+    Throwable cause = new RuntimeException("The root cause");
+    TransportException exception = new TransportException("Failed.", cause, false);
+
+    assertEquals("Failed.", exception.getMessage());
+    assertEquals(cause, exception.getCause());
+    assertEquals(0, exception.getStackTrace().length);
+  }
 }
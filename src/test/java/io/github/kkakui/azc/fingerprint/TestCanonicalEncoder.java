@@ -0,0 +1,69 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.fingerprint;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link CanonicalEncoder}. */
+public class TestCanonicalEncoder {
+
+  private static byte[] encode(Object value) {
+    return new CanonicalEncoder().value(value).toByteArray();
+  }
+
+  @Test
+  void testNumbersAreNormalized() {
+    assertArrayEquals(encode(3L), encode(3));
+    assertArrayEquals(encode(3L), encode(BigInteger.valueOf(3)));
+    assertArrayEquals(encode(new BigDecimal("1.50")), encode(new BigDecimal("1.5")));
+    assertFalse(Arrays.equals(encode(3L), encode(3.0)));
+    assertFalse(Arrays.equals(encode(3L), encode("3")));
+  }
+
+  @Test
+  void testOtherValuesDoNotCollideWithNumbers() {
+    assertFalse(Arrays.equals(encode(new BigDecimal("1.5")), encode(new StringBuilder("1.5"))));
+    assertFalse(Arrays.equals(encode("1.5"), encode(new StringBuilder("1.5"))));
+    assertArrayEquals(encode(new StringBuilder("1.5")), encode(new StringBuilder("1.5")));
+  }
+
+  @Test
+  void testMapsAreSortedByKey() {
+    Map<String, Object> first = new LinkedHashMap<>();
+    first.put("b", 2);
+    first.put("a", List.of(1, "x"));
+    Map<String, Object> second = new LinkedHashMap<>();
+    second.put("a", List.of(1L, "x"));
+    second.put("b", 2L);
+
+    assertArrayEquals(encode(first), encode(second));
+  }
+
+  @Test
+  void testResetDiscardsWrittenBytes() {
+    CanonicalEncoder encoder = new CanonicalEncoder().string("first");
+
+    Fingerprint fingerprint = encoder.reset().string("second").fingerprint();
+
+    assertEquals(new CanonicalEncoder().string("second").fingerprint(), fingerprint);
+    assertEquals(encoder.toByteArray().length, encoder.size());
+  }
+
+  @Test
+  void testNullStringDiffersFromEmptyString() {
+    assertFalse(
+        Arrays.equals(
+            new CanonicalEncoder().string(null).toByteArray(),
+            new CanonicalEncoder().string("").toByteArray()));
+  }
+}
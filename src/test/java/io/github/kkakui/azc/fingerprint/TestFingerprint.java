@@ -0,0 +1,33 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.fingerprint;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link Fingerprint}. */
+public class TestFingerprint {
+
+  @Test
+  void testMatchesReferenceMurmur3() {
+    assertEquals("00000000000000000000000000000000", Fingerprint.of(new byte[0]).toHexString());
+    assertEquals(
+        "cbd8a7b341bd9b025b1e906a48ae1d19",
+        Fingerprint.of("hello".getBytes(StandardCharsets.UTF_8)).toHexString());
+  }
+
+  @Test
+  void testEqualsComparesBothHalves() {
+    Fingerprint first = Fingerprint.of("hello".getBytes(StandardCharsets.UTF_8));
+    Fingerprint second = Fingerprint.of("hello".getBytes(StandardCharsets.UTF_8));
+
+    assertEquals(first, second);
+    assertEquals(first.hashCode(), second.hashCode());
+    assertNotEquals(first, Fingerprint.of("hellp".getBytes(StandardCharsets.UTF_8)));
+    assertEquals(first.toHexString(), first.toString());
+  }
+}
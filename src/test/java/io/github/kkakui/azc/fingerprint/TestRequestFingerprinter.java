@@ -0,0 +1,127 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.fingerprint;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Context;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link RequestFingerprinter}. */
+public class TestRequestFingerprinter {
+
+  private static AuthorizationRequest request(Subject subject, Context context) {
+    return new AuthorizationRequest.Builder()
+        .subject(subject)
+        .resource(new Resource.Builder().id("doc1").type("document").build())
+        .action(new Action.Builder().name("read").build())
+        .context(context)
+        .build();
+  }
+
+  private static Subject alice() {
+    return new Subject.Builder()
+        .id("alice")
+        .type("user")
+        .addProperty("level", 3)
+        .addProperty("roles", List.of("editor"))
+        .build();
+  }
+
+  @Test
+  void testFingerprintIsStable() {
+    // Persisted by OffHeapDecisionTier, so it must never change.
+    Fingerprint fingerprint =
+        RequestFingerprinter.getDefault()
+            .fingerprint(request(alice(), new Context(Map.of("tenant", "acme", "ip", "10.0.0.1"))));
+
+    assertEquals("03433e45dc680e0c5c4b41137797dfc9", fingerprint.toHexString());
+  }
+
+  @Test
+  void testIgnoresPropertyOrderAndIntegerWidth() {
+    Subject reordered =
+        new Subject.Builder()
+            .id("alice")
+            .type("user")
+            .addProperty("roles", List.of("editor"))
+            .addProperty("level", 3L)
+            .build();
+    RequestFingerprinter fingerprinter = RequestFingerprinter.getDefault();
+
+    assertArrayEquals(
+        fingerprinter.canonicalForm(request(alice(), null)),
+        fingerprinter.canonicalForm(request(reordered, null)));
+    assertEquals(
+        fingerprinter.fingerprint(request(alice(), null)),
+        fingerprinter.fingerprint(request(reordered, null)));
+  }
+
+  @Test
+  void testDistinguishesRequests() {
+    Subject bob = new Subject.Builder().id("bob").type("user").build();
+    RequestFingerprinter fingerprinter = RequestFingerprinter.getDefault();
+
+    assertNotEquals(
+        fingerprinter.fingerprint(request(alice(), null)),
+        fingerprinter.fingerprint(request(bob, null)));
+    assertNotEquals(
+        fingerprinter.fingerprint(request(alice(), null)),
+        fingerprinter.fingerprint(request(alice(), new Context(Map.of("tenant", "acme")))));
+  }
+
+  @Test
+  void testMissingContextEqualsEmptyContext() {
+    RequestFingerprinter fingerprinter = RequestFingerprinter.getDefault();
+
+    assertEquals(
+        fingerprinter.fingerprint(request(alice(), null)),
+        fingerprinter.fingerprint(request(alice(), new Context(Map.of()))));
+  }
+
+  @Test
+  void testSelectedContextKeys() {
+    RequestFingerprinter fingerprinter =
+        RequestFingerprinter.builder().contextKeys("tenant", "region").build();
+    Context first =
+        new Context(Map.of("tenant", "acme", "timestamp", "2025-01-01T00:00:00Z"))
+            .merge(new Context(Map.of("requestId", "r1")));
+    Context second = new Context(Map.of("tenant", "acme", "timestamp", "2025-01-01T00:00:01Z"));
+
+    assertEquals(
+        fingerprinter.fingerprint(request(alice(), first)),
+        fingerprinter.fingerprint(request(alice(), second)));
+    assertEquals(
+        RequestFingerprinter.getDefault()
+            .fingerprint(request(alice(), new Context(Map.of("tenant", "acme")))),
+        fingerprinter.fingerprint(request(alice(), second)),
+        "Selected keys are encoded like a context with only those keys");
+    assertNotEquals(
+        fingerprinter.fingerprint(request(alice(), second)),
+        fingerprinter.fingerprint(request(alice(), new Context(Map.of("tenant", "other")))));
+  }
+
+  @Test
+  void testNoContextKeysExcludesContext() {
+    RequestFingerprinter fingerprinter = RequestFingerprinter.builder().contextKeys().build();
+
+    assertEquals(
+        fingerprinter.fingerprint(request(alice(), null)),
+        fingerprinter.fingerprint(request(alice(), new Context(Map.of("tenant", "acme")))));
+  }
+
+  @Test
+  void testNullContextKeyIsRejected() {
+    assertThrows(
+        IllegalStateException.class,
+        () -> RequestFingerprinter.builder().contextKeys("tenant", null).build());
+  }
+}
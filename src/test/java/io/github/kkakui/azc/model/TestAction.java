@@ -6,6 +6,7 @@ package io.github.kkakui.azc.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -37,6 +38,21 @@ public class TestAction {
     assertEquals("description", properties.get("field"));
   }
 
+  @Test
+  void testBuilder_floatAndCharPropertiesAreNotWidened() throws Exception {
+    Action action =
+        new Action.Builder()
+            .name("read")
+            .addProperty("ratio", 0.1f)
+            .addProperty("grade", 'a')
+            .build();
+
+    assertEquals(Map.of("ratio", 0.1f, "grade", 'a'), action.getProperties());
+    assertEquals(
+        "{\"name\":\"read\",\"properties\":{\"ratio\":0.1,\"grade\":\"a\"}}",
+        new ObjectMapper().writeValueAsString(action));
+  }
+
   @Test
   void testBuilder_propertiesAreImmutable() {
     Action action = new Action.Builder().name("delete").addProperty("force", false).build();
@@ -59,4 +75,14 @@ public class TestAction {
             });
     assertEquals("Action 'name' must not be null or blank.", e.getMessage());
   }
+
+  @Test
+  void testEquals() {
+    Action first = new Action.Builder().name("delete").addProperty("force", true).build();
+    Action second = new Action.Builder().name("delete").addProperty("force", true).build();
+
+    assertEquals(first, second);
+    assertEquals(first.hashCode(), second.hashCode());
+    assertNotEquals(first, new Action.Builder().name("delete").build());
+  }
 }
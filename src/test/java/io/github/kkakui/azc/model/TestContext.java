@@ -6,6 +6,8 @@ package io.github.kkakui.azc.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
@@ -67,4 +69,59 @@ public class TestContext {
     Context mergedWithEmpty = context1.merge(new Context(Map.of()));
     assertSame(context1, mergedWithEmpty, "Merging with empty should return the same instance");
   }
+
+  @Test
+  void testMergedLayersResolveOverrides() {
+    Context base = new Context(Map.of("a", 1, "b", 2));
+    Context middle = new Context(Map.of("b", 20, "c", 30));
+    Context top = new Context(Map.of("c", 300));
+
+    Context merged = base.merge(middle).merge(top);
+
+    assertEquals(1, merged.getAttribute("a"));
+    assertEquals(20, merged.getAttribute("b"));
+    assertEquals(300, merged.getAttribute("c"));
+    assertNull(merged.getAttribute("d"));
+    Map<String, Object> visited = new HashMap<>();
+    merged.forEachAttribute(
+        (name, value) -> assertNull(visited.put(name, value), "Each name is visited once"));
+    assertEquals(Map.of("a", 1, "b", 20, "c", 300), visited);
+    assertEquals(visited, merged.getAttributes());
+    assertSame(merged.getAttributes(), merged.getAttributes());
+  }
+
+  @Test
+  void testLayeredContextSerializesFlat() throws Exception {
+    Context merged =
+        new Context(Map.of("ip", "10.0.0.1", "source", "app"))
+            .merge(new Context(Map.of("source", "factory")));
+
+    JsonNode json = new ObjectMapper().valueToTree(merged);
+
+    assertEquals(2, json.size());
+    assertEquals("10.0.0.1", json.path("ip").asText());
+    assertEquals("factory", json.path("source").asText());
+  }
+
+  @Test
+  void testDeepMergeChainsStayCorrect() {
+    Context context = new Context(Map.of("n", 0));
+    for (int i = 1; i <= 50; i++) {
+      context = context.merge(new Context(Map.of("n", i, "k" + i, i)));
+    }
+
+    assertEquals(50, context.getAttribute("n"));
+    assertEquals(7, context.getAttribute("k7"));
+    assertEquals(51, context.getAttributes().size());
+  }
+
+  @Test
+  void testEqualsComparesResolvedAttributes() {
+    Context merged = new Context(Map.of("a", 1, "b", 2)).merge(new Context(Map.of("b", 3)));
+    Context flat = new Context(Map.of("a", 1, "b", 3));
+
+    assertEquals(flat, merged);
+    assertEquals(flat.hashCode(), merged.hashCode());
+    assertNotEquals(new Context(Map.of("a", 1, "b", 2)), merged);
+  }
 }
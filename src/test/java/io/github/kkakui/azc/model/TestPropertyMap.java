@@ -0,0 +1,115 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link PropertyMap}. */
+public class TestPropertyMap {
+
+  @Test
+  void testTypedValuesAreBoxedOnAccess() {
+    PropertyMap properties =
+        new PropertyMap.Builder()
+            .put("name", "alice")
+            .put("level", 3)
+            .put("quota", 5_000_000_000L)
+            .put("score", 0.75)
+            .put("active", true)
+            .build();
+
+    assertEquals(5, properties.size());
+    assertEquals("alice", properties.get("name"));
+    assertEquals(Integer.valueOf(3), properties.get("level"));
+    assertEquals(Long.valueOf(5_000_000_000L), properties.get("quota"));
+    assertEquals(Double.valueOf(0.75), properties.get("score"));
+    assertEquals(Boolean.TRUE, properties.get("active"));
+    assertNull(properties.get("missing"));
+    assertEquals(
+        Map.of("name", "alice", "level", 3, "quota", 5_000_000_000L, "score", 0.75, "active", true),
+        properties);
+  }
+
+  @Test
+  void testLaterValueReplacesEarlierOne() {
+    PropertyMap properties =
+        new PropertyMap.Builder().put("level", 3).put("team", "red").put("level", "high").build();
+
+    assertEquals(2, properties.size());
+    assertEquals("high", properties.get("level"));
+    assertEquals(List.of("level", "team"), List.copyOf(properties.keySet()));
+  }
+
+  @Test
+  void testBuilderReuseDoesNotChangeBuiltMap() {
+    PropertyMap.Builder builder = new PropertyMap.Builder().put("level", 3);
+    PropertyMap first = builder.build();
+
+    PropertyMap second = builder.put("team", "red").put("level", 4).build();
+
+    assertEquals(Map.of("level", 3), first);
+    assertEquals(Map.of("level", 4, "team", "red"), second);
+  }
+
+  @Test
+  void testLargeMapsAreIndexed() {
+    PropertyMap.Builder builder = new PropertyMap.Builder();
+    Map<String, Object> expected = new HashMap<>();
+    for (int i = 0; i < 40; i++) {
+      builder.put("p" + i, i);
+      expected.put("p" + i, i);
+    }
+    builder.put("p7", "replaced");
+    expected.put("p7", "replaced");
+
+    PropertyMap properties = builder.build();
+
+    assertEquals(expected, properties);
+    assertEquals(39, properties.get("p39"));
+    assertTrue(properties.containsKey("p0"));
+    assertFalse(properties.containsKey("p40"));
+  }
+
+  @Test
+  void testIsImmutable() {
+    PropertyMap properties = new PropertyMap.Builder().put("level", 3).build();
+
+    assertThrows(UnsupportedOperationException.class, () -> properties.put("level", 4));
+    assertThrows(UnsupportedOperationException.class, () -> properties.remove("level"));
+    assertThrows(UnsupportedOperationException.class, properties::clear);
+  }
+
+  @Test
+  void testNullsAreRejected() {
+    PropertyMap.Builder builder = new PropertyMap.Builder();
+
+    assertThrows(NullPointerException.class, () -> builder.put(null, 1));
+    assertThrows(NullPointerException.class, () -> builder.put("name", (Object) null));
+  }
+
+  @Test
+  void testSerializesInInsertionOrder() throws Exception {
+    PropertyMap properties =
+        new PropertyMap.Builder()
+            .put("name", "alice")
+            .put("level", 3)
+            .put("quota", 5_000_000_000L)
+            .put("score", 0.75)
+            .put("active", false)
+            .put("roles", List.of("editor"))
+            .build();
+
+    assertEquals(
+        "{\"name\":\"alice\",\"level\":3,\"quota\":5000000000,\"score\":0.75,"
+            + "\"active\":false,\"roles\":[\"editor\"]}",
+        new ObjectMapper().writeValueAsString(properties));
+  }
+}
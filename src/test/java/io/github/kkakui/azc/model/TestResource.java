@@ -6,6 +6,7 @@ package io.github.kkakui.azc.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -40,6 +41,22 @@ public class TestResource {
     assertEquals(false, properties.get("public"));
   }
 
+  @Test
+  void testBuilder_floatAndCharPropertiesAreNotWidened() throws Exception {
+    Resource resource =
+        new Resource.Builder()
+            .type("document")
+            .id("doc1")
+            .addProperty("ratio", 0.1f)
+            .addProperty("grade", 'a')
+            .build();
+
+    assertEquals(Map.of("ratio", 0.1f, "grade", 'a'), resource.getProperties());
+    assertEquals(
+        "{\"id\":\"doc1\",\"type\":\"document\",\"properties\":{\"ratio\":0.1,\"grade\":\"a\"}}",
+        new ObjectMapper().writeValueAsString(resource));
+  }
+
   @Test
   void testBuilder_propertiesAreImmutable() {
     Resource resource =
@@ -71,4 +88,16 @@ public class TestResource {
             IllegalArgumentException.class, () -> new Resource.Builder().type("some-type").build());
     assertEquals("Resource 'id' must not be null or blank.", e.getMessage());
   }
+
+  @Test
+  void testEquals() {
+    Resource first =
+        new Resource.Builder().type("document").id("doc1").addProperty("public", false).build();
+    Resource second =
+        new Resource.Builder().type("document").id("doc1").addProperty("public", false).build();
+
+    assertEquals(first, second);
+    assertEquals(first.hashCode(), second.hashCode());
+    assertNotEquals(first, new Resource.Builder().type("document").id("doc2").build());
+  }
 }
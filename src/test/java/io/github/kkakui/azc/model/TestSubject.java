@@ -6,6 +6,7 @@ package io.github.kkakui.azc.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -40,6 +41,40 @@ public class TestSubject {
     assertEquals(true, properties.get("active"));
   }
 
+  @Test
+  void testBuilder_withTypedProperties() throws Exception {
+    Subject subject =
+        new Subject.Builder()
+            .type("user")
+            .id("erin")
+            .addProperty("level", 3L)
+            .addProperty("score", 0.5)
+            .addProperty("active", false)
+            .build();
+
+    assertEquals(Map.of("level", 3L, "score", 0.5, "active", false), subject.getProperties());
+    assertEquals(
+        "{\"id\":\"erin\",\"type\":\"user\","
+            + "\"properties\":{\"level\":3,\"score\":0.5,\"active\":false}}",
+        new ObjectMapper().writeValueAsString(subject));
+  }
+
+  @Test
+  void testBuilder_floatAndCharPropertiesAreNotWidened() throws Exception {
+    Subject subject =
+        new Subject.Builder()
+            .type("user")
+            .id("erin")
+            .addProperty("ratio", 0.1f)
+            .addProperty("grade", 'a')
+            .build();
+
+    assertEquals(Map.of("ratio", 0.1f, "grade", 'a'), subject.getProperties());
+    assertEquals(
+        "{\"id\":\"erin\",\"type\":\"user\",\"properties\":{\"ratio\":0.1,\"grade\":\"a\"}}",
+        new ObjectMapper().writeValueAsString(subject));
+  }
+
   @Test
   void testBuilder_propertiesAreImmutable() {
     Subject subject =
@@ -69,4 +104,26 @@ public class TestSubject {
             IllegalArgumentException.class, () -> new Subject.Builder().type("service").build());
     assertEquals("Subject 'id' must not be null or blank.", e.getMessage());
   }
+
+  @Test
+  void testEqualsIgnoresPropertyOrder() {
+    Subject first =
+        new Subject.Builder()
+            .type("user")
+            .id("frank")
+            .addProperty("a", 1)
+            .addProperty("b", "x")
+            .build();
+    Subject second =
+        new Subject.Builder()
+            .type("user")
+            .id("frank")
+            .addProperty("b", "x")
+            .addProperty("a", 1)
+            .build();
+
+    assertEquals(first, second);
+    assertEquals(first.hashCode(), second.hashCode());
+    assertNotEquals(first, new Subject.Builder().type("user").id("frank").build());
+  }
 }
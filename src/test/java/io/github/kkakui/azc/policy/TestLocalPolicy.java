@@ -0,0 +1,145 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.policy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.api.AuthorizationResponse;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Context;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link LocalPolicy}. */
+public class TestLocalPolicy {
+
+  private static final String RULES =
+      """
+      {
+        "rules": [
+          {
+            "resource_type": "document",
+            "when": [{"path": "subject.id", "equals_path": "resource.properties.owner"}],
+            "decision": true,
+            "context": {"reason": "owner"}
+          },
+          {
+            "resource_type": "document",
+            "action": "read",
+            "when": [{"path": "resource.properties.visibility", "equals": "public"}],
+            "decision": true
+          },
+          {
+            "action": "delete",
+            "when": [{"path": "context.device.trusted", "equals": false}],
+            "decision": false
+          },
+          {
+            "resource_type": "report",
+            "when": [{"path": "subject.properties.level", "in": [3, 4]}],
+            "decision": true
+          }
+        ]
+      }
+      """;
+
+  private final LocalPolicy policy = LocalPolicy.parse(RULES);
+
+  private static AuthorizationRequest request(
+      String subjectId, Resource resource, String action, Context context) {
+    return new AuthorizationRequest.Builder()
+        .subject(new Subject.Builder().id(subjectId).type("user").addProperty("level", 3L).build())
+        .resource(resource)
+        .action(new Action.Builder().name(action).build())
+        .context(context)
+        .build();
+  }
+
+  private static Resource document(String owner, String visibility) {
+    return new Resource.Builder()
+        .id("doc1")
+        .type("document")
+        .addProperty("owner", owner)
+        .addProperty("visibility", visibility)
+        .build();
+  }
+
+  @Test
+  void testOwnerRuleMatchesAnyAction() {
+    AuthorizationResponse response =
+        policy.evaluate(request("alice", document("alice", "private"), "delete", null));
+
+    assertTrue(response.isAllowed());
+    assertEquals("owner", response.getContext().get("reason"));
+  }
+
+  @Test
+  void testPublicDocumentsAreReadable() {
+    assertTrue(
+        policy.evaluate(request("bob", document("alice", "public"), "read", null)).isAllowed());
+    assertNull(policy.evaluate(request("bob", document("alice", "public"), "write", null)));
+  }
+
+  @Test
+  void testWildcardResourceTypeWithNestedContextPath() {
+    Context untrusted = new Context(Map.of("device", Map.of("trusted", false)));
+
+    AuthorizationResponse response =
+        policy.evaluate(request("bob", document("alice", "private"), "delete", untrusted));
+
+    assertFalse(response.isAllowed());
+  }
+
+  @Test
+  void testEarlierRuleWinsAcrossWildcardBuckets() {
+    Context untrusted = new Context(Map.of("device", Map.of("trusted", false)));
+
+    // Both the owner rule and the untrusted-device rule match; the owner rule comes first.
+    AuthorizationResponse response =
+        policy.evaluate(request("alice", document("alice", "private"), "delete", untrusted));
+
+    assertTrue(response.isAllowed());
+  }
+
+  @Test
+  void testInComparesNumbersByValue() {
+    Resource report = new Resource.Builder().id("r1").type("report").build();
+
+    assertTrue(policy.evaluate(request("bob", report, "view", null)).isAllowed());
+  }
+
+  @Test
+  void testNoMatchingRuleFallsThrough() {
+    Resource folder = new Resource.Builder().id("f1").type("folder").build();
+
+    assertNull(policy.evaluate(request("bob", folder, "read", null)));
+  }
+
+  @Test
+  void testInvalidRulesAreRejected() {
+    IllegalArgumentException missingDecision =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> LocalPolicy.parse("{\"rules\": [{\"action\": \"read\"}]}"));
+    assertEquals(
+        "Invalid local policy rule #1: 'decision' must be true or false.",
+        missingDecision.getMessage());
+
+    IllegalArgumentException unknownPath =
+        assertThrows(
+            IllegalArgumentException.class,
+            () ->
+                LocalPolicy.parse(
+                    "{\"rules\": [{\"decision\": true,"
+                        + " \"when\": [{\"path\": \"subject.name\", \"equals\": \"x\"}]}]}"));
+    assertEquals(
+        "Invalid local policy rule #1: unknown path 'subject.name'.", unknownPath.getMessage());
+
+    assertThrows(IllegalArgumentException.class, () -> LocalPolicy.parse("{}"));
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.policy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for {@link WatchedLocalPolicy}. */
+public class TestWatchedLocalPolicy {
+
+  @TempDir Path dir;
+
+  private static final AuthorizationRequest REQUEST =
+      new AuthorizationRequest.Builder()
+          .subject(new Subject.Builder().id("alice").type("user").build())
+          .resource(new Resource.Builder().id("doc1").type("document").build())
+          .action(new Action.Builder().name("read").build())
+          .build();
+
+  private static String rules(boolean decision) {
+    return "{\"rules\": [{\"resource_type\": \"document\", \"decision\": " + decision + "}]}";
+  }
+
+  @Test
+  void testReloadsWhenFileChanges() throws Exception {
+    Path file = dir.resolve("rules.json");
+    Files.writeString(file, rules(true));
+
+    try (WatchedLocalPolicy policy = WatchedLocalPolicy.watch(file)) {
+      assertTrue(policy.evaluate(REQUEST).isAllowed());
+
+      Files.writeString(file, rules(false));
+
+      long deadline = System.currentTimeMillis() + 10_000;
+      while (policy.evaluate(REQUEST).isAllowed() && System.currentTimeMillis() < deadline) {
+        Thread.sleep(20);
+      }
+      assertFalse(policy.evaluate(REQUEST).isAllowed());
+    }
+  }
+
+  @Test
+  void testKeepsPreviousRulesWhenReloadFails() throws Exception {
+    Path file = dir.resolve("rules.json");
+    Files.writeString(file, rules(true));
+
+    try (WatchedLocalPolicy policy = WatchedLocalPolicy.watch(file)) {
+      LocalPolicy before = policy.current();
+      Files.writeString(file, "{\"rules\": [");
+
+      assertFalse(policy.reload());
+      assertSame(before, policy.current());
+      assertTrue(policy.evaluate(REQUEST).isAllowed());
+    }
+  }
+}
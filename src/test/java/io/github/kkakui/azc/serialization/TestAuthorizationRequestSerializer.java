@@ -13,6 +13,7 @@ import io.github.kkakui.azc.model.Action;
 import io.github.kkakui.azc.model.Context;
 import io.github.kkakui.azc.model.Resource;
 import io.github.kkakui.azc.model.Subject;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -92,4 +93,107 @@ public class TestAuthorizationRequestSerializer {
     assertEquals("192.168.1.1", contextNode.path("ip_address").asText());
     assertEquals("abc-123", contextNode.path("trace_id").asText());
   }
+
+  @Test
+  public void testSerializeRequestWithStreamedContext() throws Exception {
+    AuthorizationRequest request =
+        new AuthorizationRequest.Builder()
+            .subject(new Subject.Builder().id("user1").type("user").build())
+            .resource(new Resource.Builder().id("doc1").type("document").build())
+            .action(new Action.Builder().name("read").build())
+            .build();
+
+    String streamed =
+        AuthorizationRequestSerializer.buildRequestJson(
+            request,
+            attributes -> {
+              attributes.write("ip", "10.0.0.1");
+              attributes.write("attempt", 2);
+              attributes.write("trusted", true);
+              attributes.write("roles", List.of("a", "b"));
+            });
+    String materialized =
+        AuthorizationRequestSerializer.buildRequestJson(
+            request.withMergedContext(
+                new Context(
+                    Map.of(
+                        "ip",
+                        "10.0.0.1",
+                        "attempt",
+                        2L,
+                        "trusted",
+                        true,
+                        "roles",
+                        List.of("a", "b")))));
+
+    assertEquals(mapper.readTree(materialized), mapper.readTree(streamed));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            AuthorizationRequestSerializer.buildRequestJson(
+                request.withMergedContext(new Context(Map.of("ip", "10.0.0.1"))),
+                attributes -> {}));
+  }
+
+  @Test
+  public void testSerializeEvaluations() throws Exception {
+    String json =
+        AuthorizationRequestSerializer.buildEvaluationsJson(
+            new Subject.Builder().id("user1").type("user").build(),
+            new Action.Builder().name("read").build(),
+            new Context(Map.of("ip", "10.0.0.1")),
+            List.of(
+                new Resource.Builder().id("doc1").type("document").build(),
+                new Resource.Builder().id("doc2").type("document").build()));
+
+    JsonNode root = mapper.readTree(json);
+    assertEquals("user1", root.path("subject").path("id").asText());
+    assertEquals("read", root.path("action").path("name").asText());
+    assertEquals("10.0.0.1", root.path("context").path("ip").asText());
+    assertFalse(root.has("resource"));
+    assertEquals(2, root.path("evaluations").size());
+    assertEquals("doc2", root.path("evaluations").get(1).path("resource").path("id").asText());
+  }
+
+  @Test
+  public void testSerializeEvaluationsWithDifferentParts() throws Exception {
+    Subject alice = new Subject.Builder().id("alice").type("user").build();
+    Action read = new Action.Builder().name("read").build();
+    Context context = new Context(Map.of("ip", "10.0.0.1"));
+    Resource doc = new Resource.Builder().id("doc1").type("document").build();
+    String json =
+        AuthorizationRequestSerializer.buildEvaluationsJson(
+            List.of(
+                new AuthorizationRequest.Builder()
+                    .subject(alice)
+                    .resource(doc)
+                    .action(read)
+                    .context(context)
+                    .build(),
+                new AuthorizationRequest.Builder()
+                    .subject(new Subject.Builder().id("bob").type("user").build())
+                    .resource(doc)
+                    .action(new Action.Builder().name("write").build())
+                    .context(new Context(Map.of("ip", "10.0.0.1")))
+                    .build(),
+                new AuthorizationRequest.Builder()
+                    .subject(alice)
+                    .resource(doc)
+                    .action(read)
+                    .build()));
+
+    JsonNode root = mapper.readTree(json);
+    assertEquals("alice", root.path("subject").path("id").asText());
+    JsonNode first = root.path("evaluations").get(0);
+    assertFalse(first.has("subject"));
+    assertFalse(first.has("action"));
+    assertFalse(first.has("context"));
+    JsonNode second = root.path("evaluations").get(1);
+    assertEquals("bob", second.path("subject").path("id").asText());
+    assertEquals("write", second.path("action").path("name").asText());
+    assertFalse(second.has("context"), "Equal contexts are not repeated");
+    JsonNode third = root.path("evaluations").get(2);
+    assertTrue(third.has("context"));
+    assertEquals(0, third.path("context").size());
+  }
 }
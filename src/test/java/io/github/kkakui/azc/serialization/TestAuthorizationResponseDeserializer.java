@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.github.kkakui.azc.api.AuthorizationResponse;
 import io.github.kkakui.azc.exception.AuthorizationException;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 /** Unit tests for {@link AuthorizationResponseDeserializer}. */
@@ -62,4 +63,29 @@ public class TestAuthorizationResponseDeserializer {
     assertEquals("Response JSON from server was null or empty.", exception.getMessage());
     assertNull(exception.getCause());
   }
+
+  @Test
+  void testParseEvaluations() throws AuthorizationException {
+    String json =
+        "{\"evaluations\": [{\"decision\": true},"
+            + " {\"decision\": false, \"context\": {\"reason\": \"not found\"}}]}";
+
+    List<AuthorizationResponse> responses =
+        AuthorizationResponseDeserializer.parseEvaluationsJson(json, 2);
+
+    assertTrue(responses.get(0).isAllowed());
+    assertFalse(responses.get(1).isAllowed());
+    assertEquals("not found", responses.get(1).getContext().get("reason"));
+  }
+
+  @Test
+  void testParseEvaluationsWithWrongCountThrowsAuthorizationException() {
+    AuthorizationException exception =
+        assertThrows(
+            AuthorizationException.class,
+            () ->
+                AuthorizationResponseDeserializer.parseEvaluationsJson(
+                    "{\"decision\": true, \"evaluations\": [{\"decision\": true}]}", 2));
+    assertEquals("Evaluations response has 1 decisions for 2 requests.", exception.getMessage());
+  }
 }
@@ -0,0 +1,84 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.api.AuthorizationResponse;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Context;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link Codecs} and the codecs it provides. */
+public class TestCodecs {
+
+  private static AuthorizationRequest sampleRequest() {
+    return new AuthorizationRequest.Builder()
+        .subject(new Subject.Builder().id("alice").type("user").addProperty("level", 3).build())
+        .resource(new Resource.Builder().id("doc1").type("document").build())
+        .action(new Action.Builder().name("read").build())
+        .context(new Context(Map.of("ip", "10.0.0.1")))
+        .build();
+  }
+
+  @Test
+  void testSmileCodecEncodesRequest() throws Exception {
+    byte[] encoded = Codecs.smile().encodeRequest(sampleRequest());
+
+    JsonNode root = new ObjectMapper(new SmileFactory()).readTree(encoded);
+    assertEquals("alice", root.path("subject").path("id").asText());
+    assertEquals(3, root.path("subject").path("properties").path("level").asInt());
+    assertEquals("10.0.0.1", root.path("context").path("ip").asText());
+  }
+
+  @Test
+  void testCborCodecDecodesResponse() throws Exception {
+    byte[] body =
+        new ObjectMapper(new CBORFactory())
+            .writeValueAsBytes(Map.of("decision", true, "context", Map.of("id", "0")));
+
+    AuthorizationResponse response = Codecs.cbor().decodeResponse(body);
+
+    assertTrue(response.isAllowed());
+    assertEquals("0", response.getContext().get("id"));
+  }
+
+  @Test
+  void testForMediaTypeIgnoresParametersAndCase() {
+    assertSame(Codecs.json(), Codecs.forMediaType("Application/JSON; charset=utf-8"));
+    assertSame(Codecs.smile(), Codecs.forMediaType(Codecs.SMILE_MEDIA_TYPE));
+    assertSame(Codecs.cbor(), Codecs.forMediaType(" application/cbor "));
+    assertNull(Codecs.forMediaType("text/plain"));
+    assertNull(Codecs.forMediaType(null));
+  }
+
+  @Test
+  void testParseResponseFallsBackToJsonWhenServerAnswersInJson() throws Exception {
+    byte[] body = "{\"decision\":false}".getBytes(StandardCharsets.UTF_8);
+
+    AuthorizationResponse response =
+        AuthorizationResponseDeserializer.parseResponse(body, "application/json", Codecs.smile());
+
+    assertFalse(response.isAllowed());
+  }
+
+  @Test
+  void testDecodeEmptyBodyThrowsAuthorizationException() {
+    AuthorizationException exception =
+        assertThrows(
+            AuthorizationException.class, () -> Codecs.smile().decodeResponse(new byte[0]));
+    assertEquals("Response Smile from server was null or empty.", exception.getMessage());
+  }
+}
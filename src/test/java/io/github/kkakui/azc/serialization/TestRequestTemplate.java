@@ -0,0 +1,81 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Context;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link RequestTemplate}. */
+public class TestRequestTemplate {
+
+  private static final Subject SUBJECT =
+      new Subject.Builder()
+          .id("alice")
+          .type("user")
+          .addProperty("roles", List.of("editor"))
+          .addProperty("level", 3L)
+          .build();
+  private static final Action ACTION =
+      new Action.Builder().name("read").addProperty("method", "GET").build();
+
+  private static String expected(String type, String id, Context context) throws Exception {
+    return AuthorizationRequestSerializer.buildRequestJson(
+        new AuthorizationRequest.Builder()
+            .subject(SUBJECT)
+            .resource(new Resource.Builder().type(type).id(id).build())
+            .action(ACTION)
+            .context(context)
+            .build());
+  }
+
+  private static String render(RequestTemplate template, String type, String id) {
+    return new String(template.render(type, id), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void testRendersSameBytesAsSerializer() throws Exception {
+    RequestTemplate template = RequestTemplate.of(SUBJECT, ACTION, null);
+
+    assertEquals(expected("document", "doc1", null), render(template, "document", "doc1"));
+    assertEquals(expected("document", "doc2", null), render(template, "document", "doc2"));
+  }
+
+  @Test
+  void testEscapesResourceTypeAndId() throws Exception {
+    RequestTemplate template = RequestTemplate.of(SUBJECT, ACTION, null);
+    String id = "a \"quoted\" \\ path\né日";
+
+    assertEquals(expected("döc", id, null), render(template, "döc", id));
+  }
+
+  @Test
+  void testWithContext() throws Exception {
+    Context context = new Context(Map.of("tenant", "acme"));
+    RequestTemplate template = RequestTemplate.of(SUBJECT, ACTION, null).withContext(context);
+
+    assertEquals(expected("document", "doc1", context), render(template, "document", "doc1"));
+    assertEquals(
+        expected("document", "doc1", null), render(template.withContext(null), "document", "doc1"));
+  }
+
+  @Test
+  void testRejectsBlankResource() throws Exception {
+    RequestTemplate template = RequestTemplate.of(SUBJECT, ACTION, null);
+
+    Exception e = assertThrows(IllegalArgumentException.class, () -> template.render(null, "doc1"));
+    assertEquals("Resource 'type' must not be null or blank.", e.getMessage());
+    e = assertThrows(IllegalArgumentException.class, () -> template.render("document", ""));
+    assertEquals("Resource 'id' must not be null or blank.", e.getMessage());
+  }
+}
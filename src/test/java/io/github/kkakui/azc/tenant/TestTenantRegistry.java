@@ -0,0 +1,158 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.tenant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.api.AuthorizationRequest;
+import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.config.DefaultAuthzClientConfig;
+import io.github.kkakui.azc.model.Action;
+import io.github.kkakui.azc.model.Resource;
+import io.github.kkakui.azc.model.Subject;
+import io.github.kkakui.azc.transport.Transport;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link TenantRegistry}. */
+public class TestTenantRegistry {
+
+  /** Permits every request, and records the endpoint and API key of each. */
+  static class RecordingTransport implements Transport {
+    final Queue<String> calls = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public String request(AuthzClientConfig config, String jsonBody) {
+      calls.add(config.getEndpoint() + " " + config.getApiKey().orElse(""));
+      return "{\"decision\":true}";
+    }
+  }
+
+  private static AuthzClientConfig config(String tenant) {
+    return DefaultAuthzClientConfig.builder()
+        .endpoint("https://" + tenant + ".pdp.example.com")
+        .apiKey(tenant + "-key")
+        .build();
+  }
+
+  private static AuthorizationRequest request(String document) {
+    return new AuthorizationRequest.Builder()
+        .subject(new Subject.Builder().type("user").id("alice").build())
+        .resource(new Resource.Builder().type("document").id(document).build())
+        .action(new Action.Builder().name("read").build())
+        .build();
+  }
+
+  @Test
+  void testTenantsShareTransportWithTheirOwnEndpoints() throws Exception {
+    RecordingTransport transport = new RecordingTransport();
+    TenantRegistry registry = TenantRegistry.builder().transport(transport).build();
+    registry.register("acme", config("acme"));
+    registry.register("globex", config("globex"));
+
+    assertTrue(registry.client("acme").authorize(request("doc1")).isAllowed());
+    assertTrue(registry.client("globex").authorize(request("doc1")).isAllowed());
+
+    assertEquals(
+        List.of(
+            "https://acme.pdp.example.com acme-key", "https://globex.pdp.example.com globex-key"),
+        List.copyOf(transport.calls));
+    assertSame(transport, registry.getTransport());
+    assertEquals(Set.of("acme", "globex"), registry.tenants());
+    assertNull(registry.cache("acme"));
+  }
+
+  @Test
+  void testCachePartitionsAreIsolated() throws Exception {
+    RecordingTransport transport = new RecordingTransport();
+    TenantRegistry registry =
+        TenantRegistry.builder().transport(transport).cacheTtl(Duration.ofMinutes(1)).build();
+    registry.register("acme", config("acme"));
+    registry.register("globex", config("globex"));
+
+    registry.client("acme").authorize(request("doc1"));
+    registry.client("acme").authorize(request("doc1"));
+    registry.client("globex").authorize(request("doc1"));
+
+    assertEquals(2, transport.calls.size());
+    assertEquals(1, registry.cache("acme").size());
+    assertEquals(1, registry.cache("globex").size());
+
+    registry.cache("acme").invalidateAll();
+
+    assertEquals(0, registry.cache("acme").size());
+    assertEquals(1, registry.cacheSize());
+  }
+
+  @Test
+  void testQuotaBoundsTenantPartition() throws Exception {
+    TenantRegistry registry =
+        TenantRegistry.builder()
+            .transport(new RecordingTransport())
+            .cacheTtl(Duration.ofMinutes(1))
+            .cacheQuota(100)
+            .build();
+    registry.register("acme", config("acme"), 10);
+    registry.register("globex", config("globex"));
+
+    for (int i = 0; i < 50; i++) {
+      registry.client("acme").authorize(request("doc" + i));
+      registry.client("globex").authorize(request("doc" + i));
+    }
+
+    assertTrue(registry.cache("acme").size() <= 10, "size " + registry.cache("acme").size());
+    assertEquals(50, registry.cache("globex").size());
+  }
+
+  @Test
+  void testReRegisterReplacesTenant() throws Exception {
+    RecordingTransport transport = new RecordingTransport();
+    TenantRegistry registry =
+        TenantRegistry.builder().transport(transport).cacheTtl(Duration.ofMinutes(1)).build();
+    registry.register("acme", config("acme"));
+    registry.client("acme").authorize(request("doc1"));
+
+    registry.register("acme", config("acme-eu"));
+    registry.client("acme").authorize(request("doc1"));
+
+    assertEquals(
+        List.of(
+            "https://acme.pdp.example.com acme-key", "https://acme-eu.pdp.example.com acme-eu-key"),
+        List.copyOf(transport.calls));
+    assertEquals(Set.of("acme"), registry.tenants());
+  }
+
+  @Test
+  void testRemoveTenant() {
+    TenantRegistry registry = TenantRegistry.builder().transport(new RecordingTransport()).build();
+    registry.register("acme", config("acme"));
+
+    assertTrue(registry.remove("acme"));
+    assertFalse(registry.remove("acme"));
+
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> registry.client("acme"));
+    assertEquals("Unknown tenant 'acme'.", exception.getMessage());
+    assertTrue(registry.tenants().isEmpty());
+  }
+
+  @Test
+  void testValidation() {
+    assertThrows(
+        IllegalStateException.class,
+        () -> TenantRegistry.builder().cacheTtl(Duration.ZERO).build());
+    assertThrows(IllegalStateException.class, () -> TenantRegistry.builder().cacheQuota(0).build());
+
+    TenantRegistry registry = TenantRegistry.builder().transport(new RecordingTransport()).build();
+    assertThrows(IllegalArgumentException.class, () -> registry.register(" ", config("acme")));
+    assertThrows(IllegalArgumentException.class, () -> registry.register("acme", null));
+    assertThrows(
+        IllegalArgumentException.class, () -> registry.register("acme", config("acme"), 0));
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link RequestIdGenerators}. */
+public class TestRequestIdGenerators {
+
+  @Test
+  void testTimeOrderedCreatesVersion7Uuids() throws Exception {
+    RequestIdGenerator generator = RequestIdGenerators.timeOrdered();
+    long before = System.currentTimeMillis();
+    UUID first = UUID.fromString(generator.next());
+    Thread.sleep(2);
+    UUID second = UUID.fromString(generator.next());
+
+    assertEquals(7, first.version());
+    assertEquals(2, first.variant());
+    assertTrue(first.getMostSignificantBits() >>> 16 >= before);
+    assertTrue(first.toString().compareTo(second.toString()) < 0);
+
+    Set<String> ids = new HashSet<>();
+    for (int i = 0; i < 10_000; i++) {
+      assertTrue(ids.add(generator.next()));
+    }
+  }
+
+  @Test
+  void testRandomCreatesVersion4Uuids() {
+    assertEquals(4, UUID.fromString(RequestIdGenerators.random().next()).version());
+  }
+
+  @Test
+  void testPropagatingPassesOnInboundId() {
+    AtomicReference<String> inbound = new AtomicReference<>("trace-1234");
+    RequestIdGenerator generator = RequestIdGenerators.propagating(inbound::get, () -> "fallback");
+
+    assertEquals("trace-1234", generator.next());
+    inbound.set(null);
+    assertEquals("fallback", generator.next());
+    inbound.set("");
+    assertEquals("fallback", generator.next());
+    inbound.set("evil\r\nX-Injected: 1");
+    assertEquals("fallback", generator.next());
+    inbound.set("x".repeat(129));
+    assertEquals("fallback", generator.next());
+  }
+
+  @Test
+  void testPropagatingFallsBackToTimeOrderedIds() {
+    String id = RequestIdGenerators.propagating(() -> null).next();
+
+    assertEquals(7, UUID.fromString(id).version());
+    assertThrows(IllegalArgumentException.class, () -> RequestIdGenerators.propagating(null));
+    assertThrows(
+        IllegalArgumentException.class, () -> RequestIdGenerators.propagating(() -> "id", null));
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link Http1ResponseParser}. */
+public class TestHttp1ResponseParser {
+
+  private static ByteBuffer bytes(String text) {
+    return ByteBuffer.wrap(text.getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+  @Test
+  void testParsesContentLengthResponseFedOneByteAtATime() throws IOException {
+    byte[] raw =
+        ("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: 17\r\n\r\n"
+                + "{\"decision\":true}")
+            .getBytes(StandardCharsets.ISO_8859_1);
+    Http1ResponseParser parser = new Http1ResponseParser();
+
+    Http1Response response = null;
+    for (int i = 0; i < raw.length; i++) {
+      assertNull(response, "Response must not complete early");
+      response = parser.parse(ByteBuffer.wrap(raw, i, 1));
+    }
+
+    assertNotNull(response);
+    assertEquals(200, response.getStatusCode());
+    assertEquals("application/json", response.getContentType());
+    assertEquals("{\"decision\":true}", response.getBodyText());
+    assertTrue(response.isKeepAlive());
+  }
+
+  @Test
+  void testReadsEchoedRequestIdOfEachPipelinedResponse() throws IOException {
+    Http1ResponseParser parser = new Http1ResponseParser();
+    ByteBuffer in =
+        bytes(
+            "HTTP/1.1 200 OK\r\nX-Request-ID: first\r\nContent-Length: 0\r\n\r\n"
+                + "HTTP/1.1 200 OK\r\nContent-Length: 0\r\n\r\n");
+
+    assertEquals("first", parser.parse(in).getRequestId());
+    parser.reset(true);
+    assertNull(parser.parse(in).getRequestId());
+  }
+
+  @Test
+  void testParsesChunkedResponseWithTrailers() throws IOException {
+    Http1ResponseParser parser = new Http1ResponseParser();
+
+    Http1Response response =
+        parser.parse(
+            bytes(
+                "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n"
+                    + "5;ext=1\r\nhello\r\n6\r\n world\r\n0\r\nX-Trailer: yes\r\n\r\n"));
+
+    assertEquals("hello world", response.getBodyText());
+  }
+
+  @Test
+  void testSkipsInterimResponses() throws IOException {
+    Http1ResponseParser parser = new Http1ResponseParser();
+
+    Http1Response response =
+        parser.parse(
+            bytes(
+                "HTTP/1.1 100 Continue\r\n\r\nHTTP/1.1 404 Not Found\r\nContent-Length: 0\r\n\r\n"));
+
+    assertEquals(404, response.getStatusCode());
+    assertEquals(0, response.getBody().length);
+  }
+
+  @Test
+  void testHeadResponseHasNoBody() throws IOException {
+    Http1ResponseParser parser = new Http1ResponseParser();
+    parser.reset(false);
+
+    Http1Response response = parser.parse(bytes("HTTP/1.1 200 OK\r\nContent-Length: 42\r\n\r\n"));
+
+    assertEquals(0, response.getBody().length);
+  }
+
+  @Test
+  void testLeavesPipelinedResponseInBuffer() throws IOException {
+    Http1ResponseParser parser = new Http1ResponseParser();
+    ByteBuffer in =
+        bytes(
+            "HTTP/1.1 200 OK\r\nContent-Length: 1\r\n\r\nA"
+                + "HTTP/1.1 200 OK\r\nContent-Length: 1\r\n\r\nB");
+
+    assertEquals("A", parser.parse(in).getBodyText());
+    parser.reset(true);
+    assertEquals("B", parser.parse(in).getBodyText());
+    assertFalse(in.hasRemaining());
+  }
+
+  @Test
+  void testBodyDelimitedByCloseIsNotKeepAlive() throws IOException {
+    Http1ResponseParser parser = new Http1ResponseParser();
+
+    assertNull(parser.parse(bytes("HTTP/1.0 200 OK\r\n\r\npartial")));
+    Http1Response response = parser.endOfStream();
+
+    assertEquals("partial", response.getBodyText());
+    assertFalse(response.isKeepAlive());
+  }
+
+  @Test
+  void testConnectionCloseAndIncompleteResponses() throws IOException {
+    Http1ResponseParser parser = new Http1ResponseParser();
+    Http1Response response =
+        parser.parse(bytes("HTTP/1.1 200 OK\r\nConnection: close\r\nContent-Length: 0\r\n\r\n"));
+    assertFalse(response.isKeepAlive());
+
+    parser.reset(true);
+    assertNull(parser.parse(bytes("HTTP/1.1 200 OK\r\nContent-Length: 10\r\n\r\nabc")));
+    assertThrows(EOFException.class, parser::endOfStream);
+
+    parser.reset(true);
+    assertThrows(IOException.class, () -> parser.parse(bytes("SPDY/3 200 OK\r\n")));
+  }
+}
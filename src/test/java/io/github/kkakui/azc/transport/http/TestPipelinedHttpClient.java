@@ -0,0 +1,237 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.config.DefaultAuthzClientConfig;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link PipelinedHttpClient}. */
+public class TestPipelinedHttpClient {
+
+  private MockWebServer mockWebServer;
+  private PipelinedHttpClient client;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+    client = new PipelinedHttpClient(Duration.ofSeconds(5), 2, 16);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    client.close();
+    mockWebServer.shutdown();
+  }
+
+  private AuthzClientConfig config(int maxConnections) {
+    return DefaultAuthzClientConfig.builder()
+        .endpoint(mockWebServer.url("/access/v1/evaluation").toString())
+        .apiKey("test-key")
+        .maxConnections(maxConnections)
+        .build();
+  }
+
+  @Test
+  void testReusesPersistentConnection() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      mockWebServer.enqueue(new MockResponse().setBody("{\"decision\":true}"));
+    }
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals("{\"decision\":true}", client.request(config(1), "{}"));
+    }
+
+    for (int i = 0; i < 3; i++) {
+      RecordedRequest request = mockWebServer.takeRequest();
+      assertEquals(i, request.getSequenceNumber(), "All requests share one connection");
+      assertEquals("/access/v1/evaluation", request.getPath());
+      assertEquals("Bearer test-key", request.getHeader("Authorization"));
+      assertEquals("application/json", request.getHeader("Content-Type"));
+      assertNotNull(request.getHeader("X-Request-ID"));
+    }
+  }
+
+  @Test
+  void testPipelinedResponsesMatchTheirRequests() throws Exception {
+    mockWebServer.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            return new MockResponse().setBody(request.getBody().readUtf8());
+          }
+        });
+    AuthzClientConfig config = config(2);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> responses = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        String body = "{\"n\":" + i + "}";
+        responses.add(executor.submit(() -> client.request(config, body)));
+      }
+      for (int i = 0; i < 200; i++) {
+        assertEquals("{\"n\":" + i + "}", responses.get(i).get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(200, mockWebServer.getRequestCount());
+  }
+
+  @Test
+  void testLaterConfigurationRaisesConnectionLimit() throws Exception {
+    mockWebServer.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            MockResponse response = new MockResponse().setBody("{\"decision\":true}");
+            return request.getBody().readUtf8().equals("slow")
+                ? response.setHeadersDelay(500, TimeUnit.MILLISECONDS)
+                : response;
+          }
+        });
+    client.request(config(1), "{}");
+    mockWebServer.takeRequest();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<String> slow = executor.submit(() -> client.request(config(2), "slow"));
+      mockWebServer.takeRequest();
+
+      client.request(config(2), "fast");
+
+      assertEquals(
+          0, mockWebServer.takeRequest().getSequenceNumber(), "Opened a second connection");
+      assertEquals("{\"decision\":true}", slow.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testTimeoutFailsOnlyTheSlowPipelinedRequest() throws Exception {
+    mockWebServer.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            String body = request.getBody().readUtf8();
+            MockResponse response = new MockResponse().setBody("{\"n\":\"" + body + "\"}");
+            return body.equals("slow") ? response.setHeadersDelay(3, TimeUnit.SECONDS) : response;
+          }
+        });
+    AuthzClientConfig config = config(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (PipelinedHttpClient impatient = new PipelinedHttpClient(Duration.ofSeconds(2), 0, 16)) {
+      Future<String> slow = executor.submit(() -> impatient.request(config, "slow"));
+      mockWebServer.takeRequest();
+      Thread.sleep(1500);
+
+      assertEquals("{\"n\":\"fast\"}", impatient.request(config, "fast"));
+
+      ExecutionException exception = assertThrows(ExecutionException.class, slow::get);
+      assertInstanceOf(AuthorizationException.class, exception.getCause());
+      assertEquals(
+          1, mockWebServer.takeRequest().getSequenceNumber(), "Pipelined on one connection");
+      assertEquals("{\"n\":\"next\"}", impatient.request(config, "next"));
+      assertEquals(2, mockWebServer.takeRequest().getSequenceNumber(), "The connection was kept");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testRetriesServerErrorsAndDisconnects() throws Exception {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+    mockWebServer.enqueue(
+        new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST));
+    mockWebServer.enqueue(new MockResponse().setBody("{\"decision\":true}"));
+
+    assertEquals("{\"decision\":true}", client.request(config(1), "{}"));
+    assertEquals(3, mockWebServer.getRequestCount());
+  }
+
+  @Test
+  void testFailsImmediatelyOnClientError() {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(403).setBody("forbidden"));
+
+    AuthorizationException exception =
+        assertThrows(AuthorizationException.class, () -> client.request(config(1), "{}"));
+
+    assertEquals("HTTP request failed with status 403: forbidden", exception.getMessage());
+    assertEquals(1, mockWebServer.getRequestCount());
+  }
+
+  @Test
+  void testRejectsHttpsEndpoints() {
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder().endpoint("https://pdp.example.com/evaluation").build();
+
+    AuthorizationException exception =
+        assertThrows(AuthorizationException.class, () -> client.request(config, "{}"));
+
+    assertEquals(
+        "Invalid client configuration: PipelinedHttpClient only supports http endpoints.",
+        exception.getMessage());
+  }
+
+  @Test
+  void testWarmUpFailsForUnreachableEndpoint() throws Exception {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder()
+            .endpoint("http://127.0.0.1:" + port + "/evaluation")
+            .warmUpConnections(2)
+            .build();
+
+    AuthorizationException exception =
+        assertThrows(AuthorizationException.class, () -> client.warmUp(config));
+
+    assertTrue(exception.getMessage().startsWith("Warm-up failed to connect to"));
+  }
+
+  @Test
+  void testWarmedUpConnectionsAreUsed() throws Exception {
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder()
+            .endpoint(mockWebServer.url("/evaluation").toString())
+            .warmUpConnections(2)
+            .build();
+    mockWebServer.enqueue(new MockResponse().setBody("{\"decision\":true}"));
+
+    client.warmUp(config);
+
+    assertEquals("{\"decision\":true}", client.request(config, "{}"));
+    assertEquals(1, mockWebServer.getRequestCount(), "Warm-up sends no requests");
+  }
+
+  @Test
+  void testPipelineDepthMustBePositive() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new PipelinedHttpClient(Duration.ofSeconds(1), 0, 0));
+  }
+}
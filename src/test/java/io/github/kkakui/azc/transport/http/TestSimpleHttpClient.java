@@ -8,11 +8,27 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import io.github.kkakui.azc.config.AuthzClientConfig;
 import io.github.kkakui.azc.config.DefaultAuthzClientConfig;
+import io.github.kkakui.azc.config.ReloadableAuthzClientConfig;
 import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.exception.StatusException;
+import io.github.kkakui.azc.exception.ThrottledException;
 import io.github.kkakui.azc.exception.TransportException;
+import io.github.kkakui.azc.transport.Payload;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
@@ -88,6 +104,58 @@ public class TestSimpleHttpClient {
     assertEquals(3, mockWebServer.getRequestCount()); // 1 initial + 2 retries
   }
 
+  @Test
+  public void testRecordsAttemptAndBackoffEvents() throws Exception {
+    // Given
+    client = new SimpleHttpClient(Duration.ofSeconds(1), 3);
+    mockWebServer.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "0"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody("{\"decision\":true}"));
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder()
+            .endpoint(mockWebServer.url("/").toString())
+            .requestIdGenerator(() -> "req-42")
+            .build();
+    Path file = Files.createTempFile("azc", ".jfr");
+
+    // When
+    try (Recording recording = new Recording()) {
+      recording.enable("io.github.kkakui.azc.HttpAttempt").withThreshold(Duration.ZERO);
+      recording.enable("io.github.kkakui.azc.RetryBackoff");
+      recording.start();
+      client.request(config, "{\"subject\":{}}");
+      recording.stop();
+      recording.dump(file);
+    }
+
+    // Then
+    List<RecordedEvent> events;
+    try {
+      events = RecordingFile.readAllEvents(file);
+    } finally {
+      Files.delete(file);
+    }
+    List<RecordedEvent> attempts =
+        events.stream()
+            .filter(e -> e.getEventType().getName().equals("io.github.kkakui.azc.HttpAttempt"))
+            .collect(Collectors.toList());
+    assertEquals(2, attempts.size());
+    assertEquals(1, attempts.get(0).getInt("attempt"));
+    assertEquals(503, attempts.get(0).getInt("status"));
+    assertEquals(2, attempts.get(1).getInt("attempt"));
+    assertEquals(200, attempts.get(1).getInt("status"));
+    assertEquals("req-42", attempts.get(1).getString("requestId"));
+    assertEquals(14, attempts.get(1).getLong("requestBytes"));
+    assertEquals(17, attempts.get(1).getLong("responseBytes"));
+    RecordedEvent backoff =
+        events.stream()
+            .filter(e -> e.getEventType().getName().equals("io.github.kkakui.azc.RetryBackoff"))
+            .findFirst()
+            .orElseThrow();
+    assertEquals(1, backoff.getInt("attempt"));
+    assertEquals(503, backoff.getInt("status"));
+    assertTrue(backoff.getBoolean("retryAfter"));
+  }
+
   @Test
   public void testFailsAfterMaxRetriesOnNetworkError() {
     // Given
@@ -117,6 +185,10 @@ public class TestSimpleHttpClient {
     assertTrue(cause instanceof TransportException, "The cause should be a TransportException");
     assertNotNull(cause.getCause(), "TransportException should have a root cause");
     assertTrue(cause.getCause() instanceof IOException, "The root cause should be an IOException");
+    // Only the root cause records where the failure arose.
+    assertEquals(0, exception.getStackTrace().length);
+    assertEquals(0, cause.getStackTrace().length);
+    assertNotEquals(0, cause.getCause().getStackTrace().length);
 
     assertEquals(maxRetries + 1, mockWebServer.getRequestCount());
   }
@@ -144,9 +216,75 @@ public class TestSimpleHttpClient {
 
     // Then
     assertTrue(exception.getMessage().startsWith("HTTP request failed with status 403"));
+    StatusException status = assertInstanceOf(StatusException.class, exception.getCause());
+    assertEquals(403, status.getStatusCode());
+    assertEquals(0, exception.getStackTrace().length);
+    assertEquals(0, status.getStackTrace().length);
     assertEquals(1, mockWebServer.getRequestCount(), "Should not retry on client errors");
   }
 
+  @Test
+  public void testTooManyRequestsFailsWithRetryAfter() {
+    // Given
+    client = new SimpleHttpClient(Duration.ofSeconds(1), 3);
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setResponseCode(429)
+            .setHeader("Retry-After", "7")
+            .setBody("quota exceeded"));
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder().endpoint(mockWebServer.url("/").toString()).build();
+
+    // When & Then
+    AuthorizationException exception =
+        assertThrows(AuthorizationException.class, () -> client.request(config, "{}"));
+    ThrottledException throttled = assertInstanceOf(ThrottledException.class, exception.getCause());
+    assertEquals(429, throttled.getStatusCode());
+    assertEquals(Duration.ofSeconds(7), throttled.getRetryAfter());
+    assertEquals(1, mockWebServer.getRequestCount());
+  }
+
+  @Test
+  public void testServiceUnavailableRetriesAfterRetryAfter() throws Exception {
+    // Given
+    client = new SimpleHttpClient(Duration.ofSeconds(1), 3);
+    mockWebServer.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "0"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody("{}"));
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder().endpoint(mockWebServer.url("/").toString()).build();
+
+    // When
+    String response = client.request(config, "{}");
+
+    // Then
+    assertEquals("{}", response);
+    assertEquals(2, mockWebServer.getRequestCount());
+  }
+
+  @Test
+  public void testServiceUnavailableWithLongRetryAfterFailsWithoutWaiting() {
+    // Given
+    client = new SimpleHttpClient(Duration.ofSeconds(1), 3);
+    mockWebServer.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "3600"));
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder().endpoint(mockWebServer.url("/").toString()).build();
+
+    // When & Then
+    AuthorizationException exception =
+        assertThrows(AuthorizationException.class, () -> client.request(config, "{}"));
+    ThrottledException throttled = assertInstanceOf(ThrottledException.class, exception.getCause());
+    assertEquals(503, throttled.getStatusCode());
+    assertEquals(Duration.ofHours(1), throttled.getRetryAfter());
+    assertEquals(1, mockWebServer.getRequestCount());
+  }
+
+  @Test
+  public void testParsesRetryAfterDate() {
+    assertEquals(Duration.ZERO, RetryLoop.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+    assertNull(RetryLoop.parseRetryAfter("soon"));
+    assertNull(RetryLoop.parseRetryAfter("-1"));
+  }
+
   @Test
   public void testSendsRequestIdHeader() throws Exception {
     // Given
@@ -174,6 +312,54 @@ public class TestSimpleHttpClient {
     assertDoesNotThrow(() -> UUID.fromString(requestId));
   }
 
+  @Test
+  public void testSendsConfiguredRequestIdAndExposesEcho() throws Exception {
+    // Given
+    client = new SimpleHttpClient(Duration.ofSeconds(1), 0);
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setResponseCode(200)
+            .setHeader("Content-Type", "application/json")
+            .setHeader("X-Request-ID", "req-42")
+            .setBody("{}"));
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder()
+            .endpoint(mockWebServer.url("/").toString())
+            .requestIdGenerator(() -> "req-42")
+            .build();
+
+    // When
+    Payload response =
+        client.request(config, new Payload(new byte[] {'{', '}'}, "application/json"));
+
+    // Then
+    assertEquals("req-42", mockWebServer.takeRequest().getHeader("X-Request-ID"));
+    assertEquals("req-42", response.getRequestId());
+  }
+
+  @Test
+  public void testFailsWhenResponseEchoesAnotherRequestId() {
+    // Given
+    client = new SimpleHttpClient(Duration.ofSeconds(1), 3);
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setResponseCode(200)
+            .setHeader("X-Request-ID", "someone-else")
+            .setBody("{\"decision\":true}"));
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder()
+            .endpoint(mockWebServer.url("/").toString())
+            .requestIdGenerator(() -> "req-42")
+            .build();
+
+    // When & Then: the response is rejected without retry.
+    AuthorizationException exception =
+        assertThrows(AuthorizationException.class, () -> client.request(config, "{}"));
+    assertTrue(exception.getCause() instanceof TransportException);
+    assertTrue(exception.getMessage().contains("someone-else"), exception.getMessage());
+    assertEquals(1, mockWebServer.getRequestCount());
+  }
+
   @Test
   public void testBackoffDelayOccursDuringRetries() {
     // Given
@@ -242,6 +428,71 @@ public class TestSimpleHttpClient {
         "Authorization header should be correctly formatted with 'Bearer' prefix");
   }
 
+  @Test
+  public void testUsesRotatedApiKeyOnNextRequest() throws Exception {
+    // Given
+    client = new SimpleHttpClient();
+    mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody("{}"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody("{}"));
+    String endpoint = mockWebServer.url("/").toString();
+    ReloadableAuthzClientConfig config =
+        new ReloadableAuthzClientConfig(
+            DefaultAuthzClientConfig.builder().endpoint(endpoint).apiKey("old-key").build());
+
+    // When
+    client.request(config, "{}");
+    config.update(
+        DefaultAuthzClientConfig.builder()
+            .endpoint(endpoint)
+            .apiKey("new-key")
+            .apiKeyHeader("X-API-Key")
+            .build());
+    client.request(config, "{}");
+
+    // Then
+    RecordedRequest first = mockWebServer.takeRequest();
+    assertEquals("Bearer old-key", first.getHeader("Authorization"));
+    RecordedRequest second = mockWebServer.takeRequest();
+    assertNull(second.getHeader("Authorization"));
+    assertEquals("new-key", second.getHeader("X-API-Key"));
+  }
+
+  @Test
+  public void testReadsMutableConfigOnEveryRequest() throws Exception {
+    // Given
+    client = new SimpleHttpClient();
+    mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody("{}"));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody("{}"));
+    String endpoint = mockWebServer.url("/").toString();
+    String[] apiKey = {"old-key"};
+    AuthzClientConfig config =
+        new AuthzClientConfig() {
+          @Override
+          public String getEndpoint() {
+            return endpoint;
+          }
+
+          @Override
+          public Optional<String> getApiKey() {
+            return Optional.of(apiKey[0]);
+          }
+
+          @Override
+          public Optional<String> getApiKeyHeader() {
+            return Optional.empty();
+          }
+        };
+
+    // When
+    client.request(config, "{}");
+    apiKey[0] = "new-key";
+    client.request(config, "{}");
+
+    // Then
+    assertEquals("Bearer old-key", mockWebServer.takeRequest().getHeader("Authorization"));
+    assertEquals("Bearer new-key", mockWebServer.takeRequest().getHeader("Authorization"));
+  }
+
   @Test
   public void testSendsCorrectCustomApiKeyHeader() throws Exception {
     // Given
@@ -301,4 +552,166 @@ public class TestSimpleHttpClient {
         authHeader,
         "Authorization header should be correctly formatted with 'Bearer' prefix");
   }
+
+  @Test
+  public void testCompressesRequestBodyAboveThreshold() throws Exception {
+    // Given
+    client = new SimpleHttpClient(Duration.ofSeconds(1), 0);
+    mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody("{}"));
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder()
+            .endpoint(mockWebServer.url("/").toString())
+            .compression("gzip")
+            .compressionThreshold(64)
+            .build();
+    String body = "{\"subject\":{\"type\":\"user\",\"id\":\"" + "x".repeat(200) + "\"}}";
+
+    // When
+    client.request(config, body);
+
+    // Then
+    RecordedRequest recordedRequest = mockWebServer.takeRequest();
+    assertEquals("gzip", recordedRequest.getHeader("Content-Encoding"));
+    assertEquals("gzip", recordedRequest.getHeader("Accept-Encoding"));
+    try (GZIPInputStream in = new GZIPInputStream(recordedRequest.getBody().inputStream())) {
+      assertEquals(body, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void testDoesNotCompressRequestBodyBelowThreshold() throws Exception {
+    // Given
+    client = new SimpleHttpClient(Duration.ofSeconds(1), 0);
+    mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody("{}"));
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder()
+            .endpoint(mockWebServer.url("/").toString())
+            .compression("deflate")
+            .compressionThreshold(1024)
+            .build();
+
+    // When
+    client.request(config, "{}");
+
+    // Then
+    RecordedRequest recordedRequest = mockWebServer.takeRequest();
+    assertNull(recordedRequest.getHeader("Content-Encoding"));
+    assertEquals("deflate", recordedRequest.getHeader("Accept-Encoding"));
+    assertEquals("{}", recordedRequest.getBody().readUtf8());
+  }
+
+  @Test
+  public void testDecompressesGzipResponse() throws Exception {
+    // Given
+    client = new SimpleHttpClient(Duration.ofSeconds(1), 0);
+    String json = "{\"decision\":true}";
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+      out.write(json.getBytes(StandardCharsets.UTF_8));
+    }
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setResponseCode(200)
+            .setHeader("Content-Encoding", "gzip")
+            .setBody(new okio.Buffer().write(compressed.toByteArray())));
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder()
+            .endpoint(mockWebServer.url("/").toString())
+            .compression("gzip")
+            .build();
+
+    // When
+    String response = client.request(config, "{}");
+
+    // Then
+    assertEquals(json, response);
+  }
+
+  @Test
+  public void testCorruptCompressedResponseFailsWithoutRetry() {
+    // Given
+    client = new SimpleHttpClient(Duration.ofSeconds(1), 3);
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setResponseCode(200)
+            .setHeader("Content-Encoding", "gzip")
+            .setBody("not gzip"));
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder()
+            .endpoint(mockWebServer.url("/").toString())
+            .compression("gzip")
+            .build();
+
+    // When
+    AuthorizationException exception =
+        assertThrows(AuthorizationException.class, () -> client.request(config, "{}"));
+
+    // Then
+    assertEquals("Failed to decode gzip response body.", exception.getMessage());
+    assertInstanceOf(TransportException.class, exception.getCause());
+    assertEquals(1, mockWebServer.getRequestCount(), "A corrupt body must not be retried");
+  }
+
+  @Test
+  public void testPayloadRequestNegotiatesMediaType() throws Exception {
+    // Given
+    client = new SimpleHttpClient(Duration.ofSeconds(1), 0);
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setResponseCode(200)
+            .setHeader("Content-Type", "application/cbor")
+            .setBody(new okio.Buffer().write(new byte[] {1, 2, 3})));
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder().endpoint(mockWebServer.url("/").toString()).build();
+
+    // When
+    Payload response =
+        client.request(config, new Payload(new byte[] {9, 8, 7}, "application/cbor"));
+
+    // Then
+    RecordedRequest recordedRequest = mockWebServer.takeRequest();
+    assertEquals("application/cbor", recordedRequest.getHeader("Content-Type"));
+    assertEquals("application/cbor, application/json;q=0.5", recordedRequest.getHeader("Accept"));
+    assertArrayEquals(new byte[] {9, 8, 7}, recordedRequest.getBody().readByteArray());
+    assertEquals("application/cbor", response.getContentType());
+    assertArrayEquals(new byte[] {1, 2, 3}, response.getBody());
+  }
+
+  @Test
+  public void testWarmUpOpensConfiguredConnections() throws Exception {
+    // Given
+    client = new SimpleHttpClient(Duration.ofSeconds(1), 0);
+    for (int i = 0; i < 3; i++) {
+      mockWebServer.enqueue(new MockResponse().setResponseCode(405));
+    }
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder()
+            .endpoint(mockWebServer.url("/").toString())
+            .apiKey("test-key")
+            .warmUpConnections(3)
+            .build();
+
+    // When
+    client.warmUp(config);
+
+    // Then: any status is accepted, and each request carries the usual headers.
+    assertEquals(3, mockWebServer.getRequestCount());
+    RecordedRequest recordedRequest = mockWebServer.takeRequest();
+    assertEquals("HEAD", recordedRequest.getMethod());
+    assertEquals("Bearer test-key", recordedRequest.getHeader("Authorization"));
+  }
+
+  @Test
+  public void testWarmUpFailsWhenEndpointIsUnreachable() throws Exception {
+    // Given
+    client = new SimpleHttpClient(Duration.ofSeconds(1), 0);
+    String endpoint = mockWebServer.url("/").toString();
+    mockWebServer.shutdown();
+    AuthzClientConfig config = DefaultAuthzClientConfig.builder().endpoint(endpoint).build();
+
+    // When & Then
+    AuthorizationException exception =
+        assertThrows(AuthorizationException.class, () -> client.warmUp(config));
+    assertTrue(exception.getCause() instanceof TransportException);
+  }
 }
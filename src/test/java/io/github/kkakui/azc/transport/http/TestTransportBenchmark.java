@@ -0,0 +1,198 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.config.DefaultAuthzClientConfig;
+import io.github.kkakui.azc.transport.Transport;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Compares the throughput and allocation rate of {@link PipelinedHttpClient} and {@link
+ * SimpleHttpClient} against a local server. The results are logged; the test only asserts that the
+ * pipelined transport allocates less per request, since throughput depends on the machine. Skipped
+ * unless run with {@code -Dazc.benchmark=true}, e.g. {@code mvn test -Dtest=TestTransportBenchmark
+ * -Dazc.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "azc.benchmark", matches = "true")
+public class TestTransportBenchmark {
+  private static final Logger logger = Logger.getLogger(TestTransportBenchmark.class.getName());
+  private static final String REQUEST =
+      "{\"subject\":{\"type\":\"user\",\"id\":\"alice\"},"
+          + "\"resource\":{\"type\":\"document\",\"id\":\"doc1\"},"
+          + "\"action\":{\"name\":\"read\"}}";
+  private static final byte[] RESPONSE =
+      ("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: 17\r\n\r\n"
+              + "{\"decision\":true}")
+          .getBytes(StandardCharsets.ISO_8859_1);
+  private static final String SERVER_THREAD = "benchmark-server";
+  private static final int THREADS = 16;
+  private static final int WARM_UP_REQUESTS = 5_000;
+  private static final int MEASURED_REQUESTS = 100_000;
+
+  @Test
+  void benchmarkTransports() throws Exception {
+    try (ServerSocket server = new ServerSocket(0, 128, InetAddress.getLoopbackAddress())) {
+      Thread acceptor = new Thread(() -> accept(server), SERVER_THREAD);
+      acceptor.setDaemon(true);
+      acceptor.start();
+      AuthzClientConfig config =
+          DefaultAuthzClientConfig.builder()
+              .endpoint("http://127.0.0.1:" + server.getLocalPort() + "/access/v1/evaluation")
+              .maxConnections(4)
+              .warmUpConnections(4)
+              .build();
+
+      long simple = run("SimpleHttpClient", new SimpleHttpClient(), config);
+      long pipelined;
+      try (PipelinedHttpClient transport = new PipelinedHttpClient()) {
+        pipelined = run("PipelinedHttpClient", transport, config);
+      }
+      assertTrue(
+          pipelined < simple,
+          "PipelinedHttpClient allocated " + pipelined + " bytes/req, SimpleHttpClient " + simple);
+    }
+  }
+
+  /** Measures one transport, logs its throughput and returns the bytes it allocated per request. */
+  private static long run(String name, Transport transport, AuthzClientConfig config)
+      throws Exception {
+    // The transports log every request at INFO, which would dominate the measurement.
+    Logger.getLogger("io.github.kkakui.azc").setLevel(Level.WARNING);
+    // Threads outlive the measurement so that their allocations are still counted.
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    long elapsed;
+    long allocated;
+    try {
+      transport.warmUp(config);
+      execute(executor, transport, config, WARM_UP_REQUESTS);
+      long allocatedBefore = allocatedBytes();
+      long start = System.nanoTime();
+      execute(executor, transport, config, MEASURED_REQUESTS);
+      elapsed = System.nanoTime() - start;
+      allocated = allocatedBytes() - allocatedBefore;
+    } finally {
+      executor.shutdownNow();
+      Logger.getLogger("io.github.kkakui.azc").setLevel(null);
+    }
+    logger.info(
+        String.format(
+            "%s: %.0f req/s, %d bytes/req",
+            name, MEASURED_REQUESTS / (elapsed / 1e9), allocated / MEASURED_REQUESTS));
+    return allocated / MEASURED_REQUESTS;
+  }
+
+  private static void execute(
+      ExecutorService executor, Transport transport, AuthzClientConfig config, int requests)
+      throws Exception {
+    List<Future<?>> results = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      results.add(
+          executor.submit(
+              () -> {
+                for (int i = 0; i < requests / THREADS; i++) {
+                  assertEquals("{\"decision\":true}", transport.request(config, REQUEST));
+                }
+                return null;
+              }));
+    }
+    for (Future<?> result : results) {
+      result.get();
+    }
+  }
+
+  /** Sums the bytes allocated by the client's threads, including the transports' own. */
+  private static long allocatedBytes() {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long total = 0;
+    for (ThreadInfo thread : threads.getThreadInfo(threads.getAllThreadIds())) {
+      if (thread != null && !thread.getThreadName().equals(SERVER_THREAD)) {
+        total += Math.max(0, threads.getThreadAllocatedBytes(thread.getThreadId()));
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Serves a fixed response to every request, keeping connections open and answering pipelined
+   * requests in order. MockWebServer is far too slow to measure the clients.
+   */
+  private static void accept(ServerSocket server) {
+    try {
+      while (true) {
+        Socket socket = server.accept();
+        Thread handler = new Thread(() -> serve(socket), SERVER_THREAD);
+        handler.setDaemon(true);
+        handler.start();
+      }
+    } catch (IOException e) {
+      // Closed.
+    }
+  }
+
+  private static void serve(Socket socket) {
+    try (socket;
+        InputStream in = new BufferedInputStream(socket.getInputStream());
+        OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+      socket.setTcpNoDelay(true);
+      byte[] line = new byte[8192];
+      while (true) {
+        int contentLength = 0;
+        int length;
+        while ((length = readLine(in, line)) > 0) {
+          String header = new String(line, 0, length, StandardCharsets.ISO_8859_1);
+          if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+            contentLength = Integer.parseInt(header.substring(15).trim());
+          }
+        }
+        if (length < 0) {
+          return;
+        }
+        in.skipNBytes(contentLength);
+        out.write(RESPONSE);
+        if (in.available() == 0) {
+          out.flush(); // Batch responses to pipelined requests.
+        }
+      }
+    } catch (IOException e) {
+      // Connection closed.
+    }
+  }
+
+  /** Reads a line without its terminator; returns its length, or -1 at the end of the stream. */
+  private static int readLine(InputStream in, byte[] line) throws IOException {
+    int length = 0;
+    int b;
+    while ((b = in.read()) >= 0) {
+      if (b == '\n') {
+        return length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+      }
+      line[length++] = (byte) b;
+    }
+    return -1;
+  }
+}
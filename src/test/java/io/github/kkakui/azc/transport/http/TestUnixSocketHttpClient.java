@@ -0,0 +1,252 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2025 Kentaro Kakui
+ * SPDX-License-Identifier: MIT
+ */
+package io.github.kkakui.azc.transport.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.kkakui.azc.config.AuthzClientConfig;
+import io.github.kkakui.azc.config.DefaultAuthzClientConfig;
+import io.github.kkakui.azc.exception.AuthorizationException;
+import io.github.kkakui.azc.transport.Payload;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for {@link UnixSocketHttpClient}. */
+public class TestUnixSocketHttpClient {
+
+  @TempDir Path dir;
+
+  private Path socket;
+  private UnixSocketServer server;
+  private UnixSocketHttpClient client;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    socket = dir.resolve("pdp.sock");
+    server = new UnixSocketServer(socket);
+    client = new UnixSocketHttpClient(Duration.ofSeconds(5), 2);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    client.close();
+    server.close();
+  }
+
+  private AuthzClientConfig config() {
+    return DefaultAuthzClientConfig.builder()
+        .endpoint("http://pdp/access/v1/evaluation")
+        .unixSocketPath(socket.toString())
+        .apiKey("test-key")
+        .build();
+  }
+
+  private static String ok(String body) {
+    return "HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: "
+        + body.getBytes(StandardCharsets.UTF_8).length
+        + "\r\n\r\n"
+        + body;
+  }
+
+  @Test
+  void testReusesPersistentConnection() throws Exception {
+    server.enqueue(ok("{\"decision\":true}"));
+    server.enqueue(ok("{\"decision\":false}"));
+
+    assertEquals("{\"decision\":true}", client.request(config(), "{\"a\":1}"));
+    assertEquals("{\"decision\":false}", client.request(config(), "{\"a\":2}"));
+
+    assertEquals(1, server.connections.get());
+    String request = server.requests.get(0);
+    assertTrue(request.startsWith("POST /access/v1/evaluation HTTP/1.1\r\n"));
+    assertTrue(request.contains("Host: pdp\r\n"));
+    assertTrue(request.contains("Authorization: Bearer test-key\r\n"));
+    assertTrue(request.contains("X-Request-ID: "));
+    assertTrue(request.endsWith("\r\n\r\n{\"a\":1}"));
+  }
+
+  @Test
+  void testReplacesConnectionClosedByServer() throws Exception {
+    server.enqueue(
+        "HTTP/1.1 200 OK\r\nConnection: close\r\nContent-Length: 17\r\n\r\n{\"decision\":true}");
+    server.enqueue(ok("{\"decision\":true}"));
+
+    client.request(config(), "{}");
+    client.request(config(), "{}");
+
+    assertEquals(2, server.connections.get());
+  }
+
+  @Test
+  void testRetriesServerErrors() throws Exception {
+    server.enqueue("HTTP/1.1 503 Service Unavailable\r\nContent-Length: 0\r\n\r\n");
+    server.enqueue(ok("{\"decision\":true}"));
+
+    assertEquals("{\"decision\":true}", client.request(config(), "{}"));
+    assertEquals(2, server.requests.size());
+  }
+
+  @Test
+  void testFailsImmediatelyOnClientError() {
+    server.enqueue("HTTP/1.1 400 Bad Request\r\nContent-Length: 11\r\n\r\nbad request");
+
+    AuthorizationException exception =
+        assertThrows(AuthorizationException.class, () -> client.request(config(), "{}"));
+
+    assertEquals("HTTP request failed with status 400: bad request", exception.getMessage());
+    assertEquals(1, server.requests.size());
+  }
+
+  @Test
+  void testSendsBinaryPayload() throws Exception {
+    server.enqueue(
+        "HTTP/1.1 200 OK\r\nContent-Type: application/x-jackson-smile\r\n"
+            + "Transfer-Encoding: chunked\r\n\r\n3\r\nabc\r\n0\r\n\r\n");
+
+    Payload response =
+        client.request(
+            config(),
+            new Payload("xyz".getBytes(StandardCharsets.UTF_8), "application/x-jackson-smile"));
+
+    assertEquals("abc", response.asString());
+    assertEquals("application/x-jackson-smile", response.getContentType());
+    assertTrue(
+        server.requests.get(0).contains("Accept: application/x-jackson-smile, application/json"));
+  }
+
+  @Test
+  void testWarmUpOpensConnections() throws Exception {
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder()
+            .endpoint("http://pdp/access/v1/evaluation")
+            .unixSocketPath(socket.toString())
+            .warmUpConnections(3)
+            .build();
+
+    client.warmUp(config);
+    server.awaitConnections(3);
+    server.enqueue(ok("{\"decision\":true}"));
+    client.request(config, "{}");
+
+    assertEquals(3, server.connections.get());
+  }
+
+  @Test
+  void testRequiresSocketPath() {
+    AuthzClientConfig config =
+        DefaultAuthzClientConfig.builder().endpoint("http://pdp/access/v1/evaluation").build();
+
+    AuthorizationException exception =
+        assertThrows(AuthorizationException.class, () -> client.request(config, "{}"));
+
+    assertEquals(
+        "Invalid client configuration: Unix socket path must be provided.", exception.getMessage());
+  }
+
+  /** Serves canned responses, in order, to requests on any connection. */
+  private static final class UnixSocketServer implements AutoCloseable {
+    final ServerSocketChannel channel;
+    final BlockingQueue<String> responses = new LinkedBlockingQueue<>();
+    final List<String> requests = new CopyOnWriteArrayList<>();
+    final AtomicInteger connections = new AtomicInteger();
+
+    UnixSocketServer(Path socket) throws IOException {
+      channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+      channel.bind(UnixDomainSocketAddress.of(socket));
+      Thread acceptor = new Thread(this::accept, "test-uds-acceptor");
+      acceptor.setDaemon(true);
+      acceptor.start();
+    }
+
+    void enqueue(String response) {
+      responses.add(response);
+    }
+
+    void awaitConnections(int count) throws InterruptedException {
+      for (int i = 0; i < 100 && connections.get() < count; i++) {
+        Thread.sleep(10);
+      }
+    }
+
+    private void accept() {
+      try {
+        while (true) {
+          SocketChannel connection = channel.accept();
+          connections.incrementAndGet();
+          Thread handler = new Thread(() -> serve(connection), "test-uds-connection");
+          handler.setDaemon(true);
+          handler.start();
+        }
+      } catch (IOException e) {
+        // Closed.
+      }
+    }
+
+    private void serve(SocketChannel connection) {
+      try (connection;
+          InputStream in = Channels.newInputStream(connection);
+          OutputStream out = Channels.newOutputStream(connection)) {
+        while (true) {
+          String request = readRequest(in);
+          if (request == null) {
+            return;
+          }
+          requests.add(request);
+          String response = responses.take();
+          out.write(response.getBytes(StandardCharsets.UTF_8));
+          out.flush();
+          if (response.contains("Connection: close")) {
+            return;
+          }
+        }
+      } catch (IOException | InterruptedException e) {
+        // Connection closed.
+      }
+    }
+
+    private static String readRequest(InputStream in) throws IOException {
+      ByteArrayOutputStream head = new ByteArrayOutputStream();
+      int b;
+      while ((b = in.read()) >= 0) {
+        head.write(b);
+        String text = head.toString(StandardCharsets.UTF_8);
+        if (text.endsWith("\r\n\r\n")) {
+          int length = 0;
+          for (String line : text.split("\r\n")) {
+            if (line.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+              length = Integer.parseInt(line.substring(15).trim());
+            }
+          }
+          return text + new String(in.readNBytes(length), StandardCharsets.UTF_8);
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+}